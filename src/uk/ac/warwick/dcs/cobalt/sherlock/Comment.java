@@ -13,17 +13,17 @@ class Comment implements CommentConstants {
   /**
    * The stream used to save the output file.
    */
-  static PrintStream save;
+  PrintStream save;
 
   /**
    * The new file containing the output of this tokeniser.
    */
-  static File outputFile = null;
+  File outputFile = null;
 
   /**
    * Keep track of the line number from the file read in. Used to print #line xxx in the outputFile.
    */
-  static int lineNo = 1;
+  int lineNo = 1;
 
   /**
    * Reinitialise all the variables, and get on with parsing the whatever's in the input stream.
@@ -31,18 +31,18 @@ class Comment implements CommentConstants {
    * @param is - the input stream to parse.
    * @param f - the file to save the results of this tokeniser to.
    */
-  static void ReInit(InputStream is, File f) {
+  void ReInit(InputStream is, File f) {
     // Don't need to reinitialise the PrintStream save, it's done for us.
-    Comment.outputFile = f;
-    Comment.lineNo = 1;
-    Comment.ReInit(is);
+    outputFile = f;
+    lineNo = 1;
+    ReInit(is);
   } // ReInit
 
 
   /**
    * Print the current line number into the new file.
    */
-  static void printLineNo() {
+  void printLineNo() {
     //save.println("#line " + lineNo);
   } // printLineNo
 
@@ -55,7 +55,7 @@ class Comment implements CommentConstants {
 /**
  * Handle any tokens during the input.
  */
-  static final public void anyOldLines() throws ParseException {
+  final public void anyOldLines() throws ParseException {
     switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
     case singleLineComment:
       jj_consume_token(singleLineComment);
@@ -69,7 +69,7 @@ class Comment implements CommentConstants {
     case hashLine:
       jj_consume_token(hashLine);
       jj_consume_token(number);
-      lineNo = Integer.parseInt(Comment.getToken(0).image);
+      lineNo = Integer.parseInt(getToken(0).image);
     // The newLine after will incorrectly add 1 to the line count, so correct this in advance.
     // Must remember, the number refers to the original number of the *following* line.
     lineNo--;
@@ -103,7 +103,8 @@ class Comment implements CommentConstants {
     }
   }
 
-  static final public void Input() throws ParseException {
+  final public void Input() throws ParseException {
+  token_source.parser = this;
   try {
     if (outputFile!= null)
       save = new PrintStream(new FileOutputStream(outputFile));
@@ -159,13 +160,12 @@ class Comment implements CommentConstants {
     save.close();
   }
 
-  static private boolean jj_initialized_once = false;
-  static public CommentTokenManager token_source;
-  static SimpleCharStream jj_input_stream;
-  static public Token token, jj_nt;
-  static private int jj_ntk;
-  static private int jj_gen;
-  static final private int[] jj_la1 = new int[2];
+  public CommentTokenManager token_source;
+  SimpleCharStream jj_input_stream;
+  public Token token, jj_nt;
+  private int jj_ntk;
+  private int jj_gen;
+  final private int[] jj_la1 = new int[2];
   static private int[] jj_la1_0;
   static {
       jj_la1_0();
@@ -175,13 +175,6 @@ class Comment implements CommentConstants {
    }
 
   public Comment(java.io.InputStream stream) {
-    if (jj_initialized_once) {
-      System.out.println("ERROR: Second call to constructor of static parser.  You must");
-      System.out.println("       either use ReInit() or set the JavaCC option STATIC to false");
-      System.out.println("       during parser generation.");
-      throw new Error();
-    }
-    jj_initialized_once = true;
     jj_input_stream = new SimpleCharStream(stream, 1, 1);
     token_source = new CommentTokenManager(jj_input_stream);
     token = new Token();
@@ -190,7 +183,7 @@ class Comment implements CommentConstants {
     for (int i = 0; i < 2; i++) jj_la1[i] = -1;
   }
 
-  static public void ReInit(java.io.InputStream stream) {
+  public void ReInit(java.io.InputStream stream) {
     jj_input_stream.ReInit(stream, 1, 1);
     token_source.ReInit(jj_input_stream);
     token = new Token();
@@ -200,13 +193,6 @@ class Comment implements CommentConstants {
   }
 
   public Comment(java.io.Reader stream) {
-    if (jj_initialized_once) {
-      System.out.println("ERROR: Second call to constructor of static parser.  You must");
-      System.out.println("       either use ReInit() or set the JavaCC option STATIC to false");
-      System.out.println("       during parser generation.");
-      throw new Error();
-    }
-    jj_initialized_once = true;
     jj_input_stream = new SimpleCharStream(stream, 1, 1);
     token_source = new CommentTokenManager(jj_input_stream);
     token = new Token();
@@ -215,7 +201,7 @@ class Comment implements CommentConstants {
     for (int i = 0; i < 2; i++) jj_la1[i] = -1;
   }
 
-  static public void ReInit(java.io.Reader stream) {
+  public void ReInit(java.io.Reader stream) {
     jj_input_stream.ReInit(stream, 1, 1);
     token_source.ReInit(jj_input_stream);
     token = new Token();
@@ -225,13 +211,6 @@ class Comment implements CommentConstants {
   }
 
   public Comment(CommentTokenManager tm) {
-    if (jj_initialized_once) {
-      System.out.println("ERROR: Second call to constructor of static parser.  You must");
-      System.out.println("       either use ReInit() or set the JavaCC option STATIC to false");
-      System.out.println("       during parser generation.");
-      throw new Error();
-    }
-    jj_initialized_once = true;
     token_source = tm;
     token = new Token();
     jj_ntk = -1;
@@ -247,7 +226,7 @@ class Comment implements CommentConstants {
     for (int i = 0; i < 2; i++) jj_la1[i] = -1;
   }
 
-  static final private Token jj_consume_token(int kind) throws ParseException {
+  final private Token jj_consume_token(int kind) throws ParseException {
     Token oldToken;
     if ((oldToken = token).next != null) token = token.next;
     else token = token.next = token_source.getNextToken();
@@ -261,7 +240,7 @@ class Comment implements CommentConstants {
     throw generateParseException();
   }
 
-  static final public Token getNextToken() {
+  final public Token getNextToken() {
     if (token.next != null) token = token.next;
     else token = token.next = token_source.getNextToken();
     jj_ntk = -1;
@@ -269,7 +248,7 @@ class Comment implements CommentConstants {
     return token;
   }
 
-  static final public Token getToken(int index) {
+  final public Token getToken(int index) {
     Token t = token;
     for (int i = 0; i < index; i++) {
       if (t.next != null) t = t.next;
@@ -278,18 +257,18 @@ class Comment implements CommentConstants {
     return t;
   }
 
-  static final private int jj_ntk() {
+  final private int jj_ntk() {
     if ((jj_nt=token.next) == null)
       return (jj_ntk = (token.next=token_source.getNextToken()).kind);
     else
       return (jj_ntk = jj_nt.kind);
   }
 
-  static private java.util.Vector jj_expentries = new java.util.Vector();
-  static private int[] jj_expentry;
-  static private int jj_kind = -1;
+  private java.util.Vector jj_expentries = new java.util.Vector();
+  private int[] jj_expentry;
+  private int jj_kind = -1;
 
-  static public ParseException generateParseException() {
+  public ParseException generateParseException() {
     jj_expentries.removeAllElements();
     boolean[] la1tokens = new boolean[20];
     for (int i = 0; i < 20; i++) {
@@ -322,10 +301,10 @@ class Comment implements CommentConstants {
     return new ParseException(token, exptokseq, tokenImage);
   }
 
-  static final public void enable_tracing() {
+  final public void enable_tracing() {
   }
 
-  static final public void disable_tracing() {
+  final public void disable_tracing() {
   }
 
 }
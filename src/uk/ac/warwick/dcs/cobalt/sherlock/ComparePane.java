@@ -280,16 +280,7 @@ class ComparePane
    */
   private void loadMatchedCode() {
     // Left original file.
-    String filename = match.getFile1();
-    int slashindex = filename.lastIndexOf(Settings.fileSep);
-    int dotindex = filename.lastIndexOf('.');
-    filename = filename.substring(slashindex + 1, dotindex);
-    File inputFile = new File(Settings.sourceDirectory + Settings.fileSep
-                              + Settings.fileTypes[Settings.ORI]
-                              .getDirectory(),
-                              filename + "." +
-                              Settings.fileTypes[Settings.ORI]
-                              .getExtension());
+    File inputFile = getOriginalFile(match.getFile1());
     int start = match.getRun().getStartCoordinates()
         .getOrigLineNoInFile1();
     int end = match.getRun().getEndCoordinates().getOrigLineNoInFile1();
@@ -298,15 +289,7 @@ class ComparePane
     loadPane(LEFTORIG, inputFile, start, end);
 
     // Right original file.
-    filename = match.getFile2();
-    slashindex = filename.lastIndexOf(Settings.fileSep);
-    dotindex = filename.lastIndexOf('.');
-    filename = filename.substring(slashindex + 1, dotindex);
-    inputFile = new File(Settings.sourceDirectory + Settings.fileSep
-                         + Settings.fileTypes[Settings.ORI]
-                         .getDirectory(),
-                         filename + "." +
-                         Settings.fileTypes[Settings.ORI].getExtension());
+    inputFile = getOriginalFile(match.getFile2());
     start = match.getRun().getStartCoordinates().getOrigLineNoInFile2();
     end = match.getRun().getEndCoordinates().getOrigLineNoInFile2();
     Settings.message("rightorig, " + inputFile.getAbsolutePath() + ", " +
@@ -341,6 +324,19 @@ class ComparePane
     loadPane(RIGHT, inputFile, start, end);
   } // loadFiles
 
+  /**
+   * Return the original file of a file that has been through a tokeniser.
+   *
+   * @param filename the name of the tokenised file, as a match gives it
+   * @return the original file
+   */
+  private File getOriginalFile(String filename) {
+    int slashindex = filename.lastIndexOf(Settings.fileSep);
+    int dotindex = filename.lastIndexOf('.');
+    return Settings.getProcessedFile
+        (Settings.ORI, filename.substring(slashindex + 1, dotindex));
+  } // getOriginalFile
+
   /**
    * Load the specified pane with the code between the given points in
    * the given file.
@@ -372,20 +368,28 @@ class ComparePane
       lines = Settings.sherlockSettings.getTokLinesToShow();
     }
 
+    // Unless the whole file is shown, only the lines from firstLine to
+    // lastLine are, so start reading at firstLine and stop after lastLine.
+    int firstLine = 1;
+    int lastLine = Integer.MAX_VALUE;
+    if (!showWholeFile) {
+      firstLine = Math.max(1, Math.min(startLine, startLine - lines + 1));
+      lastLine = Math.max(startLine, Math.max(endLine, endLine + lines - 1));
+    }
+
     // Keep track of the lines in the file - so we know when to display
     // or not.
-    int lineNo = 1;
+    int lineNo = firstLine;
 
     // Used to read from the file.
     String inputString = "";
 
     try {
-      BufferedReader readFromFile = new BufferedReader
-          (new FileReader(inputFile));
+      BufferedReader readFromFile = LineOffsets.openAt(inputFile, firstLine);
 
       inputString = readFromFile.readLine();
 
-      while (inputString != null) {
+      while (inputString != null && lineNo <= lastLine) {
 
         // Read in all of the file. Only output the lines that aren't
         // #line xxx
@@ -421,6 +425,7 @@ class ComparePane
         inputString = readFromFile.readLine();
         lineNo++;
       } // while reading in the file.
+      readFromFile.close();
     }
     catch (FileNotFoundException a) {
       // no worries as if the file doesn't exist, we won't get this far.
@@ -764,16 +769,14 @@ class ComparePane
                               .getMatchDirectory(),
                               filename);
       // Left original file
-      File leftName = new File(Settings.sourceDirectory, match
-                               .getFile1());
+      File leftName = getOriginalFile(match.getFile1());
       int leftStart = match.getRun().getStartCoordinates()
           .getOrigLineNoInFile1();
       int leftEnd = match.getRun().getEndCoordinates()
           .getOrigLineNoInFile1();
 
       // Right original file
-      File rightName = new File(Settings.sourceDirectory,
-                                match.getFile2());
+      File rightName = getOriginalFile(match.getFile2());
       int rightStart = match.getRun().getStartCoordinates()
           .getOrigLineNoInFile2();
       int rightEnd = match.getRun().getEndCoordinates()
@@ -799,23 +802,14 @@ class ComparePane
                                             + rightEnd,
                                             0));
 
-        int leftLineNo = 1, rightLineNo = 1;
+        // Start reading at leftStart and rightStart, found with the
+        // index of each file rather than by reading the lines before them.
+        int leftLineNo = Math.max(1, leftStart);
+        int rightLineNo = Math.max(1, rightStart);
         String l = "", r = "";
 
-        BufferedReader lbr = new BufferedReader
-            (new FileReader(leftName));
-        BufferedReader rbr = new BufferedReader
-            (new FileReader(rightName));
-
-        // wind forward to leftStart and rightStart
-        while (leftLineNo < leftStart) {
-          l = lbr.readLine();
-          leftLineNo++;
-        }
-        while (rightLineNo < rightStart) {
-          r = rbr.readLine();
-          rightLineNo++;
-        }
+        BufferedReader lbr = LineOffsets.openAt(leftName, leftLineNo);
+        BufferedReader rbr = LineOffsets.openAt(rightName, rightLineNo);
 
         /* Read one line from left and right.  Number the lines.  Pad
            left to some length, and paste right to the end of it.
@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 1999-2000 The University of Warwick. All Rights Reserved.
+ */
+
+package uk.ac.warwick.dcs.cobalt.sherlock;
+
+import java.io.*;
+import java.security.*;
+import java.util.*;
+
+/**
+ * The content hashes of the files Sherlock has worked on in a source
+ * directory, kept between runs so that incremental tokenising and
+ * detection can tell which files have changed since they were last
+ * processed.
+ *
+ * The hashes are kept in hashes.ini in the source directory, so that they
+ * are passed over with the other .ini files when the directory is listed.
+ * Each hash is stored under a key saying what it is the hash of:
+ *
+ *   source.&lt;name&gt;                 a source file when it was tokenised
+ *   tokenised.&lt;ext&gt;.&lt;name&gt;        a tokeniser's output for it
+ *   detected.&lt;ext&gt;.&lt;name&gt;         a tokenised file when it was compared
+ *
+ * and the settings used for each stage are kept under "settings." keys,
+ * so that changing them makes every file count as changed.
+ */
+class ContentHashes {
+
+  /**
+   * The name of the file the hashes are kept in.
+   */
+  final static String HASHES_NAME = "hashes.ini";
+
+  /**
+   * The hashes, by key.
+   */
+  private Properties hashes = new Properties();
+
+  /**
+   * The file the hashes are kept in.
+   */
+  private File hashesFile;
+
+  /**
+   * Load the hashes recorded for the current source directory. If none
+   * have been recorded, start with none.
+   */
+  ContentHashes() {
+    hashesFile = new File(Settings.sourceDirectory, HASHES_NAME);
+    if (hashesFile.exists()) {
+      try {
+        FileInputStream fis = new FileInputStream(hashesFile);
+        hashes.load(fis);
+        fis.close();
+      }
+      catch (IOException e) {
+        Settings.message("Cannot read " + hashesFile.getAbsolutePath()
+                         + ": every file will be treated as changed.");
+        hashes.clear();
+      }
+    }
+  } // ContentHashes
+
+  /**
+   * Save the hashes to the source directory.
+   */
+  void store() {
+    try {
+      FileOutputStream fos = new FileOutputStream(hashesFile);
+      hashes.store(fos, "Sherlock content hashes");
+      fos.close();
+    }
+    catch (IOException e) {
+      Settings.message(e.toString() + "Error saving " +
+                       hashesFile.getAbsolutePath());
+    }
+  } // store
+
+  /**
+   * Return the hash recorded under a key.
+   *
+   * @param key the key
+   * @return the hash, or null if none is recorded
+   */
+  String get(String key) {
+    return hashes.getProperty(key);
+  } // get
+
+  /**
+   * Record a hash under a key, or forget the one recorded if the hash is
+   * null.
+   *
+   * @param key the key
+   * @param hash the hash
+   */
+  void put(String key, String hash) {
+    if (hash == null) {
+      hashes.remove(key);
+    }
+    else {
+      hashes.setProperty(key, hash);
+    }
+  } // put
+
+  /**
+   * Return whether a hash is the one recorded under a key.
+   *
+   * @param key the key
+   * @param hash the hash, which may be null
+   * @return true if the hash is not null and is the one recorded
+   */
+  boolean matches(String key, String hash) {
+    return hash != null && hash.equals(hashes.getProperty(key));
+  } // matches
+
+  /**
+   * Return the key the hash of a source file is kept under.
+   *
+   * @param name the name of the source file
+   * @return the key
+   */
+  static String sourceKey(String name) {
+    return "source." + name;
+  } // sourceKey
+
+  /**
+   * Return the key the hash of a tokeniser's output is kept under.
+   *
+   * @param fileType the file type of the output
+   * @param name the name of the source file it was made from
+   * @return the key
+   */
+  static String tokenisedKey(int fileType, String name) {
+    return "tokenised." + Settings.fileTypes[fileType].getExtension() + "."
+        + name;
+  } // tokenisedKey
+
+  /**
+   * Return the key the hash of a tokenised file is kept under once it has
+   * been compared against the others.
+   *
+   * @param fileType the file type of the tokenised file
+   * @param name the name of the source file it was made from
+   * @return the key
+   */
+  static String detectedKey(int fileType, String name) {
+    return "detected." + Settings.fileTypes[fileType].getExtension() + "."
+        + name;
+  } // detectedKey
+
+  /**
+   * Return the hash of the contents of a file.
+   *
+   * @param file the file
+   * @return the hash, as hex digits, or null if the file does not exist
+   * @throws IOException if the file cannot be read
+   */
+  static String hash(File file) throws IOException {
+    if (!file.isFile()) {
+      return null;
+    }
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-1");
+    }
+    catch (NoSuchAlgorithmException e) {
+      // Every Java platform has to provide SHA-1.
+      throw new IOException("SHA-1 is not available");
+    }
+
+    InputStream in = new FileInputStream(file);
+    try {
+      byte buffer[] = new byte[8192];
+      for (int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+        digest.update(buffer, 0, read);
+      }
+    }
+    finally {
+      in.close();
+    }
+    return toHex(digest.digest());
+  } // hash
+
+  /**
+   * Return the hash of a string, such as a description of some settings.
+   *
+   * @param s the string
+   * @return the hash, as hex digits
+   */
+  static String hash(String s) {
+    return Long.toHexString(LineDictionary.fingerprint(s));
+  } // hash
+
+  /**
+   * Return bytes as a string of hex digits.
+   */
+  private static String toHex(byte bytes[]) {
+    StringBuffer hex = new StringBuffer(bytes.length * 2);
+    for (int x = 0; x < bytes.length; x++) {
+      hex.append(Character.forDigit( (bytes[x] >> 4) & 0xf, 16));
+      hex.append(Character.forDigit(bytes[x] & 0xf, 16));
+    }
+    return hex.toString();
+  } // toHex
+
+} // ContentHashes
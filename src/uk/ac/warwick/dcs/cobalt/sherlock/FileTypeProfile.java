@@ -45,6 +45,11 @@ public class FileTypeProfile
    *   String commonWords
    *   int maxLinks
    *   int numSimilar
+   *   boolean memIntensive
+   *   boolean groupPairs
+   *   int lshBands
+   *   int lshRows
+   *   int docCacheSize
    *
    * simThreshold is the similarity score above which a sentence is stored as
    * being similar to another. commonThreshold is how many words sentences can
@@ -55,7 +60,12 @@ public class FileTypeProfile
    * When comparison is over, if a sentence has a number of links greater than
    * maxLinks then it will be ignored. The numSimilar property calculates that
        * number of files which are most likely to be plagiarised from the file being
-   * viewed.
+   * viewed. If lshBands is above 0, only sentences whose MinHash signatures
+   * agree on all lshRows rows of at least one of the lshBands bands are
+   * compared; more bands find more of the similar sentences, more rows
+   * compare fewer pairs. When memIntensive is false, up to docCacheSize
+   * kilobytes of documents are kept between comparisons rather than being
+   * read in again; 0 reads each document in every time it is compared.
    *
    * The typing is shown only for information - all are stored here as strings.
    */
@@ -89,7 +99,7 @@ public class FileTypeProfile
       "8",
       "the" + sep + "an" + sep + "and" + sep + "a" + sep + "as" + sep + "or" +
       sep + "of" + sep + "to",
-      "6", "5", "true", "true"}
+      "6", "5", "true", "true", "0", "4", "32768"}
       , { // SEN
       "Tokenised", "tokenised", "tok", "Token", "true", "8", "6", "3", "1", "3",
       "true", "true", "2"} // TOK
@@ -152,6 +162,9 @@ public class FileTypeProfile
       p.setProperty("numSimilar", ftDefaults[9]);
       p.setProperty("memIntensive", ftDefaults[10]);
       p.setProperty("groupPairs", ftDefaults[11]);
+      p.setProperty("lshBands", ftDefaults[12]);
+      p.setProperty("lshRows", ftDefaults[13]);
+      p.setProperty("docCacheSize", ftDefaults[14]);
     }
     return p;
   } // createDefaults
@@ -436,6 +449,65 @@ public class FileTypeProfile
     thisProfile.setProperty("simThreshold", String.valueOf(i));
   }
 
+  /**
+   * Returns the number of locality-sensitive hashing bands sentences are
+   * grouped into before they are compared.
+   *
+   * @return the number of bands; 0 compares every pair sharing a word
+   */
+  public int getLshBands() {
+    return Integer.parseInt(thisProfile.getProperty("lshBands"));
+  }
+
+  /**
+   * Sets the number of locality-sensitive hashing bands.
+   *
+   * @param i the number of bands; 0 turns the hashing off
+   */
+  public void setLshBands(int i) {
+    thisProfile.setProperty("lshBands", String.valueOf(i));
+  }
+
+  /**
+   * Returns the number of MinHash values in each locality-sensitive hashing
+   * band.
+   *
+   * @return the number of rows in a band
+   */
+  public int getLshRows() {
+    return Integer.parseInt(thisProfile.getProperty("lshRows"));
+  }
+
+  /**
+   * Sets the number of MinHash values in each locality-sensitive hashing
+   * band.
+   *
+   * @param i the number of rows in a band
+   */
+  public void setLshRows(int i) {
+    thisProfile.setProperty("lshRows", String.valueOf(i));
+  }
+
+  /**
+   * Returns how much memory documents may be kept in between comparisons
+   * when the comparison is not memory intensive.
+   *
+   * @return the size of the document cache in kilobytes; 0 for none
+   */
+  public int getDocCacheSize() {
+    return Integer.parseInt(thisProfile.getProperty("docCacheSize"));
+  }
+
+  /**
+   * Sets how much memory documents may be kept in between comparisons when
+   * the comparison is not memory intensive.
+   *
+   * @param i the size of the document cache in kilobytes; 0 for none
+   */
+  public void setDocCacheSize(int i) {
+    thisProfile.setProperty("docCacheSize", String.valueOf(i));
+  }
+
   public int getCommonThreshold() {
     return Integer.parseInt(thisProfile.getProperty("commonThreshold"));
   }
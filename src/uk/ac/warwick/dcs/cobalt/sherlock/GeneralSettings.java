@@ -9,7 +9,8 @@ import java.awt.event.*;
 import javax.swing.*;
 
 /**
- * The General Settings tab, where the user can select the language to tested.
+ * The General Settings tab, where the user can select the language to tested
+ * and the number of threads used for detection.
  *
  * @author Ben Hart
  * @author Mike Joy
@@ -26,6 +27,13 @@ class GeneralSettings
    */
   private JRadioButton java;
 
+  /**
+   * Number of detection threads.
+   *
+   * @serial
+   */
+  private NumberField threads;
+
   /**
    * Creates a modal GeneralSettings dialog.
    *
@@ -45,6 +53,14 @@ class GeneralSettings
     bg.add(cplusplus);
     jp.add(cplusplus);
 
+    JPanel threadsJP = new JPanel(new FlowLayout(FlowLayout.LEFT));
+    threadsJP.add(new JLabel("Number of detection threads:"));
+    threads = new NumberField(2, 2);
+    threads.setText(String.valueOf
+                    (Settings.sherlockSettings.getDetectionThreads()));
+    threadsJP.add(threads);
+    jp.add(threadsJP);
+
     // Panel holding the buttons at the bottom of the screen.
     JPanel buttonPanel = new JPanel();
     JButton jb = new JButton("OK");
@@ -72,6 +88,10 @@ class GeneralSettings
     //// if (button.getText() == "OK") {
     if (button.getText().equals("OK")) {
       Settings.sherlockSettings.setJava(java.isSelected());
+      if (!threads.getText().equals("")) {
+        Settings.sherlockSettings.setDetectionThreads
+            (Integer.parseInt(threads.getText()));
+      }
       this.dispose();
     }
 
@@ -10,28 +10,28 @@ class Java implements JavaConstants {
    * The stream used to save the output file.
    * Added public so it can be closed
    */
-  static public PrintStream save;
+  public PrintStream save;
 
   /**
    * The new file containing the output of this tokeniser.
    */
-  static File outputFile = null;
+  File outputFile = null;
 
   /**
    * Keep track of the line number from the file read in. Used to print #line xxx in the outputFile.
    */
-  static int lineNo = 1;
+  int lineNo = 1;
 
   /**
    * If true print the current line number before the next token - this is done after reading in a #line xxx,
    * or having found a comment.
    */
-  static boolean printLineNumber = false;
+  boolean printLineNumber = false;
 
   /**
    * Used to control when a new line is started in the outputted file.
    */
-  static boolean seenNewLine = false;
+  boolean seenNewLine = false;
 
 
   /**
@@ -40,20 +40,20 @@ class Java implements JavaConstants {
    * @param is - the input stream to parse.
    * @param f - the file to save the results of this tokeniser to.
    */
-  static void ReInit(InputStream is, File f) {
+  void ReInit(InputStream is, File f) {
     // Don't need to reinitialise the PrintStream, it's done for us.
-    Java.outputFile = f;
-    Java.lineNo=1;
-    Java.seenNewLine=false;
-    Java.printLineNumber=false;
-    Java.ReInit(is);
+    outputFile = f;
+    lineNo=1;
+    seenNewLine=false;
+    printLineNumber=false;
+    ReInit(is);
   } // ReInit
 
 
   /**
    * Print the current line number into the new file.
    */
-  static void printLineNo() {
+  void printLineNo() {
     if (printLineNumber) {
       save.println();
       save.println("#line "+lineNo);
@@ -67,7 +67,7 @@ class Java implements JavaConstants {
    *
    * @param stringToPrint the string to print.
    */
-  static void toPrint(String stringToPrint) {
+  void toPrint(String stringToPrint) {
     printLineNo();
     if (seenNewLine)
       save.println();
@@ -81,7 +81,7 @@ class Java implements JavaConstants {
     parser.Input();
   }
 
-  static final public void anyOldLines() throws ParseException {
+  final public void anyOldLines() throws ParseException {
     switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
     case singleLineComment:
       jj_consume_token(singleLineComment);
@@ -352,9 +352,9 @@ class Java implements JavaConstants {
     case others:
       jj_consume_token(others);
       if (seenNewLine)
-        Java.save.println();
+        save.println();
       seenNewLine=false;
-      Java.toPrint(token.image);
+      toPrint(token.image);
       break;
     default:
       jj_la1[0] = jj_gen;
@@ -363,10 +363,11 @@ class Java implements JavaConstants {
     }
   }
 
-  static final public void Input() throws ParseException {
+  final public void Input() throws ParseException {
+  token_source.parser = this;
   try    {
       if (outputFile!=null)
-        Java.save = new PrintStream(new FileOutputStream(outputFile));
+        save = new PrintStream(new FileOutputStream(outputFile));
       else
         save = System.out;
   } catch (IOException e) {
@@ -493,13 +494,12 @@ class Java implements JavaConstants {
     jj_consume_token(0);
   }
 
-  static private boolean jj_initialized_once = false;
-  static public JavaTokenManager token_source;
-  static JavaCharStream jj_input_stream;
-  static public Token token, jj_nt;
-  static private int jj_ntk;
-  static private int jj_gen;
-  static final private int[] jj_la1 = new int[2];
+  public JavaTokenManager token_source;
+  JavaCharStream jj_input_stream;
+  public Token token, jj_nt;
+  private int jj_ntk;
+  private int jj_gen;
+  final private int[] jj_la1 = new int[2];
   static private int[] jj_la1_0;
   static private int[] jj_la1_1;
   static private int[] jj_la1_2;
@@ -524,13 +524,6 @@ class Java implements JavaConstants {
    }
 
   public Java(java.io.InputStream stream) {
-    if (jj_initialized_once) {
-      System.out.println("ERROR: Second call to constructor of static parser.  You must");
-      System.out.println("       either use ReInit() or set the JavaCC option STATIC to false");
-      System.out.println("       during parser generation.");
-      throw new Error();
-    }
-    jj_initialized_once = true;
     jj_input_stream = new JavaCharStream(stream, 1, 1);
     token_source = new JavaTokenManager(jj_input_stream);
     token = new Token();
@@ -539,7 +532,7 @@ class Java implements JavaConstants {
     for (int i = 0; i < 2; i++) jj_la1[i] = -1;
   }
 
-  static public void ReInit(java.io.InputStream stream) {
+  public void ReInit(java.io.InputStream stream) {
     jj_input_stream.ReInit(stream, 1, 1);
     token_source.ReInit(jj_input_stream);
     token = new Token();
@@ -549,13 +542,6 @@ class Java implements JavaConstants {
   }
 
   public Java(java.io.Reader stream) {
-    if (jj_initialized_once) {
-      System.out.println("ERROR: Second call to constructor of static parser.  You must");
-      System.out.println("       either use ReInit() or set the JavaCC option STATIC to false");
-      System.out.println("       during parser generation.");
-      throw new Error();
-    }
-    jj_initialized_once = true;
     jj_input_stream = new JavaCharStream(stream, 1, 1);
     token_source = new JavaTokenManager(jj_input_stream);
     token = new Token();
@@ -564,7 +550,7 @@ class Java implements JavaConstants {
     for (int i = 0; i < 2; i++) jj_la1[i] = -1;
   }
 
-  static public void ReInit(java.io.Reader stream) {
+  public void ReInit(java.io.Reader stream) {
     jj_input_stream.ReInit(stream, 1, 1);
     token_source.ReInit(jj_input_stream);
     token = new Token();
@@ -574,13 +560,6 @@ class Java implements JavaConstants {
   }
 
   public Java(JavaTokenManager tm) {
-    if (jj_initialized_once) {
-      System.out.println("ERROR: Second call to constructor of static parser.  You must");
-      System.out.println("       either use ReInit() or set the JavaCC option STATIC to false");
-      System.out.println("       during parser generation.");
-      throw new Error();
-    }
-    jj_initialized_once = true;
     token_source = tm;
     token = new Token();
     jj_ntk = -1;
@@ -596,7 +575,7 @@ class Java implements JavaConstants {
     for (int i = 0; i < 2; i++) jj_la1[i] = -1;
   }
 
-  static final private Token jj_consume_token(int kind) throws ParseException {
+  final private Token jj_consume_token(int kind) throws ParseException {
     Token oldToken;
     if ((oldToken = token).next != null) token = token.next;
     else token = token.next = token_source.getNextToken();
@@ -610,7 +589,7 @@ class Java implements JavaConstants {
     throw generateParseException();
   }
 
-  static final public Token getNextToken() {
+  final public Token getNextToken() {
     if (token.next != null) token = token.next;
     else token = token.next = token_source.getNextToken();
     jj_ntk = -1;
@@ -618,7 +597,7 @@ class Java implements JavaConstants {
     return token;
   }
 
-  static final public Token getToken(int index) {
+  final public Token getToken(int index) {
     Token t = token;
     for (int i = 0; i < index; i++) {
       if (t.next != null) t = t.next;
@@ -627,18 +606,18 @@ class Java implements JavaConstants {
     return t;
   }
 
-  static final private int jj_ntk() {
+  final private int jj_ntk() {
     if ((jj_nt=token.next) == null)
       return (jj_ntk = (token.next=token_source.getNextToken()).kind);
     else
       return (jj_ntk = jj_nt.kind);
   }
 
-  static private java.util.Vector jj_expentries = new java.util.Vector();
-  static private int[] jj_expentry;
-  static private int jj_kind = -1;
+  private java.util.Vector jj_expentries = new java.util.Vector();
+  private int[] jj_expentry;
+  private int jj_kind = -1;
 
-  static public ParseException generateParseException() {
+  public ParseException generateParseException() {
     jj_expentries.removeAllElements();
     boolean[] la1tokens = new boolean[99];
     for (int i = 0; i < 99; i++) {
@@ -680,10 +659,10 @@ class Java implements JavaConstants {
     return new ParseException(token, exptokseq, tokenImage);
   }
 
-  static final public void enable_tracing() {
+  final public void enable_tracing() {
   }
 
-  static final public void disable_tracing() {
+  final public void disable_tracing() {
   }
 
 }
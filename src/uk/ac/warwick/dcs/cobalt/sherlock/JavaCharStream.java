@@ -8,7 +8,7 @@ package uk.ac.warwick.dcs.cobalt.sherlock;
 
 public class JavaCharStream
 {
-  public static final boolean staticFlag = true;
+  public static final boolean staticFlag = false;
   static final int hexval(char c) throws java.io.IOException {
     switch(c)
     {
@@ -56,28 +56,28 @@ public class JavaCharStream
     throw new java.io.IOException(); // Should never come here
   }
 
-  static public int bufpos = -1;
-  static int bufsize;
-  static int available;
-  static int tokenBegin;
-  static protected int bufline[];
-  static protected int bufcolumn[];
+  public int bufpos = -1;
+  int bufsize;
+  int available;
+  int tokenBegin;
+  protected int bufline[];
+  protected int bufcolumn[];
 
-  static protected int column = 0;
-  static protected int line = 1;
+  protected int column = 0;
+  protected int line = 1;
 
-  static protected boolean prevCharIsCR = false;
-  static protected boolean prevCharIsLF = false;
+  protected boolean prevCharIsCR = false;
+  protected boolean prevCharIsLF = false;
 
-  static protected java.io.Reader inputStream;
+  protected java.io.Reader inputStream;
 
-  static protected char[] nextCharBuf;
-  static protected char[] buffer;
-  static protected int maxNextCharInd = 0;
-  static protected int nextCharInd = -1;
-  static protected int inBuf = 0;
+  protected char[] nextCharBuf;
+  protected char[] buffer;
+  protected int maxNextCharInd = 0;
+  protected int nextCharInd = -1;
+  protected int inBuf = 0;
 
-  static protected void ExpandBuff(boolean wrapAround)
+  protected void ExpandBuff(boolean wrapAround)
   {
      char[] newbuffer = new char[bufsize + 2048];
      int newbufline[] = new int[bufsize + 2048];
@@ -125,7 +125,7 @@ public class JavaCharStream
      tokenBegin = 0;
   }
 
-  static protected void FillBuff() throws java.io.IOException
+  protected void FillBuff() throws java.io.IOException
   {
      int i;
      if (maxNextCharInd == 4096)
@@ -157,7 +157,7 @@ public class JavaCharStream
      }
   }
 
-  static protected char ReadByte() throws java.io.IOException
+  protected char ReadByte() throws java.io.IOException
   {
      if (++nextCharInd >= maxNextCharInd)
         FillBuff();
@@ -165,7 +165,7 @@ public class JavaCharStream
      return nextCharBuf[nextCharInd];
   }
 
-  static public char BeginToken() throws java.io.IOException
+  public char BeginToken() throws java.io.IOException
   {     
      if (inBuf > 0)
      {
@@ -184,7 +184,7 @@ public class JavaCharStream
      return readChar();
   }     
 
-  static protected void AdjustBuffSize()
+  protected void AdjustBuffSize()
   {
      if (available == bufsize)
      {
@@ -204,7 +204,7 @@ public class JavaCharStream
         available = tokenBegin;
   }
 
-  static protected void UpdateLineColumn(char c)
+  protected void UpdateLineColumn(char c)
   {
      column++;
 
@@ -244,7 +244,7 @@ public class JavaCharStream
      bufcolumn[bufpos] = column;
   }
 
-  static public char readChar() throws java.io.IOException
+  public char readChar() throws java.io.IOException
   {
      if (inBuf > 0)
      {
@@ -341,7 +341,7 @@ public class JavaCharStream
    * @see #getEndColumn
    */
 
-  static public int getColumn() {
+  public int getColumn() {
      return bufcolumn[bufpos];
   }
 
@@ -350,27 +350,27 @@ public class JavaCharStream
    * @see #getEndLine
    */
 
-  static public int getLine() {
+  public int getLine() {
      return bufline[bufpos];
   }
 
-  static public int getEndColumn() {
+  public int getEndColumn() {
      return bufcolumn[bufpos];
   }
 
-  static public int getEndLine() {
+  public int getEndLine() {
      return bufline[bufpos];
   }
 
-  static public int getBeginColumn() {
+  public int getBeginColumn() {
      return bufcolumn[tokenBegin];
   }
 
-  static public int getBeginLine() {
+  public int getBeginLine() {
      return bufline[tokenBegin];
   }
 
-  static public void backup(int amount) {
+  public void backup(int amount) {
 
     inBuf += amount;
     if ((bufpos -= amount) < 0)
@@ -380,10 +380,6 @@ public class JavaCharStream
   public JavaCharStream(java.io.Reader dstream,
                  int startline, int startcolumn, int buffersize)
   {
-    if (inputStream != null)
-       throw new Error("\n   ERROR: Second call to the constructor of a static JavaCharStream.  You must\n" +
-       "       either use ReInit() or set the JavaCC option STATIC to false\n" +
-       "       during the generation of this class.");
     inputStream = dstream;
     line = startline;
     column = startcolumn - 1;
@@ -467,7 +463,7 @@ public class JavaCharStream
      ReInit(dstream, 1, 1, 4096);
   }
 
-  static public String GetImage()
+  public String GetImage()
   {
      if (bufpos >= tokenBegin)
         return new String(buffer, tokenBegin, bufpos - tokenBegin + 1);
@@ -476,7 +472,7 @@ public class JavaCharStream
                               new String(buffer, 0, bufpos + 1);
   }
 
-  static public char[] GetSuffix(int len)
+  public char[] GetSuffix(int len)
   {
      char[] ret = new char[len];
 
@@ -492,7 +488,7 @@ public class JavaCharStream
      return ret;
   }
 
-  static public void Done()
+  public void Done()
   {
      nextCharBuf = null;
      buffer = null;
@@ -503,7 +499,7 @@ public class JavaCharStream
   /**
    * Method to adjust line and column numbers for the start of a token.
    */
-  static public void adjustBeginLineColumn(int newLine, int newCol)
+  public void adjustBeginLineColumn(int newLine, int newCol)
   {
      int start = tokenBegin;
      int len;
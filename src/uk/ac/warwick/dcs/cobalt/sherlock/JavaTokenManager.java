@@ -5,11 +5,16 @@ import java.util.Date;
 
 public class JavaTokenManager implements JavaConstants
 {
-    public static String my_chars = "";
-    public static boolean ispis_naziva_datoteke = false;
-  public static  java.io.PrintStream debugStream = System.out;
-  public static  void setDebugStream(java.io.PrintStream ds) { debugStream = ds; }
-private static final int jjStopStringLiteralDfa_2(int pos, long active0)
+  /**
+   * The parser this token manager is reading tokens for.
+   */
+  Java parser;
+
+    public String my_chars = "";
+    public boolean ispis_naziva_datoteke = false;
+  public  java.io.PrintStream debugStream = System.out;
+  public  void setDebugStream(java.io.PrintStream ds) { debugStream = ds; }
+private final int jjStopStringLiteralDfa_2(int pos, long active0)
 {
    switch (pos)
    {
@@ -17,17 +22,17 @@ private static final int jjStopStringLiteralDfa_2(int pos, long active0)
          return -1;
    }
 }
-private static final int jjStartNfa_2(int pos, long active0)
+private final int jjStartNfa_2(int pos, long active0)
 {
    return jjMoveNfa_2(jjStopStringLiteralDfa_2(pos, active0), pos + 1);
 }
-static private final int jjStopAtPos(int pos, int kind)
+private final int jjStopAtPos(int pos, int kind)
 {
    jjmatchedKind = kind;
    jjmatchedPos = pos;
    return pos + 1;
 }
-static private final int jjStartNfaWithStates_2(int pos, int kind, int state)
+private final int jjStartNfaWithStates_2(int pos, int kind, int state)
 {
    jjmatchedKind = kind;
    jjmatchedPos = pos;
@@ -35,7 +40,7 @@ static private final int jjStartNfaWithStates_2(int pos, int kind, int state)
    catch(java.io.IOException e) { return pos + 1; }
    return jjMoveNfa_2(state, pos + 1);
 }
-static private final int jjMoveStringLiteralDfa0_2()
+private final int jjMoveStringLiteralDfa0_2()
 {
    switch(curChar)
    {
@@ -45,7 +50,7 @@ static private final int jjMoveStringLiteralDfa0_2()
          return jjMoveNfa_2(0, 0);
    }
 }
-static private final int jjMoveStringLiteralDfa1_2(long active0)
+private final int jjMoveStringLiteralDfa1_2(long active0)
 {
    try { curChar = input_stream.readChar(); my_chars += curChar; }
    catch(java.io.IOException e) {
@@ -63,7 +68,7 @@ static private final int jjMoveStringLiteralDfa1_2(long active0)
    }
    return jjStartNfa_2(0, active0);
 }
-static private final void jjCheckNAdd(int state)
+private final void jjCheckNAdd(int state)
 {
    if (jjrounds[state] != jjround)
    {
@@ -71,29 +76,29 @@ static private final void jjCheckNAdd(int state)
       jjrounds[state] = jjround;
    }
 }
-static private final void jjAddStates(int start, int end)
+private final void jjAddStates(int start, int end)
 {
    do {
       jjstateSet[jjnewStateCnt++] = jjnextStates[start];
    } while (start++ != end);
 }
-static private final void jjCheckNAddTwoStates(int state1, int state2)
+private final void jjCheckNAddTwoStates(int state1, int state2)
 {
    jjCheckNAdd(state1);
    jjCheckNAdd(state2);
 }
-static private final void jjCheckNAddStates(int start, int end)
+private final void jjCheckNAddStates(int start, int end)
 {
    do {
       jjCheckNAdd(jjnextStates[start]);
    } while (start++ != end);
 }
-static private final void jjCheckNAddStates(int start)
+private final void jjCheckNAddStates(int start)
 {
    jjCheckNAdd(jjnextStates[start]);
    jjCheckNAdd(jjnextStates[start + 1]);
 }
-static private final int jjMoveNfa_2(int startState, int curPos)
+private final int jjMoveNfa_2(int startState, int curPos)
 {
    int[] nextStates;
    int startsAt = 0;
@@ -172,7 +177,7 @@ static private final int jjMoveNfa_2(int startState, int curPos)
       catch(java.io.IOException e) { return curPos; }
    }
 }
-private static final int jjStopStringLiteralDfa_0(int pos, long active0, long active1)
+private final int jjStopStringLiteralDfa_0(int pos, long active0, long active1)
 {
    switch (pos)
    {
@@ -435,11 +440,11 @@ private static final int jjStopStringLiteralDfa_0(int pos, long active0, long ac
          return -1;
    }
 }
-private static final int jjStartNfa_0(int pos, long active0, long active1)
+private final int jjStartNfa_0(int pos, long active0, long active1)
 {
    return jjMoveNfa_0(jjStopStringLiteralDfa_0(pos, active0, active1), pos + 1);
 }
-static private final int jjStartNfaWithStates_0(int pos, int kind, int state)
+private final int jjStartNfaWithStates_0(int pos, int kind, int state)
 {
    jjmatchedKind = kind;
    jjmatchedPos = pos;
@@ -447,7 +452,7 @@ static private final int jjStartNfaWithStates_0(int pos, int kind, int state)
    catch(java.io.IOException e) { return pos + 1; }
    return jjMoveNfa_0(state, pos + 1);
 }
-static private final int jjMoveStringLiteralDfa0_0()
+private final int jjMoveStringLiteralDfa0_0()
 {
    switch(curChar)
    {
@@ -544,7 +549,7 @@ static private final int jjMoveStringLiteralDfa0_0()
          return jjMoveNfa_0(0, 0);
    }
 }
-static private final int jjMoveStringLiteralDfa1_0(long active0, long active1)
+private final int jjMoveStringLiteralDfa1_0(long active0, long active1)
 {
    try { curChar = input_stream.readChar(); my_chars += curChar;}
    catch(java.io.IOException e) {
@@ -632,7 +637,7 @@ static private final int jjMoveStringLiteralDfa1_0(long active0, long active1)
    }
    return jjStartNfa_0(0, active0, active1);
 }
-static private final int jjMoveStringLiteralDfa2_0(long old0, long active0, long old1, long active1)
+private final int jjMoveStringLiteralDfa2_0(long old0, long active0, long old1, long active1)
 {
    if (((active0 &= old0) | (active1 &= old1)) == 0L)
       return jjStartNfa_0(0, old0, old1); 
@@ -689,7 +694,7 @@ static private final int jjMoveStringLiteralDfa2_0(long old0, long active0, long
    }
    return jjStartNfa_0(1, active0, 0L);
 }
-static private final int jjMoveStringLiteralDfa3_0(long old0, long active0)
+private final int jjMoveStringLiteralDfa3_0(long old0, long active0)
 {
    if (((active0 &= old0)) == 0L)
       return jjStartNfa_0(1, old0, 0L);
@@ -739,7 +744,7 @@ static private final int jjMoveStringLiteralDfa3_0(long old0, long active0)
    }
    return jjStartNfa_0(2, active0, 0L);
 }
-static private final int jjMoveStringLiteralDfa4_0(long old0, long active0)
+private final int jjMoveStringLiteralDfa4_0(long old0, long active0)
 {
    if (((active0 &= old0)) == 0L)
       return jjStartNfa_0(2, old0, 0L);
@@ -805,7 +810,7 @@ static private final int jjMoveStringLiteralDfa4_0(long old0, long active0)
    }
    return jjStartNfa_0(3, active0, 0L);
 }
-static private final int jjMoveStringLiteralDfa5_0(long old0, long active0)
+private final int jjMoveStringLiteralDfa5_0(long old0, long active0)
 {
    if (((active0 &= old0)) == 0L)
       return jjStartNfa_0(3, old0, 0L);
@@ -851,7 +856,7 @@ static private final int jjMoveStringLiteralDfa5_0(long old0, long active0)
    }
    return jjStartNfa_0(4, active0, 0L);
 }
-static private final int jjMoveStringLiteralDfa6_0(long old0, long active0)
+private final int jjMoveStringLiteralDfa6_0(long old0, long active0)
 {
    if (((active0 &= old0)) == 0L)
       return jjStartNfa_0(4, old0, 0L);
@@ -885,7 +890,7 @@ static private final int jjMoveStringLiteralDfa6_0(long old0, long active0)
    }
    return jjStartNfa_0(5, active0, 0L);
 }
-static private final int jjMoveStringLiteralDfa7_0(long old0, long active0)
+private final int jjMoveStringLiteralDfa7_0(long old0, long active0)
 {
    if (((active0 &= old0)) == 0L)
       return jjStartNfa_0(5, old0, 0L);
@@ -909,7 +914,7 @@ static private final int jjMoveStringLiteralDfa7_0(long old0, long active0)
    }
    return jjStartNfa_0(6, active0, 0L);
 }
-static private final int jjMoveStringLiteralDfa8_0(long old0, long active0)
+private final int jjMoveStringLiteralDfa8_0(long old0, long active0)
 {
    if (((active0 &= old0)) == 0L)
       return jjStartNfa_0(6, old0, 0L);
@@ -933,7 +938,7 @@ static private final int jjMoveStringLiteralDfa8_0(long old0, long active0)
    }
    return jjStartNfa_0(7, active0, 0L);
 }
-static private final int jjMoveStringLiteralDfa9_0(long old0, long active0)
+private final int jjMoveStringLiteralDfa9_0(long old0, long active0)
 {
    if (((active0 &= old0)) == 0L)
       return jjStartNfa_0(7, old0, 0L);
@@ -981,7 +986,7 @@ static final long[] jjbitVec7 = {
 static final long[] jjbitVec8 = {
    0x3fffffffffffL, 0x0L, 0x0L, 0x0L
 };
-static private final int jjMoveNfa_0(int startState, int curPos)
+private final int jjMoveNfa_0(int startState, int curPos)
 {
    int[] nextStates;
    int startsAt = 0;
@@ -2361,11 +2366,11 @@ static private final int jjMoveNfa_0(int startState, int curPos)
       catch(java.io.IOException e) { return curPos; }
    }
 }
-static private final int jjMoveStringLiteralDfa0_1()
+private final int jjMoveStringLiteralDfa0_1()
 {
    return jjMoveNfa_1(0, 0);
 }
-static private final int jjMoveNfa_1(int startState, int curPos)
+private final int jjMoveNfa_1(int startState, int curPos)
 {
    int[] nextStates;
    int startsAt = 0;
@@ -2450,7 +2455,7 @@ static final int[] jjnextStates = {
    91, 54, 166, 172, 160, 162, 146, 153, 124, 134, 141, 106, 114, 119, 52, 53, 
    59, 60, 62, 67, 69, 71, 84, 85, 88, 89, 92, 93, 
 };
-private static final boolean jjCanMove_0(int hiByte, int i1, int i2, long l1, long l2)
+private final boolean jjCanMove_0(int hiByte, int i1, int i2, long l1, long l2)
 {
    switch(hiByte)
    {
@@ -2462,7 +2467,7 @@ private static final boolean jjCanMove_0(int hiByte, int i1, int i2, long l1, lo
          return false;
    }
 }
-private static final boolean jjCanMove_1(int hiByte, int i1, int i2, long l1, long l2)
+private final boolean jjCanMove_1(int hiByte, int i1, int i2, long l1, long l2)
 {
    switch(hiByte)
    {
@@ -2516,17 +2521,17 @@ static final long[] jjtoToken = {
 static final long[] jjtoSkip = {
    0x3c0L, 0x200000000L, 
 };
-static protected JavaCharStream input_stream;
-static private final int[] jjrounds = new int[183];
-static private final int[] jjstateSet = new int[366];
-static StringBuffer image;
-static int jjimageLen;
-static int lengthOfMatch;
-static protected char curChar;
+protected JavaCharStream input_stream;
+private final int[] jjrounds = new int[183];
+private final int[] jjstateSet = new int[366];
+StringBuffer image;
+int jjimageLen;
+int lengthOfMatch;
+protected char curChar;
 public JavaTokenManager(JavaCharStream stream)
 {
-   if (input_stream != null)
-      throw new TokenMgrError("ERROR: Second call to constructor of static lexer. You must use ReInit() to initialize the static variables.", TokenMgrError.STATIC_LEXER_ERROR);
+   if (JavaCharStream.staticFlag)
+      throw new Error("ERROR: Cannot use a static CharStream class with a non-static lexical analyzer.");
    input_stream = stream;
 }
 public JavaTokenManager(JavaCharStream stream, int lexState)
@@ -2534,26 +2539,26 @@ public JavaTokenManager(JavaCharStream stream, int lexState)
    this(stream);
    SwitchTo(lexState);
 }
-static public void ReInit(JavaCharStream stream)
+public void ReInit(JavaCharStream stream)
 {
    jjmatchedPos = jjnewStateCnt = 0;
    curLexState = defaultLexState;
    input_stream = stream;
    ReInitRounds();
 }
-static private final void ReInitRounds()
+private final void ReInitRounds()
 {
    int i;
    jjround = 0x80000001;
    for (i = 183; i-- > 0;)
       jjrounds[i] = 0x80000000;
 }
-static public void ReInit(JavaCharStream stream, int lexState)
+public void ReInit(JavaCharStream stream, int lexState)
 {
    ReInit(stream);
    SwitchTo(lexState);
 }
-static public void SwitchTo(int lexState)
+public void SwitchTo(int lexState)
 {
    if (lexState >= 3 || lexState < 0)
       throw new TokenMgrError("Error: Ignoring invalid lexical state : " + lexState + ". State unchanged.", TokenMgrError.INVALID_LEXICAL_STATE);
@@ -2561,7 +2566,7 @@ static public void SwitchTo(int lexState)
       curLexState = lexState;
 }
 
-static protected Token jjFillToken()
+protected Token jjFillToken()
 {
    Token t = Token.newToken(jjmatchedKind);
    t.kind = jjmatchedKind;
@@ -2574,14 +2579,14 @@ static protected Token jjFillToken()
    return t;
 }
 
-static int curLexState = 0;
-static int defaultLexState = 0;
-static int jjnewStateCnt;
-static int jjround;
-static int jjmatchedPos;
-static int jjmatchedKind;
+int curLexState = 0;
+int defaultLexState = 0;
+int jjnewStateCnt;
+int jjround;
+int jjmatchedPos;
+int jjmatchedKind;
 
-public static Token getNextToken() 
+public Token getNextToken() 
 {
   int kind;
   Token specialToken = null;
@@ -2642,17 +2647,17 @@ public static Token getNextToken()
            if(my_chars.startsWith("DATOTEKA"))
            {
                //System.out.println("DATOTEKA JE: "+my_chars);
-               Java.toPrint(my_chars);
+               parser.toPrint(my_chars);
                ispis_naziva_datoteke = true;
            }
            else if(ispis_naziva_datoteke)
-               Java.toPrint(my_chars);
+               parser.toPrint(my_chars);
            
            if(my_chars.contains("."))
                    ispis_naziva_datoteke = false;
            
            //System.out.println();
-           //Java.toPrint("DATOTEKA JE:"+my_chars);
+           //parser.toPrint("DATOTEKA JE:"+my_chars);
            my_chars = "";
            TokenLexicalActions(matchedToken);
        if (jjnewLexState[jjmatchedKind] != -1)
@@ -2690,7 +2695,7 @@ public static Token getNextToken()
   }
 }
 
-static void SkipLexicalActions(Token matchedToken)
+void SkipLexicalActions(Token matchedToken)
 {
    switch(jjmatchedKind)
    {
@@ -2699,21 +2704,21 @@ static void SkipLexicalActions(Token matchedToken)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1)));
-    Java.lineNo++;
-    Java.seenNewLine = true;
+    parser.lineNo++;
+    parser.seenNewLine = true;
          break;
       case 7 :
          if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1)));
-    Java.lineNo++;
+    parser.lineNo++;
          break;
       default :
          break;
    }
 }
-static void TokenLexicalActions(Token matchedToken)
+void TokenLexicalActions(Token matchedToken)
 {
    switch(jjmatchedKind)
    {
@@ -2722,26 +2727,26 @@ static void TokenLexicalActions(Token matchedToken)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1)));
-    Java.lineNo++;
-    if (Java.seenNewLine)
-      Java.printLineNumber = true;
-    Java.seenNewLine = true;
+    parser.lineNo++;
+    if (parser.seenNewLine)
+      parser.printLineNumber = true;
+    parser.seenNewLine = true;
          break;
       case 3 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[3]);
          else
             image.append(jjstrLiteralImages[3]);
-    Java.toPrint("<SINGLE_LINE_COMMENT>");
-    Java.printLineNumber = true;
+    parser.toPrint("<SINGLE_LINE_COMMENT>");
+    parser.printLineNumber = true;
          break;
       case 4 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[4]);
          else
             image.append(jjstrLiteralImages[4]);
-    Java.toPrint("<MULTI_LINE_COMMENT>");
-    Java.printLineNumber = true;
+    parser.toPrint("<MULTI_LINE_COMMENT>");
+    parser.printLineNumber = true;
          break;
       case 5 :
         if (image == null)
@@ -2749,575 +2754,575 @@ static void TokenLexicalActions(Token matchedToken)
          else
             image.append(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1)));
     input_stream.backup(1);
-    Java.toPrint("<FORMAL_COMMENT>");
-    Java.printLineNumber = true;
+    parser.toPrint("<FORMAL_COMMENT>");
+    parser.printLineNumber = true;
          break;
       case 10 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[10]);
          else
             image.append(jjstrLiteralImages[10]);
-    Java.toPrint("<RSVD>");
+    parser.toPrint("<RSVD>");
          break;
       case 11 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[11]);
          else
             image.append(jjstrLiteralImages[11]);
-    Java.toPrint("<RSVD>");
+    parser.toPrint("<RSVD>");
          break;
       case 12 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1)));
-    Java.toPrint("<TYPE>");
+    parser.toPrint("<TYPE>");
          break;
       case 13 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[13]);
          else
             image.append(jjstrLiteralImages[13]);
-    Java.toPrint("<BREAK>");
+    parser.toPrint("<BREAK>");
          break;
       case 14 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[14]);
          else
             image.append(jjstrLiteralImages[14]);
-    Java.toPrint("<CASE>");
+    parser.toPrint("<CASE>");
          break;
       case 15 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[15]);
          else
             image.append(jjstrLiteralImages[15]);
-    Java.toPrint("<CATCH>");
+    parser.toPrint("<CATCH>");
          break;
       case 16 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[16]);
          else
             image.append(jjstrLiteralImages[16]);
-    Java.toPrint("<CLASS>");
+    parser.toPrint("<CLASS>");
          break;
       case 17 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[17]);
          else
             image.append(jjstrLiteralImages[17]);
-    Java.toPrint("<BREAK>");
+    parser.toPrint("<BREAK>");
          break;
       case 18 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[18]);
          else
             image.append(jjstrLiteralImages[18]);
-    Java.toPrint("<CASE>");
+    parser.toPrint("<CASE>");
          break;
       case 19 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[19]);
          else
             image.append(jjstrLiteralImages[19]);
-    Java.toPrint("<LOOP>");
+    parser.toPrint("<LOOP>");
          break;
       case 20 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[20]);
          else
             image.append(jjstrLiteralImages[20]);
-    Java.toPrint("<IF>");
+    parser.toPrint("<IF>");
          break;
       case 21 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[21]);
          else
             image.append(jjstrLiteralImages[21]);
-    Java.toPrint("<BOOL>");
+    parser.toPrint("<BOOL>");
          break;
       case 22 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[22]);
          else
             image.append(jjstrLiteralImages[22]);
-    Java.toPrint("<FINALLY>");
+    parser.toPrint("<FINALLY>");
          break;
       case 23 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[23]);
          else
             image.append(jjstrLiteralImages[23]);
-    Java.toPrint("<TYPE>");
+    parser.toPrint("<TYPE>");
          break;
       case 24 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[24]);
          else
             image.append(jjstrLiteralImages[24]);
-    Java.toPrint("<LOOP>");
+    parser.toPrint("<LOOP>");
          break;
       case 25 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[25]);
          else
             image.append(jjstrLiteralImages[25]);
-    Java.toPrint("<IF>");
+    parser.toPrint("<IF>");
          break;
       case 26 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[26]);
          else
             image.append(jjstrLiteralImages[26]);
-    Java.toPrint("<MODIFIER>");
+    parser.toPrint("<MODIFIER>");
          break;
       case 27 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[27]);
          else
             image.append(jjstrLiteralImages[27]);
-    Java.toPrint("<IMPORT>");
+    parser.toPrint("<IMPORT>");
          break;
       case 28 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[28]);
          else
             image.append(jjstrLiteralImages[28]);
-    Java.toPrint("==");
+    parser.toPrint("==");
          break;
       case 29 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[29]);
          else
             image.append(jjstrLiteralImages[29]);
-    Java.toPrint("<TYPE>");
+    parser.toPrint("<TYPE>");
          break;
       case 30 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[30]);
          else
             image.append(jjstrLiteralImages[30]);
-    Java.toPrint("<MODIFIER>");
+    parser.toPrint("<MODIFIER>");
          break;
       case 31 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[31]);
          else
             image.append(jjstrLiteralImages[31]);
-    Java.toPrint("<NATIVE>");
+    parser.toPrint("<NATIVE>");
          break;
       case 32 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[32]);
          else
             image.append(jjstrLiteralImages[32]);
-    Java.toPrint("<NEW>");
+    parser.toPrint("<NEW>");
          break;
       case 33 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[33]);
          else
             image.append(jjstrLiteralImages[33]);
-    Java.toPrint("<NULL>");
+    parser.toPrint("<NULL>");
          break;
       case 34 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[34]);
          else
             image.append(jjstrLiteralImages[34]);
-    Java.toPrint("<PACKAGE>");
+    parser.toPrint("<PACKAGE>");
          break;
       case 35 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[35]);
          else
             image.append(jjstrLiteralImages[35]);
-    Java.toPrint("<RETURN>");
+    parser.toPrint("<RETURN>");
          break;
       case 36 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[36]);
          else
             image.append(jjstrLiteralImages[36]);
-    Java.toPrint("<TYPE>");
+    parser.toPrint("<TYPE>");
          break;
       case 37 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[37]);
          else
             image.append(jjstrLiteralImages[37]);
-    Java.toPrint("<SUPER>");
+    parser.toPrint("<SUPER>");
          break;
       case 38 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[38]);
          else
             image.append(jjstrLiteralImages[38]);
-    Java.toPrint("<CASE>");
+    parser.toPrint("<CASE>");
          break;
       case 39 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[39]);
          else
             image.append(jjstrLiteralImages[39]);
-    Java.toPrint("");
+    parser.toPrint("");
          break;
       case 40 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[40]);
          else
             image.append(jjstrLiteralImages[40]);
-    Java.toPrint("<TRY>");
+    parser.toPrint("<TRY>");
          break;
       case 41 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[41]);
          else
             image.append(jjstrLiteralImages[41]);
-    Java.toPrint("<BOOL>");
+    parser.toPrint("<BOOL>");
          break;
       case 42 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[42]);
          else
             image.append(jjstrLiteralImages[42]);
-    Java.toPrint("<TRY>");
+    parser.toPrint("<TRY>");
          break;
       case 43 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[43]);
          else
             image.append(jjstrLiteralImages[43]);
-    Java.toPrint("<LOOP>");
+    parser.toPrint("<LOOP>");
          break;
       case 44 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[44]);
          else
             image.append(jjstrLiteralImages[44]);
-    Java.toPrint("<ASSERT>");
+    parser.toPrint("<ASSERT>");
          break;
       case 45 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1)));
-    Java.toPrint("<MODIFIER>");
+    parser.toPrint("<MODIFIER>");
          break;
       case 46 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1)));
-    Java.toPrint("<IDT>");
+    parser.toPrint("<IDT>");
          break;
       case 49 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1)));
-    Java.toPrint("<VALUE>");
+    parser.toPrint("<VALUE>");
          break;
       case 53 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1)));
-    Java.toPrint("<VALUE>");
+    parser.toPrint("<VALUE>");
          break;
       case 55 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1)));
-    Java.toPrint("<VALUE>");
+    parser.toPrint("<VALUE>");
          break;
       case 56 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1)));
-    Java.toPrint("<VALUE>");
+    parser.toPrint("<VALUE>");
          break;
       case 57 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[57]);
          else
             image.append(jjstrLiteralImages[57]);
-    Java.toPrint("(");
+    parser.toPrint("(");
          break;
       case 58 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[58]);
          else
             image.append(jjstrLiteralImages[58]);
-    Java.toPrint(")");
+    parser.toPrint(")");
          break;
       case 59 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[59]);
          else
             image.append(jjstrLiteralImages[59]);
-    Java.toPrint("{");
+    parser.toPrint("{");
          break;
       case 60 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[60]);
          else
             image.append(jjstrLiteralImages[60]);
-    Java.toPrint("}");
+    parser.toPrint("}");
          break;
       case 61 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[61]);
          else
             image.append(jjstrLiteralImages[61]);
-    Java.toPrint("[");
+    parser.toPrint("[");
          break;
       case 62 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[62]);
          else
             image.append(jjstrLiteralImages[62]);
-    Java.toPrint("]");
+    parser.toPrint("]");
          break;
       case 63 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[63]);
          else
             image.append(jjstrLiteralImages[63]);
-    Java.toPrint("");
+    parser.toPrint("");
          break;
       case 64 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[64]);
          else
             image.append(jjstrLiteralImages[64]);
-    Java.toPrint(",");
+    parser.toPrint(",");
          break;
       case 65 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[65]);
          else
             image.append(jjstrLiteralImages[65]);
-    Java.toPrint(".");
+    parser.toPrint(".");
          break;
       case 66 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[66]);
          else
             image.append(jjstrLiteralImages[66]);
-    Java.toPrint("=");
+    parser.toPrint("=");
          break;
       case 67 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[67]);
          else
             image.append(jjstrLiteralImages[67]);
-    Java.toPrint("==");
+    parser.toPrint("==");
          break;
       case 68 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[68]);
          else
             image.append(jjstrLiteralImages[68]);
-    Java.toPrint("==");
+    parser.toPrint("==");
          break;
       case 69 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[69]);
          else
             image.append(jjstrLiteralImages[69]);
-    Java.toPrint("");
+    parser.toPrint("");
          break;
       case 70 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[70]);
          else
             image.append(jjstrLiteralImages[70]);
-    Java.toPrint("~");
+    parser.toPrint("~");
          break;
       case 71 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[71]);
          else
             image.append(jjstrLiteralImages[71]);
-    Java.toPrint("?");
+    parser.toPrint("?");
          break;
       case 72 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[72]);
          else
             image.append(jjstrLiteralImages[72]);
-    Java.toPrint(":");
+    parser.toPrint(":");
          break;
       case 73 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[73]);
          else
             image.append(jjstrLiteralImages[73]);
-    Java.toPrint("==");
+    parser.toPrint("==");
          break;
       case 74 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[74]);
          else
             image.append(jjstrLiteralImages[74]);
-    Java.toPrint("==");
+    parser.toPrint("==");
          break;
       case 75 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[75]);
          else
             image.append(jjstrLiteralImages[75]);
-    Java.toPrint("==");
+    parser.toPrint("==");
          break;
       case 76 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[76]);
          else
             image.append(jjstrLiteralImages[76]);
-    Java.toPrint("==");
+    parser.toPrint("==");
          break;
       case 77 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[77]);
          else
             image.append(jjstrLiteralImages[77]);
-    Java.toPrint("&&");
+    parser.toPrint("&&");
          break;
       case 78 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[78]);
          else
             image.append(jjstrLiteralImages[78]);
-    Java.toPrint("&&");
+    parser.toPrint("&&");
          break;
       case 79 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[79]);
          else
             image.append(jjstrLiteralImages[79]);
-    Java.toPrint("+=<NUM>");
+    parser.toPrint("+=<NUM>");
          break;
       case 80 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[80]);
          else
             image.append(jjstrLiteralImages[80]);
-    Java.toPrint("-=<NUM>");
+    parser.toPrint("-=<NUM>");
          break;
       case 81 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[81]);
          else
             image.append(jjstrLiteralImages[81]);
-    Java.toPrint("+");
+    parser.toPrint("+");
          break;
       case 82 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[82]);
          else
             image.append(jjstrLiteralImages[82]);
-    Java.toPrint("-");
+    parser.toPrint("-");
          break;
       case 83 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[83]);
          else
             image.append(jjstrLiteralImages[83]);
-    Java.toPrint("*");
+    parser.toPrint("*");
          break;
       case 84 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[84]);
          else
             image.append(jjstrLiteralImages[84]);
-    Java.toPrint("/");
+    parser.toPrint("/");
          break;
       case 85 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[85]);
          else
             image.append(jjstrLiteralImages[85]);
-    Java.toPrint("&");
+    parser.toPrint("&");
          break;
       case 86 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[86]);
          else
             image.append(jjstrLiteralImages[86]);
-    Java.toPrint("&");
+    parser.toPrint("&");
          break;
       case 87 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[87]);
          else
             image.append(jjstrLiteralImages[87]);
-    Java.toPrint("&");
+    parser.toPrint("&");
          break;
       case 88 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[88]);
          else
             image.append(jjstrLiteralImages[88]);
-    Java.toPrint("%");
+    parser.toPrint("%");
          break;
       case 89 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1)));
-    Java.toPrint("<<");
+    parser.toPrint("<<");
          break;
       case 90 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[90]);
          else
             image.append(jjstrLiteralImages[90]);
-    Java.toPrint("+=");
+    parser.toPrint("+=");
          break;
       case 91 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[91]);
          else
             image.append(jjstrLiteralImages[91]);
-    Java.toPrint("-=");
+    parser.toPrint("-=");
          break;
       case 92 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[92]);
          else
             image.append(jjstrLiteralImages[92]);
-    Java.toPrint("*=");
+    parser.toPrint("*=");
          break;
       case 93 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[93]);
          else
             image.append(jjstrLiteralImages[93]);
-    Java.toPrint("/=");
+    parser.toPrint("/=");
          break;
       case 94 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1)));
-    Java.toPrint("&=");
+    parser.toPrint("&=");
          break;
       case 95 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[95]);
          else
             image.append(jjstrLiteralImages[95]);
-    Java.toPrint("%=");
+    parser.toPrint("%=");
          break;
       case 96 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1)));
-    Java.toPrint("<<=");
+    parser.toPrint("<<=");
          break;
       default : 
          break;
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 1999-2000 The University of Warwick. All Rights Reserved.
+ */
+
+package uk.ac.warwick.dcs.cobalt.sherlock;
+
+import java.util.*;
+
+/**
+ * Gives every distinct line read from the tokenised files of one file type
+ * a small integer ID, so that each line is only held in memory once however
+ * many files it appears in. The lines of a TokenisedFile are stored as these
+ * IDs.
+ *
+ * A LineDictionary is filled in by a single thread before any comparison
+ * starts, and is only read from after that.
+ */
+class LineDictionary {
+
+  /**
+   * Estimated number of bytes used by each distinct line, on top of the
+   * characters of the line itself: the String, its entry in the map and its
+   * slot in the lines array.
+   */
+  private final static int BYTES_PER_LINE = 104;
+
+  /**
+   * Maps each line to its Integer ID.
+   */
+  private Map ids = new HashMap();
+
+  /**
+   * The lines, indexed by ID.
+   */
+  private String lines[] = new String[1024];
+
+  /**
+   * The fingerprint of each line, indexed by ID.
+   */
+  private long fingerprints[] = new long[1024];
+
+  /**
+   * The number of distinct lines stored.
+   */
+  private int size = 0;
+
+  /**
+   * Estimate of the number of bytes used by this dictionary.
+   */
+  private long estimatedSize = 0;
+
+  /**
+   * Return the ID of a line, giving it a new one if it has not been seen
+   * before.
+   *
+   * @param line the line of data read in
+   * @return the ID of the line
+   */
+  int intern(String line) {
+    Integer id = (Integer) ids.get(line);
+    if (id != null) {
+      return id.intValue();
+    }
+
+    if (size == lines.length) {
+      String bigger[] = new String[size * 2];
+      System.arraycopy(lines, 0, bigger, 0, size);
+      lines = bigger;
+      long biggerFingerprints[] = new long[size * 2];
+      System.arraycopy(fingerprints, 0, biggerFingerprints, 0, size);
+      fingerprints = biggerFingerprints;
+    }
+    lines[size] = line;
+    fingerprints[size] = fingerprint(line);
+    ids.put(line, new Integer(size));
+    estimatedSize += BYTES_PER_LINE + 2L * line.length();
+    return size++;
+  } // intern
+
+  /**
+   * Return the line with the given ID.
+   *
+   * @param id the ID of the line
+   * @return the line of data
+   */
+  String getLine(int id) {
+    return lines[id];
+  } // getLine
+
+  /**
+   * Return the fingerprint of the line with the given ID.
+   *
+   * @param id the ID of the line
+   * @return the fingerprint of the line
+   */
+  long getFingerprint(int id) {
+    return fingerprints[id];
+  } // getFingerprint
+
+  /**
+   * Work out the 64 bit fingerprint of a line of data. This is the FNV-1a
+   * hash of its characters, which is long enough that two different lines
+   * of a detection run will in practice never share one, so lines can be
+   * compared by fingerprint alone.
+   *
+   * @param line the line of data
+   * @return the fingerprint of the line
+   */
+  static long fingerprint(String line) {
+    long hash = 0xcbf29ce484222325L;
+    for (int x = 0; x < line.length(); x++) {
+      hash ^= line.charAt(x);
+      hash *= 0x100000001b3L;
+    }
+    return hash;
+  } // fingerprint
+
+  /**
+   * Return the number of distinct lines stored.
+   *
+   * @return the number of distinct lines
+   */
+  int size() {
+    return size;
+  } // size
+
+  /**
+   * Return an estimate of the number of bytes used by this dictionary.
+   *
+   * @return the estimated size in bytes
+   */
+  long getEstimatedSize() {
+    return estimatedSize;
+  } // getEstimatedSize
+
+} // LineDictionary
@@ -0,0 +1,288 @@
+/*
+ * Copyright (c) 1999-2000 The University of Warwick. All Rights Reserved.
+ */
+
+package uk.ac.warwick.dcs.cobalt.sherlock;
+
+/**
+ * An index from the 64 bit fingerprints of lines of data to the places they
+ * occur. This does the job of the Hashtable of LineOfData objects used
+ * before, but holds everything in primitive arrays: the fingerprints in an
+ * open addressing table, and the occurrences of each line in a packed list
+ * of ints chained from its slot. Nothing is allocated while lines are added
+ * unless the arrays have to grow, and clearing the index between two pairs
+ * of files does not touch the arrays at all, so one LineIndex is reused for
+ * every pair a PairComparison compares.
+ *
+ * A LineIndex is not thread safe, except that any number of threads may
+ * call contains() on an index no-one is adding to.
+ */
+class LineIndex {
+
+  /**
+   * Returned when there are no (more) occurrences of a line.
+   */
+  final static int NO_OCCURRENCE = -1;
+
+  /**
+   * The number of ints each occurrence takes up in the occurrences array:
+   * its line number, its original line number and the index of the next
+   * occurrence of the same line.
+   */
+  private final static int OCCURRENCE_SIZE = 3;
+
+  /**
+   * The fingerprint held in each slot.
+   */
+  private long keys[];
+
+  /**
+   * The generation each slot was last filled in. A slot is only in use if
+   * this equals the current generation.
+   */
+  private int generations[];
+
+  /**
+   * The first occurrence of the line in each slot.
+   */
+  private int firstOccurrences[];
+
+  /**
+   * The last occurrence of the line in each slot, so that new occurrences
+   * can be added to the end of the list.
+   */
+  private int lastOccurrences[];
+
+  /**
+   * The occurrences of all the lines, OCCURRENCE_SIZE ints each.
+   */
+  private int occurrences[] = new int[OCCURRENCE_SIZE * 1024];
+
+  /**
+   * The number of ints of the occurrences array in use.
+   */
+  private int occurrencesUsed = 0;
+
+  /**
+   * The current generation. Clearing the index just moves on to the next
+   * one.
+   */
+  private int generation = 1;
+
+  /**
+   * The number of slots in use.
+   */
+  private int size = 0;
+
+  /**
+   * Create a new, empty LineIndex.
+   */
+  LineIndex() {
+    allocate(1024);
+  } // LineIndex
+
+  /**
+   * Make a new, empty table of slots.
+   *
+   * @param capacity the number of slots, which must be a power of two
+   */
+  private void allocate(int capacity) {
+    keys = new long[capacity];
+    generations = new int[capacity];
+    firstOccurrences = new int[capacity];
+    lastOccurrences = new int[capacity];
+  } // allocate
+
+  /**
+   * Remove every line from the index.
+   */
+  void clear() {
+    size = 0;
+    occurrencesUsed = 0;
+    generation++;
+    if (generation == 0) {
+      // Every generation has been used, so start the slots afresh.
+      allocate(keys.length);
+      generation = 1;
+    }
+  } // clear
+
+  /**
+   * Return the number of distinct lines in the index.
+   *
+   * @return the number of lines
+   */
+  int size() {
+    return size;
+  } // size
+
+  /**
+   * Return the slot a fingerprint is first looked for in.
+   */
+  private int startSlot(long key) {
+    long mixed = key * 0x9E3779B97F4A7C15L;
+    return (int) (mixed ^ (mixed >>> 32)) & (keys.length - 1);
+  } // startSlot
+
+  /**
+   * Return the slot holding a fingerprint, or -1 if it is not in the index.
+   */
+  private int findSlot(long key) {
+    int mask = keys.length - 1;
+    for (int slot = startSlot(key); generations[slot] == generation;
+         slot = (slot + 1) & mask) {
+      if (keys[slot] == key) {
+        return slot;
+      }
+    }
+    return -1;
+  } // findSlot
+
+  /**
+   * Return the slot holding a fingerprint, adding it to the index with no
+   * occurrences if it is not there already.
+   */
+  private int addSlot(long key) {
+    // Keep the table at most half full.
+    if (size * 2 >= keys.length) {
+      rehash(keys.length * 2);
+    }
+
+    int mask = keys.length - 1;
+    int slot = startSlot(key);
+    while (generations[slot] == generation) {
+      if (keys[slot] == key) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+    keys[slot] = key;
+    generations[slot] = generation;
+    firstOccurrences[slot] = NO_OCCURRENCE;
+    lastOccurrences[slot] = NO_OCCURRENCE;
+    size++;
+    return slot;
+  } // addSlot
+
+  /**
+   * Move the lines in the index into a larger table of slots.
+   */
+  private void rehash(int capacity) {
+    long oldKeys[] = keys;
+    int oldGenerations[] = generations;
+    int oldFirst[] = firstOccurrences;
+    int oldLast[] = lastOccurrences;
+
+    allocate(capacity);
+    int mask = capacity - 1;
+    for (int x = 0; x < oldKeys.length; x++) {
+      if (oldGenerations[x] != generation) {
+        continue;
+      }
+      int slot = startSlot(oldKeys[x]);
+      while (generations[slot] == generation) {
+        slot = (slot + 1) & mask;
+      }
+      keys[slot] = oldKeys[x];
+      generations[slot] = generation;
+      firstOccurrences[slot] = oldFirst[x];
+      lastOccurrences[slot] = oldLast[x];
+    }
+  } // rehash
+
+  /**
+   * Add a line to the index without recording where it occurs.
+   *
+   * @param key the fingerprint of the line
+   */
+  void add(long key) {
+    addSlot(key);
+  } // add
+
+  /**
+   * Return whether a line is in the index.
+   *
+   * @param key the fingerprint of the line
+   * @return true if the line has been added since the index was last
+   * cleared
+   */
+  boolean contains(long key) {
+    return findSlot(key) != -1;
+  } // contains
+
+  /**
+   * Record an occurrence of a line, after any occurrences of it already
+   * recorded.
+   *
+   * @param key the fingerprint of the line
+   * @param lineNo the line number of the occurrence
+   * @param origLineNo the original line number of the occurrence
+   */
+  void addOccurrence(long key, int lineNo, int origLineNo) {
+    int slot = addSlot(key);
+
+    if (occurrencesUsed + OCCURRENCE_SIZE > occurrences.length) {
+      int bigger[] = new int[occurrences.length * 2];
+      System.arraycopy(occurrences, 0, bigger, 0, occurrencesUsed);
+      occurrences = bigger;
+    }
+    int occurrence = occurrencesUsed;
+    occurrences[occurrence] = lineNo;
+    occurrences[occurrence + 1] = origLineNo;
+    occurrences[occurrence + 2] = NO_OCCURRENCE;
+    occurrencesUsed += OCCURRENCE_SIZE;
+
+    if (firstOccurrences[slot] == NO_OCCURRENCE) {
+      firstOccurrences[slot] = occurrence;
+    }
+    else {
+      occurrences[lastOccurrences[slot] + 2] = occurrence;
+    }
+    lastOccurrences[slot] = occurrence;
+  } // addOccurrence
+
+  /**
+   * Return the first recorded occurrence of a line.
+   *
+   * @param key the fingerprint of the line
+   * @return the occurrence, or NO_OCCURRENCE if the line has none
+   */
+  int getFirstOccurrence(long key) {
+    int slot = findSlot(key);
+    if (slot == -1) {
+      return NO_OCCURRENCE;
+    }
+    return firstOccurrences[slot];
+  } // getFirstOccurrence
+
+  /**
+   * Return the occurrence of the same line recorded after the one given.
+   *
+   * @param occurrence an occurrence returned by this index
+   * @return the next occurrence, or NO_OCCURRENCE if there are no more
+   */
+  int getNextOccurrence(int occurrence) {
+    return occurrences[occurrence + 2];
+  } // getNextOccurrence
+
+  /**
+   * Return the line number of an occurrence.
+   *
+   * @param occurrence an occurrence returned by this index
+   * @return the line number
+   */
+  int getLineNo(int occurrence) {
+    return occurrences[occurrence];
+  } // getLineNo
+
+  /**
+   * Return the original line number of an occurrence.
+   *
+   * @param occurrence an occurrence returned by this index
+   * @return the original line number
+   */
+  int getOrigLineNo(int occurrence) {
+    return occurrences[occurrence + 1];
+  } // getOrigLineNo
+
+} // LineIndex
@@ -0,0 +1,299 @@
+/*
+ * Copyright (c) 1999-2000 The University of Warwick. All Rights Reserved.
+ */
+
+package uk.ac.warwick.dcs.cobalt.sherlock;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+
+/**
+ * An index of where each line of a file starts, so that code can be read
+ * from the middle of a file without reading every line before it. Lines
+ * are numbered from 1 the way the compare window numbers them: "#line"
+ * lines left by preprocessing are not counted.
+ *
+ * The index of a file is built the first time it is needed and kept next
+ * to the file, in a file of the same name with INDEX_EXTENSION added; the
+ * index of a file in the source directory itself is kept in the original
+ * directory instead, so that it is not taken for a submission. It starts
+ * with a fixed size header:
+ *
+ *   int magic number, "SHLO"
+ *   int version
+ *   long length of the file indexed
+ *   long time the file indexed was last modified
+ *   int number of lines
+ *   int reserved
+ *
+ * followed by the offset in bytes of the start of each line, a long each.
+ * An index whose length or modification time does not match the file any
+ * more is built again, so it never has to be deleted when a file is
+ * tokenised again. If it cannot be written the offsets are still worked
+ * out, just not kept.
+ *
+ * Offsets are found by looking for the bytes of '\n' and '\r', so files
+ * must be in a character set that encodes them as single bytes, as the
+ * default character set files are read and written in here does.
+ */
+class LineOffsets {
+
+  /**
+   * Added to the name of a file to give the name of its index.
+   */
+  final static String INDEX_EXTENSION = ".lines";
+
+  /**
+   * The magic number an index file starts with, "SHLO".
+   */
+  private final static int MAGIC = 0x53484c4f;
+
+  /**
+   * The version of the index file format.
+   */
+  private final static int VERSION = 1;
+
+  /**
+   * The number of bytes in the header.
+   */
+  private final static int HEADER_SIZE = 32;
+
+  /**
+   * The number of bytes read from a file at a time while it is indexed.
+   */
+  private final static int BLOCK_SIZE = 8192;
+
+  /**
+   * The start of a line that is not counted.
+   */
+  private final static byte HASH_LINE[] = {
+      '#', 'l', 'i', 'n', 'e', ' '};
+
+  /**
+   * LineOffsets only has static methods.
+   */
+  private LineOffsets() {
+  } // LineOffsets
+
+  /**
+   * Open a file for reading from the start of a line. The reader is
+   * positioned with the index of the file, which is built first if need
+   * be.
+   *
+   * @param file the file to read
+   * @param lineNo the number of the line to start from, counting from 1
+   * and not counting "#line" lines
+   * @return a reader positioned at the start of the line, or at the end of
+   * the file if it has fewer lines
+   * @throws IOException if the file cannot be read
+   */
+  static BufferedReader openAt(File file, int lineNo) throws IOException {
+    long offset = lineNo > 1 ? getOffset(file, lineNo) : 0;
+    FileInputStream in = new FileInputStream(file);
+    try {
+      in.getChannel().position(offset);
+    }
+    catch (IOException e) {
+      in.close();
+      throw e;
+    }
+    return new BufferedReader(new InputStreamReader(in));
+  } // openAt
+
+  /**
+   * Return the offset of the start of a line of a file.
+   *
+   * @param file the file
+   * @param lineNo the number of the line, counting from 1 and not counting
+   * "#line" lines
+   * @return the offset in bytes, or the length of the file if it has fewer
+   * lines
+   * @throws IOException if the file cannot be read
+   */
+  static long getOffset(File file, int lineNo) throws IOException {
+    File indexFile = getIndexFile(file);
+    if (indexFile.exists()) {
+      try {
+        long offset = readOffset(indexFile, file, lineNo);
+        if (offset >= 0) {
+          return offset;
+        }
+      }
+      catch (IOException e) {
+        // Damaged; build it again.
+      }
+    }
+
+    long length = file.length();
+    long lastModified = file.lastModified();
+    long offsets[] = build(file);
+    try {
+      write(indexFile, offsets, length, lastModified);
+    }
+    catch (IOException e) {
+      indexFile.delete();
+    }
+    return lineNo - 1 < offsets.length ? offsets[lineNo - 1] : length;
+  } // getOffset
+
+  /**
+   * Return the index file of a file.
+   *
+   * @param file the file
+   * @return where its index is kept
+   */
+  static File getIndexFile(File file) {
+    File dir = file.getAbsoluteFile().getParentFile();
+    if (Settings.sourceDirectory != null &&
+        dir.equals(Settings.sourceDirectory.getAbsoluteFile())) {
+      dir = new File(dir, Settings.fileTypes[Settings.ORI].getDirectory());
+    }
+    return new File(dir, file.getName() + INDEX_EXTENSION);
+  } // getIndexFile
+
+  /**
+   * Read the offset of a line from an index file.
+   *
+   * @return the offset, or -1 if the index is not of the file as it is now
+   * @throws IOException if the index cannot be read or is damaged
+   */
+  private static long readOffset(File indexFile, File file, int lineNo) throws
+      IOException {
+    RandomAccessFile index = new RandomAccessFile(indexFile, "r");
+    try {
+      if (index.length() < HEADER_SIZE || index.readInt() != MAGIC
+          || index.readInt() != VERSION) {
+        return -1;
+      }
+      long length = index.readLong();
+      long lastModified = index.readLong();
+      int count = index.readInt();
+      if (length != file.length() || lastModified != file.lastModified()
+          || index.length() != HEADER_SIZE + 8L * count) {
+        return -1;
+      }
+      if (lineNo - 1 >= count) {
+        return length;
+      }
+      index.seek(HEADER_SIZE + 8L * (lineNo - 1));
+      return index.readLong();
+    }
+    finally {
+      index.close();
+    }
+  } // readOffset
+
+  /**
+   * Find the offset of the start of each line of a file.
+   *
+   * @param file the file
+   * @return the offsets, in order
+   * @throws IOException if the file cannot be read
+   */
+  static long[] build(File file) throws IOException {
+    long offsets[] = new long[256];
+    int count = 0;
+
+    InputStream in = new FileInputStream(file);
+    try {
+      byte block[] = new byte[BLOCK_SIZE];
+      long offset = 0;
+      long lineStart = 0;
+      // How much of HASH_LINE the line starts with so far, or -1 if it
+      // does not start with it.
+      int matched = 0;
+      boolean afterCR = false;
+      int read;
+      while ( (read = in.read(block)) != -1) {
+        for (int x = 0; x < read; x++, offset++) {
+          byte b = block[x];
+          if (afterCR && b == '\n') {
+            // The rest of a "\r\n".
+            lineStart = offset + 1;
+            afterCR = false;
+            continue;
+          }
+          afterCR = b == '\r';
+          if (b == '\n' || b == '\r') {
+            if (matched != HASH_LINE.length) {
+              if (count == offsets.length) {
+                offsets = grow(offsets);
+              }
+              offsets[count++] = lineStart;
+            }
+            lineStart = offset + 1;
+            matched = 0;
+          }
+          else if (matched >= 0 && matched < HASH_LINE.length) {
+            matched = b == HASH_LINE[matched] ? matched + 1 : -1;
+          }
+        }
+      }
+      // A last line with no line terminator.
+      if (lineStart < offset && matched != HASH_LINE.length) {
+        if (count == offsets.length) {
+          offsets = grow(offsets);
+        }
+        offsets[count++] = lineStart;
+      }
+    }
+    finally {
+      in.close();
+    }
+
+    long trimmed[] = new long[count];
+    System.arraycopy(offsets, 0, trimmed, 0, count);
+    return trimmed;
+  } // build
+
+  /**
+   * Double the length of an array.
+   */
+  private static long[] grow(long array[]) {
+    long bigger[] = new long[array.length * 2];
+    System.arraycopy(array, 0, bigger, 0, array.length);
+    return bigger;
+  } // grow
+
+  /**
+   * Write an index file. It is written to a temporary file first, so that
+   * no-one reads it half written.
+   *
+   * @param indexFile the index file
+   * @param offsets the offset of each line
+   * @param length the length of the file indexed
+   * @param lastModified the time the file indexed was last modified
+   * @throws IOException if it cannot be written
+   */
+  private static void write(File indexFile, long offsets[], long length,
+                            long lastModified) throws IOException {
+    File dir = indexFile.getParentFile();
+    if (!dir.exists() && !dir.mkdirs()) {
+      throw new IOException("Cannot create " + dir);
+    }
+    File temp = new File(dir, indexFile.getName() + ".tmp");
+    ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + 8 * offsets.length);
+    buffer.putInt(MAGIC).putInt(VERSION).putLong(length)
+        .putLong(lastModified).putInt(offsets.length).putInt(0);
+    buffer.asLongBuffer().put(offsets);
+    buffer.clear();
+
+    FileOutputStream out = new FileOutputStream(temp);
+    try {
+      FileChannel channel = out.getChannel();
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+    }
+    finally {
+      out.close();
+    }
+    indexFile.delete();
+    if (!temp.renameTo(indexFile)) {
+      temp.delete();
+      throw new IOException("Cannot rename " + temp + " to " + indexFile);
+    }
+  } // write
+
+} // LineOffsets
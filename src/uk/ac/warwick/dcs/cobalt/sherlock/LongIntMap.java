@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 1999-2000 The University of Warwick. All Rights Reserved.
+ */
+
+package uk.ac.warwick.dcs.cobalt.sherlock;
+
+/**
+ * An open addressing hash map from long keys to int values, which are
+ * never negative, so nothing is boxed. Used to look up things keyed on a
+ * pair of int IDs packed into a long.
+ */
+class LongIntMap {
+  private long[] keys;
+  // Each value plus one, so that an empty slot holds zero.
+  private int[] values;
+  private int size = 0;
+
+  /**
+   * Construct a map with room for about the given number of entries.
+   */
+  LongIntMap(int expected) {
+    int capacity = 16;
+    while (capacity < expected * 2) {
+      capacity <<= 1;
+    }
+    keys = new long[capacity];
+    values = new int[capacity];
+  }
+
+  /**
+   * The key of a pair of IDs, whichever way round they are given.
+   */
+  static long key(int id1, int id2) {
+    int low = Math.min(id1, id2);
+    int high = Math.max(id1, id2);
+    return ( (long) low << 32) | (high & 0xffffffffL);
+  }
+
+  /**
+   * The slot the given key is in, or the empty slot it would go in.
+   */
+  private int slot(long key) {
+    int mask = keys.length - 1;
+    int h = (int) (key ^ (key >>> 32)) * 0x9e3779b9;
+    int i = (h ^ (h >>> 16)) & mask;
+    while (values[i] != 0 && keys[i] != key) {
+      i = (i + 1) & mask;
+    }
+    return i;
+  }
+
+  /**
+   * The value of a key.
+   *
+   * @return the value, or -1 if the key is not in the map.
+   */
+  int get(long key) {
+    return values[slot(key)] - 1;
+  }
+
+  /**
+   * Set the value of a key.
+   */
+  void put(long key, int value) {
+    int i = slot(key);
+    if (values[i] == 0) {
+      size++;
+    }
+    keys[i] = key;
+    values[i] = value + 1;
+    if (size * 2 > keys.length) {
+      long[] oldKeys = keys;
+      int[] oldValues = values;
+      keys = new long[oldKeys.length * 2];
+      values = new int[oldKeys.length * 2];
+      for (int j = 0; j < oldKeys.length; j++) {
+        if (oldValues[j] != 0) {
+          int k = slot(oldKeys[j]);
+          keys[k] = oldKeys[j];
+          values[k] = oldValues[j];
+        }
+      }
+    }
+  }
+
+  /**
+   * Number of keys in the map.
+   */
+  int size() {
+    return size;
+  }
+}
@@ -6,19 +6,46 @@ import java.util.*;
 /**
  * Graph representation of all matches for a given data set..
  *
+ * Each vertex is given an int ID, its index in the vertices list, through
+ * a map from its name. Each edge is found through a map keyed on the IDs
+ * of its two vertices packed into a long, so building the graph takes time
+ * in proportion to the number of matches. Once built, the edges of each
+ * vertex are kept in compressed sparse row form: the edges of vertex v are
+ * adjEdges[adjStart[v]] to adjEdges[adjStart[v + 1] - 1].
+ *
  * @author Weiliang Zhang
  * @version 20 Sep 2002
  */
 public class MatchGraph {
   /**
-   * A hashtable containing of all edges in this graph.
+   * All edges in this graph, in the order they were found.
+   */
+  private ArrayList edges;
+
+  /**
+   * All vertices in this graph, in order of ID.
+   */
+  private ArrayList vertices;
+
+  /**
+   * Maps the name of each vertex to its Integer ID.
+   */
+  private HashMap ids;
+
+  /**
+   * Maps the IDs of the two vertices of each edge to its index in edges.
+   */
+  private LongIntMap edgeIds;
+
+  /**
+   * The start of each vertex's edges in adjEdges, and the end of the last.
    */
-  private Hashtable edges;
+  private int[] adjStart;
 
   /**
-   * All vertices in this graph.
+   * The index in edges of the edges of each vertex, vertex by vertex.
    */
-  private LinkedList vertices;
+  private int[] adjEdges;
 
   /**
    * Construct a graph for a set of matches.
@@ -26,78 +53,74 @@ public class MatchGraph {
    * @param matches matches for a given data set.
    */
   public MatchGraph(Match[] matches) {
-    vertices = new LinkedList();
-    edges = new Hashtable();
+    vertices = new ArrayList();
+    edges = new ArrayList();
+    ids = new HashMap();
+    edgeIds = new LongIntMap(matches.length);
 
     //construct all vertices & edges.
     for (int i = 0; i < matches.length; i++) {
-      MatchGraphVertex n1 = new MatchGraphVertex
-          (truncate(matches[i].getFile1()));
-      MatchGraphVertex n2 = new MatchGraphVertex
-          (truncate(matches[i].getFile2()));
-
-      //check n1
-      boolean found = false;
-      int n1index = -1;
-      int n2index = -2;
-      for (int j = 0; j < vertices.size(); j++) {
-        if (n1.equals( (MatchGraphVertex) vertices.get(j))) {
-          found = true;
-          n1index = j;
-          break;
-        }
-      }
-
-      if (!found) {
-        vertices.add(n1);
-        n1index = vertices.indexOf(n1);
-      }
+      int n1index = addVertex(truncate(matches[i].getFile1()));
+      int n2index = addVertex(truncate(matches[i].getFile2()));
+      int percent = matches[i].getSimilarity();
 
-      //check n2
-      found = false;
-      for (int j = 0; j < vertices.size(); j++) {
-        if (n2.equals( (MatchGraphVertex) vertices.get(j))) {
-          found = true;
-          n2index = j;
-          break;
-        }
+      //the key does not depend on the order of n1 and n2.
+      long key = LongIntMap.key(n1index, n2index);
+      int existing = edgeIds.get(key);
+      if (existing >= 0) {
+        //another match between the same vertices: modify the weight and
+        //add this new pair of match's index info.
+        MatchGraphEdge e = (MatchGraphEdge) edges.get(existing);
+        e.setWeight( (e.getWeight() + percent) / 2);
+        e.add(i);
       }
-      if (!found) {
-        vertices.add(n2);
-        n2index = vertices.indexOf(n2);
+      else {
+        edgeIds.put(key, edges.size());
+        edges.add(new MatchGraphEdge(n1index, n2index, percent, i));
       }
-      //System.out.println(n1.getName()+n2.getName());
-      int percent = matches[i].getSimilarity();
-      //System.out.println(n1.getName()+n2.getName()+percent);
-      MatchGraphEdge edge = new MatchGraphEdge
-          (n1index, n2index, percent, i);
-
-      //this addition ensures that the order of n1 and n2 does not matter
-      int code = n1.hashCode() + n2.hashCode();
-      int j = 0;
-      boolean added = false;
-      //if a collision occurs, either they are edges between same
-      //vertices, or they are different edges with same hashcode.
-      //in the former case, increase the existing edge's weight;
-      //in the latter case, add a new edge to the set in sequential
-      //order.
-      for (; edges.get(new Integer(code + j)) != null; j++) {
-        MatchGraphEdge e = (MatchGraphEdge) edges.get
-            (new Integer(code + j));
-
-        //detects collision
-        if (edge.equals(e)) {
-          //modify the weigth
-          e.setWeight((e.getWeight() + edge.getWeight())/2);
-          //add this new pair of match's index info
-          e.add(i);
-          added = true;
-          break;
-        }
+    }
+
+    buildAdjacency();
+  }
+
+  /**
+   * Return the ID of the vertex with the given name, adding it if it is
+   * not in the graph yet.
+   */
+  private int addVertex(String name) {
+    Integer id = (Integer) ids.get(name);
+    if (id == null) {
+      id = new Integer(vertices.size());
+      ids.put(name, id);
+      vertices.add(new MatchGraphVertex(name));
+    }
+    return id.intValue();
+  }
+
+  /**
+   * Build the compressed sparse row form of the edges of each vertex.
+   */
+  private void buildAdjacency() {
+    adjStart = new int[vertices.size() + 1];
+    for (int i = 0; i < edges.size(); i++) {
+      MatchGraphEdge edge = (MatchGraphEdge) edges.get(i);
+      adjStart[edge.getVertex1() + 1]++;
+      if (edge.getVertex2() != edge.getVertex1()) {
+        adjStart[edge.getVertex2() + 1]++;
       }
-      //if new edge found.
-      if (!added) {
-        edges.put(new Integer(code + j), edge);
+    }
+    for (int v = 0; v < vertices.size(); v++) {
+      adjStart[v + 1] += adjStart[v];
+    }
+
+    adjEdges = new int[adjStart[vertices.size()]];
+    int[] next = new int[vertices.size()];
+    System.arraycopy(adjStart, 0, next, 0, next.length);
+    for (int i = 0; i < edges.size(); i++) {
+      MatchGraphEdge edge = (MatchGraphEdge) edges.get(i);
+      adjEdges[next[edge.getVertex1()]++] = i;
+      if (edge.getVertex2() != edge.getVertex1()) {
+        adjEdges[next[edge.getVertex2()]++] = i;
       }
     }
   }
@@ -109,53 +132,61 @@ public class MatchGraph {
    * zero if no edges exist.
    */
   public int edge(MatchGraphVertex v1, MatchGraphVertex v2) {
-    int code = v1.hashCode() + v2.hashCode();
-    int j = 0;
     int n1 = indexOf(v1);
     int n2 = indexOf(v2);
-    for (; edges.get(new Integer(code + j)) != null; j++) {
-      MatchGraphEdge edge = (MatchGraphEdge) edges.get
-          (new Integer(code + j));
-      //construct a psoude-edge just for the ease of comparison.
-      //weight & index are dummy values.
-      if (edge.equals(new MatchGraphEdge(n1, n2, 0, 0))) {
-        return edge.getWeight();
-      }
+    if (n1 < 0 || n2 < 0) {
+      return 0;
     }
-
-    //when program reaches here, edge does not exist.
-    return 0;
+    int index = edgeIds.get(LongIntMap.key(n1, n2));
+    if (index < 0) {
+      return 0;
+    }
+    return ( (MatchGraphEdge) edges.get(index)).getWeight();
   }
 
   /**
-   * Return the edges set.
+   * Return the edges, in the order they were found. The vertices of each
+   * edge are given by their index in getVertices().
    */
-  public Hashtable getEdges() {
+  public List getEdges() {
     return edges;
   }
 
   /**
-   * Return the vertices in this graph.
+   * Return the vertices in this graph, in order of index.
    */
-  public LinkedList getVertices() {
+  public List getVertices() {
     return vertices;
   }
 
+  /**
+   * Return the number of edges of a vertex.
+   *
+   * @param v the index of the vertex.
+   */
+  public int getDegree(int v) {
+    return adjStart[v + 1] - adjStart[v];
+  }
+
+  /**
+   * Return one of the edges of a vertex.
+   *
+   * @param v the index of the vertex.
+   * @param k which of its edges, from 0 to getDegree(v) - 1.
+   * @return the index of the edge in getEdges().
+   */
+  public int getAdjacentEdge(int v, int k) {
+    return adjEdges[adjStart[v] + k];
+  }
+
   /**
    * Return the index of a given Vertex.
    *
    * @return positive integer indices, negative if not found.
    */
   public int indexOf(MatchGraphVertex v) {
-    for (int i = 0; i < vertices.size(); i++) {
-      if (v.getName().equals
-          ( ( (MatchGraphVertex) vertices.get(i)).getName())) {
-        return i;
-      }
-    }
-
-    //reaches here if not found.
-    return -1;
+    Integer id = (Integer) ids.get(v.getName());
+    return id == null ? -1 : id.intValue();
   }
 
   /**
@@ -169,7 +200,7 @@ public class MatchGraph {
    * Extract original file name from preprocessed filenames. It also removes
    * the directory information.
    */
-  private String truncate(String arg) {
+  private static String truncate(String arg) {
     File file = new File(arg);
     String str = file.getName();
     int index = str.lastIndexOf(".");
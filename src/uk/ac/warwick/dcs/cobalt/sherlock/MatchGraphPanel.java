@@ -1,6 +1,5 @@
 package uk.ac.warwick.dcs.cobalt.sherlock;
 
-import java.io.*;
 import java.util.*;
 
 import java.awt.*;
@@ -65,14 +64,72 @@ public class MatchGraphPanel
   private final float DELTA_Y = 480.0f;
 
   /**
-   * Bounding rectangle of the virtual circle. Same indexing as variable CC.
+   * Size of the cells of the grid used to find the vertices & edges under
+   * the mouse in a large connected component.
    */
-  private Rectangle2D VC[];
+  private static final double CELL = 40.0;
 
   /**
-   * Lines representing edges.
+   * Number of cells along each side of a connected component's slot.
    */
-  private LinkedList lines;
+  private static final int GRID = (int) Math.ceil(480.0 / CELL);
+
+  /**
+   * Connected components with fewer vertices & edges than this are searched
+   * directly rather than through a grid.
+   */
+  private static final int GRID_THRESHOLD = 64;
+
+  /**
+   * How far from the mouse, in unscaled units, an edge in the same slot may
+   * be and still be picked: findClosestLine() accepts edges up to 0.2 times
+   * the square root of half the perimeter of the triangle the mouse makes
+   * with the edge's ends away.
+   */
+  private static final double HIT_MARGIN = 6.0;
+
+  /**
+   * A connected component is drawn as a single circle once its vertices
+   * would be fewer than this many pixels apart along the circle.
+   */
+  private static final double MIN_SPACING = 4.0;
+
+  /**
+   * Number of vertices & edges laid out before they are handed to the
+   * panel to be drawn.
+   */
+  private static final int BATCH_SIZE = 5000;
+
+  /**
+   * Lines representing edges. The edges of each connected component are
+   * together, in the order the components are laid out.
+   */
+  private ArrayList lines;
+
+  /**
+   * The connected components laid out so far, in the order of their slots.
+   */
+  private ArrayList components;
+
+  /**
+   * Number of connected components, or zero until they have been found.
+   */
+  private int numberOfCC = 0;
+
+  /**
+   * The vertex the mouse is over, or -1 if none.
+   */
+  private int highlighted = -1;
+
+  /**
+   * Set when the panel is disposed of, to stop the layout thread.
+   */
+  private volatile boolean cancelled = false;
+
+  /**
+   * The graph being shown.
+   */
+  private MatchGraph graph;
 
   /**
    * Line widths. Wider lines are used for file boundries.
@@ -99,11 +156,6 @@ public class MatchGraphPanel
    */
   private static final Color C_NORMAL = Color.black;
 
-  /**
-   * Linked list of linked list(s) storing the connected components.
-   */
-  private LinkedList CC = new LinkedList();
-
   /**
    * All matches. Used to load up matches.
    */
@@ -222,6 +274,11 @@ public class MatchGraphPanel
      */
     private int r2index = -1;
 
+    /**
+     * Index of the edge this line represents in the graph's edges list.
+     */
+    private int edgeIndex;
+
     /**
      * Construct a graphical representation of a graph edge.<p>
      * For performance issus, edge weight, the indices of the rectangles
@@ -237,16 +294,18 @@ public class MatchGraphPanel
      * @param weight weight of this edge in graph.
      * @param r1 index of the first vertex this edge is connected to.
      * @param r2 index of the second vertex this edge is connected to.
+     * @param edge index of the edge in the graph's edges list.
      */
     public CustomisedLine(double x1, double y1, double x2, double y2,
                           Color color, Stroke stroke, int weight,
-                          int r1, int r2) {
+                          int r1, int r2, int edge) {
       super(x1, y1, x2, y2);
       this.color = color;
       this.stroke = stroke;
       this.weight = weight;
       r1index = r1;
       r2index = r2;
+      edgeIndex = edge;
     }
 
     public Color getColor() {
@@ -269,6 +328,10 @@ public class MatchGraphPanel
       return r2index;
     }
 
+    public int getEdgeIndex() {
+      return edgeIndex;
+    }
+
     public void setColor(Color c) {
       color = c;
     }
@@ -279,71 +342,197 @@ public class MatchGraphPanel
   }
 
   /**
-   * Disjoint set vertex. Used to find the connected components in a graph.
+   * A connected component that has been laid out in its slot.
    *
    * @author Weiliang Zhang
    * @version 20 Sep 2002
    */
-  private class DisjointSetVertex {
+  private class ComponentView {
+    /**
+     * Indices of the vertices in this component in the graph's vertices
+     * list.
+     */
+    private int[] vertices;
+
+    /**
+     * Index of the first of this component's lines in the lines list, and
+     * the number of them.
+     */
+    private int firstLine, lineCount;
+
+    /**
+     * Top left corner of this component's slot.
+     */
+    private double originX, originY;
+
+    /**
+     * Centre of the virtual circle, offset as the vertices are.
+     */
+    private double centreX, centreY;
+
+    /**
+     * Highest weight of the edges in this component.
+     */
+    private int maxWeight;
+
     /**
-     * The index of this vertex in the graph's 'vertices' linked list.
+     * Grids of the vertices & lines in each cell of this component's slot,
+     * by their index in vertices & from firstLine. Null if the component is
+     * small enough to search directly.
      */
-    private int index;
+    private CellIndex vertexCells, lineCells;
 
     /**
-     * Parent of this node. Parent is null iff this node is a
-     * representative.
+     * Rectangles & lines made by the layout thread, until they are added to
+     * the panel.
      */
-    private DisjointSetVertex parent = null;
+    private CustomisedRectangle[] newRectangles;
+    private CustomisedLine[] newLines;
 
     /**
-     * Construct a set containing one node.
+     * Whether this component has too many vertices to draw them at a given
+     * zoom.
      */
-    public DisjointSetVertex(int i) {
-      index = i;
-      parent = null;
+    public boolean isCollapsed(int scale) {
+      return vertices.length > 1
+          && Math.PI * DIAMETER * scale / vertices.length < MIN_SPACING;
     }
 
     /**
-     * The index of this vertex in the graph's 'vertices' linked list.
+     * Description of this component when it is drawn as a single circle.
      */
-    public int getIndex() {
-      return index;
+    public String getSummary() {
+      return vertices.length + " files, " + lineCount + " pairs";
+    }
+
+    /**
+     * Cell of the grid a coordinate relative to the slot falls in.
+     */
+    public int cell(double local) {
+      int c = (int) Math.floor(local / CELL);
+      return Math.max(0, Math.min(GRID - 1, c));
+    }
+  }
+
+  /**
+   * Lists of item numbers for each cell of a grid. Each list is an int array
+   * which grows as items are added, so nothing is boxed.
+   *
+   * @author Weiliang Zhang
+   * @version 20 Sep 2002
+   */
+  private static class CellIndex {
+    private int[][] items;
+    private int[] counts;
+
+    /**
+     * Construct an empty index for a given number of cells.
+     */
+    public CellIndex(int cells) {
+      items = new int[cells][];
+      counts = new int[cells];
     }
 
     /**
-     * Find the representative of the set that this vertex belongs.
+     * Add an item to a cell.
      */
-    public DisjointSetVertex findSet() {
-      DisjointSetVertex rep = this;
-      while (rep.getParent() != null) {
-        rep = rep.getParent();
+    public void add(int cell, int item) {
+      if (items[cell] == null) {
+        items[cell] = new int[4];
+      }
+      else if (counts[cell] == items[cell].length) {
+        int[] temp = new int[counts[cell] * 2];
+        System.arraycopy(items[cell], 0, temp, 0, counts[cell]);
+        items[cell] = temp;
       }
-      return rep;
+      items[cell][counts[cell]++] = item;
     }
 
     /**
-     * Joint 2 sets. This set will be joined to the given set. I.E. the
-     * representative in this set will be set to point to the
-     * representative in the given set.
+     * Number of items in a cell.
      */
-    public void union(DisjointSetVertex v) {
-      this.findSet().setParent(v.findSet());
+    public int count(int cell) {
+      return counts[cell];
     }
 
-    public DisjointSetVertex getParent() {
-      return parent;
+    /**
+     * Items in a cell; only the first count(cell) are used.
+     */
+    public int[] get(int cell) {
+      return items[cell];
+    }
+  }
+
+  /**
+   * Finds the connected components of the graph and lays them out away from
+   * the event dispatch thread, handing them to the panel in batches so that
+   * the first components can be drawn while the rest are laid out.
+   *
+   * @author Weiliang Zhang
+   * @version 20 Sep 2002
+   */
+  private class LayoutThread
+      extends Thread {
+    public LayoutThread() {
+      super("Match graph layout");
+      setDaemon(true);
+      setPriority(Thread.MIN_PRIORITY);
     }
 
-    public void setParent(DisjointSetVertex s) {
-      parent = s;
+    public void run() {
+      java.util.List edges = graph.getEdges();
+      int[][] cc = connectedComponent(graph);
+      int[] compStart = cc[0];
+      int[] compVertices = cc[1];
+      int[] edgeStart = cc[2];
+      int[] compEdges = cc[3];
+      int[] local = new int[graph.size()];
+      final int count = compStart.length - 1;
+
+      SwingUtilities.invokeLater(new Runnable() {
+        public void run() {
+          setNumberOfCC(count);
+        }
+      });
+
+      ArrayList batch = new ArrayList();
+      int batchSize = 0;
+      int firstLine = 0;
+      for (int i = 0; i < count && !cancelled; i++) {
+        int[] nodes = new int[compStart[i + 1] - compStart[i]];
+        System.arraycopy(compVertices, compStart[i], nodes, 0, nodes.length);
+        int[] componentEdges = new int[edgeStart[i + 1] - edgeStart[i]];
+        System.arraycopy(compEdges, edgeStart[i], componentEdges, 0,
+                         componentEdges.length);
+
+        ComponentView view = placeComponent(i, nodes, componentEdges,
+                                            edges, local);
+        view.firstLine = firstLine;
+        firstLine += view.lineCount;
+        batch.add(view);
+        batchSize += nodes.length + view.lineCount;
+
+        if (batchSize >= BATCH_SIZE || i == count - 1) {
+          final ArrayList views = batch;
+          final int done = i + 1;
+          SwingUtilities.invokeLater(new Runnable() {
+            public void run() {
+              addComponents(views, done, count);
+            }
+          });
+          batch = new ArrayList();
+          batchSize = 0;
+        }
+      }
     }
   }
 
   /**
    * Construct graphical view of the graph. The panel is splited into an
    * n row by 2 column grid. Each connected component is presented in a
-   * separate slot in the the grid.
+   * separate slot in the the grid.<p>
+   * The components are laid out by a separate thread and appear as they
+   * are ready.
    *
    * @param g parent GUI
    * @param graph Match Graph for a given data set.
@@ -355,6 +544,7 @@ public class MatchGraphPanel
     setBackground(Color.white);
     gui = g;
     matches = ms;
+    this.graph = graph;
     this.parent = parent;
     zoomSlider = new JSlider(1, 10, 1);
     percentSlider = new JSlider(0, 100, 1);
@@ -363,108 +553,243 @@ public class MatchGraphPanel
     statusBar.setHorizontalAlignment(JLabel.RIGHT);
     statusBar.setBorder(new BevelBorder(BevelBorder.LOWERED));
     vertexModels = new CustomisedRectangle[graph.size()];
-    lines = new LinkedList();
+    lines = new ArrayList();
+    components = new ArrayList();
 
     addMouseMotionListener(this);
     addMouseListener(this);
 
     //process each Connected Component
-    connectedComponent(graph);
-
-    //set preferred size so that scrollbar will appear when necessary
-    int scale = zoomSlider.getValue();
-    setPreferredSize(new Dimension(1000 * scale,
-                                   600 * (int)
-                                   Math.ceil( ( (double) CC.size()) / 2.0)
-                                   * scale));
+    new LayoutThread().start();
+  }
 
-    VC = new Rectangle2D[CC.size()];
-    for (int i = 0; i < CC.size(); i++) {
-      LinkedList nodes = (LinkedList) CC.get(i);
-
-      //construct vertices & edges for this component.
-      //construct all rectangles. Vertices are EVENTLY distributed
-      //along a big virtual circle.
-      final double ANGLE = 2.0d * Math.PI / nodes.size();
-      // centre of VC
-      double centreX;
-      double centreY;
-      if (i == 0) {
-        centreX = x + DIAMETER / 2.0;
-        centreY = y + DIAMETER / 2.0;
-      }
-      else if (i % 2 == 1) {
-        centreX = x + DELTA_X + DIAMETER / 2.0;
-        centreY = y + (double) (i / 2) * DELTA_Y + DIAMETER / 2.0;
-      }
-      else {
-        centreX = x + DIAMETER / 2.0;
-        centreY = y + (double) (i / 2) * DELTA_Y + DIAMETER / 2.0;
-      }
+  /**
+   * Lay out one connected component in its slot. Vertices are EVENTLY
+   * distributed along a big virtual circle.
+   *
+   * @param i which component this is, i.e. its slot.
+   * @param nodes indices of its vertices in the graph's vertices list.
+   * @param componentEdges indices of its edges in the graph's edges list.
+   * @param edges the graph's edges.
+   * @param local used to find each vertex's index in nodes, by its index
+   * in the graph.
+   */
+  private ComponentView placeComponent(int i, int[] nodes,
+                                       int[] componentEdges,
+                                       java.util.List edges, int[] local) {
+    ComponentView view = new ComponentView();
+    view.vertices = nodes;
+    view.originX = x + (i % 2) * DELTA_X;
+    view.originY = y + (i / 2) * DELTA_Y;
+    // centre of VC
+    double centreX = view.originX + DIAMETER / 2.0;
+    double centreY = view.originY + DIAMETER / 2.0;
+    view.centreX = centreX + VERTEX_DIAMETER / 2.0;
+    view.centreY = centreY + VERTEX_DIAMETER / 2.0;
+
+    boolean indexed = nodes.length + componentEdges.length >= GRID_THRESHOLD;
+    if (indexed) {
+      view.vertexCells = new CellIndex(GRID * GRID);
+      view.lineCells = new CellIndex(GRID * GRID);
+    }
 
-      //virtual circle is created for use in mouse listener.
-      VC[i] = new Rectangle2D.Double(centreX, centreY,
-                                     DIAMETER, DIAMETER);
-
-      for (double j = 0.0d; j < nodes.size(); j++) {
-        //centre for each vertex
-        double dx = (DIAMETER / 2) * Math.cos(j * ANGLE);
-        double dy = (DIAMETER / 2) * Math.sin(j * ANGLE);
-
-        //index is used to find the vertex in the graph's vertices
-        //linked list.
-        int index = ( (DisjointSetVertex) nodes.get( (int) j))
-            .getIndex();
-        String name = ( (MatchGraphVertex) graph.getVertices()
-                       .get(index)).getName();
-        vertexModels[index] = new CustomisedRectangle
-            (centreX + dx, centreY - dy, VERTEX_DIAMETER,
-             VERTEX_DIAMETER, C_NORMAL, S_NORMAL, name);
+    //construct all rectangles.
+    final double ANGLE = 2.0d * Math.PI / nodes.length;
+    CustomisedRectangle[] rects = new CustomisedRectangle[nodes.length];
+    for (int j = 0; j < nodes.length; j++) {
+      //centre for each vertex
+      double dx = (DIAMETER / 2) * Math.cos(j * ANGLE);
+      double dy = (DIAMETER / 2) * Math.sin(j * ANGLE);
+
+      String name = ( (MatchGraphVertex) graph.getVertices()
+                     .get(nodes[j])).getName();
+      rects[j] = new CustomisedRectangle
+          (centreX + dx, centreY - dy, VERTEX_DIAMETER,
+           VERTEX_DIAMETER, C_NORMAL, S_NORMAL, name);
+      local[nodes[j]] = j;
+
+      if (indexed) {
+        int left = view.cell(rects[j].getMinX() - view.originX);
+        int right = view.cell(rects[j].getMaxX() - view.originX);
+        int top = view.cell(rects[j].getMinY() - view.originY);
+        int bottom = view.cell(rects[j].getMaxY() - view.originY);
+        for (int cy = top; cy <= bottom; cy++) {
+          for (int cx = left; cx <= right; cx++) {
+            view.vertexCells.add(cy * GRID + cx, j);
+          }
+        }
       }
     }
 
     //construct edges.
-    Iterator itr = graph.getEdges().values().iterator();
-    while (itr.hasNext()) {
-      MatchGraphEdge edge = (MatchGraphEdge) itr.next();
-
-      //can determine which lines should be draw.
-      Color color = C_NORMAL;
-      Stroke stroke = S_NORMAL;
-      if (edge.getWeight() > 20) {
-        color = C_LEVEL3;
-        stroke = S_LEVEL3;
-      }
-      else if (edge.getWeight() > 10) {
-        color = C_LEVEL2;
-        stroke = S_LEVEL2;
-      }
-      else if (edge.getWeight() > 4) {
-        color = C_LEVEL1;
-        stroke = S_LEVEL1;
-      }
+    CustomisedLine[] newLines = new CustomisedLine[componentEdges.length];
+    for (int k = 0; k < componentEdges.length; k++) {
+      MatchGraphEdge edge = (MatchGraphEdge) edges.get(componentEdges[k]);
+      view.maxWeight = Math.max(view.maxWeight, edge.getWeight());
 
       //find the rectangles for the 2 vertices.
-      //if not find, skip.
-      if (edge.getVertex1() < 0 || edge.getVertex2() < 0) {
-        break;
-      }
-
-      Rectangle2D rect1 = vertexModels
-          [edge.getVertex1()];
-      Rectangle2D rect2 = vertexModels
-          [edge.getVertex2()];
+      Rectangle2D rect1 = rects[local[edge.getVertex1()]];
+      Rectangle2D rect2 = rects[local[edge.getVertex2()]];
 
       //find the centres
       double x1 = rect1.getX() + rect1.getWidth() / 2.0;
       double y1 = rect1.getY() + rect1.getWidth() / 2.0;
       double x2 = rect2.getX() + rect2.getWidth() / 2.0;
       double y2 = rect2.getY() + rect2.getWidth() / 2.0;
-      //construct edge & add to list.
-      lines.add(new CustomisedLine
-                (x1, y1, x2, y2, color, stroke, edge.getWeight(),
-                 edge.getVertex1(), edge.getVertex2()));
+      //construct edge.
+      newLines[k] = new CustomisedLine
+          (x1, y1, x2, y2, levelColor(edge.getWeight()),
+           levelStroke(edge.getWeight()), edge.getWeight(),
+           edge.getVertex1(), edge.getVertex2(), componentEdges[k]);
+
+      if (indexed) {
+        addToCells(view, newLines[k], k);
+      }
     }
+
+    view.lineCount = newLines.length;
+    view.newRectangles = rects;
+    view.newLines = newLines;
+    return view;
+  }
+
+  /**
+   * Add a line to each cell of its component's grid that it passes
+   * through, stepping from cell to cell along it.
+   *
+   * @param view the component.
+   * @param line the line.
+   * @param item the line's number within the component.
+   */
+  private void addToCells(ComponentView view, Line2D line, int item) {
+    double x1 = line.getX1() - view.originX;
+    double y1 = line.getY1() - view.originY;
+    double x2 = line.getX2() - view.originX;
+    double y2 = line.getY2() - view.originY;
+    int cx = view.cell(x1);
+    int cy = view.cell(y1);
+    int endX = view.cell(x2);
+    int endY = view.cell(y2);
+    double dx = x2 - x1;
+    double dy = y2 - y1;
+    int stepX = dx > 0 ? 1 : -1;
+    int stepY = dy > 0 ? 1 : -1;
+    //distance along the line, as a fraction of it, to the next cell
+    //boundary in each direction, and between boundaries.
+    double nextX = dx == 0 ? java.lang.Double.MAX_VALUE
+        : ( (cx + (stepX > 0 ? 1 : 0)) * CELL - x1) / dx;
+    double nextY = dy == 0 ? java.lang.Double.MAX_VALUE
+        : ( (cy + (stepY > 0 ? 1 : 0)) * CELL - y1) / dy;
+    double deltaX = dx == 0 ? 0 : CELL / Math.abs(dx);
+    double deltaY = dy == 0 ? 0 : CELL / Math.abs(dy);
+
+    view.lineCells.add(cy * GRID + cx, item);
+    int steps = Math.abs(endX - cx) + Math.abs(endY - cy);
+    for (int s = 0; s < steps; s++) {
+      if (cx != endX && (nextX < nextY || cy == endY)) {
+        cx += stepX;
+        nextX += deltaX;
+      }
+      else {
+        cy += stepY;
+        nextY += deltaY;
+      }
+      view.lineCells.add(cy * GRID + cx, item);
+    }
+  }
+
+  /**
+   * Colour of an edge with a given weight.
+   */
+  private static Color levelColor(int weight) {
+    if (weight > 20) {
+      return C_LEVEL3;
+    }
+    else if (weight > 10) {
+      return C_LEVEL2;
+    }
+    else if (weight > 4) {
+      return C_LEVEL1;
+    }
+    return C_NORMAL;
+  }
+
+  /**
+   * Thickness of an edge with a given weight.
+   */
+  private static Stroke levelStroke(int weight) {
+    if (weight > 20) {
+      return S_LEVEL3;
+    }
+    else if (weight > 10) {
+      return S_LEVEL2;
+    }
+    else if (weight > 4) {
+      return S_LEVEL1;
+    }
+    return S_NORMAL;
+  }
+
+  /**
+   * Add a batch of laid out components to those drawn. Called on the event
+   * dispatch thread.
+   *
+   * @param views the components, in order.
+   * @param done number of components laid out so far.
+   * @param count number of components in all.
+   */
+  private void addComponents(ArrayList views, int done, int count) {
+    for (int i = 0; i < views.size(); i++) {
+      ComponentView view = (ComponentView) views.get(i);
+      for (int j = 0; j < view.vertices.length; j++) {
+        vertexModels[view.vertices[j]] = view.newRectangles[j];
+      }
+      lines.addAll(Arrays.asList(view.newLines));
+      view.newRectangles = null;
+      view.newLines = null;
+      components.add(view);
+    }
+    statusBar.setText(done < count ? "Laying out graph: " + done + " of "
+                      + count + " groups" : "Ready");
+    repaint();
+  }
+
+  /**
+   * Set the number of connected components and resize the panel for them.
+   */
+  private void setNumberOfCC(int count) {
+    numberOfCC = count;
+    //set preferred size so that scrollbar will appear when necessary
+    int scale = zoomSlider.getValue();
+    setPreferredSize(new Dimension(1000 * scale,
+                                   600 * (int)
+                                   Math.ceil( ( (double) count) / 2.0)
+                                   * scale));
+    revalidate();
+  }
+
+  /**
+   * Stop laying out the graph when the panel is disposed of.
+   */
+  public void removeNotify() {
+    cancelled = true;
+    super.removeNotify();
+  }
+
+  /**
+   * The laid out component whose slot contains a point, or null if none.
+   */
+  private ComponentView componentAt(double px, double py) {
+    if (px < x || py < y) {
+      return null;
+    }
+    int col = (int) ( (px - x) / DELTA_X);
+    int row = (int) ( (py - y) / DELTA_Y);
+    int i = row * 2 + col;
+    if (col > 1 || i >= components.size()) {
+      return null;
+    }
+    return (ComponentView) components.get(i);
   }
 
   public void paintComponent(Graphics g) {
@@ -480,53 +805,114 @@ public class MatchGraphPanel
     int scale = zoomSlider.getValue();
     g2.scale(scale, scale);
 
-    //set preferred size so that scrollbar will appear when necessary
-//  	setPreferredSize(new Dimension(1000 * scale,
-//  				       600 * (int)
-// 				       Math.ceil(((double) CC.size()) / 2.0)
-// 				       * scale));
+    //only the components whose slots are in view are drawn, and of those
+    //only the edges & vertices in view.
+    Rectangle clip = g2.getClipBounds();
+    int first = 0;
+    int last = components.size() - 1;
+    if (clip != null) {
+      first = Math.max(first, 2 * (int) Math.floor
+                       ( (clip.getMinY() - y) / DELTA_Y));
+      last = Math.min(last, 2 * (int) Math.floor
+                      ( (clip.getMaxY() - y) / DELTA_Y) + 1);
+    }
 
-    //draw edges.
     int reference = percentSlider.getValue();
-    ListIterator itr = lines.listIterator();
-    while (itr.hasNext()) {
-      CustomisedLine line = (CustomisedLine) itr.next();
-      //if line's weight is less than the slider value, don't draw it.
-      if (line.getWeight() < reference) {
+    for (int i = first; i <= last; i++) {
+      ComponentView view = (ComponentView) components.get(i);
+      if (view.isCollapsed(scale)) {
+        drawCollapsed(g2, view);
         continue;
       }
-      //apply color & stroke.
-      Color oriC = g2.getColor();
-      Stroke oriS = g2.getStroke();
-      g2.setColor(line.getColor());
-      g2.setStroke(line.getStroke());
-
-      g2.draw(line);
-      //reset
-      g2.setColor(oriC);
-      g2.setStroke(oriS);
-    }
-
-    //draw vertices.
-    for (int i = 0; i < vertexModels.length; i++) {
-      int x = (int) vertexModels[i].getX();
-      int y = (int) vertexModels[i].getY();
-      int width = (int) vertexModels[i].getWidth();
-      //apply color & stroke.
-      Color oriC = g2.getColor();
-      Stroke oriS = g2.getStroke();
-      g2.setColor(vertexModels[i].getColor());
-      g2.setStroke(vertexModels[i].getStroke());
-      g2.drawOval(x, y, width, width);
-      //reset
-      g2.setColor(oriC);
-      g2.setStroke(oriS);
+
+      //draw edges.
+      for (int k = view.firstLine; k < view.firstLine + view.lineCount; k++) {
+        CustomisedLine line = (CustomisedLine) lines.get(k);
+        //if line's weight is less than the slider value, don't draw it.
+        if (line.getWeight() < reference || !inClip(clip, line)) {
+          continue;
+        }
+        //apply color & stroke.
+        Color oriC = g2.getColor();
+        Stroke oriS = g2.getStroke();
+        g2.setColor(line.getColor());
+        g2.setStroke(line.getStroke());
+
+        g2.draw(line);
+        //reset
+        g2.setColor(oriC);
+        g2.setStroke(oriS);
+      }
+
+      //draw vertices.
+      for (int j = 0; j < view.vertices.length; j++) {
+        CustomisedRectangle vertex = vertexModels[view.vertices[j]];
+        if (clip != null && !vertex.intersects
+            (clip.getX() - 3, clip.getY() - 3, clip.getWidth() + 6,
+             clip.getHeight() + 6)) {
+          continue;
+        }
+        int x = (int) vertex.getX();
+        int y = (int) vertex.getY();
+        int width = (int) vertex.getWidth();
+        //apply color & stroke.
+        Color oriC = g2.getColor();
+        Stroke oriS = g2.getStroke();
+        g2.setColor(vertex.getColor());
+        g2.setStroke(vertex.getStroke());
+        g2.drawOval(x, y, width, width);
+        //reset
+        g2.setColor(oriC);
+        g2.setStroke(oriS);
+      }
     }
 
     g2.dispose();
     g.dispose();
   }
 
+  /**
+   * Whether any of a line, allowing for the widest stroke, may be inside
+   * the clip.
+   *
+   * @param clip the clip, or null to draw everything.
+   * @param line the line.
+   */
+  private boolean inClip(Rectangle clip, Line2D line) {
+    if (clip == null) {
+      return true;
+    }
+    final double MARGIN = 3.0;
+    return Math.max(line.getX1(), line.getX2()) >= clip.getMinX() - MARGIN
+        && Math.min(line.getX1(), line.getX2()) <= clip.getMaxX() + MARGIN
+        && Math.max(line.getY1(), line.getY2()) >= clip.getMinY() - MARGIN
+        && Math.min(line.getY1(), line.getY2()) <= clip.getMaxY() + MARGIN;
+  }
+
+  /**
+   * Draw a connected component that has too many vertices to show at the
+   * current zoom as its virtual circle, in the colour of its heaviest edge,
+   * with the number of files & pairs in it.
+   */
+  private void drawCollapsed(Graphics2D g2, ComponentView view) {
+    Color oriC = g2.getColor();
+    Stroke oriS = g2.getStroke();
+    g2.setColor(levelColor(view.maxWeight));
+    g2.setStroke(levelStroke(view.maxWeight));
+    g2.draw(new Ellipse2D.Double(view.centreX - DIAMETER / 2.0,
+                                 view.centreY - DIAMETER / 2.0,
+                                 DIAMETER, DIAMETER));
+    g2.setColor(C_NORMAL);
+    String summary = view.getSummary();
+    FontMetrics metrics = g2.getFontMetrics();
+    g2.drawString(summary, (float) (view.centreX
+                                    - metrics.stringWidth(summary) / 2.0),
+                  (float) view.centreY);
+    //reset
+    g2.setColor(oriC);
+    g2.setStroke(oriS);
+  }
+
   public JSlider getZoomSlider() {
     return zoomSlider;
   }
@@ -541,65 +927,101 @@ public class MatchGraphPanel
 
   /**
    * Return the number of connected components. Used to resize the panel.
+   * Zero until the layout thread has found them.
    */
   public int getNumberOfCC() {
-    if (CC == null) {
-      return 0;
-    }
-    else {
-      return CC.size();
-    }
+    return numberOfCC;
   }
 
   /**
-   * Find the connected components of a given graph and store the result
-   * in private private variable CC.
-   */
-  private void connectedComponent(MatchGraph graph) {
-    //vertexSets has the same indexing as the vertices linked list in
-    //graph. Hence we can use the index stored in each edge to access it
-    //directly.
-    LinkedList vertexSets = new LinkedList();
-    for (int i = 0; i < graph.getVertices().size(); i++) {
-      vertexSets.add(new DisjointSetVertex(i));
-
-    }
-    Hashtable edges = graph.getEdges();
-    Iterator itr = edges.values().iterator();
-    while (itr.hasNext()) {
-      MatchGraphEdge edge = (MatchGraphEdge) itr.next();
-      DisjointSetVertex v1 =
-          (DisjointSetVertex) vertexSets.get(edge.getVertex1());
-      DisjointSetVertex v2 =
-          (DisjointSetVertex) vertexSets.get(edge.getVertex2());
-      if (v1.findSet() != v2.findSet()) {
-        v1.union(v2);
+   * Find the connected components of a given graph. The disjoint sets are
+   * kept in an array holding each vertex's parent, or minus the size of its
+   * set if it is a representative.
+   *
+   * @return four arrays: the start of each component's vertices in the
+   * second array, then the end of the last; the vertices of each component
+   * in turn; the start of each component's edges in the fourth array, then
+   * the end of the last; and the edges of each component in turn. Vertices
+   * & edges are indices in the graph's lists, in the graph's order, and the
+   * components are in order of their first vertex.
+   */
+  private static int[][] connectedComponent(MatchGraph graph) {
+    int n = graph.size();
+    java.util.List edges = graph.getEdges();
+    int[] parent = new int[n];
+    Arrays.fill(parent, -1);
+    for (int i = 0; i < edges.size(); i++) {
+      MatchGraphEdge edge = (MatchGraphEdge) edges.get(i);
+      int r1 = findSet(parent, edge.getVertex1());
+      int r2 = findSet(parent, edge.getVertex2());
+      if (r1 != r2) {
+        //join the smaller set to the larger.
+        if (parent[r1] > parent[r2]) {
+          int temp = r1;
+          r1 = r2;
+          r2 = temp;
+        }
+        parent[r1] += parent[r2];
+        parent[r2] = r1;
       }
     }
 
-    //find out how many disjoint sets there are.
-    LinkedList reps = new LinkedList();
-    itr = vertexSets.listIterator();
-    while (itr.hasNext()) {
-      if (reps.contains( ( (DisjointSetVertex) itr.next()).findSet())) {
-        continue;
-      }
-      else {
-        reps.add( ( (DisjointSetVertex) itr.next()).findSet());
+    //number the components in order of their first vertex.
+    int[] component = new int[n];
+    int[] number = new int[n];
+    Arrays.fill(number, -1);
+    int count = 0;
+    for (int v = 0; v < n; v++) {
+      int rep = findSet(parent, v);
+      if (number[rep] < 0) {
+        number[rep] = count++;
       }
+      component[v] = number[rep];
+    }
+
+    int[] compStart = new int[count + 1];
+    int[] edgeStart = new int[count + 1];
+    for (int v = 0; v < n; v++) {
+      compStart[component[v] + 1]++;
+    }
+    for (int i = 0; i < edges.size(); i++) {
+      MatchGraphEdge edge = (MatchGraphEdge) edges.get(i);
+      edgeStart[component[edge.getVertex1()] + 1]++;
+    }
+    for (int c = 0; c < count; c++) {
+      compStart[c + 1] += compStart[c];
+      edgeStart[c + 1] += edgeStart[c];
     }
 
-    //place each vertex in their respective disjoint set in CC.
-    //firstly, create linked list for each set.
-    for (int i = reps.size(); i > 0; i--) {
-      CC.add(new LinkedList());
-      //place each vertex in the right place.
+    int[] compVertices = new int[n];
+    int[] next = new int[count];
+    System.arraycopy(compStart, 0, next, 0, count);
+    for (int v = 0; v < n; v++) {
+      compVertices[next[component[v]]++] = v;
     }
-    itr = vertexSets.listIterator();
-    while (itr.hasNext()) {
-      DisjointSetVertex v = (DisjointSetVertex) itr.next();
-      ( (LinkedList) CC.get(reps.indexOf(v.findSet()))).add(v);
+    int[] compEdges = new int[edges.size()];
+    System.arraycopy(edgeStart, 0, next, 0, count);
+    for (int i = 0; i < edges.size(); i++) {
+      MatchGraphEdge edge = (MatchGraphEdge) edges.get(i);
+      compEdges[next[component[edge.getVertex1()]]++] = i;
+    }
+
+    return new int[][] {
+        compStart, compVertices, edgeStart, compEdges};
+  }
+
+  /**
+   * Find the representative of the set a vertex belongs to, pointing each
+   * vertex on the way at its grandparent.
+   */
+  private static int findSet(int[] parent, int v) {
+    while (parent[v] >= 0) {
+      if (parent[parent[v]] >= 0) {
+        parent[v] = parent[parent[v]];
+      }
+      v = parent[v];
     }
+    return v;
   }
 
   // MouseMotionListener interface
@@ -616,23 +1038,29 @@ public class MatchGraphPanel
     double x = ( (double) e.getX()) / ( (double) scale);
     double y = ( (double) e.getY()) / ( (double) scale);
 
+    ComponentView view = componentAt(x, y);
+    if (view != null && view.isCollapsed(scale)) {
+      statusBar.setText(view.getSummary() + ", zoom in to see them");
+      return;
+    }
+
     //check whether the mouse if over a vertex and which
-    int ptr = 0;
-    boolean found = false;
-    for (int i = 0; i < vertexModels.length; i++) {
-      if (vertexModels[i].contains(x, y)) {
-        found = true;
-        ptr = i;
-        //highlight this vertex by setting thicker stroke
-        vertexModels[i].setStroke(S_LEVEL3);
+    int ptr = view == null ? -1 : findVertex(view, x, y);
+    if (ptr != highlighted) {
+      //highlight this vertex by setting thicker stroke
+      if (highlighted >= 0) {
+        vertexModels[highlighted].setStroke(S_NORMAL);
+        repaintVertex(highlighted, scale);
       }
-      else {
-        vertexModels[i].setStroke(S_NORMAL);
+      if (ptr >= 0) {
+        vertexModels[ptr].setStroke(S_LEVEL3);
+        repaintVertex(ptr, scale);
       }
+      highlighted = ptr;
     }
 
     //now ptr points to the vertex
-    if (found) {
+    if (ptr >= 0) {
       //set status bar to indicate this vertex's name.
       statusBar.setText(vertexModels[ptr].getName());
       setToolTipText(vertexModels[ptr].getName());
@@ -649,14 +1077,53 @@ public class MatchGraphPanel
     }
   }
 
+  /**
+   * Find the vertex under the mouse in a connected component.
+   *
+   * @return the vertex's index in vertexModels, the highest if there is
+   * more than one, or -1 if there is none.
+   */
+  private int findVertex(ComponentView view, double x, double y) {
+    int[] items = null;
+    int count = view.vertices.length;
+    if (view.vertexCells != null) {
+      int cell = view.cell(y - view.originY) * GRID
+          + view.cell(x - view.originX);
+      items = view.vertexCells.get(cell);
+      count = view.vertexCells.count(cell);
+    }
+
+    int ptr = -1;
+    for (int i = 0; i < count; i++) {
+      int index = view.vertices[items == null ? i : items[i]];
+      if (vertexModels[index].contains(x, y)) {
+        ptr = Math.max(ptr, index);
+      }
+    }
+    return ptr;
+  }
+
+  /**
+   * Repaint the area of the panel a vertex is drawn in.
+   */
+  private void repaintVertex(int index, int scale) {
+    Rectangle2D rect = vertexModels[index];
+    repaint( (int) ( (rect.getX() - 3) * scale),
+            (int) ( (rect.getY() - 3) * scale),
+            (int) ( (rect.getWidth() + 7) * scale),
+            (int) ( (rect.getHeight() + 7) * scale));
+  }
+
   /**
    * Find the line that is closest to the current mouse position & set
-   * the status bar if necessary.
+   * the status bar if necessary. Only the lines of the connected component
+   * under the mouse, and in a large component only those that pass near the
+   * mouse, are looked at.
    *
    * @param x x coordinate of the current mouse position.
    * @param y y coordinate of the current mouse position.
    *
-   * @return The int value returned is the index in the lines linked list
+   * @return The int value returned is the index in the lines list
    * of the line who is closest to the current mouse position and this
    * distance is within a certain range. If negative values are returned
    * as indices, then there is no line closer enough to the current
@@ -666,53 +1133,47 @@ public class MatchGraphPanel
     //The MAX range allowed for a line to be accepted as the closest line.
     final double MAX_DISTANCE = 0.2;
 
-    double[] distances = new double[lines.size()];
-    for (int i = 0; i < distances.length; i++) {
-      CustomisedLine edge = (CustomisedLine) lines.get(i);
-      Point2D p1 = edge.getP1();
-      Point2D p2 = edge.getP2();
-
-      //if mouse is outside the bounding virtual rectangle,
-      //ignore this event. This is necessary because the
-      //distances are calculated regardless where the lines
-      //end, i.e. you can visualise what happens if the
-      //edges do not end at vertices.
-      //if an edge with weight less then the the percentage slider
-      //value, ignore it.
-      if ( ( ( (x < p1.getX() && p1.getX() < p2.getX()) ||
-              (x > p2.getX() && p1.getX() < p2.getX()) ||
-              (x < p2.getX() && p2.getX() < p1.getX()) ||
-              (x > p1.getX() && p2.getX() < p1.getX())) &&
-            ( (y < p1.getY() && p1.getY() < p2.getY()) ||
-             (y > p2.getY() && p1.getY() < p2.getY()) ||
-             (y < p2.getY() && p2.getY() < p1.getY()) ||
-             (y > p1.getY() && p2.getY() < p1.getY()))) ||
-          edge.getWeight() < percentSlider.getValue()) {
-        distances[i] = java.lang.Double.MAX_VALUE;
-      }
-      else {
-        //calculate the perpendicular distance from the
-        //mouse event point to this edge.
-        //first, find out the area of the triangle form by
-        //this point, p1 & p2.
-        double a = p1.distance(x, y);
-        double b = p1.distance(p2);
-        double c = p2.distance(x, y);
-        double s = (a + b + c) / 2.0;
-        double area = Math.sqrt( (s - a) * (s - b) * (s - c));
-        distances[i] = 2.0 * area / b;
-      }
+    ComponentView view = componentAt(x, y);
+    if (view == null || view.isCollapsed(zoomSlider.getValue())) {
+      return -1;
     }
 
     //find out the closest edge, ie. min distance
     double min = java.lang.Double.MAX_VALUE;
     int index = -1;
-    for (int i = 0; i < distances.length; i++) {
-      if (distances[i] < min) {
-        min = distances[i];
-        index = i;
+    if (view.lineCells == null) {
+      for (int k = 0; k < view.lineCount; k++) {
+        int i = view.firstLine + k;
+        double distance = distance( (CustomisedLine) lines.get(i), x, y);
+        if (distance < min) {
+          min = distance;
+          index = i;
+        }
       }
     }
+    else {
+      //any line near enough passes through one of the cells at the corners
+      //of a square around the mouse.
+      int left = view.cell(x - view.originX - HIT_MARGIN);
+      int right = view.cell(x - view.originX + HIT_MARGIN);
+      int top = view.cell(y - view.originY - HIT_MARGIN);
+      int bottom = view.cell(y - view.originY + HIT_MARGIN);
+      for (int cy = top; cy <= bottom; cy++) {
+        for (int cx = left; cx <= right; cx++) {
+          int cell = cy * GRID + cx;
+          int[] items = view.lineCells.get(cell);
+          for (int k = 0; k < view.lineCells.count(cell); k++) {
+            int i = view.firstLine + items[k];
+            double distance = distance( (CustomisedLine) lines.get(i), x, y);
+            if (distance < min || (distance == min && i < index)) {
+              min = distance;
+              index = i;
+            }
+          }
+        }
+      }
+    }
+
     //if this min distance is within a certain value,
     //display edge info in statusBar.
     if (min < MAX_DISTANCE) {
@@ -731,6 +1192,48 @@ public class MatchGraphPanel
     }
   }
 
+  /**
+   * How close the mouse is to a line, for findClosestLine().
+   *
+   * @return the distance, or Double.MAX_VALUE if the line is not shown or
+   * the mouse is beyond its ends.
+   */
+  private double distance(CustomisedLine edge, double x, double y) {
+    Point2D p1 = edge.getP1();
+    Point2D p2 = edge.getP2();
+
+    //if mouse is outside the bounding virtual rectangle,
+    //ignore this event. This is necessary because the
+    //distances are calculated regardless where the lines
+    //end, i.e. you can visualise what happens if the
+    //edges do not end at vertices.
+    //if an edge with weight less then the the percentage slider
+    //value, ignore it.
+    if ( ( ( (x < p1.getX() && p1.getX() < p2.getX()) ||
+            (x > p2.getX() && p1.getX() < p2.getX()) ||
+            (x < p2.getX() && p2.getX() < p1.getX()) ||
+            (x > p1.getX() && p2.getX() < p1.getX())) &&
+          ( (y < p1.getY() && p1.getY() < p2.getY()) ||
+           (y > p2.getY() && p1.getY() < p2.getY()) ||
+           (y < p2.getY() && p2.getY() < p1.getY()) ||
+           (y > p1.getY() && p2.getY() < p1.getY()))) ||
+        edge.getWeight() < percentSlider.getValue()) {
+      return java.lang.Double.MAX_VALUE;
+    }
+    else {
+      //calculate the perpendicular distance from the
+      //mouse event point to this edge.
+      //first, find out the area of the triangle form by
+      //this point, p1 & p2.
+      double a = p1.distance(x, y);
+      double b = p1.distance(p2);
+      double c = p2.distance(x, y);
+      double s = (a + b + c) / 2.0;
+      double area = Math.sqrt( (s - a) * (s - b) * (s - c));
+      return 2.0 * area / b;
+    }
+  }
+
   //MouseListener Interface.
   public void mouseClicked(MouseEvent e) {}
 
@@ -756,26 +1259,14 @@ public class MatchGraphPanel
     CustomisedLine edge = (CustomisedLine)
         lines.get(index);
 
-    final String selectedfile1 = vertexModels[edge.getR1Index()]
-        .getName();
-    final String selectedfile2 = vertexModels[edge.getR2Index()]
-        .getName();
-
-    //find out all data for this pair.
-    LinkedList list = new LinkedList();
-    for (int i = 0; i < matches.length; i++) {
-      String file1 = truncate(matches[i].getFile1());
-      String file2 = truncate(matches[i].getFile2());
-
-      if ( (selectedfile1.equals(file1) &&
-            selectedfile2.equals(file2))
-          || (selectedfile1.equals(file2) &&
-              selectedfile2.equals(file1))) {
-        list.add(matches[i]);
-      }
-    }
+    //find out all data for this pair: the matches its edge represents.
+    LinkedList list = ( (MatchGraphEdge) graph.getEdges()
+                       .get(edge.getEdgeIndex())).getMatchIndices();
     final Match[] pm = new Match[list.size()];
-    list.toArray(pm);
+    Iterator itr = list.iterator();
+    for (int i = 0; itr.hasNext(); i++) {
+      pm[i] = matches[ ( (Integer) itr.next()).intValue()];
+    }
 
     JPopupMenu popup = new JPopupMenu();
 
@@ -856,16 +1347,4 @@ public class MatchGraphPanel
       popup.show( (MatchGraphPanel) e.getSource(), e.getX(), e.getY());
     }
   }
-
-  /**
-   * Extract original file name from preprocessed filenames. It also removes
-   * the directory information.
-   */
-  private String truncate(String arg) {
-    File file = new File(arg);
-    String str = file.getName();
-    int index = str.lastIndexOf(".");
-    str = str.substring(0, index);
-    return str;
-  }
 }
@@ -0,0 +1,763 @@
+/*
+ * Copyright (c) 1999-2000 The University of Warwick. All Rights Reserved.
+ */
+
+package uk.ac.warwick.dcs.cobalt.sherlock;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * A report on the matches in a match directory, written without the GUI so
+ * that it can be produced on a machine with no display.
+ *
+ * The matches are read one at a time, from the match store and then from
+ * any ".match" files, and each is written to matches.csv as it is read.
+ * Only a few totals are kept for each pair of submissions, packed into one
+ * int array, so the memory needed grows with the number of pairs rather
+ * than the number of matches. Once all the matches have been read, the
+ * report writes:
+ *
+ *   pairs.csv       a summary of each pair of submissions
+ *   suspicious.csv  the most suspicious pairs, with the original source
+ *                   code of the most similar match between each
+ *   report.json     the summaries and the most suspicious pairs
+ *   report.html     the same, as a web page
+ *
+ * The most suspicious pairs are those whose most similar match is the most
+ * similar, then those with the most matches. Their source code is read from
+ * the original files as it is written out, and is not kept.
+ */
+class MatchReport {
+
+  /**
+   * The number of most suspicious pairs reported if none is given.
+   */
+  final static int DEFAULT_SUSPICIOUS = 20;
+
+  /**
+   * The most lines of source code shown from each side of a match.
+   */
+  private final static int MAX_EXCERPT_LINES = 200;
+
+  /**
+   * The offsets of each total in the ints of a pair: the two submissions,
+   * the first as it was named first, the number of matches, the highest
+   * and the total similarity, the lines matched in each submission, which
+   * file types matched (a bit each), and the file type and original line
+   * numbers of the most similar match.
+   */
+  private final static int FIRST = 0;
+  private final static int SECOND = 1;
+  private final static int MATCHES = 2;
+  private final static int MAX_SIMILARITY = 3;
+  private final static int TOTAL_SIMILARITY = 4;
+  private final static int LINES1 = 5;
+  private final static int LINES2 = 6;
+  private final static int TYPES = 7;
+  private final static int BEST_TYPE = 8;
+  private final static int BEST_START1 = 9;
+  private final static int BEST_END1 = 10;
+  private final static int BEST_START2 = 11;
+  private final static int BEST_END2 = 12;
+
+  /**
+   * The number of ints each pair takes up in the pairs array.
+   */
+  private final static int PAIR_SIZE = 13;
+
+  /**
+   * The match directory.
+   */
+  private File matchDirectory;
+
+  /**
+   * The name of each submission, in the order they were found.
+   */
+  private List submissions = new ArrayList();
+
+  /**
+   * Maps each submission name to its Integer index in submissions.
+   */
+  private Map submissionIds = new HashMap();
+
+  /**
+   * Maps the indices of the two submissions of each pair to its index.
+   */
+  private LongIntMap pairIds = new LongIntMap(1024);
+
+  /**
+   * The totals of all the pairs, PAIR_SIZE ints each.
+   */
+  private int pairs[] = new int[PAIR_SIZE * 256];
+
+  /**
+   * The number of pairs.
+   */
+  private int pairCount = 0;
+
+  /**
+   * The number of matches read.
+   */
+  private int matchCount = 0;
+
+  /**
+   * Create a report on the matches in a match directory.
+   *
+   * @param matchDirectory the match directory
+   */
+  MatchReport(File matchDirectory) {
+    this.matchDirectory = matchDirectory;
+  } // MatchReport
+
+  /**
+   * Return the number of matches read.
+   */
+  int getMatchCount() {
+    return matchCount;
+  } // getMatchCount
+
+  /**
+   * Return the number of pairs of submissions with matches.
+   */
+  int getPairCount() {
+    return pairCount;
+  } // getPairCount
+
+  /**
+   * Read all of the matches and write the report.
+   *
+   * @param directory the directory to write the report files in, which is
+   * created if need be
+   * @param number the number of most suspicious pairs to report
+   * @throws IOException if the matches cannot be read or the report
+   * cannot be written
+   */
+  void write(File directory, int number) throws IOException {
+    if (!directory.isDirectory() && !directory.mkdirs()) {
+      throw new IOException("Cannot create report directory: " + directory);
+    }
+
+    File matchesFile = new File(directory, "matches.csv");
+    PrintWriter matchesCsv = openWriter(matchesFile);
+    try {
+      matchesCsv.println("file1,file2,type,similarity,start1,end1,"
+                         + "start2,end2");
+      read(matchesCsv);
+    }
+    finally {
+      matchesCsv.close();
+    }
+    checkWriter(matchesCsv, matchesFile);
+
+    int ranked[] = top(number);
+    File files[] = {
+        new File(directory, "suspicious.csv"),
+        new File(directory, "pairs.csv"),
+        new File(directory, "report.json"),
+        new File(directory, "report.html")};
+    PrintWriter writers[] = new PrintWriter[files.length];
+    try {
+      for (int x = 0; x < files.length; x++) {
+        writers[x] = openWriter(files[x]);
+      }
+      writeReport(ranked, writers[0], writers[1], writers[2], writers[3]);
+    }
+    finally {
+      for (int x = 0; x < writers.length; x++) {
+        if (writers[x] != null) {
+          writers[x].close();
+        }
+      }
+    }
+    for (int x = 0; x < files.length; x++) {
+      checkWriter(writers[x], files[x]);
+    }
+  } // write
+
+  /**
+   * Read each match in the match directory, adding it to the totals and
+   * writing it out.
+   *
+   * @param csv where to write each match
+   * @throws IOException if the match store cannot be read
+   */
+  private void read(PrintWriter csv) throws IOException {
+    if (MatchStore.exists(matchDirectory)) {
+      MatchStore.Reader reader = new MatchStore.Reader(matchDirectory);
+      try {
+        for (int x = 0; x < reader.size(); x++) {
+          Match match = reader.get(x);
+          add(match);
+          writeMatch(csv, match);
+        }
+      }
+      finally {
+        reader.close();
+      }
+    }
+
+    File matchFiles[] = matchDirectory.listFiles(new MatchFilenameFilter());
+    if (matchFiles == null) {
+      return;
+    }
+    for (int x = 0; x < matchFiles.length; x++) {
+      Match match = MatchStore.readLegacy(matchFiles[x]);
+      if (match == null) {
+        Settings.message("The following file does not contain a valid "
+                         + "match:\n" + matchFiles[x].getAbsolutePath()
+                         + "\nFile skipped.");
+        continue;
+      }
+      add(match);
+      writeMatch(csv, match);
+    }
+  } // read
+
+  /**
+   * Add a match to the totals of its pair of submissions.
+   *
+   * @param match the match
+   */
+  private void add(Match match) {
+    int first = getSubmissionId(MatchStore.getSubmissionName
+                                (match.getFile1()));
+    int second = getSubmissionId(MatchStore.getSubmissionName
+                                 (match.getFile2()));
+    long key = LongIntMap.key(first, second);
+    int pair = pairIds.get(key);
+    if (pair < 0) {
+      pair = pairCount++;
+      pairIds.put(key, pair);
+      if (pairCount * PAIR_SIZE > pairs.length) {
+        int temp[] = new int[pairs.length * 2];
+        System.arraycopy(pairs, 0, temp, 0, pairs.length);
+        pairs = temp;
+      }
+      pairs[pair * PAIR_SIZE + FIRST] = first;
+      pairs[pair * PAIR_SIZE + SECOND] = second;
+    }
+
+    // Keep the lines of each submission with that submission, whichever
+    // way round this match names them.
+    int base = pair * PAIR_SIZE;
+    RunCoordinates start = match.getRun().getStartCoordinates();
+    RunCoordinates end = match.getRun().getEndCoordinates();
+    boolean swapped = pairs[base + FIRST] != first;
+    int start1 = swapped ? start.getOrigLineNoInFile2()
+        : start.getOrigLineNoInFile1();
+    int end1 = swapped ? end.getOrigLineNoInFile2()
+        : end.getOrigLineNoInFile1();
+    int start2 = swapped ? start.getOrigLineNoInFile1()
+        : start.getOrigLineNoInFile2();
+    int end2 = swapped ? end.getOrigLineNoInFile1()
+        : end.getOrigLineNoInFile2();
+
+    int similarity = match.getSimilarity();
+    pairs[base + MATCHES]++;
+    pairs[base + TOTAL_SIMILARITY] += similarity;
+    pairs[base + LINES1] += end1 - start1 + 1;
+    pairs[base + LINES2] += end2 - start2 + 1;
+    pairs[base + TYPES] |= 1 << match.getFileType();
+    if (pairs[base + MATCHES] == 1
+        || similarity > pairs[base + MAX_SIMILARITY]) {
+      pairs[base + MAX_SIMILARITY] = similarity;
+      pairs[base + BEST_TYPE] = match.getFileType();
+      pairs[base + BEST_START1] = start1;
+      pairs[base + BEST_END1] = end1;
+      pairs[base + BEST_START2] = start2;
+      pairs[base + BEST_END2] = end2;
+    }
+    matchCount++;
+  } // add
+
+  /**
+   * Return the index of a submission, adding it if it is new.
+   */
+  private int getSubmissionId(String name) {
+    Integer id = (Integer) submissionIds.get(name);
+    if (id == null) {
+      id = new Integer(submissions.size());
+      submissions.add(name);
+      submissionIds.put(name, id);
+    }
+    return id.intValue();
+  } // getSubmissionId
+
+  /**
+   * Return the pairs with the most similar matches, using a heap holding
+   * no more than the number wanted.
+   *
+   * @param number the number of pairs wanted
+   * @return the indices of the pairs, most suspicious first
+   */
+  private int[] top(int number) {
+    // A heap of the best so far, with the worst of them at the root.
+    int heap[] = new int[Math.max(0, Math.min(number, pairCount))];
+    int size = 0;
+    for (int pair = 0; pair < pairCount && heap.length > 0; pair++) {
+      if (size < heap.length) {
+        heap[size] = pair;
+        siftUp(heap, size);
+        size++;
+      }
+      else if (isMoreSuspicious(pair, heap[0])) {
+        heap[0] = pair;
+        siftDown(heap, size);
+      }
+    }
+
+    // Taking the worst off the root each time leaves them best first.
+    int ranked[] = new int[size];
+    for (int x = size - 1; x >= 0; x--) {
+      ranked[x] = heap[0];
+      heap[0] = heap[x];
+      siftDown(heap, x);
+    }
+    return ranked;
+  } // top
+
+  /**
+   * Return whether one pair is more suspicious than another: its most
+   * similar match is more similar, or as similar and it has more matches,
+   * or it was found first.
+   */
+  private boolean isMoreSuspicious(int a, int b) {
+    int x = a * PAIR_SIZE;
+    int y = b * PAIR_SIZE;
+    if (pairs[x + MAX_SIMILARITY] != pairs[y + MAX_SIMILARITY]) {
+      return pairs[x + MAX_SIMILARITY] > pairs[y + MAX_SIMILARITY];
+    }
+    if (pairs[x + MATCHES] != pairs[y + MATCHES]) {
+      return pairs[x + MATCHES] > pairs[y + MATCHES];
+    }
+    return a < b;
+  } // isMoreSuspicious
+
+  /**
+   * Move the entry at index up the heap until its parent is less
+   * suspicious.
+   */
+  private void siftUp(int heap[], int index) {
+    int pair = heap[index];
+    while (index > 0) {
+      int parent = (index - 1) >>> 1;
+      if (!isMoreSuspicious(heap[parent], pair)) {
+        break;
+      }
+      heap[index] = heap[parent];
+      index = parent;
+    }
+    heap[index] = pair;
+  } // siftUp
+
+  /**
+   * Move the entry at the root down the heap until its children are more
+   * suspicious.
+   */
+  private void siftDown(int heap[], int size) {
+    int index = 0;
+    int pair = heap[index];
+    while (true) {
+      int child = index * 2 + 1;
+      if (child >= size) {
+        break;
+      }
+      if (child + 1 < size && isMoreSuspicious(heap[child], heap[child + 1])) {
+        child++;
+      }
+      if (!isMoreSuspicious(pair, heap[child])) {
+        break;
+      }
+      heap[index] = heap[child];
+      index = child;
+    }
+    heap[index] = pair;
+  } // siftDown
+
+  /**
+   * Write the summaries and the most suspicious pairs to each report file.
+   *
+   * @param ranked the most suspicious pairs, most suspicious first
+   */
+  private void writeReport(int ranked[], PrintWriter suspiciousCsv,
+                           PrintWriter pairsCsv, PrintWriter json,
+                           PrintWriter html) {
+    String title = "Matches in " + Settings.sourceDirectory;
+    json.println("{");
+    json.println("  \"directory\": " + jsonString
+                 (String.valueOf(Settings.sourceDirectory)) + ",");
+    json.println("  \"matches\": " + matchCount + ",");
+    json.println("  \"submissions\": " + submissions.size() + ",");
+    json.println("  \"pairs\": " + pairCount + ",");
+    html.println("<HTML><HEAD><META HTTP-EQUIV=\"Content-Type\" "
+                 + "CONTENT=\"text/html; charset=UTF-8\">");
+    html.println("<TITLE>" + htmlText(title) + "</TITLE></HEAD><BODY>");
+    html.println("<H2>" + htmlText(title) + "</H2>");
+    html.println(matchCount + " matches between " + pairCount
+                 + " pairs of " + submissions.size() + " submissions.");
+
+    // The most suspicious pairs, with the code of their closest match.
+    suspiciousCsv.println("rank,submission1,submission2,matches,"
+                          + "max similarity,mean similarity,lines1,lines2,"
+                          + "types,best type,start1,end1,start2,end2,"
+                          + "code1,code2");
+    json.println("  \"suspicious\": [");
+    html.println("<H3>Most suspicious pairs</H3>");
+    for (int x = 0; x < ranked.length; x++) {
+      int base = ranked[x] * PAIR_SIZE;
+      String name1 = getName(ranked[x], FIRST);
+      String name2 = getName(ranked[x], SECOND);
+      String type = Settings.fileTypes[pairs[base + BEST_TYPE]]
+          .getDescription();
+      String code1[] = readExcerpt(name1, pairs[base + BEST_START1],
+                                   pairs[base + BEST_END1]);
+      String code2[] = readExcerpt(name2, pairs[base + BEST_START2],
+                                   pairs[base + BEST_END2]);
+
+      suspiciousCsv.println( (x + 1) + "," + csvPair(ranked[x]) + ","
+                            + csvField(type) + ","
+                            + pairs[base + BEST_START1] + ","
+                            + pairs[base + BEST_END1] + ","
+                            + pairs[base + BEST_START2] + ","
+                            + pairs[base + BEST_END2] + ","
+                            + csvField(join(code1, pairs[base + BEST_START1]))
+                            + ","
+                            + csvField(join(code2, pairs[base + BEST_START2])));
+
+      json.println("    {\"rank\": " + (x + 1) + ", "
+                   + jsonPair(ranked[x]) + ",");
+      json.println("     \"best\": {\"type\": " + jsonString(type)
+                   + ", \"similarity\": " + pairs[base + MAX_SIMILARITY]
+                   + ",");
+      json.println("      \"code1\": " + jsonExcerpt
+                   (name1, pairs[base + BEST_START1],
+                    pairs[base + BEST_END1], code1) + ",");
+      json.println("      \"code2\": " + jsonExcerpt
+                   (name2, pairs[base + BEST_START2],
+                    pairs[base + BEST_END2], code2) + "}}"
+                   + (x + 1 < ranked.length ? "," : ""));
+
+      html.println("<H4>" + (x + 1) + ". " + htmlText(name1) + " &amp; "
+                   + htmlText(name2) + "</H4>");
+      html.println(pairs[base + MATCHES] + " matches, up to "
+                   + pairs[base + MAX_SIMILARITY] + "% similar. Most "
+                   + "similar match: " + htmlText(type) + ".");
+      html.println("<TABLE BORDER=1><TR><TH>" + htmlText(name1) + ", lines "
+                   + pairs[base + BEST_START1] + " to "
+                   + pairs[base + BEST_END1] + "</TH><TH>" + htmlText(name2)
+                   + ", lines " + pairs[base + BEST_START2] + " to "
+                   + pairs[base + BEST_END2] + "</TH></TR>");
+      html.println("<TR><TD VALIGN=TOP><PRE>"
+                   + htmlText(join(code1, pairs[base + BEST_START1]))
+                   + "</PRE></TD><TD VALIGN=TOP><PRE>"
+                   + htmlText(join(code2, pairs[base + BEST_START2]))
+                   + "</PRE></TD></TR></TABLE>");
+    }
+    json.println("  ],");
+
+    // Every pair.
+    pairsCsv.println("submission1,submission2,matches,max similarity,"
+                     + "mean similarity,lines1,lines2,types");
+    json.println("  \"pairSummaries\": [");
+    html.println("<H3>All pairs</H3>");
+    html.println("<TABLE BORDER=1><TR><TH>Submission 1</TH>"
+                 + "<TH>Submission 2</TH><TH>Matches</TH>"
+                 + "<TH>Max similarity</TH><TH>Mean similarity</TH>"
+                 + "<TH>Lines 1</TH><TH>Lines 2</TH><TH>Types</TH></TR>");
+    for (int pair = 0; pair < pairCount; pair++) {
+      int base = pair * PAIR_SIZE;
+      pairsCsv.println(csvPair(pair));
+      json.println("    {" + jsonPair(pair) + "}"
+                   + (pair + 1 < pairCount ? "," : ""));
+      html.println("<TR><TD>" + htmlText(getName(pair, FIRST)) + "</TD><TD>"
+                   + htmlText(getName(pair, SECOND)) + "</TD><TD>"
+                   + pairs[base + MATCHES] + "</TD><TD>"
+                   + pairs[base + MAX_SIMILARITY] + "%</TD><TD>"
+                   + getMeanSimilarity(pair) + "%</TD><TD>"
+                   + pairs[base + LINES1] + "</TD><TD>"
+                   + pairs[base + LINES2] + "</TD><TD>"
+                   + htmlText(getTypes(pair, ", ")) + "</TD></TR>");
+    }
+    json.println("  ]");
+    json.println("}");
+    html.println("</TABLE></BODY></HTML>");
+  } // writeReport
+
+  /**
+   * Return the name of one of the submissions of a pair.
+   *
+   * @param pair the pair
+   * @param which FIRST or SECOND
+   */
+  private String getName(int pair, int which) {
+    return (String) submissions.get(pairs[pair * PAIR_SIZE + which]);
+  } // getName
+
+  /**
+   * Return the mean similarity of the matches of a pair, to one decimal
+   * place.
+   */
+  private double getMeanSimilarity(int pair) {
+    int base = pair * PAIR_SIZE;
+    return Math.round(pairs[base + TOTAL_SIMILARITY] * 10.0
+                      / pairs[base + MATCHES]) / 10.0;
+  } // getMeanSimilarity
+
+  /**
+   * Return the descriptions of the file types a pair matched in.
+   *
+   * @param pair the pair
+   * @param separator what to put between the descriptions
+   */
+  private String getTypes(int pair, String separator) {
+    StringBuffer types = new StringBuffer();
+    for (int x = 0; x < Settings.NUMBEROFFILETYPES; x++) {
+      if ( (pairs[pair * PAIR_SIZE + TYPES] & (1 << x)) != 0) {
+        if (types.length() > 0) {
+          types.append(separator);
+        }
+        types.append(Settings.fileTypes[x].getDescription());
+      }
+    }
+    return types.toString();
+  } // getTypes
+
+  /**
+   * Write a match as a line of CSV.
+   */
+  private static void writeMatch(PrintWriter csv, Match match) {
+    RunCoordinates start = match.getRun().getStartCoordinates();
+    RunCoordinates end = match.getRun().getEndCoordinates();
+    csv.println(csvField(MatchStore.getSubmissionName(match.getFile1())) + ","
+                + csvField(MatchStore.getSubmissionName(match.getFile2())) + ","
+                + csvField(Settings.fileTypes[match.getFileType()]
+                      .getDescription()) + ","
+                + match.getSimilarity() + ","
+                + start.getOrigLineNoInFile1() + ","
+                + end.getOrigLineNoInFile1() + ","
+                + start.getOrigLineNoInFile2() + ","
+                + end.getOrigLineNoInFile2());
+  } // writeMatch
+
+  /**
+   * Return the summary of a pair as CSV fields.
+   */
+  private String csvPair(int pair) {
+    int base = pair * PAIR_SIZE;
+    return csvField(getName(pair, FIRST)) + "," + csvField(getName(pair, SECOND))
+        + "," + pairs[base + MATCHES] + "," + pairs[base + MAX_SIMILARITY]
+        + "," + getMeanSimilarity(pair) + "," + pairs[base + LINES1] + ","
+        + pairs[base + LINES2] + "," + csvField(getTypes(pair, "; "));
+  } // csvPair
+
+  /**
+   * Return the summary of a pair as JSON members.
+   */
+  private String jsonPair(int pair) {
+    int base = pair * PAIR_SIZE;
+    StringBuffer types = new StringBuffer();
+    for (int x = 0; x < Settings.NUMBEROFFILETYPES; x++) {
+      if ( (pairs[base + TYPES] & (1 << x)) != 0) {
+        if (types.length() > 0) {
+          types.append(", ");
+        }
+        types.append(jsonString(Settings.fileTypes[x].getDescription()));
+      }
+    }
+    return "\"submission1\": " + jsonString(getName(pair, FIRST))
+        + ", \"submission2\": " + jsonString(getName(pair, SECOND))
+        + ", \"matches\": " + pairs[base + MATCHES]
+        + ", \"maxSimilarity\": " + pairs[base + MAX_SIMILARITY]
+        + ", \"meanSimilarity\": " + getMeanSimilarity(pair)
+        + ", \"lines1\": " + pairs[base + LINES1]
+        + ", \"lines2\": " + pairs[base + LINES2]
+        + ", \"types\": [" + types + "]";
+  } // jsonPair
+
+  /**
+   * Return the code of one side of a match as a JSON object.
+   *
+   * @param name the submission
+   * @param start the first line of the match
+   * @param end the last line of the match
+   * @param code the lines read, or null if the file could not be read
+   */
+  private static String jsonExcerpt(String name, int start, int end,
+                                    String code[]) {
+    StringBuffer json = new StringBuffer();
+    json.append("{\"submission\": ").append(jsonString(name));
+    json.append(", \"start\": ").append(start);
+    json.append(", \"end\": ").append(end);
+    json.append(", \"lines\": ");
+    if (code == null) {
+      json.append("null");
+    }
+    else {
+      json.append("[");
+      for (int x = 0; x < code.length; x++) {
+        json.append(x > 0 ? ", " : "").append(jsonString(code[x]));
+      }
+      json.append("]");
+    }
+    return json.append("}").toString();
+  } // jsonExcerpt
+
+  /**
+   * Read the lines of a submission's original file that a match covers.
+   * "#line" lines left by preprocessing are skipped and not counted, as
+   * the compare window skips them. Reading starts at the first line, found
+   * with the index of the file.
+   *
+   * @param name the submission
+   * @param start the first line
+   * @param end the last line
+   * @return the lines, no more than MAX_EXCERPT_LINES of them, or null if
+   * the file cannot be read
+   */
+  static String[] readExcerpt(String name, int start, int end) {
+    File file = Settings.getProcessedFile(Settings.ORI, name);
+    List lines = new ArrayList();
+    try {
+      int lineNo = Math.max(1, start);
+      BufferedReader reader = LineOffsets.openAt(file, lineNo);
+      try {
+        String line;
+        while (lineNo <= end && lines.size() < MAX_EXCERPT_LINES
+               && (line = reader.readLine()) != null) {
+          if (line.startsWith("#line ")) {
+            continue;
+          }
+          if (lineNo >= start) {
+            lines.add(line);
+          }
+          lineNo++;
+        }
+      }
+      finally {
+        reader.close();
+      }
+    }
+    catch (IOException e) {
+      return null;
+    }
+    return (String[]) lines.toArray(new String[lines.size()]);
+  } // readExcerpt
+
+  /**
+   * Return lines of code numbered from the given line, one to a line.
+   */
+  private static String join(String code[], int start) {
+    if (code == null) {
+      return "(source file not available)";
+    }
+    StringBuffer joined = new StringBuffer();
+    for (int x = 0; x < code.length; x++) {
+      joined.append(start + x).append(": ").append(code[x]).append('\n');
+    }
+    return joined.toString();
+  } // join
+
+  /**
+   * Return a string as a CSV field, quoted if need be.
+   */
+  private static String csvField(String value) {
+    if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+        && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+      return value;
+    }
+    StringBuffer quoted = new StringBuffer("\"");
+    for (int x = 0; x < value.length(); x++) {
+      char c = value.charAt(x);
+      if (c == '"') {
+        quoted.append('"');
+      }
+      quoted.append(c);
+    }
+    return quoted.append('"').toString();
+  } // csvField
+
+  /**
+   * Return a string as a quoted JSON string.
+   */
+  private static String jsonString(String value) {
+    StringBuffer quoted = new StringBuffer("\"");
+    for (int x = 0; x < value.length(); x++) {
+      char c = value.charAt(x);
+      switch (c) {
+        case '"':
+          quoted.append("\\\"");
+          break;
+        case '\\':
+          quoted.append("\\\\");
+          break;
+        case '\n':
+          quoted.append("\\n");
+          break;
+        case '\r':
+          quoted.append("\\r");
+          break;
+        case '\t':
+          quoted.append("\\t");
+          break;
+        default:
+          if (c < 0x20) {
+            String hex = Integer.toHexString(c);
+            quoted.append("\\u0000".substring(0, 6 - hex.length()))
+                .append(hex);
+          }
+          else {
+            quoted.append(c);
+          }
+      }
+    }
+    return quoted.append('"').toString();
+  } // jsonString
+
+  /**
+   * Return a string with the characters special to HTML escaped.
+   */
+  private static String htmlText(String value) {
+    StringBuffer escaped = new StringBuffer();
+    for (int x = 0; x < value.length(); x++) {
+      char c = value.charAt(x);
+      if (c == '&') {
+        escaped.append("&amp;");
+      }
+      else if (c == '<') {
+        escaped.append("&lt;");
+      }
+      else if (c == '>') {
+        escaped.append("&gt;");
+      }
+      else if (c == '"') {
+        escaped.append("&quot;");
+      }
+      else {
+        escaped.append(c);
+      }
+    }
+    return escaped.toString();
+  } // htmlText
+
+  /**
+   * Open a report file for writing, in UTF-8.
+   */
+  private static PrintWriter openWriter(File file) throws IOException {
+    return new PrintWriter(new BufferedWriter(new OutputStreamWriter
+                                              (new FileOutputStream(file),
+                                               "UTF-8")));
+  } // openWriter
+
+  /**
+   * Throw an exception if anything written to a report file failed, as a
+   * PrintWriter does not say.
+   */
+  private static void checkWriter(PrintWriter writer, File file) throws
+      IOException {
+    if (writer.checkError()) {
+      throw new IOException("Error writing " + file);
+    }
+  } // checkWriter
+
+} // MatchReport
@@ -103,17 +103,11 @@ public class MatchSectionPrintOut
     try {
       //setup original files
       origFiles[FILE1] = new RandomAccessFile
-          (new File(Settings.sourceDirectory + Settings.fileSep
-                    + Settings.fileTypes[Settings.ORI].getDirectory(),
-                    truncate(matches[0].getFile1()) + "." +
-                    Settings.fileTypes[Settings.ORI].getExtension()),
-           "r");
+          (Settings.getProcessedFile
+           (Settings.ORI, truncate(matches[0].getFile1())), "r");
       origFiles[FILE2] = new RandomAccessFile
-          (new File(Settings.sourceDirectory + Settings.fileSep
-                    + Settings.fileTypes[Settings.ORI].getDirectory(),
-                    truncate(matches[0].getFile2()) + "." +
-                    Settings.fileTypes[Settings.ORI].getExtension()),
-           "r");
+          (Settings.getProcessedFile
+           (Settings.ORI, truncate(matches[0].getFile2())), "r");
       //if printOut != null, then it points to a file that the user
       //wishes to save this section in. This is assigned in the other
       //constructor.
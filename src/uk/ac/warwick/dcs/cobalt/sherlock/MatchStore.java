@@ -0,0 +1,911 @@
+/*
+ * Copyright (c) 1999-2000 The University of Warwick. All Rights Reserved.
+ */
+
+package uk.ac.warwick.dcs.cobalt.sherlock;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.util.*;
+
+/**
+ * All of the matches found by detection, kept in a single binary file in
+ * the match directory rather than serialised into a file each.
+ *
+ * The file starts with a fixed size header:
+ *
+ *   int magic number, "SHMS"
+ *   int version
+ *   int number of match records
+ *   int number of strings in the string table
+ *   long offset of the string table, or 0 while the store is open
+ *   long reserved
+ *
+ * followed by one fixed size record per match, 14 ints each:
+ *
+ *   file1, file2 (indexes into the string table), fileType, similarity,
+ *   running, anomolies, the four start coordinates of the run and the
+ *   four end coordinates of the run
+ *
+ * and finally the string table, holding the name of each file once: the
+ * number of characters in it followed by the characters.
+ *
+ * Records are only ever appended. When a store is opened to add to it, its
+ * string table is read into memory and cut off the end of the file, and
+ * it is written back after the new records when the store is closed.
+ *
+ * While a store is open its strings are also kept in a names file beside
+ * it, STORE_NAME with NAMES_SUFFIX added, in the same form as the string
+ * table. Each new string is written there, and forced out to disk, before
+ * any record that uses it is written to the store. If the store is never
+ * closed, because detection was killed or the machine went down, its
+ * header still shows it is open; it is then read back from the names file
+ * and as many whole records as the store file holds, up to the first one
+ * naming a string the names file does not have. The names file is
+ * deleted once the store has been closed.
+ * Stores are read back through the file's channel into ordinary buffers, a
+ * block of records at a time. They are not mapped into memory, as a mapped
+ * file cannot be deleted or truncated on some platforms until the mapping
+ * is garbage collected.
+ *
+ * Matches kept in the old way, one serialised Match per ".match" file, can
+ * be moved into a store with importLegacy() and back out of one with
+ * exportLegacy().
+ */
+class MatchStore {
+
+  /**
+   * The name of the store file in the match directory.
+   */
+  final static String STORE_NAME = "matches.store";
+
+  /**
+   * Added to the name of the store file to give the name of its names file.
+   */
+  final static String NAMES_SUFFIX = ".names";
+
+  /**
+   * The magic number a store file starts with, "SHMS".
+   */
+  private final static int MAGIC = 0x53484d53;
+
+  /**
+   * The version of the store file format.
+   */
+  private final static int VERSION = 1;
+
+  /**
+   * The number of bytes in the header.
+   */
+  private final static int HEADER_SIZE = 32;
+
+  /**
+   * The number of bytes in each record.
+   */
+  private final static int RECORD_SIZE = 56;
+
+  /**
+   * The number of records buffered before they are written out.
+   */
+  private final static int BUFFERED_RECORDS = 1024;
+
+  /**
+   * The store file.
+   */
+  private File storeFile;
+
+  /**
+   * The open store file.
+   */
+  private RandomAccessFile file;
+
+  /**
+   * The channel of the open store file.
+   */
+  private FileChannel channel;
+
+  /**
+   * The names file of the open store.
+   */
+  private RandomAccessFile namesFile;
+
+  /**
+   * The channel of the names file.
+   */
+  private FileChannel namesChannel;
+
+  /**
+   * The offset in the names file the next strings will be written at.
+   */
+  private long namesEnd = 0;
+
+  /**
+   * The number of strings in the string table written to the names file.
+   */
+  private int namesWritten = 0;
+
+  /**
+   * Records waiting to be written out.
+   */
+  private ByteBuffer buffer =
+      ByteBuffer.allocate(RECORD_SIZE * BUFFERED_RECORDS);
+
+  /**
+   * The offset in the file the next records will be written at.
+   */
+  private long end = HEADER_SIZE;
+
+  /**
+   * The number of records in the store, including those buffered.
+   */
+  private int recordCount = 0;
+
+  /**
+   * The string table, in order.
+   */
+  private List strings = new ArrayList();
+
+  /**
+   * Maps each string in the string table to its Integer index.
+   */
+  private Map stringIds = new HashMap();
+
+  /**
+   * Create a MatchStore for the given file. Use open() to create one.
+   *
+   * @param storeFile the store file
+   */
+  private MatchStore(File storeFile) {
+    this.storeFile = storeFile;
+  } // MatchStore
+
+  /**
+   * Return the store file of a match directory.
+   *
+   * @param matchDirectory the match directory
+   * @return the store file, which may not exist
+   */
+  static File getStoreFile(File matchDirectory) {
+    return new File(matchDirectory, STORE_NAME);
+  } // getStoreFile
+
+  /**
+   * Return the names file of a store file, where the strings of the store
+   * are kept while it is open.
+   *
+   * @param storeFile the store file
+   * @return the names file, which may not exist
+   */
+  static File getNamesFile(File storeFile) {
+    return new File(storeFile.getPath() + NAMES_SUFFIX);
+  } // getNamesFile
+
+  /**
+   * Return whether a match directory has a store in it.
+   *
+   * @param matchDirectory the match directory
+   * @return true if there is a store file in the directory
+   */
+  static boolean exists(File matchDirectory) {
+    return getStoreFile(matchDirectory).exists();
+  } // exists
+
+  /**
+   * Open the store of a match directory to add matches to it, creating it
+   * if it does not exist. A store that was never closed is recovered, and
+   * the matches added to it so far are kept. The store should be closed
+   * once all the matches have been added.
+   *
+   * @param matchDirectory the match directory
+   * @return the open store
+   * @throws IOException if the store cannot be opened, or the file there
+   * is not a store
+   */
+  static MatchStore open(File matchDirectory) throws IOException {
+    MatchStore store = new MatchStore(getStoreFile(matchDirectory));
+    try {
+      store.openForAppend();
+    }
+    catch (IOException e) {
+      store.abandon();
+      throw e;
+    }
+    return store;
+  } // open
+
+  /**
+   * Start a new, empty store in a match directory, replacing any store
+   * already there. The old store file is cut down to nothing rather than
+   * deleted, so that this works on platforms where a file that is open
+   * elsewhere cannot be deleted. The store should be closed once all the
+   * matches have been added.
+   *
+   * @param matchDirectory the match directory
+   * @return the open store
+   * @throws IOException if the store cannot be created
+   */
+  static MatchStore create(File matchDirectory) throws IOException {
+    MatchStore store = new MatchStore(getStoreFile(matchDirectory));
+    store.file = new RandomAccessFile(store.storeFile, "rw");
+    store.channel = store.file.getChannel();
+    try {
+      store.channel.truncate(0);
+      store.openForAppend();
+    }
+    catch (IOException e) {
+      store.abandon();
+      throw e;
+    }
+    return store;
+  } // create
+
+  /**
+   * Close the files of a store that could not be opened.
+   */
+  private void abandon() {
+    try {
+      if (file != null) {
+        file.close();
+      }
+      if (namesFile != null) {
+        namesFile.close();
+      }
+    }
+    catch (IOException e) {
+      // Already failing.
+    }
+    file = null;
+    channel = null;
+    namesFile = null;
+    namesChannel = null;
+  } // abandon
+
+  /**
+   * Open the store file, read in its string table, and get ready to write
+   * after the last record. If the store was never closed, its strings are
+   * read from its names file instead, and any part of a record at the end
+   * is cut off. The names file is then started again with all the strings.
+   */
+  private void openForAppend() throws IOException {
+    if (file == null) {
+      file = new RandomAccessFile(storeFile, "rw");
+      channel = file.getChannel();
+    }
+
+    if (channel.size() > 0) {
+      ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+      readFully(channel, header, 0, storeFile);
+      header.flip();
+      long tableOffset = checkHeader(header, channel.size());
+      String read[];
+      if (tableOffset == 0) {
+        read = readNames(getNamesFile(storeFile));
+        recordCount = recoverCount(channel, storeFile, read.length);
+        end = HEADER_SIZE + (long) recordCount * RECORD_SIZE;
+      }
+      else {
+        recordCount = header.getInt(8);
+        ByteBuffer table = ByteBuffer.allocate
+            ( (int) (channel.size() - tableOffset));
+        readFully(channel, table, tableOffset, storeFile);
+        table.flip();
+        read = readStrings(table, 0, header.getInt(12));
+        end = tableOffset;
+      }
+      for (int x = 0; x < read.length; x++) {
+        addString(read[x]);
+      }
+      channel.truncate(end);
+    }
+
+    namesFile = new RandomAccessFile(getNamesFile(storeFile), "rw");
+    namesChannel = namesFile.getChannel();
+    namesChannel.truncate(0);
+    writeNames();
+
+    // Until it is closed, the header shows the store is incomplete.
+    writeHeader(0);
+  } // openForAppend
+
+  /**
+   * Fill a buffer from a store file, starting at the given offset.
+   */
+  private static void readFully(FileChannel channel, ByteBuffer into,
+                                long offset, File storeFile) throws
+      IOException {
+    while (into.hasRemaining()) {
+      int read = channel.read(into, offset);
+      if (read < 0) {
+        throw new EOFException("Match store is truncated: " + storeFile);
+      }
+      offset += read;
+    }
+  } // readFully
+
+  /**
+   * Write the header of the store.
+   *
+   * @param tableOffset the offset of the string table, or 0 if it has not
+   * been written
+   */
+  private void writeHeader(long tableOffset) throws IOException {
+    ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+    header.putInt(MAGIC);
+    header.putInt(VERSION);
+    header.putInt(recordCount);
+    header.putInt(strings.size());
+    header.putLong(tableOffset);
+    header.putLong(0);
+    header.flip();
+    while (header.hasRemaining()) {
+      channel.write(header, header.position());
+    }
+  } // writeHeader
+
+  /**
+   * Check the header of a store file, returning the offset of its string
+   * table, or 0 if the store has not been closed.
+   */
+  private static long checkHeader(ByteBuffer header, long size) throws
+      IOException {
+    if (size < HEADER_SIZE || header.getInt(0) != MAGIC) {
+      throw new IOException("Not a match store");
+    }
+    if (header.getInt(4) != VERSION) {
+      throw new IOException("Unknown match store version "
+                            + header.getInt(4));
+    }
+    long tableOffset = header.getLong(16);
+    if (tableOffset == 0) {
+      return 0;
+    }
+    if (tableOffset != HEADER_SIZE + (long) header.getInt(8) * RECORD_SIZE
+        || tableOffset > size) {
+      throw new IOException("Match store is damaged");
+    }
+    return tableOffset;
+  } // checkHeader
+
+  /**
+   * Read the string table.
+   *
+   * @param table the buffer holding the table
+   * @param offset the offset of the table in the buffer
+   * @param count the number of strings in the table
+   * @return the strings
+   */
+  private static String[] readStrings(ByteBuffer table, int offset,
+                                      int count) {
+    String read[] = new String[count];
+    int position = offset;
+    for (int x = 0; x < count; x++) {
+      int length = table.getInt(position);
+      position += 4;
+      char chars[] = new char[length];
+      for (int y = 0; y < length; y++) {
+        chars[y] = table.getChar(position);
+        position += 2;
+      }
+      read[x] = new String(chars);
+    }
+    return read;
+  } // readStrings
+
+  /**
+   * Read the strings of a store that was not closed from its names file.
+   * A string that was only partly written is left out, as are any after
+   * it.
+   *
+   * @param namesFile the names file
+   * @return the strings, or none if there is no names file
+   * @throws IOException if the names file cannot be read
+   */
+  private static String[] readNames(File namesFile) throws IOException {
+    if (!namesFile.exists()) {
+      return new String[0];
+    }
+    RandomAccessFile raf = new RandomAccessFile(namesFile, "r");
+    try {
+      FileChannel names = raf.getChannel();
+      ByteBuffer table = ByteBuffer.allocate( (int) names.size());
+      readFully(names, table, 0, namesFile);
+
+      int count = 0;
+      int position = 0;
+      while (position + 4 <= table.limit()) {
+        int length = table.getInt(position);
+        if (length < 0 || position + 4 + 2L * length > table.limit()) {
+          break;
+        }
+        position += 4 + 2 * length;
+        count++;
+      }
+      return readStrings(table, 0, count);
+    }
+    finally {
+      raf.close();
+    }
+  } // readNames
+
+  /**
+   * Work out how many records of a store that was not closed can be read:
+   * the whole records in the file, up to the first that names a string
+   * that was not written to the names file.
+   *
+   * @param channel the channel of the store file
+   * @param storeFile the store file
+   * @param stringCount the number of strings read from the names file
+   * @return the number of records
+   * @throws IOException if the store file cannot be read
+   */
+  private static int recoverCount(FileChannel channel, File storeFile,
+                                  int stringCount) throws IOException {
+    int whole = (int) ( (channel.size() - HEADER_SIZE) / RECORD_SIZE);
+    ByteBuffer block = ByteBuffer.allocate(RECORD_SIZE * BUFFERED_RECORDS);
+    for (int x = 0; x < whole; x += BUFFERED_RECORDS) {
+      int records = Math.min(BUFFERED_RECORDS, whole - x);
+      block.clear();
+      block.limit(records * RECORD_SIZE);
+      readFully(channel, block, HEADER_SIZE + (long) x * RECORD_SIZE,
+                storeFile);
+      for (int y = 0; y < records; y++) {
+        int file1 = block.getInt(y * RECORD_SIZE);
+        int file2 = block.getInt(y * RECORD_SIZE + 4);
+        if (file1 < 0 || file1 >= stringCount || file2 < 0
+            || file2 >= stringCount) {
+          return x + y;
+        }
+      }
+    }
+    return whole;
+  } // recoverCount
+
+  /**
+   * Put strings into a buffer the way the string table holds them: the
+   * number of characters in each followed by the characters.
+   *
+   * @param from the index in the string table of the first string
+   * @return the buffer, ready to be written
+   */
+  private ByteBuffer encodeStrings(int from) {
+    int tableSize = 0;
+    for (int x = from; x < strings.size(); x++) {
+      tableSize += 4 + 2 * ( (String) strings.get(x)).length();
+    }
+    ByteBuffer table = ByteBuffer.allocate(tableSize);
+    for (int x = from; x < strings.size(); x++) {
+      String string = (String) strings.get(x);
+      table.putInt(string.length());
+      for (int y = 0; y < string.length(); y++) {
+        table.putChar(string.charAt(y));
+      }
+    }
+    table.flip();
+    return table;
+  } // encodeStrings
+
+  /**
+   * Write the strings added since the last time to the names file, and
+   * force them out to disk, so that they are there before any record that
+   * uses them.
+   */
+  private void writeNames() throws IOException {
+    if (namesWritten == strings.size()) {
+      return;
+    }
+    ByteBuffer names = encodeStrings(namesWritten);
+    while (names.hasRemaining()) {
+      namesEnd += namesChannel.write(names, namesEnd);
+    }
+    namesChannel.force(false);
+    namesWritten = strings.size();
+  } // writeNames
+
+  /**
+   * Return the index of a string in the string table, adding it if it is
+   * not there.
+   */
+  private int addString(String string) {
+    Integer id = (Integer) stringIds.get(string);
+    if (id == null) {
+      id = new Integer(strings.size());
+      strings.add(string);
+      stringIds.put(string, id);
+    }
+    return id.intValue();
+  } // addString
+
+  /**
+   * Add a match to the store. This may be called by several detection
+   * workers at once.
+   *
+   * @param match the match to add
+   * @throws IOException if the store cannot be written to, or has been
+   * closed
+   */
+  synchronized void add(Match match) throws IOException {
+    if (file == null) {
+      throw new IOException("Match store is closed: " + storeFile);
+    }
+    if (!buffer.hasRemaining()) {
+      flush();
+    }
+    Run run = match.getRun();
+    RunCoordinates start = run.getStartCoordinates();
+    RunCoordinates finish = run.getEndCoordinates();
+    buffer.putInt(addString(match.getFile1()));
+    buffer.putInt(addString(match.getFile2()));
+    buffer.putInt(match.getFileType());
+    buffer.putInt(match.getSimilarity());
+    buffer.putInt(run.getRunning());
+    buffer.putInt(run.getAnomolies());
+    buffer.putInt(start.getLineNoInFile1());
+    buffer.putInt(start.getLineNoInFile2());
+    buffer.putInt(start.getOrigLineNoInFile1());
+    buffer.putInt(start.getOrigLineNoInFile2());
+    buffer.putInt(finish.getLineNoInFile1());
+    buffer.putInt(finish.getLineNoInFile2());
+    buffer.putInt(finish.getOrigLineNoInFile1());
+    buffer.putInt(finish.getOrigLineNoInFile2());
+    recordCount++;
+  } // add
+
+  /**
+   * Write out the buffered records, after any new strings they use.
+   */
+  private void flush() throws IOException {
+    writeNames();
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      end += channel.write(buffer, end);
+    }
+    buffer.clear();
+  } // flush
+
+  /**
+   * Write out the remaining records and the string table, and close the
+   * store. Closing a store that is already closed does nothing.
+   *
+   * @throws IOException if the store cannot be written to
+   */
+  synchronized void close() throws IOException {
+    if (file == null) {
+      return;
+    }
+    try {
+      flush();
+
+      ByteBuffer table = encodeStrings(0);
+      long tableOffset = end;
+      while (table.hasRemaining()) {
+        end += channel.write(table, end);
+      }
+      channel.force(false);
+      writeHeader(tableOffset);
+      channel.force(false);
+    }
+    finally {
+      file.close();
+      file = null;
+      channel = null;
+      namesFile.close();
+      namesFile = null;
+      namesChannel = null;
+    }
+    // The store can be read without it now.
+    getNamesFile(storeFile).delete();
+  } // close
+
+  /**
+   * Read all of the matches in the store of a match directory.
+   *
+   * @param matchDirectory the match directory
+   * @return the matches, in the order they were added
+   * @throws IOException if the store cannot be read
+   */
+  static Match[] load(File matchDirectory) throws IOException {
+    Reader reader = new Reader(matchDirectory);
+    try {
+      Match matches[] = new Match[reader.size()];
+      for (int x = 0; x < matches.length; x++) {
+        matches[x] = reader.get(x);
+      }
+      return matches;
+    }
+    finally {
+      reader.close();
+    }
+  } // load
+
+  /**
+   * Reads the matches in the store of a match directory one at a time, so
+   * that they need not all be in memory at once. Only the string table is
+   * read in when it is opened; records are read a block at a time as they
+   * are asked for.
+   */
+  static class Reader {
+
+    /**
+     * The store file.
+     */
+    private File storeFile;
+
+    /**
+     * The open store file.
+     */
+    private RandomAccessFile raf;
+
+    /**
+     * The channel of the open store file.
+     */
+    private FileChannel channel;
+
+    /**
+     * The block of records read in last.
+     */
+    private ByteBuffer block =
+        ByteBuffer.allocate(RECORD_SIZE * BUFFERED_RECORDS);
+
+    /**
+     * The index of the first record in block, or -1 if none has been read.
+     */
+    private int blockStart = -1;
+
+    /**
+     * The number of records in block.
+     */
+    private int blockCount = 0;
+
+    /**
+     * The string table.
+     */
+    private String names[];
+
+    /**
+     * The number of records in the store.
+     */
+    private int count;
+
+    /**
+     * Open the store of a match directory for reading.
+     *
+     * @param matchDirectory the match directory
+     * @throws IOException if the store cannot be read
+     */
+    Reader(File matchDirectory) throws IOException {
+      storeFile = getStoreFile(matchDirectory);
+      raf = new RandomAccessFile(storeFile, "r");
+      try {
+        channel = raf.getChannel();
+        long size = channel.size();
+        if (size < HEADER_SIZE) {
+          throw new IOException("Not a match store");
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        readFully(channel, header, 0, storeFile);
+        long tableOffset = checkHeader(header, size);
+        if (tableOffset == 0) {
+          // Not closed, so read back what was written before it stopped.
+          names = readNames(getNamesFile(storeFile));
+          count = recoverCount(channel, storeFile, names.length);
+        }
+        else {
+          count = header.getInt(8);
+          ByteBuffer table = ByteBuffer.allocate
+              ( (int) (size - tableOffset));
+          readFully(channel, table, tableOffset, storeFile);
+          names = readStrings(table, 0, header.getInt(12));
+        }
+      }
+      catch (IndexOutOfBoundsException e) {
+        raf.close();
+        throw new IOException("Match store is damaged: " + storeFile);
+      }
+      catch (IOException e) {
+        raf.close();
+        throw e;
+      }
+    } // Reader
+
+    /**
+     * Return the number of matches in the store.
+     */
+    int size() {
+      return count;
+    } // size
+
+    /**
+     * Read one of the matches in the store.
+     *
+     * @param x the index of the match, in the order they were added
+     * @return the match
+     * @throws IOException if the record is damaged
+     */
+    Match get(int x) throws IOException {
+      if (x < 0 || x >= count) {
+        throw new IOException("No match " + x + " in " + storeFile);
+      }
+      if (x < blockStart || x >= blockStart + blockCount) {
+        int records = Math.min(BUFFERED_RECORDS, count - x);
+        blockStart = -1;
+        block.clear();
+        block.limit(records * RECORD_SIZE);
+        readFully(channel, block, HEADER_SIZE + (long) x * RECORD_SIZE,
+                  storeFile);
+        blockStart = x;
+        blockCount = records;
+      }
+      try {
+        int record = (x - blockStart) * RECORD_SIZE;
+        RunCoordinates start = new RunCoordinates
+            (block.getInt(record + 24), block.getInt(record + 28),
+             block.getInt(record + 32), block.getInt(record + 36));
+        RunCoordinates finish = new RunCoordinates
+            (block.getInt(record + 40), block.getInt(record + 44),
+             block.getInt(record + 48), block.getInt(record + 52));
+        Run run = new Run(start, finish, block.getInt(record + 16),
+                          block.getInt(record + 20));
+        return new Match(names[block.getInt(record)],
+                         names[block.getInt(record + 4)], run,
+                         block.getInt(record + 8),
+                         block.getInt(record + 12));
+      }
+      catch (IndexOutOfBoundsException e) {
+        throw new IOException("Match store is damaged: " + storeFile);
+      }
+    } // get
+
+    /**
+     * Close the store file.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    void close() throws IOException {
+      raf.close();
+    } // close
+
+  } // Reader
+
+  /**
+   * Move the matches held in ".match" files in a match directory into its
+   * store. Each file is deleted once its match is safely in the store.
+   * Files that do not hold a valid match are reported and left where they
+   * are.
+   *
+   * @param matchDirectory the match directory
+   * @return the number of matches moved into the store
+   * @throws IOException if the store cannot be written to
+   */
+  static int importLegacy(File matchDirectory) throws IOException {
+    File matchFiles[] = matchDirectory.listFiles(new MatchFilenameFilter());
+    if (matchFiles == null || matchFiles.length == 0) {
+      return 0;
+    }
+
+    List imported = new ArrayList();
+    MatchStore store = open(matchDirectory);
+    try {
+      for (int x = 0; x < matchFiles.length; x++) {
+        Match match = readLegacy(matchFiles[x]);
+        if (match == null) {
+          Settings.message("The following file does not contain a valid "
+                           + "match:\n" + matchFiles[x].getAbsolutePath()
+                           + "\nFile skipped.");
+          continue;
+        }
+        store.add(match);
+        imported.add(matchFiles[x]);
+      }
+    }
+    finally {
+      store.close();
+    }
+
+    for (int x = 0; x < imported.size(); x++) {
+      ( (File) imported.get(x)).delete();
+    }
+    return imported.size();
+  } // importLegacy
+
+  /**
+   * Read the match serialised in a ".match" file.
+   *
+   * @param matchFile the file
+   * @return the match, or null if the file does not hold a valid match
+   */
+  static Match readLegacy(File matchFile) {
+    try {
+      ObjectInputStream ois = new ObjectInputStream
+          (new BufferedInputStream(new FileInputStream(matchFile)));
+      try {
+        return (Match) ois.readObject();
+      }
+      finally {
+        ois.close();
+      }
+    }
+    catch (IOException e) {
+      return null;
+    }
+    catch (ClassNotFoundException e) {
+      return null;
+    }
+    catch (ClassCastException e) {
+      return null;
+    }
+  } // readLegacy
+
+  /**
+   * Move the matches in the store of a match directory out into a
+   * ".match" file each, named as detection used to name them, and delete
+   * the store.
+   *
+   * @param matchDirectory the match directory
+   * @return the number of matches written out
+   * @throws IOException if a match cannot be written out
+   */
+  static int exportLegacy(File matchDirectory) throws IOException {
+    if (!exists(matchDirectory)) {
+      return 0;
+    }
+    Match matches[] = load(matchDirectory);
+
+    // Matches with the same files and similarity are told apart by a
+    // serial number, so that none of them is overwritten.
+    Set names = new HashSet();
+    for (int x = 0; x < matches.length; x++) {
+      String name;
+      int serialID = 0;
+      do {
+        name = getLegacyName(matches[x], serialID++);
+      }
+      while (!names.add(name) || new File(matchDirectory, name).exists());
+
+      ObjectOutputStream oos = new ObjectOutputStream
+          (new BufferedOutputStream
+           (new FileOutputStream(new File(matchDirectory, name))));
+      try {
+        oos.writeObject(matches[x]);
+      }
+      finally {
+        oos.close();
+      }
+    }
+
+    getStoreFile(matchDirectory).delete();
+    return matches.length;
+  } // exportLegacy
+
+  /**
+   * Return the name of the ".match" file a match is saved in.
+   *
+   * @param match the match
+   * @param serialID the number telling apart matches with the same files
+   * and similarity
+   * @return the name of the file
+   */
+  static String getLegacyName(Match match, int serialID) {
+    return getSubmissionName(match.getFile1()) + "-"
+        + getSubmissionName(match.getFile2()) + "-"
+        + Settings.fileTypes[match.getFileType()].getExtension()
+        + "-" + serialID + "-" + match.getSimilarity() + "pc" + ".match";
+  } // getLegacyName
+
+  /**
+   * Return the original file name of a tokenised file, by cutting off its
+   * directory and its .xxx extension.
+   *
+   * @param path the path of the tokenised file
+   * @return the name of the submitted file it was made from
+   */
+  static String getSubmissionName(String path) {
+    int slashindex = path.lastIndexOf(Settings.fileSep);
+    int dotindex = path.lastIndexOf('.');
+    if (dotindex <= slashindex) {
+      dotindex = path.length();
+    }
+    return path.substring(slashindex + 1, dotindex);
+  } // getSubmissionName
+
+} // MatchStore
@@ -36,9 +36,11 @@ public class MatchTable
   private JTreeTable treeTable;
 
   /**
-   * Linked list holding all nodes except the root node.
+   * Which matches are marked suspicious, by their index in the matches
+   * array. Shared by all the nodes, so that pairs which have not been
+   * expanded still know which of their matches are marked.
    */
-  private LinkedList nodes;
+  private BitSet suspicious;
 
   /**
    * To transfer table data to other programs.
@@ -90,108 +92,10 @@ public class MatchTable
     setSize(1000, 600);
     setVisible(true);
 
-    //Create tree nodes, the linked list holds nodes which represent
-    //a pair, these should be unique, each such node then contains
-    //children which represent the actual matches.
-    nodes = new LinkedList();
-    ListIterator itr;
-    //read in all match files and add them as nodes.
-    for (int i = 0; i < matches.length; i++) {
-      Match m = matches[i];
-      //two possible names
-      boolean added = false;
-      String name1 = truncate(m.getFile1()) + " & "
-          + truncate(m.getFile2());
-      String name2 = truncate(m.getFile2()) + " & "
-          + truncate(m.getFile1());
-
-      //check whether this pair is know or not.
-      itr = nodes.listIterator();
-      while (itr.hasNext()) {
-        MatchTreeNode n = (MatchTreeNode) itr.next();
-        //if this is a match for a known pair, add it as a child.
-        if (n.toString().equals(name1) || n.toString().equals(name2)) {
-          int fileType = m.getFileType();
-          RunCoordinates rcstart = m.getRun().getStartCoordinates();
-          RunCoordinates rcend = m.getRun().getEndCoordinates();
-          String lines1 = new String
-              (rcstart.getOrigLineNoInFile1() + " - " +
-               rcend.getOrigLineNoInFile1());
-          String lines2 = new String
-              (rcstart.getOrigLineNoInFile2() + " - " +
-               rcend.getOrigLineNoInFile2());
-          int percent = m.getSimilarity();
-          if (n.toString().equals(name1)) {
-            n.add(new MatchTreeNode
-                  (fileType, lines1, lines2, percent, i));
-          }
-          else {
-            n.add(new MatchTreeNode
-                  (fileType, lines2, lines1, percent, i));
-          }
-          added = true;
-          break;
-        }
-      }
-
-      //if this is a match for a unknown pair, create a pair node for it,
-      //and added as the child of this pair node.
-      if (!added) {
-        //a new pair is found, add it to the linked list.
-        String name = truncate(m.getFile1()) + " & "
-            + truncate(m.getFile2());
-        String file1 = truncate(m.getFile1());
-        String file2 = truncate(m.getFile2());
-        MatchTreeNode newnode = new MatchTreeNode(name, file1, file2);
-
-        //add itself as the child.
-        int fileType = m.getFileType();
-        RunCoordinates rcstart = m.getRun().getStartCoordinates();
-        RunCoordinates rcend = m.getRun().getEndCoordinates();
-        String lines1 = new String
-            (rcstart.getOrigLineNoInFile1() + " - " +
-             rcend.getOrigLineNoInFile1());
-        String lines2 = new String
-            (rcstart.getOrigLineNoInFile2() + " - " +
-             rcend.getOrigLineNoInFile2());
-        int percent = m.getSimilarity();
-        //add itself to the node representing a pair.
-        newnode.add(new MatchTreeNode
-                    (fileType, lines1, lines2, percent, i));
-        //add them to the list.
-        nodes.add(newnode);
-      }
-    }
-
-    //sort the children of every node.
-    itr = nodes.listIterator();
-    while (itr.hasNext()) {
-      MatchTreeNode m = (MatchTreeNode) itr.next();
-
-      Object[] tmp = m.getChildren().toArray();
-      //cast objects to MatchTreeNode
-      MatchTreeNode[] children = new MatchTreeNode[tmp.length];
-      for (int i = 0; i < tmp.length; i++) {
-        children[i] = (MatchTreeNode) tmp[i];
-
-        //sort the children
-      }
-      Arrays.sort(children);
-      //clear internal vector, create new ones.
-      m.removeAllChildren();
-      for (int i = 0; i < children.length; i++) {
-        m.add(children[i]);
-      }
-    }
-
-    //create root node
-    MatchTreeNode root = new MatchTreeNode();
-    //add all nodes to root to create complete tree.
-    itr = nodes.listIterator();
-    while (itr.hasNext()) {
-      root.add( (MatchTreeNode) itr.next());
-
-    }
+    //Create tree nodes: one for each pair of files, whose children
+    //represent the actual matches and are only made when it is expanded.
+    suspicious = new BitSet(matches.length);
+    MatchTreeNode root = buildTree(matches, suspicious);
     model = new MatchTableModel(root);
     treeTable = new JTreeTable(model);
     treeTable.getTree().getModel().addTreeModelListener
@@ -235,6 +139,104 @@ public class MatchTable
     load();
   }
 
+  /**
+   * Build the tree of matches: a root node with a child for each pair of
+   * files, in the order the pairs first appear in the matches array. The
+   * matches of each pair are found with a hash lookup on the pair's name,
+   * in either order of the files, and the pair's children are not made
+   * until they are first needed.
+   *
+   * @param matches the matches, sorted as they are to be shown
+   * @param suspicious which matches are marked suspicious, shared by the
+   * nodes
+   * @return the root node
+   */
+  static MatchTreeNode buildTree(Match[] matches, BitSet suspicious) {
+    //the group of each pair, under the name it was first seen with.
+    Map groups = new HashMap();
+    Vector order = new Vector();
+    for (int i = 0; i < matches.length; i++) {
+      Match m = matches[i];
+      String file1 = truncate(m.getFile1());
+      String file2 = truncate(m.getFile2());
+      String name1 = file1 + " & " + file2;
+      boolean swapped = false;
+
+      PairGroup group = (PairGroup) groups.get(name1);
+      if (group == null) {
+        group = (PairGroup) groups.get(file2 + " & " + file1);
+        swapped = group != null;
+      }
+      //a new pair is found, named after this match.
+      if (group == null) {
+        group = new PairGroup(name1, file1, file2);
+        groups.put(name1, group);
+        order.add(group);
+      }
+      group.add(i, swapped);
+    }
+
+    //create root node and add all pair nodes to it.
+    MatchTreeNode root = new MatchTreeNode(suspicious);
+    for (int i = 0; i < order.size(); i++) {
+      PairGroup group = (PairGroup) order.get(i);
+      root.add(new MatchTreeNode(group.name, group.file1, group.file2,
+                                 matches, group.getIndices(),
+                                 group.getSwapped(), suspicious));
+    }
+    return root;
+  }
+
+  /**
+   * The matches of one pair of files, collected while building the tree.
+   */
+  private static class PairGroup {
+    String name;
+    String file1;
+    String file2;
+    private int[] indices = new int[4];
+    private BitSet swapped = new BitSet();
+    private int size = 0;
+
+    PairGroup(String name, String file1, String file2) {
+      this.name = name;
+      this.file1 = file1;
+      this.file2 = file2;
+    }
+
+    /**
+     * Add a match to the pair.
+     *
+     * @param index the index of the match in the matches array
+     * @param swap whether its files are the other way round to the pair's
+     */
+    void add(int index, boolean swap) {
+      if (size == indices.length) {
+        int[] temp = new int[size * 2];
+        System.arraycopy(indices, 0, temp, 0, size);
+        indices = temp;
+      }
+      if (swap) {
+        swapped.set(size);
+      }
+      indices[size++] = index;
+    }
+
+    int[] getIndices() {
+      int[] result = new int[size];
+      System.arraycopy(indices, 0, result, 0, size);
+      return result;
+    }
+
+    boolean[] getSwapped() {
+      boolean[] result = new boolean[size];
+      for (int i = 0; i < size; i++) {
+        result[i] = swapped.get(i);
+      }
+      return result;
+    }
+  }
+
   /**
    * The renderer used for string in the TreeTable. The only thing it does,
    * is to format a null String as '---'.
@@ -434,18 +436,7 @@ public class MatchTable
    * Return the number of marked suspicious matches.
    */
   private int getCounter() {
-    ListIterator itr = nodes.listIterator();
-    int n = 0;
-    while (itr.hasNext()) {
-      Vector c = ( (MatchTreeNode) itr.next()).getChildren();
-      for (int i = 0; i < c.size(); i++) {
-        if ( ( (MatchTreeNode) c.get(i)).isSuspicious()
-            .booleanValue()) {
-          n++;
-        }
-      }
-    }
-    return n;
+    return suspicious.cardinality();
   }
 
   /**
@@ -454,20 +445,13 @@ public class MatchTable
    * is not updated until the from is closed.
    */
   private void save() {
-    //check every match node, if it's suspicious,
-    //add it to marking, but first of all ,clear marking.
+    //add every suspicious match to marking, but first of all,
+    //clear marking.
     //	if (!marking.isClean()) {
     marking.clear();
-    for (int i = 0; i < nodes.size(); i++) {
-      //check this pair node's children
-      MatchTreeNode m = (MatchTreeNode) nodes.get(i);
-      Vector matchNodes = m.getChildren();
-      for (int j = (matchNodes.size() - 1); j >= 0; j--) {
-        m = (MatchTreeNode) matchNodes.get(j);
-        if (m.isSuspicious().booleanValue()) {
-          marking.add(m.getIndex());
-        }
-      }
+    for (int i = suspicious.nextSetBit(0); i >= 0;
+         i = suspicious.nextSetBit(i + 1)) {
+      marking.add(i);
     }
   }
 
@@ -477,46 +461,14 @@ public class MatchTable
    * externally and the table needs to be updated.
    */
   private void load() {
-    //reset counter
-    counter = 0;
-    //reset all nodes
-    ListIterator itr = nodes.listIterator();
-    while (itr.hasNext()) {
-      ( (MatchTreeNode) itr.next())
-          .setSuspicious(new Boolean(false));
-    }
-
-    //find out nodes which represents the suspicious matches
-    //and marking them so that they're displayed correctly
-    //in the table.
-    counter = 0;
+    //reset all matches, then mark the suspicious ones so that they're
+    //displayed correctly in the table.
+    suspicious.clear();
     ListIterator mitr = marking.getIndices().listIterator();
     while (mitr.hasNext()) {
       int index = ( (Integer) mitr.next()).intValue();
-      ListIterator nodesItr = nodes.listIterator();
-      String file1 = truncate(matches[index].getFile1());
-      String file2 = truncate(matches[index].getFile2());
-      //scan through all nodes.
-      while (nodesItr.hasNext()) {
-        //only scan through the children of the corresponding
-        //PAIR NODE.
-        MatchTreeNode m = (MatchTreeNode) nodesItr.next();
-        if ( (m.getLines1().equals(file1) && m.getLines2()
-              .equals(file2)) ||
-            (m.getLines1().equals(file1) && m.getLines2()
-             .equals(file2))) {
-          Vector children = m.getChildren();
-          //scan through all children
-          for (int x = 0; x < children.size(); x++) {
-            MatchTreeNode c = (MatchTreeNode)
-                children.get(x);
-            if (c.getIndex() == index) {
-              c.setSuspicious(new Boolean(true));
-              break;
-            }
-          }
-          break;
-        }
+      if (index >= 0 && index < matches.length) {
+        suspicious.set(index);
       }
     }
 
@@ -738,7 +690,7 @@ public class MatchTable
    * Extract original file name from preprocessed filenames. It also removes
    * the directory information.
    */
-  private String truncate(String arg) {
+  private static String truncate(String arg) {
     File file = new File(arg);
     String str = file.getName();
     int index = str.lastIndexOf(".");
@@ -845,12 +797,15 @@ class MatchTableModel
  *           be either empty strings or default value if it's a primitive type.
  *   <li> 2. Node representing a pair, named in the form of "filename1 &
  *           filename2", other strings fields are empty, the presentage is the
- *           sum of percentages of all matches for this pair.
+ *           sum of percentages of all matches for this pair. Its children
+ *           are made from the matches array when they are first asked for.
  *   <li> 3. Node representing a match, named after the pre-processed version
  *           that this match was found in, followed by the line number pairs,
  *           percentage & a boolean indicating whether this match is considered
  *            to be suspicious (set by the user).
  * </ul>
+ * Whether each match is suspicious is kept in a BitSet shared by all the
+ * nodes of a table, by the index of the match.
  *
  * @author Weiliang Zhang
  * @version 21 Sep 2002
@@ -894,7 +849,11 @@ class MatchTreeNode
   private String lines2;
 
   private int percent;
-  private boolean isSuspicious = false;
+
+  /**
+   * Which matches are suspicious, by index, shared by all nodes of a table.
+   */
+  private BitSet suspicious;
 
   /**
    * The actually index in the 'matches' array represented by the node
@@ -903,30 +862,62 @@ class MatchTreeNode
    */
   private int index = -1;
 
+  /**
+   * For a PAIR NODE, the indices of its matches in the matches array.
+   */
+  private int[] indices;
+
+  /**
+   * For a PAIR NODE whose children have not been made yet, the matches
+   * array and whether each of its matches has its files the other way
+   * round to the pair's name. Null once the children are made.
+   */
+  private Match[] matches;
+  private boolean[] swapped;
+
   /**
    * Construct a root node. Named by the source directory path.
+   *
+   * @param suspicious which matches are suspicious, shared by all nodes.
    */
-  public MatchTreeNode() {
+  public MatchTreeNode(BitSet suspicious) {
     super(Settings.sourceDirectory.getAbsolutePath());
     nodeType = ROOT_NODE;
     lines1 = "---";
     lines2 = "---";
     percent = -1;
-    isSuspicious = false;
+    this.suspicious = suspicious;
     index = -2;
   }
 
   /**
-   * Construct a pair node.
+   * Construct a pair node, whose children are made when first needed.
+   *
+   * @param name the name of the pair.
+   * @param file1 the first file of the pair.
+   * @param file2 the second file of the pair.
+   * @param matches all of the matches.
+   * @param indices the indices of this pair's matches in matches.
+   * @param swapped whether each of those matches has its files the other
+   * way round to file1 and file2.
+   * @param suspicious which matches are suspicious, shared by all nodes.
    */
-  public MatchTreeNode(String name, String file1, String file2) {
+  public MatchTreeNode(String name, String file1, String file2,
+                       Match[] matches, int[] indices, boolean[] swapped,
+                       BitSet suspicious) {
     super(name);
     nodeType = PAIR_NODE;
     lines1 = file1;
     lines2 = file2;
-    percent = 0;
-    isSuspicious = false;
+    this.matches = matches;
+    this.indices = indices;
+    this.swapped = swapped;
+    this.suspicious = suspicious;
     index = -1;
+    percent = 0;
+    for (int i = 0; i < indices.length; i++) {
+      percent += matches[indices[i]].getSimilarity();
+    }
   }
 
   /**
@@ -939,20 +930,58 @@ class MatchTreeNode
    * @param lines2 line number range for file 2.
    * @param percent percentage of this match.
    * @param index actual index of this match in the matches array.
+   * @param suspicious which matches are suspicious, shared by all nodes.
    */
   public MatchTreeNode(int matchType, String lines1, String lines2,
-                       int percent, int index) {
+                       int percent, int index, BitSet suspicious) {
     super(Settings.fileTypes[matchType].getDescription());
     this.matchType = matchType;
     nodeType = MATCH_NODE;
     this.lines1 = lines1;
     this.lines2 = lines2;
     this.percent = percent;
-    this.isSuspicious = false;
-   // this.children = children;
+    this.suspicious = suspicious;
     this.index = index;
   }
 
+  /**
+   * Make the children of a PAIR NODE, if they have not been made yet: a
+   * MATCH NODE for each of its matches, sorted by type.
+   */
+  private void makeChildren() {
+    if (matches == null) {
+      return;
+    }
+    MatchTreeNode[] made = new MatchTreeNode[indices.length];
+    for (int i = 0; i < indices.length; i++) {
+      Match m = matches[indices[i]];
+      RunCoordinates rcstart = m.getRun().getStartCoordinates();
+      RunCoordinates rcend = m.getRun().getEndCoordinates();
+      String range1 = rcstart.getOrigLineNoInFile1() + " - " +
+          rcend.getOrigLineNoInFile1();
+      String range2 = rcstart.getOrigLineNoInFile2() + " - " +
+          rcend.getOrigLineNoInFile2();
+      if (swapped[i]) {
+        made[i] = new MatchTreeNode(m.getFileType(), range2, range1,
+                                    m.getSimilarity(), indices[i],
+                                    suspicious);
+      }
+      else {
+        made[i] = new MatchTreeNode(m.getFileType(), range1, range2,
+                                    m.getSimilarity(), indices[i],
+                                    suspicious);
+      }
+    }
+    //sort the children
+    Arrays.sort(made);
+    matches = null;
+    swapped = null;
+    //the percentage already includes them.
+    for (int i = 0; i < made.length; i++) {
+      super.add(made[i]);
+    }
+  }
+
   /**
    * Compares this node with node given.
    */
@@ -967,6 +996,7 @@ class MatchTreeNode
    * this node is not the root node.
    */
   public void add(MutableTreeNode node) {
+    makeChildren();
     super.add(node);
     if (nodeType != ROOT_NODE) {
       percent += ( (MatchTreeNode) node).getPercent().intValue();
@@ -977,14 +1007,38 @@ class MatchTreeNode
    * Remove all children, also clear the percentage variable.
    */
   public void removeAllChildren() {
+    matches = null;
+    swapped = null;
+    indices = new int[0];
     super.removeAllChildren();
     percent = 0;
   }
 
+  public int getChildCount() {
+    makeChildren();
+    return super.getChildCount();
+  }
+
+  public TreeNode getChildAt(int index) {
+    makeChildren();
+    return super.getChildAt(index);
+  }
+
+  public int getIndex(TreeNode node) {
+    makeChildren();
+    return super.getIndex(node);
+  }
+
+  public Enumeration children() {
+    makeChildren();
+    return super.children();
+  }
+
   /**
    * All children of this node.
    */
   public Vector getChildren() {
+    makeChildren();
     return children;
   }
 
@@ -1031,7 +1085,9 @@ class MatchTreeNode
   }
 
   /**
-   * Whether this match is considered to be suspicious.
+   * Whether this match is considered to be suspicious. A PAIR NODE is
+   * suspicious if all of its matches are; there is no indication in the
+   * saved file that a PAIR NODE is marked suspicious.
    *
    * @return null if this node is the root node.
    */
@@ -1039,48 +1095,43 @@ class MatchTreeNode
     if (nodeType == ROOT_NODE) {
       return null;
     }
-    else {
-      //if all children of this node is set to true, set this node to
-      //true. The reason why isSuspicious variable is not directly
-      //returned is that when loading from a file, there is no indication
-      //in the saved file that while mark a PAIR NODE is suspicious.
-      int c = getChildCount();
-
-      //if this node is a MATCH NODE, return isSuspicious directly.
-      if (c == 0) {
-        return new Boolean(isSuspicious);
-      }
-      //else compute isSuspicious and then return.
-      isSuspicious = true;
-      for (int i = 0; i < c; i++) {
-        if (! ( (MatchTreeNode) getChildAt(i)).isSuspicious()
-            .booleanValue()) {
-          isSuspicious = false;
-          break;
-        }
+    if (nodeType == MATCH_NODE) {
+      return new Boolean(suspicious.get(index));
+    }
+    for (int i = 0; i < indices.length; i++) {
+      if (!suspicious.get(indices[i])) {
+        return new Boolean(false);
       }
-      return new Boolean(isSuspicious);
     }
+    return new Boolean(true);
   }
 
   /**
    * True if this node is a leaf in the tree, false otherwise.
    */
   public boolean isLeaf() {
-    return (children == null) ? true : false;
+    return (children == null && matches == null) ? true : false;
   }
 
   /**
-   * Set this match to be suspicious.
+   * Set this match to be suspicious, or all the matches under this node.
    */
   public void setSuspicious(Boolean value) {
-    isSuspicious = value.booleanValue();
     MatchTable.marking.setDirty();
-
-    //set all children to this value.
-    int c = getChildCount();
-    for (int i = 0; i < c; i++) {
-      ( (MatchTreeNode) getChildAt(i)).setSuspicious(value);
+    if (nodeType == MATCH_NODE) {
+      suspicious.set(index, value.booleanValue());
+    }
+    else if (nodeType == PAIR_NODE) {
+      for (int i = 0; i < indices.length; i++) {
+        suspicious.set(indices[i], value.booleanValue());
+      }
+    }
+    else {
+      //set all children to this value.
+      int c = getChildCount();
+      for (int i = 0; i < c; i++) {
+        ( (MatchTreeNode) getChildAt(i)).setSuspicious(value);
+      }
     }
   }
 }
@@ -283,7 +283,8 @@ public class MatchTableDataStruct {
 
 	/**
 	 * Deserialises all matches stored in the match directory into the
-	 * returned array, listed in order of similarity
+	 * returned array: those in its match store, followed by any kept in a
+	 * ".match" file each.
 	 *
 	 * @return an array of Matches
 	 */
@@ -293,7 +294,12 @@ public class MatchTableDataStruct {
 		File md = new File(Settings.sourceDirectory,
 				Settings.sherlockSettings.getMatchDirectory());
 		File matchFiles[] = md.listFiles(new MatchFilenameFilter());
-		Match storedMatches[] = new Match[matchFiles.length];
+		if (matchFiles == null) {
+			matchFiles = new File[0];
+		}
+		Match kept[] = loadStore(md);
+		Match storedMatches[] = new Match[kept.length + matchFiles.length];
+		System.arraycopy(kept, 0, storedMatches, 0, kept.length);
 
 		// If there are no matches, return a null value
 		if (storedMatches.length == 0) {
@@ -302,13 +308,13 @@ public class MatchTableDataStruct {
 
 		// Deserialise the matches, loading the match into the matches array
 		// and details into the data array.
-		for (int x = 0; x < storedMatches.length; x++) {
+		for (int x = 0; x < matchFiles.length; x++) {
 			try {
 				FileInputStream fis = new FileInputStream(matchFiles[x]);
 				ObjectInputStream ois = new ObjectInputStream(fis);
 
 				// Add this match to the array.
-				storedMatches[x] = (Match) ois.readObject();
+				storedMatches[kept.length + x] = (Match) ois.readObject();
 
 				ois.close();
 				fis.close();
@@ -317,7 +323,7 @@ public class MatchTableDataStruct {
 				e.printStackTrace();
 				// If have an exception then this file does not contain a
 				// valid match; set the storedMatches[x] entry to null.
-				storedMatches[x] = null;
+				storedMatches[kept.length + x] = null;
 
 				//write error log, skip this file and continue.
 				String logname = new String(System.getProperty("user.home")
@@ -345,7 +351,7 @@ public class MatchTableDataStruct {
 			catch (java.lang.ClassNotFoundException f) {
 				// If have an exception then this file does not contain a
 				// valid match; set the storedMatches[x] entry to null.
-				storedMatches[x] = null;
+				storedMatches[kept.length + x] = null;
 
 				//write error log, skip this file and continue.
 				String logname = new String(System.getProperty("user.home")
@@ -375,4 +381,45 @@ public class MatchTableDataStruct {
 		// Return the matches.
 		return storedMatches;
 	} // loadMatches
+
+	/**
+	 * Reads the matches in the match store of a match directory. If the
+	 * store cannot be read the error is logged, and no matches are returned.
+	 *
+	 * @param md the match directory
+	 * @return the matches in the store, or an empty array if there are none
+	 */
+	private static Match[] loadStore(File md) {
+		if (!MatchStore.exists(md)) {
+			return new Match[0];
+		}
+		try {
+			return MatchStore.load(md);
+		}
+		catch (IOException e) {
+			e.printStackTrace();
+			String storeName = MatchStore.getStoreFile(md).getAbsolutePath();
+
+			//write error log, skip the store and continue.
+			String logname = new String(System.getProperty("user.home")
+					+ Settings.fileSep
+					+ "sherlock.log");
+			Date day = new Date(System.currentTimeMillis());
+			try {
+				BufferedWriter out = new BufferedWriter
+				(new FileWriter(logname, true));
+				out.write(day + "-The following match store cannot be read:\n"
+						+ storeName + "\n" + e.getMessage()
+						+ "\nMatches in it skipped.");
+				out.newLine();
+				out.close();
+			}
+			catch (IOException e2) {
+				System.err.println(day + "-The following match store cannot be "
+						+ "read:\n" + storeName + "\n" + e.getMessage()
+						+ "\nMatches in it skipped.");
+			}
+			return new Match[0];
+		}
+	} // loadStore
 }
@@ -101,7 +101,8 @@ class MatchesScreen
 
   /**
    * Deserialises all matches stored in the match directory into the
-   * returned array, listed in order of similarity
+   * returned array: those in its match store, followed by any kept in a
+   * ".match" file each.
    *
    * @return an array of Matches
    */
@@ -111,7 +112,12 @@ class MatchesScreen
     File md = new File(Settings.sourceDirectory,
                        Settings.sherlockSettings.getMatchDirectory());
     File matchFiles[] = md.listFiles(new MatchFilenameFilter());
-    Match storedMatches[] = new Match[matchFiles.length];
+    if (matchFiles == null) {
+      matchFiles = new File[0];
+    }
+    Match kept[] = loadStore(md);
+    Match storedMatches[] = new Match[kept.length + matchFiles.length];
+    System.arraycopy(kept, 0, storedMatches, 0, kept.length);
 
     // If there are no matches, return a null value
     if (storedMatches.length == 0) {
@@ -120,13 +126,13 @@ class MatchesScreen
 
     // Deserialise the matches, loading the match into the matches array
     // and details into the data array.
-    for (int x = 0; x < storedMatches.length; x++) {
+    for (int x = 0; x < matchFiles.length; x++) {
       try {
         FileInputStream fis = new FileInputStream(matchFiles[x]);
         ObjectInputStream ois = new ObjectInputStream(fis);
 
         // Add this match to the array.
-        storedMatches[x] = (Match) ois.readObject();
+        storedMatches[kept.length + x] = (Match) ois.readObject();
 
         ois.close();
         fis.close();
@@ -135,7 +141,7 @@ class MatchesScreen
         e.printStackTrace();
         // If have an exception then this file does not contain a
         // valid match; set the storedMatches[x] entry to null.
-        storedMatches[x] = null;
+        storedMatches[kept.length + x] = null;
 
         JOptionPane.showMessageDialog
             (parent, "The following file does not contain a valid "
@@ -174,7 +180,7 @@ class MatchesScreen
       catch (java.lang.ClassNotFoundException f) {
         // If have an exception then this file does not contain a
         // valid match; set the storedMatches[x] entry to null.
-        storedMatches[x] = null;
+        storedMatches[kept.length + x] = null;
 
         //write error log, skip this file and continue.
         String logname = new String(System.getProperty("user.home")
@@ -228,6 +234,56 @@ class MatchesScreen
     return storedMatches;
   } // loadMatches
 
+  /**
+   * Reads the matches in the match store of a match directory. If the
+   * store cannot be read the user is told, and no matches are returned.
+   *
+   * @param md the match directory
+   * @return the matches in the store, or an empty array if there are none
+   */
+  private static Match[] loadStore(File md) {
+    if (!MatchStore.exists(md)) {
+      return new Match[0];
+    }
+    try {
+      return MatchStore.load(md);
+    }
+    catch (IOException e) {
+      e.printStackTrace();
+      String storeName = MatchStore.getStoreFile(md).getAbsolutePath();
+      JOptionPane.showMessageDialog
+          (parent, "The following match store cannot be read:\n"
+           + storeName + "\n" + e.getMessage()
+           + "\nMatches in it skipped."
+           + "\nError logged in file sherlock.log in your HOME"
+           + " directory.", "Error", JOptionPane.ERROR_MESSAGE);
+
+      //write error log, skip the store and continue.
+      String logname = new String(System.getProperty("user.home")
+                                  + Settings.fileSep
+                                  + "sherlock.log");
+      Date day = new Date(System.currentTimeMillis());
+      try {
+        BufferedWriter out = new BufferedWriter
+            (new FileWriter(logname, true));
+        out.write(day + "-The following match store cannot be read:\n"
+                  + storeName + "\n" + e.getMessage()
+                  + "\nMatches in it skipped.");
+        out.newLine();
+        out.close();
+      }
+      catch (IOException e2) {
+        JOptionPane.showMessageDialog
+            (parent, "Cannot write to log file, write to STDERR.",
+             "Error", JOptionPane.ERROR_MESSAGE);
+        System.err.println(day + "-The following match store cannot be "
+                           + "read:\n" + storeName + "\n" + e.getMessage()
+                           + "\nMatches in it skipped.");
+      }
+      return new Match[0];
+    }
+  } // loadStore
+
   /**
    * Returns the value of the slider that the user uses to dictate the
    * similarity of the matches to be shown.
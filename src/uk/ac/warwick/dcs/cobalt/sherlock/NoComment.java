@@ -12,23 +12,29 @@ class NoComment implements NoCommentConstants {
   /**
    * The stream used to save the output file.
    */
-  static PrintStream save;
+  PrintStream save;
 
   /**
    * The new file containing the output of this tokeniser.
    */
-  static File outputFile = null;
+  File outputFile = null;
+
+  /**
+   * The stream to write the output of this tokeniser to, instead of a
+   * file, or null to write it to outputFile.
+   */
+  OutputStream outputStream = null;
 
   /**
    * Keep track of the line number from the file read in. Used to print #line xxx in the outputFile.
    */
-  static int lineNo = 1;
+  int lineNo = 1;
 
   /**
    * If true, then the line number is printed having just skipped printing a comment.
    * If false, then the last line printed was not a comment, so don't print the line number.
    */
-  static boolean justSeenComment = false;
+  boolean justSeenComment = false;
 
 
   /**
@@ -37,19 +43,33 @@ class NoComment implements NoCommentConstants {
    * @param is - the input stream to parse.
    * @param f - the file to save the results of this tokeniser to.
    */
-  static void ReInit(InputStream is, File f) {
+  void ReInit(InputStream is, File f) {
     // Don't need to reinitialise the PrintStream save, it's done for us.
-    NoComment.ReInit(is);
-    NoComment.outputFile = f;
-    NoComment.lineNo = 1;
-    NoComment.justSeenComment = false;
+    ReInit(is);
+    outputFile = f;
+    outputStream = null;
+    lineNo = 1;
+    justSeenComment = false;
+  } // ReInit
+
+  /**
+   * Reinitialise all the variables, to parse the input stream into an
+   * output stream rather than a file, so that the output can be passed
+   * straight on to another tokeniser.
+   *
+   * @param is - the input stream to parse.
+   * @param os - the output stream to write the results of this tokeniser to.
+   */
+  void ReInit(InputStream is, OutputStream os) {
+    ReInit(is, (File) null);
+    outputStream = os;
   } // ReInit
 
 
   /**
    * Print the current line number into the new file - if the last line printed was a comment.
    */
-  static void printLineNo() {
+  void printLineNo() {
     if (justSeenComment){
       //save.println("#line " + lineNo);
     }
@@ -60,7 +80,7 @@ class NoComment implements NoCommentConstants {
     parser.Input();
   }
 
-  static final public void anyOldLines() throws ParseException {
+  final public void anyOldLines() throws ParseException {
     switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
     case singleLineComment:
       jj_consume_token(singleLineComment);
@@ -71,7 +91,7 @@ class NoComment implements NoCommentConstants {
     case hashLine:
       jj_consume_token(hashLine);
       jj_consume_token(number);
-      lineNo = Integer.parseInt(NoComment.getToken(0).image);
+      lineNo = Integer.parseInt(getToken(0).image);
     // The newLine after will incorrectly add 1 to the line count, so correct this in advance.
     // Must remember, the number refers to the original number of the *following* line.
     lineNo--;
@@ -106,10 +126,13 @@ class NoComment implements NoCommentConstants {
     }
   }
 
-  static final public void Input() throws ParseException {
+  final public void Input() throws ParseException {
+  token_source.parser = this;
   try {
-    if (outputFile!=null)
-      NoComment.save = new PrintStream(new FileOutputStream(outputFile));
+    if (outputStream != null)
+      save = new PrintStream(outputStream);
+    else if (outputFile!=null)
+      save = new PrintStream(new FileOutputStream(outputFile));
     else
       save = System.out;
   } catch (IOException e) {
@@ -157,13 +180,12 @@ class NoComment implements NoCommentConstants {
     save.close();
   }
 
-  static private boolean jj_initialized_once = false;
-  static public NoCommentTokenManager token_source;
-  static SimpleCharStream jj_input_stream;
-  static public Token token, jj_nt;
-  static private int jj_ntk;
-  static private int jj_gen;
-  static final private int[] jj_la1 = new int[3];
+  public NoCommentTokenManager token_source;
+  SimpleCharStream jj_input_stream;
+  public Token token, jj_nt;
+  private int jj_ntk;
+  private int jj_gen;
+  final private int[] jj_la1 = new int[3];
   static private int[] jj_la1_0;
   static {
       jj_la1_0();
@@ -173,13 +195,6 @@ class NoComment implements NoCommentConstants {
    }
 
   public NoComment(java.io.InputStream stream) {
-    if (jj_initialized_once) {
-      System.out.println("ERROR: Second call to constructor of static parser.  You must");
-      System.out.println("       either use ReInit() or set the JavaCC option STATIC to false");
-      System.out.println("       during parser generation.");
-      throw new Error();
-    }
-    jj_initialized_once = true;
     jj_input_stream = new SimpleCharStream(stream, 1, 1);
     token_source = new NoCommentTokenManager(jj_input_stream);
     token = new Token();
@@ -188,7 +203,7 @@ class NoComment implements NoCommentConstants {
     for (int i = 0; i < 3; i++) jj_la1[i] = -1;
   }
 
-  static public void ReInit(java.io.InputStream stream) {
+  public void ReInit(java.io.InputStream stream) {
     jj_input_stream.ReInit(stream, 1, 1);
     token_source.ReInit(jj_input_stream);
     token = new Token();
@@ -198,13 +213,6 @@ class NoComment implements NoCommentConstants {
   }
 
   public NoComment(java.io.Reader stream) {
-    if (jj_initialized_once) {
-      System.out.println("ERROR: Second call to constructor of static parser.  You must");
-      System.out.println("       either use ReInit() or set the JavaCC option STATIC to false");
-      System.out.println("       during parser generation.");
-      throw new Error();
-    }
-    jj_initialized_once = true;
     jj_input_stream = new SimpleCharStream(stream, 1, 1);
     token_source = new NoCommentTokenManager(jj_input_stream);
     token = new Token();
@@ -213,7 +221,7 @@ class NoComment implements NoCommentConstants {
     for (int i = 0; i < 3; i++) jj_la1[i] = -1;
   }
 
-  static public void ReInit(java.io.Reader stream) {
+  public void ReInit(java.io.Reader stream) {
     jj_input_stream.ReInit(stream, 1, 1);
     token_source.ReInit(jj_input_stream);
     token = new Token();
@@ -223,13 +231,6 @@ class NoComment implements NoCommentConstants {
   }
 
   public NoComment(NoCommentTokenManager tm) {
-    if (jj_initialized_once) {
-      System.out.println("ERROR: Second call to constructor of static parser.  You must");
-      System.out.println("       either use ReInit() or set the JavaCC option STATIC to false");
-      System.out.println("       during parser generation.");
-      throw new Error();
-    }
-    jj_initialized_once = true;
     token_source = tm;
     token = new Token();
     jj_ntk = -1;
@@ -245,7 +246,7 @@ class NoComment implements NoCommentConstants {
     for (int i = 0; i < 3; i++) jj_la1[i] = -1;
   }
 
-  static final private Token jj_consume_token(int kind) throws ParseException {
+  final private Token jj_consume_token(int kind) throws ParseException {
     Token oldToken;
     if ((oldToken = token).next != null) token = token.next;
     else token = token.next = token_source.getNextToken();
@@ -259,7 +260,7 @@ class NoComment implements NoCommentConstants {
     throw generateParseException();
   }
 
-  static final public Token getNextToken() {
+  final public Token getNextToken() {
     if (token.next != null) token = token.next;
     else token = token.next = token_source.getNextToken();
     jj_ntk = -1;
@@ -267,7 +268,7 @@ class NoComment implements NoCommentConstants {
     return token;
   }
 
-  static final public Token getToken(int index) {
+  final public Token getToken(int index) {
     Token t = token;
     for (int i = 0; i < index; i++) {
       if (t.next != null) t = t.next;
@@ -276,18 +277,18 @@ class NoComment implements NoCommentConstants {
     return t;
   }
 
-  static final private int jj_ntk() {
+  final private int jj_ntk() {
     if ((jj_nt=token.next) == null)
       return (jj_ntk = (token.next=token_source.getNextToken()).kind);
     else
       return (jj_ntk = jj_nt.kind);
   }
 
-  static private java.util.Vector jj_expentries = new java.util.Vector();
-  static private int[] jj_expentry;
-  static private int jj_kind = -1;
+  private java.util.Vector jj_expentries = new java.util.Vector();
+  private int[] jj_expentry;
+  private int jj_kind = -1;
 
-  static public ParseException generateParseException() {
+  public ParseException generateParseException() {
     jj_expentries.removeAllElements();
     boolean[] la1tokens = new boolean[11];
     for (int i = 0; i < 11; i++) {
@@ -320,10 +321,10 @@ class NoComment implements NoCommentConstants {
     return new ParseException(token, exptokseq, tokenImage);
   }
 
-  static final public void enable_tracing() {
+  final public void enable_tracing() {
   }
 
-  static final public void disable_tracing() {
+  final public void disable_tracing() {
   }
 
 }
@@ -9,29 +9,29 @@ class NoWhite implements NoWhiteConstants {
   /**
    * The stream used to save the output file.
    */
-  static PrintStream save;
+  PrintStream save;
 
   /**
    * The new file containing the output of this tokeniser.
    */
-  static File outputFile = null;
+  File outputFile = null;
 
   /**
    * Keep track of the line number from the file read in. Used to print #line xxx in the outputFile.
    */
-  static int lineNo = 1;
+  int lineNo = 1;
 
   /**
    * If true, then have not encountered any non-whitespace characters (newLine, space, tab) on this line
    * so far, so don't print any whitespace characters yet.
    * If false, then have found some non-whitespace characters, so can safely print whitespace characters.
    */
-  static boolean atStartOfLine = true;
+  boolean atStartOfLine = true;
 
   /**
    * If true then we have skipped a line because it was blank and should print #line xxx before continuing.
    */
-  static boolean justSkippedALine = false;
+  boolean justSkippedALine = false;
 
   /**
    * Reinitialise all the variables, and get on with parsing the whatever's in the input stream.
@@ -39,20 +39,20 @@ class NoWhite implements NoWhiteConstants {
    * @param is - the input stream to parse.
    * @param f - the file to save the results of this tokeniser to.
    */
-  static void ReInit(InputStream is, File f) {
+  void ReInit(InputStream is, File f) {
     // Don't need to reinitialise the PrintStream, it's done for us.
-    NoWhite.ReInit(is);
-    NoWhite.outputFile = f;
-    NoWhite.lineNo=1;
-    NoWhite.atStartOfLine = true;
-    NoWhite.justSkippedALine = false;
+    ReInit(is);
+    outputFile = f;
+    lineNo=1;
+    atStartOfLine = true;
+    justSkippedALine = false;
   } // ReInit
 
 
   /**
    * Print the current line number into the new file - if we have just skipped a line.
    */
-  static void printLineNo() {
+  void printLineNo() {
     if (justSkippedALine) {
       //save.println("#line " + lineNo);
       justSkippedALine = false;
@@ -65,7 +65,7 @@ class NoWhite implements NoWhiteConstants {
     parser.Input();
   }
 
-  static final public void anyOldLines() throws ParseException {
+  final public void anyOldLines() throws ParseException {
     switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
     case hashLine:
       jj_consume_token(hashLine);
@@ -128,7 +128,7 @@ class NoWhite implements NoWhiteConstants {
     }
   }
 
-  static final public void Input() throws ParseException {
+  final public void Input() throws ParseException {
   try {
     if (outputFile!=null)
       save = new PrintStream(new FileOutputStream(outputFile));
@@ -179,13 +179,12 @@ class NoWhite implements NoWhiteConstants {
     save.close();
   }
 
-  static private boolean jj_initialized_once = false;
-  static public NoWhiteTokenManager token_source;
-  static SimpleCharStream jj_input_stream;
-  static public Token token, jj_nt;
-  static private int jj_ntk;
-  static private int jj_gen;
-  static final private int[] jj_la1 = new int[4];
+  public NoWhiteTokenManager token_source;
+  SimpleCharStream jj_input_stream;
+  public Token token, jj_nt;
+  private int jj_ntk;
+  private int jj_gen;
+  final private int[] jj_la1 = new int[4];
   static private int[] jj_la1_0;
   static {
       jj_la1_0();
@@ -195,13 +194,6 @@ class NoWhite implements NoWhiteConstants {
    }
 
   public NoWhite(java.io.InputStream stream) {
-    if (jj_initialized_once) {
-      System.out.println("ERROR: Second call to constructor of static parser.  You must");
-      System.out.println("       either use ReInit() or set the JavaCC option STATIC to false");
-      System.out.println("       during parser generation.");
-      throw new Error();
-    }
-    jj_initialized_once = true;
     jj_input_stream = new SimpleCharStream(stream, 1, 1);
     token_source = new NoWhiteTokenManager(jj_input_stream);
     token = new Token();
@@ -210,7 +202,7 @@ class NoWhite implements NoWhiteConstants {
     for (int i = 0; i < 4; i++) jj_la1[i] = -1;
   }
 
-  static public void ReInit(java.io.InputStream stream) {
+  public void ReInit(java.io.InputStream stream) {
     jj_input_stream.ReInit(stream, 1, 1);
     token_source.ReInit(jj_input_stream);
     token = new Token();
@@ -220,13 +212,6 @@ class NoWhite implements NoWhiteConstants {
   }
 
   public NoWhite(java.io.Reader stream) {
-    if (jj_initialized_once) {
-      System.out.println("ERROR: Second call to constructor of static parser.  You must");
-      System.out.println("       either use ReInit() or set the JavaCC option STATIC to false");
-      System.out.println("       during parser generation.");
-      throw new Error();
-    }
-    jj_initialized_once = true;
     jj_input_stream = new SimpleCharStream(stream, 1, 1);
     token_source = new NoWhiteTokenManager(jj_input_stream);
     token = new Token();
@@ -235,7 +220,7 @@ class NoWhite implements NoWhiteConstants {
     for (int i = 0; i < 4; i++) jj_la1[i] = -1;
   }
 
-  static public void ReInit(java.io.Reader stream) {
+  public void ReInit(java.io.Reader stream) {
     jj_input_stream.ReInit(stream, 1, 1);
     token_source.ReInit(jj_input_stream);
     token = new Token();
@@ -245,13 +230,6 @@ class NoWhite implements NoWhiteConstants {
   }
 
   public NoWhite(NoWhiteTokenManager tm) {
-    if (jj_initialized_once) {
-      System.out.println("ERROR: Second call to constructor of static parser.  You must");
-      System.out.println("       either use ReInit() or set the JavaCC option STATIC to false");
-      System.out.println("       during parser generation.");
-      throw new Error();
-    }
-    jj_initialized_once = true;
     token_source = tm;
     token = new Token();
     jj_ntk = -1;
@@ -267,7 +245,7 @@ class NoWhite implements NoWhiteConstants {
     for (int i = 0; i < 4; i++) jj_la1[i] = -1;
   }
 
-  static final private Token jj_consume_token(int kind) throws ParseException {
+  final private Token jj_consume_token(int kind) throws ParseException {
     Token oldToken;
     if ((oldToken = token).next != null) token = token.next;
     else token = token.next = token_source.getNextToken();
@@ -281,7 +259,7 @@ class NoWhite implements NoWhiteConstants {
     throw generateParseException();
   }
 
-  static final public Token getNextToken() {
+  final public Token getNextToken() {
     if (token.next != null) token = token.next;
     else token = token.next = token_source.getNextToken();
     jj_ntk = -1;
@@ -289,7 +267,7 @@ class NoWhite implements NoWhiteConstants {
     return token;
   }
 
-  static final public Token getToken(int index) {
+  final public Token getToken(int index) {
     Token t = token;
     for (int i = 0; i < index; i++) {
       if (t.next != null) t = t.next;
@@ -298,18 +276,18 @@ class NoWhite implements NoWhiteConstants {
     return t;
   }
 
-  static final private int jj_ntk() {
+  final private int jj_ntk() {
     if ((jj_nt=token.next) == null)
       return (jj_ntk = (token.next=token_source.getNextToken()).kind);
     else
       return (jj_ntk = jj_nt.kind);
   }
 
-  static private java.util.Vector jj_expentries = new java.util.Vector();
-  static private int[] jj_expentry;
-  static private int jj_kind = -1;
+  private java.util.Vector jj_expentries = new java.util.Vector();
+  private int[] jj_expentry;
+  private int jj_kind = -1;
 
-  static public ParseException generateParseException() {
+  public ParseException generateParseException() {
     jj_expentries.removeAllElements();
     boolean[] la1tokens = new boolean[7];
     for (int i = 0; i < 7; i++) {
@@ -342,10 +320,10 @@ class NoWhite implements NoWhiteConstants {
     return new ParseException(token, exptokseq, tokenImage);
   }
 
-  static final public void enable_tracing() {
+  final public void enable_tracing() {
   }
 
-  static final public void disable_tracing() {
+  final public void disable_tracing() {
   }
 
 }
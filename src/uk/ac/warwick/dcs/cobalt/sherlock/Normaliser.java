@@ -5,25 +5,25 @@ import java.util.Date;
 
 public class Normaliser implements NormaliserConstants {
   //line number in the original file
-  public static int lineNo = 1;
+  public int lineNo = 1;
 
   //when counter hits MAX, output line number.
-  private static int counter = 0;
+  private int counter = 0;
   private final static int MAX = 10;
 
   //brackets count only count brackets in the same line.
-  public static int brackets = 0;
+  public int brackets = 0;
   //indicate at the start of a new line. 
-  private static boolean startOfNewLine = true;
+  private boolean startOfNewLine = true;
 
-  private static boolean wasspace = false;
+  private boolean wasspace = false;
 
-  private static File outputFile;
+  private File outputFile;
 
-  public static BufferedWriter out;
+  public BufferedWriter out;
 
-  public static void ReInit(InputStream instream, File file) {
-    Normaliser.ReInit(instream);
+  public void ReInit(InputStream instream, File file) {
+    ReInit(instream);
     brackets = 0;
     lineNo = 1;
     counter = 0;
@@ -49,16 +49,16 @@ public class Normaliser implements NormaliserConstants {
     }
   }
 
-  public static void write(String s, boolean newline) {
+  public void write(String s, boolean newline) {
     if (s.equals(" "))
       wasspace = true;
     else wasspace = false;
     startOfNewLine = newline;
 
     try {
-      Normaliser.out.write(s);
+      out.write(s);
       if (newline) {
-        Normaliser.out.newLine();
+        out.newLine();
 
         //output line number in every 10 not-comment lines in the new file.
         counter++;
@@ -89,20 +89,20 @@ public class Normaliser implements NormaliserConstants {
     }
   }
 
-  static final public void matchLine() throws ParseException {
+  final public void matchLine() throws ParseException {
     switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
     case OPEN_BRACKET:
       jj_consume_token(OPEN_BRACKET);
-    Normaliser.brackets++;
-    Normaliser.write(token.image, false);
+    brackets++;
+    write(token.image, false);
     //consumes all spaces after an open bracket.
     while (getToken(1).kind == SPACE)
       getNextToken();
       break;
     case CLOSE_BRACKET:
       jj_consume_token(CLOSE_BRACKET);
-    Normaliser.brackets--;
-    Normaliser.write(token.image, false);
+    brackets--;
+    write(token.image, false);
 
     //consume all spaces and new line characters.
     while (getToken(1).kind == SPACE)
@@ -114,29 +114,29 @@ public class Normaliser implements NormaliserConstants {
     //not an operator, not in an array definition, not braces,
     //print line break.
     if (!getToken(1).image.equals(".") && getToken(1).kind != SEMICOLON
-        && Normaliser.brackets == 0 && getToken(1).kind != NEWLINE
+        && brackets == 0 && getToken(1).kind != NEWLINE
         && getToken(1).kind != OPERATOR && !getToken(1).image.equals("]")
         && getToken(1).kind != BRACES)
-        Normaliser.write("", true);
+        write("", true);
       break;
     case BRACES:
       jj_consume_token(BRACES);
     if (!wasspace && !startOfNewLine)
-      Normaliser.write(" ", false);
-    Normaliser.write(token.image, false);
+      write(" ", false);
+    write(token.image, false);
     //consumes all spaces followed.
     while(getToken(1).kind == SPACE)
       getNextToken();
 
     if (getToken(1).kind == NEWLINE) {
-      Normaliser.lineNo++;
+      lineNo++;
       getNextToken();
     }
 
     //if a semicolon is followed, print the semicolon and then a new line
     //if necessary, otherwise, print new line directly.
     if (getToken(1).kind != SEMICOLON)
-      Normaliser.write("", true);
+      write("", true);
       break;
     case SEMICOLON:
       jj_consume_token(SEMICOLON);
@@ -144,35 +144,35 @@ public class Normaliser implements NormaliserConstants {
     //consume the spaces after an operator.
     while(getToken(1).kind == SPACE || getToken(1).kind == NEWLINE) {
       if (getToken(1).kind == NEWLINE)
-        Normaliser.lineNo++;
+        lineNo++;
       getNextToken();
     }
-    Normaliser.write(";", true);
+    write(";", true);
       break;
     case INC_OPT:
       jj_consume_token(INC_OPT);
-    Normaliser.write(Normaliser.token.image, false);
+    write(token.image, false);
     //consume the spaces after an operator.
-    while(Normaliser.getToken(1).kind == SPACE)
+    while(getToken(1).kind == SPACE)
       getNextToken();
       break;
     case NOT_OPT:
       jj_consume_token(NOT_OPT);
-    Normaliser.write(Normaliser.token.image + " ", false);
+    write(token.image + " ", false);
     //consume the spaces after an operator.
-    while(Normaliser.getToken(1).kind == SPACE)
+    while(getToken(1).kind == SPACE)
       getNextToken();
       break;
     case OPERATOR:
       jj_consume_token(OPERATOR);
     if (!wasspace)
-      Normaliser.write(" ", false);
-    if (Normaliser.token.image.equals("&&")
-        || Normaliser.token.image.equals("||"))
-      Normaliser.write("", true);
-    Normaliser.write(Normaliser.getToken(0).image + " ", false);
+      write(" ", false);
+    if (token.image.equals("&&")
+        || token.image.equals("||"))
+      write("", true);
+    write(getToken(0).image + " ", false);
     //consume the spaces after an operator.
-    while(Normaliser.getToken(1).kind == SPACE)
+    while(getToken(1).kind == SPACE)
       getNextToken();
       break;
     case CAST:
@@ -182,9 +182,9 @@ public class Normaliser implements NormaliserConstants {
       if (token.image.charAt(i) != ' ' && token.image.charAt(i) != '\n')
         modified.append(token.image.charAt(i));
     }
-    Normaliser.write(modified.toString(), false);
+    write(modified.toString(), false);
     //consume the spaces after an operator.
-    while(Normaliser.getToken(1).kind == SPACE)
+    while(getToken(1).kind == SPACE)
       getNextToken();
       break;
     case SPACE:
@@ -192,14 +192,14 @@ public class Normaliser implements NormaliserConstants {
     if (!startOfNewLine && !wasspace
         && getToken(1).kind != OPERATOR && getToken(1).kind != CLOSE_BRACKET
         && getToken(1).kind != SEMICOLON)
-      Normaliser.write(" ", false);
+      write(" ", false);
       break;
     case NEWLINE:
       jj_consume_token(NEWLINE);
-    Normaliser.lineNo++;
+    lineNo++;
     while (getToken(1).kind == SPACE || getToken(1).kind == NEWLINE) {
       if (getToken(1).kind == NEWLINE)
-        Normaliser.lineNo++;
+        lineNo++;
       getNextToken();
     }
 
@@ -207,27 +207,27 @@ public class Normaliser implements NormaliserConstants {
        && getToken(1).kind != OPEN_BRACKET && getToken(1).kind != CLOSE_BRACKET
        && !getToken(1).image.equals(".") && !getToken(1).image.equals("[")
        && !getToken(1).image.equals("]") && getToken(1).kind != BRACES)
-        Normaliser.write(" ", false);
+        write(" ", false);
       break;
     case SINGLECOMMENT:
       jj_consume_token(SINGLECOMMENT);
   //skip to the next line break. 
     do {
-      Normaliser.write(token.image, false);
+      write(token.image, false);
       getNextToken();
     } while (token.kind != NEWLINE && token.kind != 0);
     if (token.kind == NEWLINE)
-      Normaliser.lineNo++;
+      lineNo++;
     //output a new line
-    Normaliser.write("", true);
+    write("", true);
       break;
     case MULTICOMMENTSTART:
       jj_consume_token(MULTICOMMENTSTART);
   //skip to MULTICOMMENTEND
     while (getToken(1).kind != MULTICOMMENTEND && getToken(1).kind != 0) {
-      Normaliser.write(token.image, false);
+      write(token.image, false);
       if (token.kind == NEWLINE)
-        Normaliser.lineNo++;
+        lineNo++;
       getNextToken();
     }
 //    //output the MULTICOMMENTEND token.
@@ -240,40 +240,40 @@ public class Normaliser implements NormaliserConstants {
       getNextToken();
 
     if (getToken(1).kind == NEWLINE) {
-      Normaliser.lineNo++;
+      lineNo++;
       getNextToken();
     }
 
-    Normaliser.write("*/", true);
+    write("*/", true);
       break;
     case SQUOTE:
       jj_consume_token(SQUOTE);
   //skip to end of line or single quote.
     do {
-      Normaliser.write(token.image, false);
+      write(token.image, false);
       getNextToken();
     } while (token.kind != SQUOTE && token.kind != 0 && token.kind != NEWLINE);
     if (token.kind == NEWLINE)
-      Normaliser.lineNo++;
+      lineNo++;
     //output the single quote or new line
-    Normaliser.write(token.image, false);
+    write(token.image, false);
       break;
     case DQUOTE:
       jj_consume_token(DQUOTE);
   //skip to end of line or double quote.
     do {
-      Normaliser.write(token.image, false);
+      write(token.image, false);
       getNextToken();
     } while (token.kind != DQUOTE && token.kind != 0 && token.kind != NEWLINE);
     if (token.kind == NEWLINE)
-      Normaliser.lineNo++;
+      lineNo++;
     //output the closing double qoute or new line.
-    Normaliser.write(token.image, false);
+    write(token.image, false);
       break;
     case LINENO:
       jj_consume_token(LINENO);
       jj_consume_token(NUMBER);
-    Normaliser.lineNo = Integer.parseInt(token.image);
+    lineNo = Integer.parseInt(token.image);
       break;
     case NUMBER:
     case DQUOTE_ESCAPE:
@@ -297,7 +297,7 @@ public class Normaliser implements NormaliserConstants {
         jj_consume_token(-1);
         throw new ParseException();
       }
-    Normaliser.write(token.image, false);
+    write(token.image, false);
       break;
     default:
       jj_la1[1] = jj_gen;
@@ -306,11 +306,11 @@ public class Normaliser implements NormaliserConstants {
     }
   }
 
-  static final public void Input() throws ParseException {
+  final public void Input() throws ParseException {
   try {
     if (outputFile != null)
-       Normaliser.out = new BufferedWriter(new FileWriter(outputFile));
-    else Normaliser.out = new BufferedWriter(new OutputStreamWriter
+       out = new BufferedWriter(new FileWriter(outputFile));
+    else out = new BufferedWriter(new OutputStreamWriter
                                                (System.out));
   }
   catch (IOException e) {
@@ -369,8 +369,8 @@ public class Normaliser implements NormaliserConstants {
     }
     jj_consume_token(0);
     try {
-      Normaliser.out.flush();
-      Normaliser.out.close();
+      out.flush();
+      out.close();
     }
     catch(IOException e) {
       Date day = new Date(System.currentTimeMillis());
@@ -397,13 +397,12 @@ public class Normaliser implements NormaliserConstants {
     }
   }
 
-  static private boolean jj_initialized_once = false;
-  static public NormaliserTokenManager token_source;
-  static SimpleCharStream jj_input_stream;
-  static public Token token, jj_nt;
-  static private int jj_ntk;
-  static private int jj_gen;
-  static final private int[] jj_la1 = new int[3];
+  public NormaliserTokenManager token_source;
+  SimpleCharStream jj_input_stream;
+  public Token token, jj_nt;
+  private int jj_ntk;
+  private int jj_gen;
+  final private int[] jj_la1 = new int[3];
   static private int[] jj_la1_0;
   static {
       jj_la1_0();
@@ -413,13 +412,6 @@ public class Normaliser implements NormaliserConstants {
    }
 
   public Normaliser(java.io.InputStream stream) {
-    if (jj_initialized_once) {
-      System.out.println("ERROR: Second call to constructor of static parser.  You must");
-      System.out.println("       either use ReInit() or set the JavaCC option STATIC to false");
-      System.out.println("       during parser generation.");
-      throw new Error();
-    }
-    jj_initialized_once = true;
     jj_input_stream = new SimpleCharStream(stream, 1, 1);
     token_source = new NormaliserTokenManager(jj_input_stream);
     token = new Token();
@@ -428,7 +420,7 @@ public class Normaliser implements NormaliserConstants {
     for (int i = 0; i < 3; i++) jj_la1[i] = -1;
   }
 
-  static public void ReInit(java.io.InputStream stream) {
+  public void ReInit(java.io.InputStream stream) {
     jj_input_stream.ReInit(stream, 1, 1);
     token_source.ReInit(jj_input_stream);
     token = new Token();
@@ -438,13 +430,6 @@ public class Normaliser implements NormaliserConstants {
   }
 
   public Normaliser(java.io.Reader stream) {
-    if (jj_initialized_once) {
-      System.out.println("ERROR: Second call to constructor of static parser.  You must");
-      System.out.println("       either use ReInit() or set the JavaCC option STATIC to false");
-      System.out.println("       during parser generation.");
-      throw new Error();
-    }
-    jj_initialized_once = true;
     jj_input_stream = new SimpleCharStream(stream, 1, 1);
     token_source = new NormaliserTokenManager(jj_input_stream);
     token = new Token();
@@ -453,7 +438,7 @@ public class Normaliser implements NormaliserConstants {
     for (int i = 0; i < 3; i++) jj_la1[i] = -1;
   }
 
-  static public void ReInit(java.io.Reader stream) {
+  public void ReInit(java.io.Reader stream) {
     jj_input_stream.ReInit(stream, 1, 1);
     token_source.ReInit(jj_input_stream);
     token = new Token();
@@ -463,13 +448,6 @@ public class Normaliser implements NormaliserConstants {
   }
 
   public Normaliser(NormaliserTokenManager tm) {
-    if (jj_initialized_once) {
-      System.out.println("ERROR: Second call to constructor of static parser.  You must");
-      System.out.println("       either use ReInit() or set the JavaCC option STATIC to false");
-      System.out.println("       during parser generation.");
-      throw new Error();
-    }
-    jj_initialized_once = true;
     token_source = tm;
     token = new Token();
     jj_ntk = -1;
@@ -485,7 +463,7 @@ public class Normaliser implements NormaliserConstants {
     for (int i = 0; i < 3; i++) jj_la1[i] = -1;
   }
 
-  static final private Token jj_consume_token(int kind) throws ParseException {
+  final private Token jj_consume_token(int kind) throws ParseException {
     Token oldToken;
     if ((oldToken = token).next != null) token = token.next;
     else token = token.next = token_source.getNextToken();
@@ -499,7 +477,7 @@ public class Normaliser implements NormaliserConstants {
     throw generateParseException();
   }
 
-  static final public Token getNextToken() {
+  final public Token getNextToken() {
     if (token.next != null) token = token.next;
     else token = token.next = token_source.getNextToken();
     jj_ntk = -1;
@@ -507,7 +485,7 @@ public class Normaliser implements NormaliserConstants {
     return token;
   }
 
-  static final public Token getToken(int index) {
+  final public Token getToken(int index) {
     Token t = token;
     for (int i = 0; i < index; i++) {
       if (t.next != null) t = t.next;
@@ -516,18 +494,18 @@ public class Normaliser implements NormaliserConstants {
     return t;
   }
 
-  static final private int jj_ntk() {
+  final private int jj_ntk() {
     if ((jj_nt=token.next) == null)
       return (jj_ntk = (token.next=token_source.getNextToken()).kind);
     else
       return (jj_ntk = jj_nt.kind);
   }
 
-  static private java.util.Vector jj_expentries = new java.util.Vector();
-  static private int[] jj_expentry;
-  static private int jj_kind = -1;
+  private java.util.Vector jj_expentries = new java.util.Vector();
+  private int[] jj_expentry;
+  private int jj_kind = -1;
 
-  static public ParseException generateParseException() {
+  public ParseException generateParseException() {
     jj_expentries.removeAllElements();
     boolean[] la1tokens = new boolean[26];
     for (int i = 0; i < 26; i++) {
@@ -560,10 +538,10 @@ public class Normaliser implements NormaliserConstants {
     return new ParseException(token, exptokseq, tokenImage);
   }
 
-  static final public void enable_tracing() {
+  final public void enable_tracing() {
   }
 
-  static final public void disable_tracing() {
+  final public void disable_tracing() {
   }
 
 }
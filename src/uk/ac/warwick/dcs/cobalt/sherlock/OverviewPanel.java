@@ -176,16 +176,8 @@ public class OverviewPanel
     x[1] = 250;
 
     files = new File[2];
-    files[0] = new File
-        (Settings.sourceDirectory + Settings.fileSep
-         + Settings.fileTypes[Settings.ORI].getDirectory(),
-         file1 + "." +
-         Settings.fileTypes[Settings.ORI].getExtension());
-    files[1] = new File
-        (Settings.sourceDirectory + Settings.fileSep
-         + Settings.fileTypes[Settings.ORI].getDirectory(),
-         file2 + "." +
-         Settings.fileTypes[Settings.ORI].getExtension());
+    files[0] = Settings.getProcessedFile(Settings.ORI, file1);
+    files[1] = Settings.getProcessedFile(Settings.ORI, file2);
 
     //count number of lines in original files.
     String tmp = null;
@@ -0,0 +1,668 @@
+/*
+ * Copyright (c) 1999-2000 The University of Warwick. All Rights Reserved.
+ */
+
+package uk.ac.warwick.dcs.cobalt.sherlock;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * The comparison of a single pair of files. This holds all of the state that
+ * is built up while two files are compared - the lines read in, the runs
+ * found and the number of lines in each file - so that Samelines can give
+ * each of its detection workers a PairComparison of its own and compare
+ * several pairs at once.
+ *
+ * The algorithm itself is unchanged from the one Samelines always used.
+ */
+class PairComparison {
+
+  /**
+   * Exclude file constant.
+   */
+  final static int FILEX = 0;
+
+  /**
+   * First file constant.
+   */
+  final static int FILE1 = 1;
+
+  /**
+   * Second file constant.
+   */
+  final static int FILE2 = 2;
+
+  /**
+   * The three files used during comparison.
+   * files[0] = files[FILEX] is the exclude file.
+   * files[1] (files[FILE1]) and files[2] (files[FILE2]) are the two files
+   * being compared at any one time.
+   */
+  private File files[] = new File[3];
+
+  /**
+   * linesInFiles holds the number of lines in each of the three files being
+   * compared. This information is used when calculating the simiarity
+   * value of a match.
+   */
+  private int linesInFiles[] = {
+      0, 0, 0};
+
+  /**
+   * Where each line of the first of the two files being compared occurs.
+   * This is cleared following each comparison of two files.
+   */
+  private LineIndex linesOfData = new LineIndex();
+
+  /**
+   * The fingerprints of the lines of the exclude file, or null if there is
+   * no exclude file.
+   */
+  private LineIndex excluded = null;
+
+  /**
+   * The list of all the runs. This holds Run objects, and is cleared
+   * following each comparison of two files.
+   */
+  private List runs = new ArrayList();
+
+  /**
+   * The runs indexed by the lines they end on, so that only the runs near
+   * a match are looked at when deciding which to extend.
+   */
+  private RunIndex openRuns;
+
+  /**
+   * This flag can be set so that all lines beginning with a # are treated
+   * as comments and so do not affect the line numbering involved.
+   * Exactly how this works is still to be decided.
+   */
+  private boolean hashLinesAreComments = false;
+
+  /**
+   * Type of comparison: comparing Original files, tokenised, or what.
+   */
+  private int fileType = 0;
+
+  /**
+   * The Samelines process this comparison is done for. Exceptions and
+   * matches are passed back to it.
+   */
+  private Samelines owner;
+
+  /**
+   * The default minimum string that we will bother starting new Runs.
+   */
+  private int minStringLength = 0;
+
+  /**
+   * The minimum length of Run to bother printing.  This is tested for
+   * in satisfies().
+   */
+  private int minRunLength = 0;
+
+  /**
+   * maxForwardJump and maxBackwardJump are the outer limits allowed for
+   * line changes in either file since the last match.  Thus if one file
+   * jumps forward by more than 3 lines, the match will not be considered
+   * part of the Run.
+   */
+  private int maxForwardJump = 0;
+
+  /**
+   * maxForwardJump and maxBackwardJump are the outer limits allowed for line
+   * changes in either file since the last match.  Thus if one file jumps
+   * forward by more than 3 lines, the match will not be considered part of
+   * the Run.
+   */
+  private int maxBackwardJump = 0;
+
+  /**
+   * The maximum difference in line increments allowed.
+   */
+  private int maxJumpDiff = 0;
+
+  /**
+   * Amalgamates and concatenates the runs before they are output.
+   */
+  private RunMerger merger;
+
+  /**
+   * Whether the merger only tries the runs near each other, rather than
+   * every pair of runs.
+   */
+  private boolean sweepRuns = true;
+
+  /**
+   * Strictness controls the amount of anomolies we allow.  Anomolies are
+   * when a Run of lines doesn't go from the exact last line to the current
+   * in both the previously read and the current file.  We only allow Runs
+   * where runlength > strictness * anomolies.  This is tested for in
+   * satisfies().
+   */
+  private int strictness = 0;
+
+  /**
+   * Create a new PairComparison, loading the detection settings of the
+   * given file type.
+   *
+   * @param owner the Samelines process to report matches and errors to
+   * @param fileType the type of the files that will be compared
+   * @param excludeFile the exclude file of this file type
+   * @param excludeMap the lines of the exclude file, as returned by
+   *  loadExcludeFile(), or null if there is none
+   */
+  PairComparison(Samelines owner, int fileType, File excludeFile,
+                 Map excludeMap) {
+    this.owner = owner;
+    this.fileType = fileType;
+    files[FILEX] = excludeFile;
+
+    if (excludeMap != null) {
+      excluded = new LineIndex();
+      Iterator lines = excludeMap.values().iterator();
+      while (lines.hasNext()) {
+        Object line = lines.next();
+        // Sessions saved by older versions hold LineOfData objects.
+        if (line instanceof LineOfData) {
+          line = ( (LineOfData) line).getData();
+        }
+        excluded.add(LineDictionary.fingerprint( (String) line));
+      }
+    }
+
+    // Load the settings for this file type.
+    FileTypeProfile profile = Settings.fileTypes[fileType];
+    minStringLength = profile.getMinStringLength();
+    minRunLength = profile.getMinRunLength();
+    maxForwardJump = profile.getMaxForwardJump();
+    maxBackwardJump = profile.getMaxBackwardJump();
+    maxJumpDiff = profile.getMaxJumpDiff();
+    strictness = profile.getStrictness();
+    openRuns = new RunIndex(maxForwardJump);
+    merger = new RunMerger(minRunLength, maxForwardJump,
+                           profile.getAmalgamate(), profile.getConcatanate());
+    sweepRuns = Settings.sherlockSettings.getSweepRuns();
+  } // PairComparison
+
+  /**
+   * Read the exclude file into a new table of lines, keyed by their
+   * fingerprints. The table is saved with the rest of the session, and is
+   * passed to every PairComparison of this file type.
+   *
+   * @return the lines of the exclude file
+   */
+  Map loadExcludeFile() {
+    Map table = new Hashtable();
+    TokenisedFile exclude = loadFile(files[FILEX], new LineDictionary());
+
+    // Loop through the file, inserting lines read into the table.
+    for (int x = 0; x < exclude.size(); x++) {
+      table.put(new Long(exclude.getFingerprint(x)), exclude.getLine(x));
+    }
+    linesInFiles[FILEX] = exclude.size();
+    return table;
+  } // loadExcludeFile
+
+  /**
+   * Read a tokenised file into memory, storing its lines in the dictionary
+   * given.
+   *
+   * @param fileToRead the file to read
+   * @param dictionary the dictionary to store the lines in
+   * @return the file read in; this is empty if the file does not exist
+   */
+  TokenisedFile loadFile(File fileToRead, LineDictionary dictionary) {
+    TokenisedFile loaded = new TokenisedFile(fileToRead, dictionary);
+    int origLineNo = 0;
+    String inputString = "";
+
+    // Only load data if the file actually exists - might only happen
+    // with the exclude file.
+    if (!fileToRead.exists()) {
+      return loaded;
+    }
+
+    try {
+      BufferedReader readFromFile =
+          new BufferedReader(new FileReader(fileToRead));
+
+      inputString = readFromFile.readLine();
+
+      // Loop through the file, storing the lines read.
+      while (inputString != null) {
+        if (fileType != Settings.COM) {
+          origLineNo++;
+
+          // # line support -- indicates line number of original
+          //file.
+          //  We don't want to actually store #lines, and they don't
+          // count towards the line numbers of the lines that are.
+          //
+          // The variable hashLinesAreComments is also checked here.
+          // Proper use of this will have to be decided upon - it
+          // will be used in hashLineNumberAsInt as well.
+        }
+        if (inputString.startsWith("#line") &&
+            !hashLinesAreComments) {
+          try {
+            origLineNo = hashLineNumberAsInt(inputString);
+          }
+          catch (NumberFormatException e) {
+            // This gets thrown by hashLineNumberAsInt
+            // If it happens, there is a problem in one file
+            // that will happen each time.
+            owner.processException
+                (new SherlockProcessException
+                 ("File " + fileToRead.getName()
+                  + " has a bad #line xxxx" +
+                  " as follows:\n\t" + inputString, e));
+          }
+        }
+        else {
+          loaded.addLine(inputString, origLineNo);
+        }
+
+        // Read a line from the file
+        inputString = readFromFile.readLine();
+      }
+      readFromFile.close();
+    }
+    catch (IOException e) {
+      owner.processException
+          (new SherlockProcessException
+           ("Error processing " + fileToRead.getName(), e));
+    }
+    return loaded;
+  } // loadFile
+
+  /**
+   * Compares the three files: The exclude file and the two data files
+   * passed. The two data files are read from disk for just this
+   * comparison.
+   *
+   * @param file1 the first file of the pair
+   * @param file2 the second file of the pair
+   */
+  void compareFiles(File file1, File file2) {
+    LineDictionary dictionary = new LineDictionary();
+    compareFiles(loadFile(file1, dictionary), loadFile(file2, dictionary));
+  } // compareFiles
+
+  /**
+   * Compares the three files: The exclude file and the two data files
+   * passed, which have already been read into memory.
+   *
+   * @param file1 the first file of the pair
+   * @param file2 the second file of the pair
+   */
+  void compareFiles(TokenisedFile file1, TokenisedFile file2) {
+    TokenisedFile loaded[] = {
+        null, file1, file2};
+    files[FILE1] = file1.getFile();
+    files[FILE2] = file2.getFile();
+
+    // Clear the structures used to compare files.
+    runs.clear();
+    openRuns.clear();
+    linesOfData.clear();
+
+    // Go through each line from each file
+    for (int fileUnderScrutiny = FILE1; fileUnderScrutiny <= FILE2;
+         fileUnderScrutiny++) {
+      TokenisedFile fileToCompare = loaded[fileUnderScrutiny];
+
+      // Insert each line into the index.
+      for (int x = 0; x < fileToCompare.size(); x++) {
+        saveLineOfData
+            (fileToCompare.getLine(x), fileToCompare.getFingerprint(x),
+             fileUnderScrutiny, fileToCompare.getLineNo(x),
+             fileToCompare.getOrigLineNo(x));
+      }
+      linesInFiles[fileUnderScrutiny] = fileToCompare.size();
+    } // for (int fileUnderScrutiny..
+
+    // Have now read in all lines in all three files. Print out all matches
+    // for the two submitted files.
+    outputSuspectRuns();
+
+  } // compareFiles
+
+  /**
+   * Record an occurrence of a line of data in the linesOfData index, and
+   * update any runs that are affected by it.
+   *
+   * Lines of the first file are added to the index. Lines of the second
+   * file are only looked up in it: each occurrence of the same line in the
+   * first file starts or extends a run, in the order those lines appear.
+   * Lines that are also in the exclude file are ignored altogether.
+   *
+   * @param data the line of data
+   * @param key the fingerprint of the line of data
+   * @param fileUnderScrutiny the file the line is from
+   * @param lineNo the line number of the line
+   * @param origLineNo the original line number of the line
+   */
+  private void saveLineOfData(String data, long key, int fileUnderScrutiny,
+                              int lineNo, int origLineNo) {
+    // If this line is in the exclude file, ignore it as it was provided in
+    // the project specification.
+    if (excluded != null && excluded.contains(key)) {
+      Settings.debugMessage("Part of excludeFile: " + data);
+      return;
+    }
+
+    if (fileUnderScrutiny == FILE1) {
+      linesOfData.addOccurrence(key, lineNo, origLineNo);
+      return;
+    }
+
+    // Create or update any Runs that are affected by this line of data.
+    for (int occurrence = linesOfData.getFirstOccurrence(key);
+         occurrence != LineIndex.NO_OCCURRENCE;
+         occurrence = linesOfData.getNextOccurrence(occurrence)) {
+      findRun(new RunCoordinates
+              (linesOfData.getLineNo(occurrence), lineNo,
+               linesOfData.getOrigLineNo(occurrence), origLineNo),
+              data.length());
+    }
+  } // saveLineOfData
+
+  /**
+   * This method amends runs, the vector that holds all of the Runs for the
+   * files currently being compared.
+   * It can both update an existing Run, or add a new one.
+   *
+   * @param runsIndex the runs vector index of the Run to be updated;
+   *  if this is -1, a new Run is created and added
+   * @param matchCoordinates the new end coordinates of the Run;
+   *  if this is a new Run, these are both the start and end coordinates.
+   * @param anomoliesIncrease the amount to increase the anomolies value of
+   * an existing Run. This is ignored for a new Run.
+   */
+  private void amendruns(int runsIndex, RunCoordinates matchCoordinates,
+                         int anomoliesIncrease) {
+
+    // Temporary Run used while updating runs.
+    Run tempRun = null;
+
+    // If the index of an exising run is passed, update that run in the
+    // runs vector.
+    if (runsIndex != -1) {
+      tempRun = (Run) runs.get(runsIndex);
+      tempRun.extend(matchCoordinates, 1, anomoliesIncrease);
+      runs.set(runsIndex, tempRun);
+    }
+    // Otherwise add a new Run to runs.
+    else {
+      tempRun = new Run(matchCoordinates, matchCoordinates);
+      runs.add(tempRun);
+      runsIndex = runs.size() - 1;
+    }
+    openRuns.add(runsIndex, matchCoordinates.getLineNoInFile1(),
+                 matchCoordinates.getLineNoInFile2());
+  } // amendruns
+
+  /**
+   * We have now established that a line previously read in is the same as
+   * one from the current file that is being examined. The coordinates of
+   * this match
+   * are now used to search through the existing runs, and if they meet the
+   * requirements, this latest match will be added to an existing run.
+   * If not, a new Run will be started and added to the runs vector.
+   * Only the runs openRuns finds within the jump limits of the match are
+   * looked at; no other run could meet the requirements.
+   *
+   * @param matchCoordinates the coordinates of the lines in two files
+   *  which contain the identical data
+   * @param dataLength the length of the line of data; needed as only data
+   *  of at least a certain length is stored
+   */
+  private void findRun(RunCoordinates matchCoordinates, int stringLength) {
+
+    // Holds each run when it is checked during the loop.
+    Run tempRun = null;
+
+    // Loop counter, and the index of each run checked.
+    int candidate = 0;
+    int runsIndex = 0;
+
+    // The fileXLineDifference values reflect the number of lines since
+    // the last match recorded.
+    int file1LineDifference = 0;
+    int file2LineDifference = 0;
+
+    // Becomes true if this match is added to a Run during the loop through
+    // all of the runs. If it is false after that, a new Run is created.
+    boolean added = false;
+
+    // Loop through the Runs ending near this match, checking if this new
+    // match can be added to any of them.
+    int candidates = openRuns.findCandidates
+        (matchCoordinates.getLineNoInFile1() - maxForwardJump,
+         matchCoordinates.getLineNoInFile1() + maxBackwardJump,
+         matchCoordinates.getLineNoInFile2());
+    for (candidate = 0; candidate < candidates; candidate++) {
+
+      runsIndex = openRuns.getCandidate(candidate);
+      tempRun = (Run) runs.get(runsIndex);
+
+      // The fileXLineDifference values reflect the number of lines
+      //since the
+      // last match recorded. If these are within certain limits, and
+      // are similar, we add the current line to the current Run in
+      //tempRun.
+      file1LineDifference = matchCoordinates.getLineNoInFile1() -
+          tempRun.getEndCoordinates().getLineNoInFile1();
+      file2LineDifference = matchCoordinates.getLineNoInFile2() -
+          tempRun.getEndCoordinates().getLineNoInFile2();
+
+      // No point in checking matches if we are duplicating a line.
+      if ( (file1LineDifference == 0) || (file2LineDifference == 0)) {
+        continue;
+      }
+
+      // We have two lines in two files that match.  The differences
+      // in line numbers since the last match in the current Run
+      // of the current files are diff1 and diff2.  If these are
+      // both 1, then the previous line matched, too.  If these
+      // are 2, then both files skipped one input line, etc.
+      // The greater we make maxBackwardJump and maxForwardJump, the more
+      // tolerant the program becomes to swapped round lines.
+      // This ought to really be tuned for the target language
+      // and whether the input is tokenised etc.  Too low values
+      // for maxBackwardJump and maxForwardJump will make plagiarism
+      // easy to
+      // hide by swapping round groups of lines; too high values
+      // will cause problems with spurious matches being produced
+      // by skipping out large different sections of both file.
+      // This problem will be especially prevalent in the tokenised
+      // input form, where there will be lots of lines consisting
+      // of things like (Pascal examples):
+      //
+      //         begin
+      //         end ;
+      //         <name> ( <integer> ) ;
+      //         <name> ( <string> ) ;
+      //         for <name> := <integer> to <integer> do
+      //         <name> := <name> + <integer> ;
+
+      // As maxBackwardJump is now positive, make it negative for this
+      // calculation as before.
+      if ( ( (maxBackwardJump * -1) <= file1LineDifference) &&
+          (file1LineDifference <= maxForwardJump) &&
+          ( (maxBackwardJump * -1) <= file2LineDifference) &&
+          (file2LineDifference <= maxForwardJump) &&
+          (Math.abs(file1LineDifference - file2LineDifference) <
+           maxJumpDiff)) {
+        amendruns(runsIndex, matchCoordinates,
+                  getAnomoly(file1LineDifference,
+                             file2LineDifference));
+        added = true;
+      }
+
+    } // for
+
+    // If this an existing run has not been added to, and the data that is
+    // the cause of this match meets the length required, then create a
+    // new Run.
+    if (!added && (stringLength >= minStringLength)) {
+      amendruns( -1, matchCoordinates, 0);
+
+    }
+  } // findRun
+
+  /**
+   * Calculate how much to add to the anomoly of a Run. The two parameters
+   * are the two differences in line numbers the last two matches.
+   *
+   * @param diff1 the difference between the two line numbers in the first
+   * file
+   * @param diff2 the difference between the two line numbers in the second
+   * file
+   * @return the value of this anomoly to be added to the Run's overall value
+   */
+  private int getAnomoly(int diff1, int diff2) {
+    int thisAnomoly = 0;
+    if (diff1 != 1 || diff2 != 1) {
+      thisAnomoly++;
+    }
+    if (Math.abs(diff1 - diff2) > 3) {
+      thisAnomoly++;
+    }
+    return thisAnomoly;
+  } // getAnomoly
+
+  /**
+   * Checks whether a given Run satisfies the conditions for a Run to be
+   * worth
+   * printing.  It must be long enough (be comprised of enough lines) and not
+   * have too many anomolies.
+   *
+   * @param testRun the Run to check
+   * @return true if the run is worth printing
+   */
+  private boolean shouldPrintRun(Run testRun) {
+    return (testRun.getRunning() >= minRunLength) &&
+        (testRun.getRunning() >
+         (int) (strictness * testRun.getAnomolies()));
+  } // shouldPrintRun
+
+  /**
+   * Outputs all the Runs that match shouldPrintRun().
+   * Print out any worthwhile Runs from the last file read in, then clear
+   * the Run table, ready for next time.
+   */
+  private void outputSuspectRuns() {
+
+    // First amalgamate and concatenate Runs.
+    if (sweepRuns) {
+      merger.sweep(runs);
+    }
+    else {
+      merger.mergeAllPairs(runs);
+    }
+
+    // Now print them any which are close enough to warrant outputting.
+    int counter = 0;
+    Run tempRun = null;
+
+    for (counter = 0; counter < runs.size(); counter++) {
+      // A check number to ensure that any matches that have exactly the
+      // same names are not overwritten - the id is used as part of the
+      // filename the match is stored in.
+      int serialID = 0;
+
+      tempRun = (Run) runs.get(counter);
+
+      // If this run satisfies the requirements to show it is worth
+      // printing, do so.
+      if (shouldPrintRun(tempRun)) {
+        int length = linesInFiles[FILE1] + linesInFiles[FILE2];
+        int similarity = Math.min
+            (100, 100 * tempRun.getRunning() / (length / 2));
+
+        String f1 = getMatchPath(files[FILE1]);
+        String f2 = getMatchPath(files[FILE2]);
+
+        // Ensure that store original file names - cut off the .xxx
+        // extension.
+        String f1name;
+        String f2name;
+        int dotindex = f1.lastIndexOf('.');
+        int slashindex = f1.lastIndexOf(Settings.fileSep);
+        f1name = f1.substring(slashindex + 1, dotindex);
+        FileTypeProfile[] files = Settings.getFileTypes();
+
+        // f1 and f2 should be stored in the Match as relative paths.
+        // therefore, need to find the current directory name.
+        String dir = "";
+        for (int i = 0; i < files.length; i++) {
+          if (f1.indexOf(files[i].getDirectory()) != -1) {
+            dir = files[i].getDirectory();
+            break;
+          }
+        }
+        f1 = dir + f1.substring(slashindex);
+
+        dotindex = f2.lastIndexOf('.');
+        slashindex = f2.lastIndexOf(Settings.fileSep);
+        f2name = f2.substring(slashindex + 1, dotindex);
+        f2 = dir + f2.substring(slashindex);
+
+        // Match to save.
+        Match tempMatch = new Match(f1, f2, tempRun, fileType,
+                                    similarity);
+
+        // File to save it in.
+        File fileToSave = new File(Settings.sourceDirectory
+                                   + Settings.fileSep +
+                                   Settings.sherlockSettings
+                                   .getMatchDirectory(),
+                                   f1name + "-" + f2name + "-" +
+                                   Settings.fileTypes[fileType]
+                                   .getExtension() +
+                                   "-" + (serialID++) + "-"
+                                   + similarity + "pc" + ".match");
+
+        owner.saveMatch(tempMatch, fileToSave);
+
+      } // if should print run
+    } // for (counter...)
+  } // outputSuspectRuns
+
+  /**
+   * Return the path of a compared file as it is to be recorded in a match.
+   * An original that was not copied is recorded as if it had been, so that
+   * the match reads the same either way and the file is found again by
+   * Settings.getProcessedFile().
+   *
+   * @param file the file that was compared
+   * @return its absolute path
+   */
+  private String getMatchPath(File file) {
+    if (fileType == Settings.ORI
+        && !Settings.sherlockSettings.getCopyOriginals()) {
+      file = new File(Settings.sourceDirectory.getAbsolutePath()
+                      + Settings.fileSep
+                      + Settings.fileTypes[fileType].getDirectory(),
+                      file.getName() + "."
+                      + Settings.fileTypes[fileType].getExtension());
+    }
+    return file.getAbsolutePath();
+  } // getMatchPath
+
+  /**
+   * Simply returns the numeric part of "#line xxx" as an int xxx
+   * This will have to change to take into account hashLinesAreComments.
+   *
+   * @param hashLineString String in form of "#line xxx"
+   * @return xxx as an int
+   */
+  private int hashLineNumberAsInt(String hashLineString) throws
+      NumberFormatException {
+    return Integer.parseInt(hashLineString.substring(6));
+  } // hashLineNumberAsInt
+
+} // PairComparison
@@ -69,6 +69,21 @@ public class Run
     anomolies = 0;
   }
 
+  /**
+   * Constructor for a Run read back from a MatchStore.
+   *
+   * @param start the RunCoordinates of the start of the run
+   * @param end the RunCoordinates of the end of the run
+   * @param running the running value of the run
+   * @param anomolies the anomolies value of the run
+   */
+  Run(RunCoordinates start, RunCoordinates end, int running, int anomolies) {
+    this.start = start;
+    this.end = end;
+    this.running = running;
+    this.anomolies = anomolies;
+  }
+
   /**
    * Extend this run. This is called when a new match is added to the run, so
    * the end coordinates, running and anomolies values are all changed.
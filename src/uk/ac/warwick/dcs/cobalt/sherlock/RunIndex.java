@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 1999-2000 The University of Warwick. All Rights Reserved.
+ */
+
+package uk.ac.warwick.dcs.cobalt.sherlock;
+
+/**
+ * An index of the runs of a comparison by the line they end on, so that
+ * findRun() only has to look at the runs a match could extend rather than
+ * at every run found so far.
+ *
+ * The lines of the second file are matched in order, so a run can only be
+ * extended by a match if it ends between one and maxForwardJump lines
+ * before it in the second file. The index keeps a bucket of runs for each
+ * of those lines, in a ring of maxForwardJump + 1 buckets that are reused
+ * as the comparison moves down the second file. Within a bucket the runs
+ * are kept in order of the line they end on in the first file, so the runs
+ * that are close enough in the first file are found by a binary search.
+ *
+ * A run is not taken out of its old bucket when it is extended; instead a
+ * bucket entry is only used if the run still ends on the bucket's line.
+ */
+class RunIndex {
+
+  /**
+   * The most lines the second file may move forward between two matches of
+   * a run.
+   */
+  private int window;
+
+  /**
+   * The number of buckets in the ring.
+   */
+  private int slots;
+
+  /**
+   * The line of the second file the runs in each bucket end on, or -1 if
+   * the bucket is empty.
+   */
+  private int bucketLines[];
+
+  /**
+   * The line of the first file each run in each bucket ends on.
+   */
+  private int bucketLines1[][];
+
+  /**
+   * The index of each run in each bucket.
+   */
+  private int bucketRuns[][];
+
+  /**
+   * The number of runs in each bucket.
+   */
+  private int bucketSizes[];
+
+  /**
+   * The line of the second file each run currently ends on, indexed by run.
+   */
+  private int endLines2[] = new int[64];
+
+  /**
+   * The runs found by the last call to findCandidates().
+   */
+  private int candidates[] = new int[64];
+
+  /**
+   * Create a new, empty RunIndex.
+   *
+   * @param maxForwardJump the most lines the second file may move forward
+   * between two matches of a run
+   */
+  RunIndex(int maxForwardJump) {
+    window = Math.max(maxForwardJump, 0);
+    slots = window + 1;
+    bucketLines = new int[slots];
+    bucketLines1 = new int[slots][16];
+    bucketRuns = new int[slots][16];
+    bucketSizes = new int[slots];
+    clear();
+  } // RunIndex
+
+  /**
+   * Remove every run from the index.
+   */
+  void clear() {
+    for (int x = 0; x < slots; x++) {
+      bucketLines[x] = -1;
+      bucketSizes[x] = 0;
+    }
+  } // clear
+
+  /**
+   * Record that a run now ends on the given lines. This must be called
+   * each time a run is started or extended, and the lines of the second
+   * file must never go backwards between calls.
+   *
+   * @param run the index of the run in the runs list
+   * @param line1 the line of the first file the run ends on
+   * @param line2 the line of the second file the run ends on
+   */
+  void add(int run, int line1, int line2) {
+    if (run >= endLines2.length) {
+      endLines2 = grow(endLines2, run + 1);
+    }
+    endLines2[run] = line2;
+
+    int slot = line2 % slots;
+    if (bucketLines[slot] != line2) {
+      // The bucket held runs too far back to be extended any more.
+      bucketLines[slot] = line2;
+      bucketSizes[slot] = 0;
+    }
+
+    int size = bucketSizes[slot];
+    if (size == bucketRuns[slot].length) {
+      bucketLines1[slot] = grow(bucketLines1[slot], size + 1);
+      bucketRuns[slot] = grow(bucketRuns[slot], size + 1);
+    }
+
+    // Matches are normally made in order down the first file, so this
+    // hardly ever has to move anything.
+    int lines1[] = bucketLines1[slot];
+    int runs[] = bucketRuns[slot];
+    int x = size;
+    while (x > 0 && lines1[x - 1] > line1) {
+      lines1[x] = lines1[x - 1];
+      runs[x] = runs[x - 1];
+      x--;
+    }
+    lines1[x] = line1;
+    runs[x] = run;
+    bucketSizes[slot] = size + 1;
+  } // add
+
+  /**
+   * Find the runs that end within the given lines of the first file and
+   * within the jump window before the given line of the second file. The
+   * runs found are read with getCandidate(). They may still have to be
+   * checked against the other rules for extending a run.
+   *
+   * @param low1 the lowest line of the first file to look at
+   * @param high1 the highest line of the first file to look at
+   * @param line2 the line of the second file being matched
+   * @return the number of runs found
+   */
+  int findCandidates(int low1, int high1, int line2) {
+    int found = 0;
+    for (int l2 = Math.max(line2 - window, 1); l2 < line2; l2++) {
+      int slot = l2 % slots;
+      if (bucketLines[slot] != l2) {
+        continue;
+      }
+
+      // Find the first run ending at or after low1.
+      int lines1[] = bucketLines1[slot];
+      int size = bucketSizes[slot];
+      int low = 0;
+      int high = size;
+      while (low < high) {
+        int middle = (low + high) >>> 1;
+        if (lines1[middle] < low1) {
+          low = middle + 1;
+        }
+        else {
+          high = middle;
+        }
+      }
+
+      for (int x = low; x < size && lines1[x] <= high1; x++) {
+        int run = bucketRuns[slot][x];
+        // Skip runs that have been extended since they were put here.
+        if (endLines2[run] != l2) {
+          continue;
+        }
+        if (found == candidates.length) {
+          candidates = grow(candidates, found + 1);
+        }
+        candidates[found++] = run;
+      }
+    }
+    return found;
+  } // findCandidates
+
+  /**
+   * Return one of the runs found by the last call to findCandidates().
+   *
+   * @param index the position of the run, less than the number found
+   * @return the index of the run in the runs list
+   */
+  int getCandidate(int index) {
+    return candidates[index];
+  } // getCandidate
+
+  /**
+   * Return a copy of an array at least the given length.
+   */
+  private static int[] grow(int array[], int minLength) {
+    int bigger[] = new int[Math.max(array.length * 2, minLength)];
+    System.arraycopy(array, 0, bigger, 0, array.length);
+    return bigger;
+  } // grow
+
+} // RunIndex
@@ -0,0 +1,765 @@
+/*
+ * Copyright (c) 1999-2000 The University of Warwick. All Rights Reserved.
+ */
+
+package uk.ac.warwick.dcs.cobalt.sherlock;
+
+import java.util.*;
+
+/**
+ * Amalgamates and concatenates the runs found in a pair of files before
+ * they are output. Runs that lie within another are cancelled, and runs
+ * close enough to each other are joined together.
+ *
+ * This has always been done by trying every pair of runs in turn, in the
+ * order they were found, which is what mergeAllPairs() does. The result
+ * depends on that order, as each pair is tried with the runs as earlier
+ * pairs left them, so sweep() tries the same pairs in the same order; it
+ * just skips the pairs that cannot affect each other.
+ *
+ * Two runs can only affect each other if the lines they cover in one of
+ * the files overlap, or if one starts close to where the other ends.
+ * sweep() keeps the runs still to be tried in an index of the lines they
+ * cover in each file, and for each run walks through the runs the indexes
+ * return in the order they were found. Most runs are cancelled or joined
+ * to another by one of the first runs returned, so the work done grows
+ * with the number of runs near each other rather than with the square of
+ * the number of runs.
+ */
+class RunMerger {
+
+  /**
+   * The minimum length of Run to bother printing. Runs shorter than a
+   * quarter of this are not amalgamated or concatenated.
+   */
+  private int minRunLength = 0;
+
+  /**
+   * The maximum forward jump allowed in a run, which decides how close two
+   * runs must be to be concatenated.
+   */
+  private int maxForwardJump = 0;
+
+  /**
+   * Do we want to amalgamate nearby Runs?
+   */
+  private boolean amalgamate = true;
+
+  /**
+   * Do we want to concatenate nearby Runs?.
+   */
+  private boolean concatanate = true;
+
+  /**
+   * The runs indexed by the lines they cover in the first file.
+   */
+  private Intervals file1Index = new Intervals();
+
+  /**
+   * The runs indexed by the lines they cover in the second file.
+   */
+  private Intervals file2Index = new Intervals();
+
+  /**
+   * The runs that have been extended since they were last indexed.
+   */
+  private int movedRuns[] = new int[16];
+
+  /**
+   * The number of runs in movedRuns.
+   */
+  private int movedCount = 0;
+
+  /**
+   * The index each cursor walks through.
+   */
+  private Intervals cursorIndexes[] = new Intervals[16];
+
+  /**
+   * The bucket each cursor walks through.
+   */
+  private int cursorBuckets[] = new int[16];
+
+  /**
+   * The position each cursor has reached in its bucket.
+   */
+  private int cursorPositions[] = new int[16];
+
+  /**
+   * The first line each cursor is looking for runs covering.
+   */
+  private int cursorLows[] = new int[16];
+
+  /**
+   * The last line each cursor is looking for runs covering.
+   */
+  private int cursorHighs[] = new int[16];
+
+  /**
+   * The number of cursors.
+   */
+  private int cursorCount = 0;
+
+  /**
+   * The cursors that have not reached the end of their buckets, as a heap
+   * ordered by the run each has reached.
+   */
+  private int heap[] = new int[16];
+
+  /**
+   * The number of cursors in the heap.
+   */
+  private int heapSize = 0;
+
+  /**
+   * The last run returned by nextCandidate().
+   */
+  private int lastCandidate = -1;
+
+  /**
+   * Create a new RunMerger.
+   *
+   * @param minRunLength the minimum length of Run to bother printing
+   * @param maxForwardJump the maximum forward jump allowed in a run
+   * @param amalgamate whether to amalgamate runs
+   * @param concatanate whether to concatenate runs
+   */
+  RunMerger(int minRunLength, int maxForwardJump, boolean amalgamate,
+            boolean concatanate) {
+    this.minRunLength = minRunLength;
+    this.maxForwardJump = maxForwardJump;
+    this.amalgamate = amalgamate;
+    this.concatanate = concatanate;
+  } // RunMerger
+
+  /**
+   * Amalgamate and concatenate the runs by trying every pair of runs.
+   *
+   * @param runs the Runs found, in the order they were found
+   */
+  void mergeAllPairs(List runs) {
+    for (int outerLoop = 0; outerLoop < runs.size(); outerLoop++) {
+      Run outerRun = (Run) runs.get(outerLoop);
+      for (int innerLoop = outerLoop + 1; innerLoop < runs.size();
+           innerLoop++) {
+        mergePair(outerRun, (Run) runs.get(innerLoop));
+      }
+    }
+  } // mergeAllPairs
+
+  /**
+   * Amalgamate and concatenate the runs by trying each run only against
+   * the later runs that could be affected by it. This gives exactly the
+   * same runs as mergeAllPairs().
+   *
+   * @param runs the Runs found, in the order they were found
+   */
+  void sweep(List runs) {
+    if (!amalgamate && !concatanate) {
+      return;
+    }
+    int count = runs.size();
+    Run all[] = (Run[]) runs.toArray(new Run[count]);
+    int minRunning = minRunLength / 4;
+
+    int lastLine1 = 0;
+    int lastLine2 = 0;
+    for (int x = 0; x < count; x++) {
+      lastLine1 = Math.max(lastLine1, lastLine(all[x], PairComparison.FILE1));
+      lastLine2 = Math.max(lastLine2, lastLine(all[x], PairComparison.FILE2));
+    }
+    file1Index.clear(count, lastLine1);
+    file2Index.clear(count, lastLine2);
+    movedCount = 0;
+
+    // A run that is too short to be tried never grows, so it need not be
+    // indexed at all.
+    for (int x = 0; x < count; x++) {
+      if (all[x].getRunning() >= minRunning) {
+        index(all[x], x);
+      }
+    }
+
+    for (int outerLoop = 0; outerLoop < count; outerLoop++) {
+      Run outerRun = all[outerLoop];
+      heapSize = 0;
+      file1Index.remove(outerLoop);
+      file2Index.remove(outerLoop);
+
+      int from = outerLoop + 1;
+      boolean moved = true;
+      while (moved && outerRun.getRunning() >= minRunning) {
+        // Walk through the runs that may be affected by outerRun where it
+        // is now. Whenever outerRun is extended they must be found again.
+        heapSize = 0;
+        for (int x = 0; x < movedCount; x++) {
+          index(all[movedRuns[x]], movedRuns[x]);
+        }
+        movedCount = 0;
+        startCandidates(outerRun, from);
+        RunCoordinates outerEnd = outerRun.getEndCoordinates();
+        moved = false;
+
+        int innerLoop = nextCandidate();
+        while (innerLoop != -1 && outerRun.getRunning() >= minRunning) {
+          Run innerRun = all[innerLoop];
+          RunCoordinates innerEnd = innerRun.getEndCoordinates();
+
+          mergePair(outerRun, innerRun);
+
+          // A run that has been extended is only indexed again once the
+          // cursors are finished with, as they are past it anyway.
+          if (innerRun.getRunning() < minRunning) {
+            file1Index.remove(innerLoop);
+            file2Index.remove(innerLoop);
+          }
+          else if (innerRun.getEndCoordinates() != innerEnd) {
+            movedRuns = append(movedRuns, movedCount++, innerLoop);
+          }
+          if (outerRun.getEndCoordinates() != outerEnd) {
+            from = innerLoop + 1;
+            moved = true;
+            break;
+          }
+          innerLoop = nextCandidate();
+        }
+      }
+    }
+  } // sweep
+
+  /**
+   * Return the last line a run covers in one of the files.
+   */
+  private static int lastLine(Run run, int file) {
+    if (file == PairComparison.FILE1) {
+      return Math.max(run.getStartCoordinates().getLineNoInFile1(),
+                      run.getEndCoordinates().getLineNoInFile1());
+    }
+    return Math.max(run.getStartCoordinates().getLineNoInFile2(),
+                    run.getEndCoordinates().getLineNoInFile2());
+  } // lastLine
+
+  /**
+   * Index a run by the lines it now covers.
+   */
+  private void index(Run run, int position) {
+    file1Index.add(position,
+                   run.getStartCoordinates().getLineNoInFile1(),
+                   run.getEndCoordinates().getLineNoInFile1());
+    file2Index.add(position,
+                   run.getStartCoordinates().getLineNoInFile2(),
+                   run.getEndCoordinates().getLineNoInFile2());
+  } // index
+
+  /**
+   * Set up the cursors to walk through the runs from the given position on
+   * that may be affected by a run. While the cursors are in use, which is
+   * while the heap is not empty, no run may be added to the indexes.
+   *
+   * A run can only lie within another in a file if the lines they cover
+   * there overlap. A run can only be concatenated with another if it
+   * starts or ends within three times maxForwardJump of the other's start
+   * or end in both files, so it is enough to look for runs near the lines
+   * the run covers in the first file.
+   *
+   * @param run the run being tried
+   * @param from the first position to look from
+   */
+  private void startCandidates(Run run, int from) {
+    cursorCount = 0;
+    heapSize = 0;
+    lastCandidate = from - 1;
+
+    int start1 = run.getStartCoordinates().getLineNoInFile1();
+    int end1 = run.getEndCoordinates().getLineNoInFile1();
+    int slack = concatanate ? 3 * Math.abs(maxForwardJump) : 0;
+    file1Index.addCursors(Math.min(start1, end1) - slack,
+                          Math.max(start1, end1) + slack, from);
+    if (amalgamate) {
+      int start2 = run.getStartCoordinates().getLineNoInFile2();
+      int end2 = run.getEndCoordinates().getLineNoInFile2();
+      file2Index.addCursors(Math.min(start2, end2), Math.max(start2, end2),
+                            from);
+    }
+  } // startCandidates
+
+  /**
+   * Add a cursor to walk through a bucket of an index, starting at the
+   * given position.
+   */
+  private void addCursor(Intervals index, int bucket, int position, int low,
+                         int high) {
+    if (cursorCount == cursorIndexes.length) {
+      Intervals biggerIndexes[] = new Intervals[cursorCount * 2];
+      System.arraycopy(cursorIndexes, 0, biggerIndexes, 0, cursorCount);
+      cursorIndexes = biggerIndexes;
+      int biggerHeap[] = new int[cursorCount * 2];
+      System.arraycopy(heap, 0, biggerHeap, 0, heapSize);
+      heap = biggerHeap;
+    }
+    int cursor = cursorCount;
+    cursorIndexes[cursor] = index;
+    cursorBuckets = append(cursorBuckets, cursor, bucket);
+    cursorPositions = append(cursorPositions, cursor, position - 1);
+    cursorLows = append(cursorLows, cursor, low);
+    cursorHighs = append(cursorHighs, cursor, high);
+    cursorCount++;
+
+    if (advance(cursor)) {
+      heap[heapSize] = cursor;
+      siftUp(heapSize++);
+    }
+  } // addCursor
+
+  /**
+   * Move a cursor on to the next run in its bucket that covers any of the
+   * cursor's lines.
+   *
+   * @return false if there are no more such runs
+   */
+  private boolean advance(int cursor) {
+    Intervals index = cursorIndexes[cursor];
+    int bucket = cursorBuckets[cursor];
+    int entries[] = index.buckets[bucket];
+    int size = index.bucketSizes[bucket];
+    for (int x = cursorPositions[cursor] + 1; x < size; x++) {
+      int run = entries[x];
+      if (index.bucketOf[run] == bucket && index.lows[run] <= cursorHighs[cursor]
+          && index.highs[run] >= cursorLows[cursor]) {
+        cursorPositions[cursor] = x;
+        return true;
+      }
+    }
+    cursorPositions[cursor] = size;
+    return false;
+  } // advance
+
+  /**
+   * Return the run a cursor has reached.
+   */
+  private int cursorRun(int cursor) {
+    return cursorIndexes[cursor].buckets[cursorBuckets[cursor]]
+        [cursorPositions[cursor]];
+  } // cursorRun
+
+  /**
+   * Return the next run, in the order the runs were found, that the
+   * cursors have reached.
+   *
+   * @return the position of the run, or -1 if there are no more
+   */
+  private int nextCandidate() {
+    while (heapSize > 0) {
+      int cursor = heap[0];
+      int run = cursorRun(cursor);
+      if (!advance(cursor)) {
+        heap[0] = heap[--heapSize];
+      }
+      siftDown(0);
+
+      // The same run may be reached by more than one cursor.
+      if (run > lastCandidate) {
+        lastCandidate = run;
+        return run;
+      }
+    }
+    return -1;
+  } // nextCandidate
+
+  /**
+   * Move a cursor up the heap to its place.
+   */
+  private void siftUp(int place) {
+    int cursor = heap[place];
+    int run = cursorRun(cursor);
+    while (place > 0) {
+      int parent = (place - 1) / 2;
+      if (cursorRun(heap[parent]) <= run) {
+        break;
+      }
+      heap[place] = heap[parent];
+      place = parent;
+    }
+    heap[place] = cursor;
+  } // siftUp
+
+  /**
+   * Move a cursor down the heap to its place.
+   */
+  private void siftDown(int place) {
+    if (place >= heapSize) {
+      return;
+    }
+    int cursor = heap[place];
+    int run = cursorRun(cursor);
+    while (2 * place + 1 < heapSize) {
+      int child = 2 * place + 1;
+      if (child + 1 < heapSize &&
+          cursorRun(heap[child + 1]) < cursorRun(heap[child])) {
+        child++;
+      }
+      if (run <= cursorRun(heap[child])) {
+        break;
+      }
+      heap[place] = heap[child];
+      place = child;
+    }
+    heap[place] = cursor;
+  } // siftDown
+
+  /**
+   * Try to amalgamate or concatenate two runs.
+   *
+   * @param outerRun the run found first
+   * @param innerRun the run found later
+   */
+  private void mergePair(Run outerRun, Run innerRun) {
+    // Incorporate the comparison looking at line2s as well here.
+    // For this part in the original code however, the running
+    // value had to be >= HALF the minRunLength value, not a
+    //quarter as for the line1s.
+    if ( (outerRun.getRunning() >= minRunLength / 4) &&
+        (innerRun.getRunning() >= minRunLength / 4)) {
+      if (amalgamate) {
+        // is outerRun's Run entirely within innerRun's, if so
+        // cancel outerRun by setting its 'running' to 0, so
+        //it doesn't get printed.
+        if ( (
+            // Comparing runs using the line numbers from the
+            // first file
+            // that comprises it.
+            (outerRun.getStartCoordinates()
+             .getLineNoInFile1() >=
+             innerRun.getStartCoordinates()
+             .getLineNoInFile1()) &&
+            (outerRun.getEndCoordinates()
+             .getLineNoInFile1() <=
+             innerRun.getEndCoordinates()
+             .getLineNoInFile1())) ||
+            // Comparing runs using the line numbers from the
+            //second file that comprises it.
+            ( (outerRun.getStartCoordinates()
+               .getLineNoInFile2() >=
+               innerRun.getStartCoordinates()
+               .getLineNoInFile2()) &&
+             (outerRun.getEndCoordinates()
+              .getLineNoInFile2() <=
+              innerRun.getEndCoordinates()
+              .getLineNoInFile2()))) {
+          outerRun.setRunning(0);
+        }
+
+        // ... and vice-versa
+        if ( ( (innerRun.getStartCoordinates()
+                .getLineNoInFile1() >=
+                outerRun.getStartCoordinates()
+                .getLineNoInFile1()) &&
+              (innerRun.getEndCoordinates()
+               .getLineNoInFile1() <=
+               outerRun.getEndCoordinates()
+               .getLineNoInFile1())) ||
+            ( (innerRun.getStartCoordinates()
+               .getLineNoInFile2() >=
+               outerRun.getStartCoordinates()
+               .getLineNoInFile2()) &&
+             (innerRun.getEndCoordinates()
+              .getLineNoInFile2() <=
+              outerRun.getEndCoordinates()
+              .getLineNoInFile2()))) {
+          innerRun.setRunning(0);
+        }
+      } // if (amalgamate)
+
+      // This bit doesn't work properly all the time
+      // the concatenation is broken
+      if (concatanate) {
+
+        // If outerRun ends within (maxForwardJump + a few
+        // lines) of
+        // where innerRun starts, concatenate them (into
+        // outerRun)
+        // and delete innerRun.
+        if (shouldConcatanateRuns
+            (innerRun.getStartCoordinates().getLineNoInFile1(),
+             outerRun.getEndCoordinates().getLineNoInFile1(),
+             innerRun.getStartCoordinates().getLineNoInFile2(),
+             outerRun.getEndCoordinates().getLineNoInFile2())) {
+          outerRun.extend(innerRun.getEndCoordinates(),
+                          innerRun.getRunning(),
+                          innerRun.getAnomolies());
+          innerRun.setRunning(0);
+        } // if (shouldConcatanateRuns...
+
+        // ... and vice versa
+        if (shouldConcatanateRuns
+            (outerRun.getStartCoordinates().getLineNoInFile1(),
+             innerRun.getEndCoordinates().getLineNoInFile1(),
+             outerRun.getStartCoordinates().getLineNoInFile2(),
+             innerRun.getEndCoordinates().getLineNoInFile2())) {
+          innerRun.extend(outerRun.getEndCoordinates(),
+                          outerRun.getRunning(),
+                          outerRun.getAnomolies());
+          outerRun.setRunning(0);
+        } // if (shouldConcatanateRuns...
+      } // if (concatanate)
+    } // if (outerRun.getRunning)
+  } // mergePair
+
+  /**
+   * This method tests whether two runs are close enough together to be
+   * concatanated together. The start and end coordinates of two runs are
+   * passed to this method, and along with maxForwardJump (the maximum
+   * forward jump in
+   * lines that is allowed in a run), this returns true if they are close
+   * enough to be concatanated; false if they are not.
+   *
+   * @param startLine1 the starting line number (in first file) of the first
+   *  run
+   * @param endLine1 the end line number (in first file) of the second run
+   * @param startLine2 the starting line number (in second file) of the
+   * first run
+   * @param endLine2 the end line number (in second file) of the second run
+   */
+  private boolean shouldConcatanateRuns(int startLine1, int endLine1,
+      int startLine2, int endLine2) {
+    boolean run1StartsCloseEnoughToEndOfRun2 =
+      (startLine1 + maxForwardJump) >= (endLine1 - maxForwardJump);
+    boolean spanOfRunsInFile1LessThanJump = (startLine1 - endLine1) <= (maxForwardJump * 3);
+    return ( run1StartsCloseEnoughToEndOfRun2 &&
+        ( spanOfRunsInFile1LessThanJump || ((startLine1 + maxForwardJump) <= (endLine1 - maxForwardJump)) ) )
+            &&
+            ( ( (startLine2 + maxForwardJump) > (endLine2 - maxForwardJump)) &&
+                ( ( (startLine2 - endLine2) <= (maxForwardJump * 3)) ||
+                    ( (startLine2 + maxForwardJump) <= (endLine2 - maxForwardJump))));
+  } // shouldConcatanateRuns
+
+
+  /**
+   * An index of runs by the lines they cover in one of the files.
+   *
+   * The runs are kept in levels by the number of lines they cover: level k
+   * holds the runs covering at most 2^k lines, in buckets of 2^k lines by
+   * the first line they cover. So the runs covering any of a range of lines
+   * are all in the buckets of each level from 2^k lines before the range
+   * to its end. Each bucket lists its runs in the order they were found.
+   *
+   * Runs are not taken out of their buckets when they are removed or moved
+   * elsewhere; their old entries are skipped, and a bucket is tidied up
+   * once half of it is old entries.
+   */
+  private class Intervals {
+
+    /**
+     * The bucket of a run that is not in the index.
+     */
+    private final static int REMOVED = -1;
+
+    /**
+     * The first line covered by each run.
+     */
+    private int lows[] = new int[64];
+
+    /**
+     * The last line covered by each run.
+     */
+    private int highs[] = new int[64];
+
+    /**
+     * The bucket each run is in.
+     */
+    private int bucketOf[] = new int[64];
+
+    /**
+     * The number of levels.
+     */
+    private int levels = 0;
+
+    /**
+     * The first bucket of each level.
+     */
+    private int levelStarts[] = new int[33];
+
+    /**
+     * The runs in each bucket, in the order they were found.
+     */
+    private int buckets[][] = new int[0][];
+
+    /**
+     * The number of entries in each bucket.
+     */
+    private int bucketSizes[] = new int[0];
+
+    /**
+     * The number of old entries in each bucket.
+     */
+    private int oldEntries[] = new int[0];
+
+    /**
+     * The last line any run covers.
+     */
+    private int lastLine = 0;
+
+    /**
+     * Empty the index, ready for a new set of runs.
+     *
+     * @param count the number of runs
+     * @param lastLine the last line any of the runs covers
+     */
+    void clear(int count, int lastLine) {
+      if (bucketOf.length < count) {
+        lows = new int[count];
+        highs = new int[count];
+        bucketOf = new int[count];
+      }
+      Arrays.fill(bucketOf, 0, count, REMOVED);
+      this.lastLine = lastLine;
+
+      // No run can cover more lines than there are.
+      int bucketCount = 0;
+      levels = 0;
+      do {
+        levelStarts[levels] = bucketCount;
+        bucketCount += (lastLine >> levels) + 1;
+        levels++;
+      }
+      while ( (1 << (levels - 1)) < lastLine);
+
+      if (buckets.length < bucketCount) {
+        int bigger[][] = new int[bucketCount][];
+        System.arraycopy(buckets, 0, bigger, 0, buckets.length);
+        buckets = bigger;
+        bucketSizes = new int[bucketCount];
+        oldEntries = new int[bucketCount];
+      }
+      Arrays.fill(bucketSizes, 0, bucketCount, 0);
+      Arrays.fill(oldEntries, 0, bucketCount, 0);
+    } // clear
+
+    /**
+     * Add a run to the index, or move it if it is already there.
+     *
+     * @param run the position of the run
+     * @param line the line one end of the run is on
+     * @param otherLine the line the other end of the run is on
+     */
+    void add(int run, int line, int otherLine) {
+      int low = Math.min(line, otherLine);
+      int high = Math.max(line, otherLine);
+      int level = 0;
+      while ( (1 << level) < high - low) {
+        level++;
+      }
+      int bucket = levelStarts[level] + (low >> level);
+
+      lows[run] = low;
+      highs[run] = high;
+      if (bucketOf[run] == bucket) {
+        return;
+      }
+      remove(run);
+      bucketOf[run] = bucket;
+
+      // Runs are nearly always added in order, but a run that has moved
+      // has to be put in its place.
+      int entries[] = buckets[bucket];
+      int size = bucketSizes[bucket];
+      if (entries == null) {
+        entries = new int[8];
+      }
+      int place = size;
+      while (place > 0 && entries[place - 1] > run) {
+        place--;
+      }
+      if (place > 0 && entries[place - 1] == run) {
+        // The run's old entry from when it was last in this bucket.
+        oldEntries[bucket]--;
+      }
+      else {
+        entries = append(entries, size, 0);
+        System.arraycopy(entries, place, entries, place + 1, size - place);
+        entries[place] = run;
+        bucketSizes[bucket] = size + 1;
+      }
+      buckets[bucket] = entries;
+    } // add
+
+    /**
+     * Remove a run from the index.
+     *
+     * @param run the position of the run
+     */
+    void remove(int run) {
+      int bucket = bucketOf[run];
+      if (bucket == REMOVED) {
+        return;
+      }
+      bucketOf[run] = REMOVED;
+
+      oldEntries[bucket]++;
+      if (oldEntries[bucket] * 2 > bucketSizes[bucket] && heapSize == 0) {
+        int entries[] = buckets[bucket];
+        int kept = 0;
+        for (int x = 0; x < bucketSizes[bucket]; x++) {
+          if (bucketOf[entries[x]] == bucket) {
+            entries[kept++] = entries[x];
+          }
+        }
+        bucketSizes[bucket] = kept;
+        oldEntries[bucket] = 0;
+      }
+    } // remove
+
+    /**
+     * Add a cursor for each bucket that may hold runs, at or after the
+     * given position, covering any of the given lines.
+     *
+     * @param low the first line
+     * @param high the last line
+     * @param from the first position of run to look at
+     */
+    void addCursors(int low, int high, int from) {
+      for (int level = 0; level < levels; level++) {
+        int first = Math.max(low - (1 << level), 0) >> level;
+        int last = Math.min(high, lastLine) >> level;
+        for (int x = first; x <= last; x++) {
+          int bucket = levelStarts[level] + x;
+          int size = bucketSizes[bucket];
+          if (size == 0 || buckets[bucket][size - 1] < from) {
+            continue;
+          }
+
+          // Find the first entry at or after from.
+          int entries[] = buckets[bucket];
+          int start = 0;
+          int end = size;
+          while (start < end) {
+            int middle = (start + end) >>> 1;
+            if (entries[middle] < from) {
+              start = middle + 1;
+            }
+            else {
+              end = middle;
+            }
+          }
+          addCursor(this, bucket, start, low, high);
+        }
+      }
+    } // addCursors
+
+  } // Intervals
+
+  /**
+   * Store a value in an array, returning a bigger copy of the array if it
+   * is full.
+   */
+  private static int[] append(int array[], int index, int value) {
+    if (index == array.length) {
+      int bigger[] = new int[array.length * 2];
+      System.arraycopy(array, 0, bigger, 0, array.length);
+      array = bigger;
+    }
+    array[index] = value;
+    return array;
+  } // append
+
+} // RunMerger
@@ -200,6 +200,24 @@ public class Settings {
 		return sourceDirectory;
 	}
 
+	/**
+	 * Return the file holding a file type's version of a source file. When
+	 * the source files are not copied for the Original file type, the
+	 * original version of a file is the source file itself.
+	 *
+	 * @param fileType the file type
+	 * @param name the name of the source file
+	 * @return the file
+	 */
+	public static File getProcessedFile(int fileType, String name) {
+		if (fileType == ORI && !sherlockSettings.getCopyOriginals()) {
+			return new File(sourceDirectory, name);
+		}
+		return new File(sourceDirectory.getAbsolutePath() + fileSep
+				+ fileTypes[fileType].getDirectory(), name + "."
+				+ fileTypes[fileType].getExtension());
+	} // getProcessedFile
+
 	public static SherlockSettings getSherlockSettings() {
 		return sherlockSettings;
 	}
@@ -40,6 +40,27 @@ public class Sherlock
         // Flags used to run different parts of Sherlock if changed to true.
         boolean preProcess = false, detect = false, view = false;
 
+        // Flags used to move matches into or out of the match store.
+        boolean importMatches = false, exportMatches = false;
+
+        // Number of detection threads, if given.
+        int threads = 0;
+
+        // Number of tokenising threads, if given.
+        int tokeniseThreads = 0;
+
+        // Whether to only redo the work for changed files.
+        boolean incremental = false;
+
+        // Whether to use the source files as the originals, not copies.
+        boolean noCopy = false;
+
+        // Directory to write a report of the matches in, if given.
+        File reportDirectory = null;
+
+        // Number of most suspicious pairs to put in the report.
+        int suspicious = MatchReport.DEFAULT_SUSPICIOUS;
+
         // If there are no arguments, display how-to-use instructions.
         if (args.length == 0) {
             showCommandLineParameters();
@@ -66,12 +87,50 @@ public class Sherlock
                     detect = true;
                 } else if (args[x].equals("-v")) {
                     view = true;
+                } else if (args[x].equals("-u")) {
+                    incremental = true;
+                } else if (args[x].equals("-n")) {
+                    noCopy = true;
+                } else if (args[x].equals("-i")) {
+                    importMatches = true;
+                } else if (args[x].equals("-e")) {
+                    exportMatches = true;
+                } else if (args[x].equals("-t") && x + 1 < args.length) {
+                    try {
+                        threads = Integer.parseInt(args[++x]);
+                    } catch (NumberFormatException e) {
+                        Settings.message("Number of detection threads is invalid");
+                        showCommandLineParameters();
+                        return;
+                    }
+                } else if (args[x].equals("-w") && x + 1 < args.length) {
+                    try {
+                        tokeniseThreads = Integer.parseInt(args[++x]);
+                    } catch (NumberFormatException e) {
+                        Settings.message("Number of tokenising threads is invalid");
+                        showCommandLineParameters();
+                        return;
+                    }
+                } else if (args[x].equals("-r") && x + 1 < args.length) {
+                    reportDirectory = new File(args[++x]);
+                } else if (args[x].equals("-k") && x + 1 < args.length) {
+                    try {
+                        suspicious = Integer.parseInt(args[++x]);
+                    } catch (NumberFormatException e) {
+                        suspicious = -1;
+                    }
+                    if (suspicious < 0) {
+                        Settings.message("Number of suspicious pairs is invalid");
+                        showCommandLineParameters();
+                        return;
+                    }
                 }
             }
         } // End of checking arguments are valid.
 
         // If no valid arguments aside from the directory have been given, tell the user.
-        if (!preProcess && !detect && !view) {
+        if (!preProcess && !detect && !view && !importMatches
+                && !exportMatches && reportDirectory == null) {
             Settings.message(
                     "No valid options given - Sherlock 2000 has nothing to do!");
             showCommandLineParameters();
@@ -80,10 +139,34 @@ public class Sherlock
 
         // Load settings with the default detection options.
         Settings.init();
+        if (threads > 0) {
+            Settings.sherlockSettings.setDetectionThreads(threads);
+        }
+        if (tokeniseThreads > 0) {
+            Settings.sherlockSettings.setTokeniseThreads(tokeniseThreads);
+        }
+        if (incremental) {
+            Settings.sherlockSettings.setIncremental(true);
+        }
+        if (noCopy) {
+            Settings.sherlockSettings.setCopyOriginals(false);
+        }
 
         // Run Sherlock however is needed.
         runSherlock(preProcess, detect, view);
 
+        // Detection starts a new store, so only move matches once it has
+        // finished.
+        if (importMatches) {
+            moveMatches(true);
+        }
+        if (exportMatches) {
+            moveMatches(false);
+        }
+        if (reportDirectory != null) {
+            writeReport(reportDirectory, suspicious);
+        }
+
         // Save the settings used.
         for (int x = 0; x < Settings.NUMBEROFFILETYPES; x++) {
             Settings.fileTypes[x].store();
@@ -139,6 +222,59 @@ public class Sherlock
 
     } // runSherlock
 
+    /**
+     Move the matches in the match directory between the match store and
+     the .match files used before it.
+
+     @param toStore if true, move the .match files into the store;
+     otherwise move the matches in the store out into .match files
+     */
+    private void moveMatches(boolean toStore) {
+        File md = new File(Settings.sourceDirectory,
+                Settings.sherlockSettings.getMatchDirectory());
+        if (!md.isDirectory()) {
+            Settings.message("There is no match directory to move matches in");
+            return;
+        }
+        try {
+            if (toStore) {
+                int moved = MatchStore.importLegacy(md);
+                Settings.message("Moved " + moved
+                        + " matches into the match store");
+            } else {
+                int moved = MatchStore.exportLegacy(md);
+                Settings.message("Moved " + moved
+                        + " matches out of the match store");
+            }
+        } catch (IOException e) {
+            Settings.message("Error moving matches:\n" + e.getMessage());
+        }
+    } // moveMatches
+
+    /**
+     Write a report of the matches in the match directory, without the GUI.
+
+     @param directory the directory to write the report files in
+     @param suspicious the number of most suspicious pairs to report
+     */
+    private void writeReport(File directory, int suspicious) {
+        File md = new File(Settings.sourceDirectory,
+                Settings.sherlockSettings.getMatchDirectory());
+        if (!md.isDirectory()) {
+            Settings.message("There is no match directory to report on");
+            return;
+        }
+        try {
+            MatchReport report = new MatchReport(md);
+            report.write(directory, suspicious);
+            Settings.message("Reported " + report.getMatchCount()
+                    + " matches between " + report.getPairCount()
+                    + " pairs in " + directory);
+        } catch (IOException e) {
+            Settings.message("Error writing report:\n" + e.getMessage());
+        }
+    } // writeReport
+
     /**
      Handle an exception that has occurred during a SherlockProcess's
      processing.
@@ -165,7 +301,7 @@ public class Sherlock
     private void showCommandLineParameters() {
         System.out.println("Command line parameters are: ");
         System.out.println(
-                "java Sherlock.Sherlock [drive:][path]directoryname [-p] [-d] [-v]\n");
+                "java Sherlock.Sherlock [drive:][path]directoryname [-p] [-d] [-v] [-t n] [-w n] [-u] [-n] [-i] [-e] [-r dir] [-k n]\n");
         System.out.println("\t[drive:][path]directoryname\n"
                 + "\t  "
                 + "\tSpecifies drive and directory containing the source files to be used.\n");
@@ -174,6 +310,23 @@ public class Sherlock
         System.out.println("\t-d" + "\tDetect over pre-processed files.\n");
         System.out.println("\t-v"
                 + "\tView matches found following detection over these files.\n");
+        System.out.println("\t-t n"
+                + "\tDetect using n threads, comparing n pairs of files at a time.\n");
+        System.out.println("\t-w n"
+                + "\tPre-process using n threads, tokenising n files at a time.\n");
+        System.out.println("\t-u"
+                + "\tOnly pre-process and compare files changed since the last run.\n");
+        System.out.println("\t-n"
+                + "\tUse the source files as the originals instead of copying them.\n");
+        System.out.println("\t-i"
+                + "\tImport matches kept in .match files into the match store.\n");
+        System.out.println("\t-e"
+                + "\tExport the match store as one .match file per match.\n");
+        System.out.println("\t-r dir"
+                + "\tWrite a report of the matches as HTML, CSV and JSON in dir.\n");
+        System.out.println("\t-k n"
+                + "\tShow the n most suspicious pairs in the report (default "
+                + MatchReport.DEFAULT_SUSPICIOUS + ").\n");
     } // showCommandLineParameters
 
 }
@@ -55,16 +55,17 @@ public abstract class SherlockProcess
   protected int matchesFound = 0;
 
   /**
-   * If true, pause processing, else continue as normal.
+   * If true, pause processing, else continue as normal. Volatile as it is
+   * polled by the processing threads while another thread changes it.
    */
-  boolean pause = false;
+  volatile boolean pause = false;
 
   /**
        * This can me made true whilst the process is paused. If so, break out of any
    * loops and allow this thread to die.
    * Only needed because Thread.destroy() is not implemented yet.
    */
-  boolean letDie = false;
+  volatile boolean letDie = false;
 
   private long timeOfFirstCall;
   public SherlockProcess() {
@@ -27,9 +27,17 @@ public class SherlockSettings
    * int subLinesToShow
    * boolean showWholeTok
    * int tokLinesToShow
+   * int detectionThreads
+   * int preloadLimit
+   * boolean sweepRuns
+   * boolean matchStore
+   * boolean incremental
+   * int tokeniseThreads
+   * boolean copyOriginals
    */
   private final static String defaults[] = {
-      "true", "match", "", "true", "3", "true", "3"};
+      "true", "match", "", "true", "3", "true", "3", "1", "256", "true",
+      "true", "false", "1", "true"};
 
   /**
    * The properties of this profile.
@@ -64,6 +72,13 @@ public class SherlockSettings
     p.setProperty("subLinesToShow", defaults[4]);
     p.setProperty("showWholeTok", defaults[5]);
     p.setProperty("tokLinesToShow", defaults[6]);
+    p.setProperty("detectionThreads", defaults[7]);
+    p.setProperty("preloadLimit", defaults[8]);
+    p.setProperty("sweepRuns", defaults[9]);
+    p.setProperty("matchStore", defaults[10]);
+    p.setProperty("incremental", defaults[11]);
+    p.setProperty("tokeniseThreads", defaults[12]);
+    p.setProperty("copyOriginals", defaults[13]);
     return p;
   } // createDefaults
 
@@ -171,6 +186,80 @@ public class SherlockSettings
     thisProfile.setProperty("tokLinesToShow", String.valueOf(i));
   } // setSubLinesToShow
 
+  /**
+   * Sets the number of detection workers that compare pairs of files at
+   * the same time.
+   *
+   * @param i the number of workers; 1 compares the pairs one at a time
+   */
+  public void setDetectionThreads(int i) {
+    thisProfile.setProperty("detectionThreads", String.valueOf(i));
+  } // setDetectionThreads
+
+  /**
+   * Sets the most memory, in megabytes, that the tokenised files of one
+   * file type may take up when they are all read in before detection.
+   *
+   * @param i the limit in megabytes; 0 always reads the files from disk
+   *  for each comparison
+   */
+  public void setPreloadLimit(int i) {
+    thisProfile.setProperty("preloadLimit", String.valueOf(i));
+  } // setPreloadLimit
+
+  /**
+   * Sets whether the runs found in two files are amalgamated and
+   * concatenated by looking only at the runs near each other, rather than
+   * by trying every pair of runs. Both give the same matches; trying every
+   * pair is much slower, and is only kept to check the other against.
+   *
+   * @param b true to look only at nearby runs, false to try every pair
+   */
+  public void setSweepRuns(boolean b) {
+    thisProfile.setProperty("sweepRuns", String.valueOf(b));
+  } // setSweepRuns
+
+  /**
+   * Sets whether detection keeps the matches it finds in a single store
+   * file in the match directory, rather than in a ".match" file each.
+   *
+   * @param b true to use the store, false to write a file per match
+   */
+  public void setMatchStore(boolean b) {
+    thisProfile.setProperty("matchStore", String.valueOf(b));
+  } // setMatchStore
+
+  /**
+   * Sets whether tokenising and detection only redo the work for the
+   * source files that have changed since they were last run, keeping the
+   * results for the rest.
+   *
+   * @param b true to only redo changed files, false to redo everything
+   */
+  public void setIncremental(boolean b) {
+    thisProfile.setProperty("incremental", String.valueOf(b));
+  } // setIncremental
+
+  /**
+   * Sets the number of workers that run the source files through the
+   * tokenisers at the same time.
+   *
+   * @param i the number of workers; 1 tokenises the files one at a time
+   */
+  public void setTokeniseThreads(int i) {
+    thisProfile.setProperty("tokeniseThreads", String.valueOf(i));
+  } // setTokeniseThreads
+
+  /**
+   * Sets whether the source files are copied into the Original file type's
+   * directory, or used where they are.
+   *
+   * @param b true to copy them, false to use the source files themselves
+   */
+  public void setCopyOriginals(boolean b) {
+    thisProfile.setProperty("copyOriginals", String.valueOf(b));
+  } // setCopyOriginals
+
   /**
    * Returns true if the language is Java.
    *
@@ -238,4 +327,80 @@ public class SherlockSettings
     return Integer.parseInt(thisProfile.getProperty("tokLinesToShow"));
   } // getTokLinesToShow
 
+  /**
+   * Returns the number of detection workers that compare pairs of files at
+   * the same time.
+   *
+   * @return the number of workers, at least 1
+   */
+  public int getDetectionThreads() {
+    return Math.max(1, Integer.parseInt
+                    (thisProfile.getProperty("detectionThreads")));
+  } // getDetectionThreads
+
+  /**
+   * Returns the most memory, in megabytes, that the tokenised files of one
+   * file type may take up when they are all read in before detection.
+   *
+   * @return the limit in megabytes
+   */
+  public int getPreloadLimit() {
+    return Integer.parseInt(thisProfile.getProperty("preloadLimit"));
+  } // getPreloadLimit
+
+  /**
+   * Returns whether the runs found in two files are amalgamated and
+   * concatenated by looking only at the runs near each other.
+   *
+   * @return true to look only at nearby runs, false to try every pair
+   */
+  public boolean getSweepRuns() {
+    return Boolean.valueOf(thisProfile.getProperty("sweepRuns")).
+        booleanValue();
+  } // getSweepRuns
+
+  /**
+   * Returns whether detection keeps the matches it finds in a single store
+   * file in the match directory.
+   *
+   * @return true to use the store, false to write a file per match
+   */
+  public boolean getMatchStore() {
+    return Boolean.valueOf(thisProfile.getProperty("matchStore")).
+        booleanValue();
+  } // getMatchStore
+
+  /**
+   * Returns whether tokenising and detection only redo the work for the
+   * source files that have changed since they were last run.
+   *
+   * @return true to only redo changed files, false to redo everything
+   */
+  public boolean getIncremental() {
+    return Boolean.valueOf(thisProfile.getProperty("incremental")).
+        booleanValue();
+  } // getIncremental
+
+  /**
+   * Returns the number of workers that run the source files through the
+   * tokenisers at the same time.
+   *
+   * @return the number of workers, at least 1
+   */
+  public int getTokeniseThreads() {
+    return Math.max(1, Integer.parseInt
+                    (thisProfile.getProperty("tokeniseThreads")));
+  } // getTokeniseThreads
+
+  /**
+   * Returns whether the source files are copied into the Original file
+   * type's directory.
+   *
+   * @return true to copy them, false to use the source files themselves
+   */
+  public boolean getCopyOriginals() {
+    return Boolean.valueOf(thisProfile.getProperty("copyOriginals")).
+        booleanValue();
+  } // getCopyOriginals
+
 } // SherlockSettings
@@ -5,6 +5,7 @@
 package uk.ac.warwick.dcs.cobalt.sherlock;
 
 import java.io.*;
+import java.nio.channels.*;
 import java.util.*;
 
 import uk.ac.warwick.dcs.cobalt.sherlock.freetext.*;
@@ -12,16 +13,14 @@ import uk.ac.warwick.dcs.cobalt.sherlock.freetext.*;
 /**
  * Runs the files in the source directory through the selected tokenisers.
  *
- * Multiple static parser instances are created in this class, i.e. NoWhite,
- * NoComment, Comment and cplusplus, however, they tend to share the same
- * SimpleCharStream.java class which is generated by Javacc automatically.
- * This class is set to be static by default, in which case the parsers
- * couldn't reinitialise themselves without reinitialise this class.
- * Reinitialisation of this class is not possible as it doesn't have any
- * such methods.
- * One way to solve this problem instead of using non-static parsers is to
- * simply remove ALL 'static' declaration in the SimpleCharStream.java file
- * after it is generated by Javacc and set the 'statiFlag' variable to false.
+ * The files can be tokenised by several workers at once, each handed the
+ * next file to do in turn. Each worker has its own set of tokenisers, i.e.
+ * Normaliser, NoWhite, NoComment, Comment, Java and cplusplus, which are
+ * generated by Javacc with STATIC set to false so that they keep all their
+ * state to themselves and are reused via their ReInit methods. The sentence
+ * parsers in the freetext package are made afresh for each file and put
+ * the documents they parse into the worker's own AnalysisContext, so the
+ * workers can run files through them at the same time too.
  *
  * @author Ben Hart
  * @author Mike Joy
@@ -54,14 +53,21 @@ public class TokeniseFiles
    */
   private SherlockProcessCallback parent;
 
-  private static Normaliser normaliser = new Normaliser(System.in);
-  private static NoWhite nowhite = new NoWhite(System.in);
-  private static NoComment nocomment = new NoComment(System.in);
-  private static Comment comment = new Comment(System.in);
-  private static Java java = new Java(System.in);
-  private static cplusplus cpp = new cplusplus(System.in);
-  private static SentenceParser sentence = new SentenceParser(System.in);
-  private static NaturalParser natural = new NaturalParser(System.in);
+  /**
+   * The hashes recorded when files were last tokenised.
+   */
+  private ContentHashes hashes;
+
+  /**
+   * True if files that are unchanged since they were last tokenised are
+   * to be left alone.
+   */
+  private boolean incremental = false;
+
+  /**
+   * The index in filesToProcess of the next file to hand out to a worker.
+   */
+  private int nextFile = 0;
 
   /**
    * Runs the files selected through the tokenisers specified.
@@ -158,6 +164,11 @@ public class TokeniseFiles
     if (filesToProcess != null) {
       for (int fileType = 0; fileType < Settings.NUMBEROFFILETYPES;
            fileType++) {
+        // The originals need no directory if they are not being copied.
+        if (fileType == Settings.ORI
+            && !Settings.sherlockSettings.getCopyOriginals()) {
+          continue;
+        }
         if (Settings.fileTypes[fileType].isInUse()) {
           File f = new File
               (Settings.sourceDirectory.getAbsolutePath() +
@@ -172,33 +183,46 @@ public class TokeniseFiles
       if (processedFiles == null) {
         processedFiles = new Hashtable();
 
-        // Run each file through the tokenisers.
       }
-      for (int x = 0; x < filesToProcess.length; x++) {
-
-        // If the user has chosen to cancel the process, get out
-        // of this loop and let the thread die.
-        if (letDie) {
-          break;
-        }
 
-        // Process the file.
-        Settings.message("Processing " + filesToProcess[x]
-                         .getAbsolutePath());
-        String value = filesToProcess[x].getAbsolutePath();
-        Integer key = new Integer(value.hashCode());
-        if (processedFiles.containsKey(key)
-            && ( (String) processedFiles.get(key)).equals(value)) {
-          stagesDone++;
-          continue;
+      // In incremental mode, files whose source and tokenised versions
+      // are unchanged since they were last tokenised are left alone. If
+      // the tokenisers' settings have changed, every file is redone.
+      hashes = new ContentHashes();
+      String settings = ContentHashes.hash(getTokeniserSettings());
+      incremental = Settings.sherlockSettings.getIncremental()
+          && hashes.matches("settings.tokenise", settings);
+
+      // Run each file through the tokenisers, using as many workers as
+      // have been asked for.
+      nextFile = 0;
+      int threads = Settings.sherlockSettings.getTokeniseThreads();
+      if (threads <= 1) {
+        tokeniseFiles(new Tokenisers());
+      }
+      else {
+        TokeniseWorker workers[] = new TokeniseWorker[threads];
+        for (int x = 0; x < threads; x++) {
+          workers[x] = new TokeniseWorker(new Tokenisers());
+          workers[x].start();
         }
-        else {
-          runTokenisers(filesToProcess[x]);
-          processedFiles.put(key, value);
-          //yield();
+        for (int x = 0; x < threads; x++) {
+          try {
+            workers[x].join();
+          }
+          catch (InterruptedException e) {
+            letProcessDie();
+          }
         }
-        stagesDone++;
       }
+
+      // Only vouch for the settings once every file has been done with
+      // them.
+      if (!letDie) {
+        hashes.put("settings.tokenise", settings);
+      }
+      hashes.store();
+      hashes = null;
     }
 
     // Now have finished.
@@ -215,6 +239,145 @@ public class TokeniseFiles
 
   } // processFiles
 
+  /**
+   * Hand out the next file to tokenise.
+   *
+   * @return the file, or null if there are none left
+   */
+  private synchronized File getNextFile() {
+    if (nextFile >= filesToProcess.length) {
+      return null;
+    }
+    return filesToProcess[nextFile++];
+  } // getNextFile
+
+  /**
+   * Tokenise the files handed out by getNextFile() until there are none
+   * left, or the process is cancelled.
+   *
+   * @param tokenisers the tokenisers used by the calling worker
+   */
+  private void tokeniseFiles(Tokenisers tokenisers) {
+    for (File file = getNextFile(); file != null; file = getNextFile()) {
+
+      // If the user has chosen to cancel the process, get out
+      // of this loop and let the thread die.
+      if (letDie) {
+        break;
+      }
+
+      // Process the file.
+      Settings.message("Processing " + file.getAbsolutePath());
+      String value = file.getAbsolutePath();
+      Integer key = new Integer(value.hashCode());
+      if (processedFiles.containsKey(key)
+          && ( (String) processedFiles.get(key)).equals(value)) {
+        incStagesDone();
+        continue;
+      }
+      else if (incremental && isUnchanged(file, hashes)) {
+        Settings.debugMessage("Unchanged " + file.getName());
+        processedFiles.put(key, value);
+      }
+      else {
+        tokenisers.failed = false;
+        runTokenisers(file, tokenisers);
+        if (tokenisers.failed || letDie) {
+          hashes.put(ContentHashes.sourceKey(file.getName()), null);
+        }
+        else {
+          recordHashes(file, hashes);
+        }
+        processedFiles.put(key, value);
+        //yield();
+      }
+      incStagesDone();
+    }
+  } // tokeniseFiles
+
+  /**
+   * Return a description of the settings that change what the tokenisers
+   * produce, other than which file types are in use.
+   *
+   * @return the description
+   */
+  private String getTokeniserSettings() {
+    String common[] = Settings.fileTypes[Settings.SEN].getCommonWords();
+    StringBuffer settings = new StringBuffer();
+    settings.append("java=" + Settings.sherlockSettings.isJava());
+    settings.append(" natural=" + getNatural());
+    for (int x = 0; common != null && x < common.length; x++) {
+      settings.append(" " + common[x]);
+    }
+    return settings.toString();
+  } // getTokeniserSettings
+
+  /**
+   * Return whether a source file and all of its tokenised versions are the
+   * same as when it was last tokenised.
+   *
+   * @param file the source file
+   * @param hashes the hashes recorded when files were last tokenised
+   * @return true if nothing has changed, false if it must be tokenised
+   */
+  private boolean isUnchanged(File file, ContentHashes hashes) {
+    try {
+      if (!hashes.matches(ContentHashes.sourceKey(file.getName()),
+                          ContentHashes.hash(file))) {
+        return false;
+      }
+      for (int fileType = 0; fileType < Settings.NUMBEROFFILETYPES;
+           fileType++) {
+        if (Settings.fileTypes[fileType].isInUse()
+            && !hashes.matches
+            (ContentHashes.tokenisedKey(fileType, file.getName()),
+             ContentHashes.hash(getOutputFile(file, fileType)))) {
+          return false;
+        }
+      }
+      return true;
+    }
+    catch (IOException e) {
+      return false;
+    }
+  } // isUnchanged
+
+  /**
+   * Record the hashes of a source file and its tokenised versions, once it
+   * has been tokenised.
+   *
+   * @param file the source file
+   * @param hashes the hashes to record them in
+   */
+  private void recordHashes(File file, ContentHashes hashes) {
+    String sourceKey = ContentHashes.sourceKey(file.getName());
+    try {
+      hashes.put(sourceKey, ContentHashes.hash(file));
+      for (int fileType = 0; fileType < Settings.NUMBEROFFILETYPES;
+           fileType++) {
+        if (Settings.fileTypes[fileType].isInUse()) {
+          hashes.put(ContentHashes.tokenisedKey(fileType, file.getName()),
+                     ContentHashes.hash(getOutputFile(file, fileType)));
+        }
+      }
+    }
+    catch (IOException e) {
+      // Make sure the file is tokenised again next time.
+      hashes.put(sourceKey, null);
+    }
+  } // recordHashes
+
+  /**
+   * Return the file a tokeniser saves its version of a source file in.
+   *
+   * @param file the source file
+   * @param fileType the file type of the tokeniser
+   * @return the output file
+   */
+  private File getOutputFile(File file, int fileType) {
+    return Settings.getProcessedFile(fileType, file.getName());
+  } // getOutputFile
+
   /**
    * Called if the user cancels the process before it is finished. All files
    * and directories that have been created must be deleted.
@@ -246,22 +409,42 @@ public class TokeniseFiles
   /**
    * Runs the passed file through all the necessary tokenisers.
    *
+   * The source file is read into memory once and every tokeniser reads it
+   * from there. Where one tokeniser's output is the input to another, as
+   * the no comments version is for the no comment normalised and no
+   * comment no white versions, it is made once in memory and passed on
+   * rather than through a temporary file.
+   *
    * @param file the file to tokenise and copy
+   * @param tokenisers the tokenisers to run it through
    */
-  private void runTokenisers(File file) {
+  private void runTokenisers(File file, Tokenisers tokenisers) {
+    Normaliser normaliser = tokenisers.normaliser;
+    NoWhite nowhite = tokenisers.nowhite;
+    NoComment nocomment = tokenisers.nocomment;
+    Comment comment = tokenisers.comment;
+    Java java = tokenisers.java;
+    cplusplus cpp = tokenisers.cpp;
 
     // The original file to be tokenised from the source directory.
     File origFile = file;
 
-    // Need to keep tabs of the no comments file to use again for no
-    // comments or whitespace.
-    File noComments = null;
+    // The contents of the original file.
+    byte source[];
+    try {
+      source = readFile(origFile);
+    }
+    catch (IOException e) {
+      tokenisers.failed = true;
+      processException
+          (new SherlockProcessException
+           ("Error reading " + origFile.getName(), e));
+      return;
+    }
 
-    // Need to keep tabs of the no comment & normalised/nowhite file to
-    // use again for tokenisation.
-    File normalised = null;
-    File noWhite = null;
-    File toTokeniser = null;
+    // Need to keep the no comments version to use again for no comments
+    // normalised or no comments no white.
+    byte noComments[] = null;
 
     // The input stream that is passed to each tokeniser, accessing
     // the file to be tokenised.
@@ -281,23 +464,22 @@ public class TokeniseFiles
 
       if (Settings.fileTypes[fileType].isInUse()) {
         // Create the file to save the results of the tokeniser in.
-        File outputFile = new File
-            (Settings.sourceDirectory.getAbsolutePath() +
-             Settings.fileSep +
-             Settings.fileTypes[fileType].getDirectory(),
-             origFile.getName() + "." +
-             Settings.fileTypes[fileType].getExtension());
+        File outputFile = getOutputFile(origFile, fileType);
 
         Settings.debugMessage("Creating " + outputFile.getName());
 
         switch (fileType) {
           case (Settings.ORI): {
+            // The source file is the original if it is not being copied.
+            if (!Settings.sherlockSettings.getCopyOriginals()) {
+              break;
+            }
             try {
               copyFile(origFile, outputFile);
             }
             catch (Exception e) {
-              pauseProcessing();
-              parent.exceptionThrown
+              tokenisers.failed = true;
+              processException
                   (new SherlockProcessException
                    ("Error making original copy of "
                     + origFile.getName(),
@@ -308,15 +490,13 @@ public class TokeniseFiles
 
           case (Settings.NOR): {
             try {
-              inputStream = new FileInputStream(origFile);
+              inputStream = new ByteArrayInputStream(source);
               normaliser.ReInit(inputStream, outputFile);
               normaliser.Input();
-              inputStream.close();
-              normalised = outputFile;
             }
             catch (Exception e) {
-              pauseProcessing();
-              parent.exceptionThrown
+              tokenisers.failed = true;
+              processException
                   (new SherlockProcessException
                    ("Error creating normalised version of " +
                     origFile.getName(), e));
@@ -326,15 +506,13 @@ public class TokeniseFiles
 
           case (Settings.NOW): {
             try {
-              inputStream = new FileInputStream(origFile);
+              inputStream = new ByteArrayInputStream(source);
               nowhite.ReInit(inputStream, outputFile);
               nowhite.Input();
-              inputStream.close();
-              noWhite = outputFile;
             }
             catch (Exception e) {
-              pauseProcessing();
-              parent.exceptionThrown
+              tokenisers.failed = true;
+              processException
                   (new SherlockProcessException
                    ("Error creating no white version of " +
                     origFile.getName(), e));
@@ -343,17 +521,23 @@ public class TokeniseFiles
           }
 
           case (Settings.NOC): {
+            ByteArrayOutputStream output = new ByteArrayOutputStream
+                (source.length);
             try {
-              inputStream = new FileInputStream(origFile);
-              nocomment.ReInit(inputStream, outputFile);
-              nocomment.Input();
-              inputStream.close();
-              // Save reference to this file.
-              noComments = outputFile;
+              try {
+                nocomment.ReInit(new ByteArrayInputStream(source), output);
+                nocomment.Input();
+                // Save the no comments version for the later tokenisers.
+                noComments = output.toByteArray();
+              }
+              finally {
+                // Save as much as was made, even if the tokeniser failed.
+                writeFile(output.toByteArray(), outputFile);
+              }
             }
             catch (Exception e) {
-              pauseProcessing();
-              parent.exceptionThrown
+              tokenisers.failed = true;
+              processException
                   (new SherlockProcessException
                    ("Error creating no comment version of " +
                     origFile.getName(), e));
@@ -363,91 +547,58 @@ public class TokeniseFiles
           //this case is assumped not to be activated with the next
           //case in a same session.
           case (Settings.NCN): {
-            File temp = null;
             try {
-              // If a no comments file was not made, make one now.
+              // If a no comments version was not made, make one now.
               if (noComments == null) {
-                temp = File.createTempFile("temp", "noc");
-                inputStream = new FileInputStream(origFile);
-                nocomment.ReInit(inputStream, temp);
-                nocomment.Input();
-                inputStream.close();
-                inputStream = new FileInputStream(temp);
+                noComments = removeComments(nocomment, source);
               }
-              else {
-                inputStream = new FileInputStream(noComments);
 
-                // Run the Normaliser tokeniser on the temporary or
-                //permanent NoComment output.
-              }
+              // Run the Normaliser tokeniser on the no comments version.
+              inputStream = new ByteArrayInputStream(noComments);
               normaliser.ReInit(inputStream, outputFile);
               normaliser.Input();
-              inputStream.close();
-              toTokeniser = outputFile;
             }
             catch (Exception e) {
-              pauseProcessing();
-              parent.exceptionThrown
+              tokenisers.failed = true;
+              processException
                   (new SherlockProcessException
                    ("Error creating no comment normalised version of"
                     + " " + origFile.getName(), e));
             }
-
-            // Delete temporary no comments file.
-            if (temp != null) {
-              temp.delete();
-            }
             break;
           }
 
           case (Settings.NCW): {
-            File temp = null;
             try {
-              // If a no comments file was not made, make one now.
+              // If a no comments version was not made, make one now.
               if (noComments == null) {
-                temp = File.createTempFile("temp", "noc");
-                inputStream = new FileInputStream(origFile);
-                nocomment.ReInit(inputStream, temp);
-                nocomment.Input();
-                inputStream.close();
-                inputStream = new FileInputStream(temp);
+                noComments = removeComments(nocomment, source);
               }
-              else {
-                inputStream = new FileInputStream(noComments);
 
-                // Run the Normaliser tokeniser on the temporary or
-                //permanent NoComment output.
-              }
+              // Run the NoWhite tokeniser on the no comments version.
+              inputStream = new ByteArrayInputStream(noComments);
               nowhite.ReInit(inputStream, outputFile);
               nowhite.Input();
-              inputStream.close();
-              toTokeniser = outputFile;
             }
             catch (Exception e) {
-              pauseProcessing();
-              parent.exceptionThrown
+              tokenisers.failed = true;
+              processException
                   (new SherlockProcessException
                    ("Error creating no comment no white version of"
                     + " " + origFile.getName(), e));
             }
-
-            // Delete temporary no comments file.
-            if (temp != null) {
-              temp.delete();
-            }
             break;
           }
 
           case (Settings.COM): {
             try {
-              inputStream = new FileInputStream(origFile);
+              inputStream = new ByteArrayInputStream(source);
               comment.ReInit(inputStream, outputFile);
               comment.Input();
-              inputStream.close();
             }
             catch (Exception e) {
-              pauseProcessing();
-              parent.exceptionThrown
+              tokenisers.failed = true;
+              processException
                   (new SherlockProcessException
                    ("Error creating comment only version of " +
                     origFile.getName(), e));
@@ -457,121 +608,36 @@ public class TokeniseFiles
 
           case (Settings.SEN): {
             try {
-              inputStream = new FileInputStream(origFile);
-              Sentence.setCommon(Settings.fileTypes[Settings.SEN].
-                                 getCommonWords());
+              inputStream = new ByteArrayInputStream(source);
               if (!getNatural()) {
                 //sentence.ReInit(inputStream,outputFile,origFile.getName());
-                sentence = new SentenceParser(inputStream);
-                sentence.setOutput(outputFile, origFile.getName());
+                SentenceParser sentence = new SentenceParser(inputStream);
+                sentence.setOutput(outputFile, origFile.getName(),
+                                   tokenisers.context);
                 sentence.Input();
               }
               else {
-                natural = new NaturalParser(inputStream);
-                natural.setOutput(outputFile, origFile.getName());
+                NaturalParser natural = new NaturalParser(inputStream);
+                natural.setOutput(outputFile, origFile.getName(),
+                                  tokenisers.context);
                 // natural.ReInit(inputStream, outputFile, origFile.getName());
                 natural.Input();
               }
-              inputStream.close();
             }
             catch (Exception e) {
-              pauseProcessing();
-              parent.exceptionThrown(
+              tokenisers.failed = true;
+              processException(
                   new SherlockProcessException(
                   "Error creating sentence-parsed version of " +
                   origFile.getName(), e));
             }
             break;
           }
-          //process the no comment & normailsed/no white version.
+          //process the original file, which still has its comments and
+          //white space.
           case (Settings.TOK): {
             try {
-              File temp = null;
-              
-              if (true){//toTokeniser == null) {
-                  //Settings.message("");
-                if(true)///Settings.fileTypes[Settings.ORI].isInUse())
-                {
-                    //Settings.message("BBBBBBB");
-                    //ADDED TO PERFORM TOKENISED VERSION ON ORIGINAL FILE THAT IS GIVEN
-                    inputStream = new FileInputStream(origFile);
-                }else if (Settings.fileTypes[Settings.NOR].isInUse()&&false) {
-                    //if normalser is selected.
-                  if (normalised != null) {
-                    temp = File.createTempFile("temp", "ncn");
-                    inputStream = new FileInputStream
-                        (normalised);
-                    nocomment.ReInit(inputStream, temp);
-                    nocomment.Input();
-                    inputStream.close();
-                    inputStream = new FileInputStream(temp);
-                  }
-                  else if (noComments != null) {
-                    temp = File.createTempFile("temp", "ncn");
-                    inputStream = new FileInputStream
-                        (noComments);
-                    normaliser.ReInit(inputStream, temp);
-                    normaliser.Input();
-                    inputStream.close();
-                    inputStream = new FileInputStream(temp);
-                  }
-                  else {
-                    temp = File.createTempFile("temp", "noc");
-                    inputStream = new FileInputStream
-                        (origFile);
-                    nocomment.ReInit(inputStream, temp);
-                    nocomment.Input();
-                    inputStream.close();
-                    inputStream = new FileInputStream(temp);
-                    File temp2 = File.createTempFile
-                        ("temp2", "ncn");
-                    normaliser.ReInit(inputStream, temp2);
-                    normaliser.Input();
-                    inputStream.close();
-                    inputStream = new FileInputStream(temp2);
-                  }
-                }
-                //if no white is selected
-                else if(false){
-                  if (noWhite != null) {
-                    temp = File.createTempFile("temp", "ncw");
-                    inputStream = new FileInputStream
-                        (noWhite);
-                    nocomment.ReInit(inputStream, temp);
-                    nocomment.Input();
-                    inputStream.close();
-                    inputStream = new FileInputStream(temp);
-                  }
-                  else if (noComments != null) {
-                    temp = File.createTempFile("temp", "ncw");
-                    inputStream = new FileInputStream
-                        (noComments);
-                    nowhite.ReInit(inputStream, temp);
-                    nowhite.Input();
-                    inputStream.close();
-                    inputStream = new FileInputStream(temp);
-                  }
-                  else {
-                    temp = File.createTempFile("temp", "noc");
-                    inputStream = new FileInputStream
-                        (origFile);
-                    nocomment.ReInit(inputStream, temp);
-                    nocomment.Input();
-                    inputStream.close();
-                    inputStream = new FileInputStream(temp);
-                    File temp2 = File.createTempFile
-                        ("temp2", "ncw");
-                    nowhite.ReInit(inputStream, temp2);
-                    nowhite.Input();
-                    inputStream.close();
-                    inputStream = new FileInputStream(temp2);
-                  }
-                }
-              }
-              else {
-                inputStream = new FileInputStream(toTokeniser);
-                Settings.message("CCCCCC");
-              }
+              inputStream = new ByteArrayInputStream(source);
               if (Settings.sherlockSettings.isJava()) {
                 java.ReInit(inputStream, outputFile);
                 java.Input();
@@ -586,26 +652,13 @@ public class TokeniseFiles
                 cpp.save.flush();
                 cpp.save.close();
               }
-              
             }
             catch (Exception e) {
-              pauseProcessing();
-              parent.exceptionThrown
+              tokenisers.failed = true;
+              processException
                   (new SherlockProcessException
                    ("Error creating tokenised version of " +
                     origFile.getName(), e));
-            }finally{
-                try {
- //                   parent.exceptionThrown(new SherlockProcessException("IOSTREAM closing"));
-                    if(inputStream != null)
-                        inputStream.close();
-//                    parent.exceptionThrown(new SherlockProcessException("IOSTREAM closed"));
-                } catch (IOException ex) {
-                    parent.exceptionThrown
-                  (new SherlockProcessException
-                   ("Error closing tokenised version of " +
-                    origFile.getName(), ex));
-                }
             }
             break;
           }
@@ -616,9 +669,65 @@ public class TokeniseFiles
   } // runTokenisers
 
   /**
-   * This method does a byte by byte copy of a file to another.
+   * Run the NoComment tokeniser over the contents of a file, keeping its
+   * output in memory.
+   *
+   * @param nocomment the NoComment tokeniser to use
+   * @param source the contents of the file
+   * @return the contents with the comments removed
+   */
+  private byte[] removeComments(NoComment nocomment, byte source[]) throws
+      ParseException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream
+        (source.length);
+    nocomment.ReInit(new ByteArrayInputStream(source), output);
+    nocomment.Input();
+    return output.toByteArray();
+  } // removeComments
+
+  /**
+   * Read the whole of a file into memory.
+   *
+   * @param file the file to read
+   * @return its contents
+   */
+  private static byte[] readFile(File file) throws IOException {
+    InputStream input = new FileInputStream(file);
+    try {
+      ByteArrayOutputStream contents = new ByteArrayOutputStream
+          ( (int) file.length());
+      byte buffer[] = new byte[8192];
+      for (int read = input.read(buffer); read != -1;
+           read = input.read(buffer)) {
+        contents.write(buffer, 0, read);
+      }
+      return contents.toByteArray();
+    }
+    finally {
+      input.close();
+    }
+  } // readFile
+
+  /**
+   * Save bytes held in memory to a file.
    *
-   * @todo surely we can use some kind of buffering here?
+   * @param contents the bytes to save
+   * @param file the file to save them in
+   */
+  private static void writeFile(byte contents[], File file) throws
+      IOException {
+    OutputStream output = new FileOutputStream(file);
+    try {
+      output.write(contents);
+    }
+    finally {
+      output.close();
+    }
+  } // writeFile
+
+  /**
+   * This method copies a file to another, letting the file channels move
+   * the bytes across in bulk rather than reading and writing them here.
    *
    * @param from the file to copy from
    * @param to the file to copy it to
@@ -626,21 +735,106 @@ public class TokeniseFiles
   private void copyFile(File from, File to) throws IOException,
       FileNotFoundException {
     FileInputStream inFile = new FileInputStream(from);
-    FileOutputStream outFile = new FileOutputStream(to);
-    BufferedInputStream input = new BufferedInputStream(inFile);
-    BufferedOutputStream output = new BufferedOutputStream(outFile);
-    int thisByte;
-    // Works for nil length files!
-    thisByte = input.read();
-    while (thisByte != -1) {
-      output.write(thisByte);
-      thisByte = input.read();
+    try {
+      FileOutputStream outFile = new FileOutputStream(to);
+      try {
+        FileChannel input = inFile.getChannel();
+        FileChannel output = outFile.getChannel();
+        long size = input.size();
+        // Works for nil length files! transferTo may move fewer bytes
+        // than asked for, so keep going until they are all across.
+        long done = 0;
+        while (done < size) {
+          long moved = input.transferTo(done, size - done, output);
+          if (moved <= 0) {
+            break;
+          }
+          done += moved;
+        }
+      }
+      finally {
+        outFile.close();
+      }
+    }
+    finally {
+      inFile.close();
     }
-    input.close();
-    output.flush();
-    output.close();
   } // copy
 
+  /**
+   * Pause processing and pass an exception thrown while tokenising a file
+   * on to the parent class. Only one worker at a time may do this.
+   *
+   * @param spe the exception to pass on
+   */
+  synchronized void processException(SherlockProcessException spe) {
+    pauseProcessing();
+    parent.exceptionThrown(spe);
+  } // processException
+
+  /**
+   * Count another file as done.
+   */
+  private synchronized void incStagesDone() {
+    stagesDone++;
+  } // incStagesDone
+
+  /**
+   * A set of tokenisers. Each worker has its own, so that no tokeniser is
+   * used on two files at once.
+   */
+  private static class Tokenisers {
+    Normaliser normaliser = new Normaliser(System.in);
+    NoWhite nowhite = new NoWhite(System.in);
+    NoComment nocomment = new NoComment(System.in);
+    Comment comment = new Comment(System.in);
+    Java java = new Java(System.in);
+    cplusplus cpp = new cplusplus(System.in);
+
+    /**
+     * The free-text analysis the sentence parsers put their documents in.
+     * Word IDs are not saved, so each worker can have its own.
+     */
+    AnalysisContext context =
+        new AnalysisContext(Settings.fileTypes[Settings.SEN]);
+
+    /**
+     * Set when one of the tokenisers fails on the file being tokenised, so
+     * that its hashes are not recorded.
+     */
+    boolean failed = false;
+  } // Tokenisers
+
+  /**
+   * A tokenising worker. It tokenises the files it is handed using its own
+   * set of tokenisers.
+   */
+  private class TokeniseWorker
+      extends Thread {
+
+    /**
+     * The tokenisers used by this worker.
+     */
+    private Tokenisers tokenisers;
+
+    /**
+     * Create a new tokenising worker.
+     *
+     * @param tokenisers the tokenisers to use
+     */
+    TokeniseWorker(Tokenisers tokenisers) {
+      this.tokenisers = tokenisers;
+      setPriority(TokeniseFiles.this.getPriority());
+    }
+
+    /**
+     * Tokenise files until there are none left.
+     */
+    public void run() {
+      tokeniseFiles(tokenisers);
+    }
+  } // TokeniseWorker
+
   /**
    * Tell the GUI or Sherlock the number of stages to do.
    *
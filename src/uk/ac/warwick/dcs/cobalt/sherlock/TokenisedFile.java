@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 1999-2000 The University of Warwick. All Rights Reserved.
+ */
+
+package uk.ac.warwick.dcs.cobalt.sherlock;
+
+import java.io.*;
+
+/**
+ * A tokenised file read into memory once, so that it can be compared
+ * against every other file without being read from disk again. Each line
+ * is held as its ID in a LineDictionary together with the original line
+ * number given by the last "#line xxx" before it. "#line" lines themselves
+ * are not stored, so the line number of a line is simply its position
+ * plus one.
+ */
+class TokenisedFile {
+
+  /**
+   * The file that was read in.
+   */
+  private File file;
+
+  /**
+   * The dictionary holding the lines of this file.
+   */
+  private LineDictionary dictionary;
+
+  /**
+   * The ID of each line.
+   */
+  private int lineIds[] = new int[64];
+
+  /**
+   * The original line number of each line.
+   */
+  private int origLineNos[] = new int[64];
+
+  /**
+   * The number of lines stored.
+   */
+  private int size = 0;
+
+  /**
+   * Create a new, empty TokenisedFile.
+   *
+   * @param file the file being read in
+   * @param dictionary the dictionary to store the lines in
+   */
+  TokenisedFile(File file, LineDictionary dictionary) {
+    this.file = file;
+    this.dictionary = dictionary;
+  } // TokenisedFile
+
+  /**
+   * Add the next line of the file.
+   *
+   * @param line the line of data read in
+   * @param origLineNo the original line number of the line
+   */
+  void addLine(String line, int origLineNo) {
+    if (size == lineIds.length) {
+      lineIds = grow(lineIds);
+      origLineNos = grow(origLineNos);
+    }
+    lineIds[size] = dictionary.intern(line);
+    origLineNos[size] = origLineNo;
+    size++;
+  } // addLine
+
+  /**
+   * Double the length of an array.
+   */
+  private static int[] grow(int array[]) {
+    int bigger[] = new int[array.length * 2];
+    System.arraycopy(array, 0, bigger, 0, array.length);
+    return bigger;
+  } // grow
+
+  /**
+   * Return the file that was read in.
+   *
+   * @return the file
+   */
+  File getFile() {
+    return file;
+  } // getFile
+
+  /**
+   * Return the number of lines stored. This is the number of lines in the
+   * file, not counting "#line" lines.
+   *
+   * @return the number of lines
+   */
+  int size() {
+    return size;
+  } // size
+
+  /**
+   * Return the line of data at the given position.
+   *
+   * @param index the position of the line
+   * @return the line of data
+   */
+  String getLine(int index) {
+    return dictionary.getLine(lineIds[index]);
+  } // getLine
+
+  /**
+   * Return the dictionary ID of the line at the given position.
+   *
+   * @param index the position of the line
+   * @return the ID of the line
+   */
+  int getLineId(int index) {
+    return lineIds[index];
+  } // getLineId
+
+  /**
+   * Return the fingerprint of the line at the given position.
+   *
+   * @param index the position of the line
+   * @return the fingerprint of the line
+   */
+  long getFingerprint(int index) {
+    return dictionary.getFingerprint(lineIds[index]);
+  } // getFingerprint
+
+  /**
+   * Return the line number of the line at the given position.
+   *
+   * @param index the position of the line
+   * @return the line number
+   */
+  int getLineNo(int index) {
+    return index + 1;
+  } // getLineNo
+
+  /**
+   * Return the original line number of the line at the given position.
+   *
+   * @param index the position of the line
+   * @return the original line number
+   */
+  int getOrigLineNo(int index) {
+    return origLineNos[index];
+  } // getOrigLineNo
+
+  /**
+   * Return an estimate of the number of bytes used by this file, not
+   * counting the lines held in its dictionary.
+   *
+   * @return the estimated size in bytes
+   */
+  long getEstimatedSize() {
+    return 64 + 8L * lineIds.length;
+  } // getEstimatedSize
+
+} // TokenisedFile
@@ -10,20 +10,20 @@ class cplusplus implements cplusplusConstants {
    * The stream used to save the output file.
    * Added public so it can be closed
    */
-  static public PrintStream save;
+  public PrintStream save;
 
   /**
    * The new file containing the output of this tokeniser.
    */
-  static File outputFile = null;
+  File outputFile = null;
 
   /**
    * Keep track of the line number from the file read in. Used to print #line xxx in the outputFile.
    */
-  static int lineNo = 1;
+  int lineNo = 1;
 
-  static boolean print=false;
-  static boolean seenNewLine=false;
+  boolean print=false;
+  boolean seenNewLine=false;
 
   /**
    * Reinitialise all the variables, and get on with parsing the whatever's in the input stream.
@@ -31,22 +31,22 @@ class cplusplus implements cplusplusConstants {
    * @param is - the input stream to parse.
    * @param f - the file to save the results of this tokeniser to.
    */
-  static void ReInit(InputStream is, File f) {
+  void ReInit(InputStream is, File f) {
     // Don't need to reinitialise the PrintStream, it's done for us.
-    cplusplus.outputFile = f;
-    cplusplus.lineNo=1;
+    outputFile = f;
+    lineNo=1;
 
-    cplusplus.seenNewLine=false;
-    cplusplus.print=false;
+    seenNewLine=false;
+    print=false;
 
-    cplusplus.ReInit(is);
+    ReInit(is);
   } // ReInit
 
 
   /**
    * Print the current line number into the new file.
    */
-  static void printLineNo() {
+  void printLineNo() {
     if (print) {
       save.println();
       save.print("#line "+lineNo);
@@ -60,7 +60,7 @@ class cplusplus implements cplusplusConstants {
    *
    * @param stringToPrint the string to print.
    */
-  static void toPrint(String stringToPrint) {
+  void toPrint(String stringToPrint) {
     printLineNo();
     if (seenNewLine)
       save.println();
@@ -74,7 +74,7 @@ class cplusplus implements cplusplusConstants {
     parser.Input();
   }
 
-  static final public void anyOldLines() throws ParseException {
+  final public void anyOldLines() throws ParseException {
     switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
     case singleLineComment:
       jj_consume_token(singleLineComment);
@@ -327,9 +327,9 @@ class cplusplus implements cplusplusConstants {
     case others:
       jj_consume_token(others);
       if (seenNewLine)
-        cplusplus.save.println();
+        save.println();
       seenNewLine=false;
-      cplusplus.toPrint(token.image);
+      toPrint(token.image);
       break;
     default:
       jj_la1[0] = jj_gen;
@@ -338,10 +338,11 @@ class cplusplus implements cplusplusConstants {
     }
   }
 
-  static final public void Input() throws ParseException {
+  final public void Input() throws ParseException {
+  token_source.parser = this;
   try    {
       if (outputFile!=null)
-        cplusplus.save = new PrintStream(new FileOutputStream(outputFile));
+        save = new PrintStream(new FileOutputStream(outputFile));
       else
         save = System.out;
   } catch (IOException e) {
@@ -463,13 +464,12 @@ class cplusplus implements cplusplusConstants {
     jj_consume_token(0);
   }
 
-  static private boolean jj_initialized_once = false;
-  static public cplusplusTokenManager token_source;
-  static SimpleCharStream jj_input_stream;
-  static public Token token, jj_nt;
-  static private int jj_ntk;
-  static private int jj_gen;
-  static final private int[] jj_la1 = new int[2];
+  public cplusplusTokenManager token_source;
+  SimpleCharStream jj_input_stream;
+  public Token token, jj_nt;
+  private int jj_ntk;
+  private int jj_gen;
+  final private int[] jj_la1 = new int[2];
   static private int[] jj_la1_0;
   static private int[] jj_la1_1;
   static private int[] jj_la1_2;
@@ -494,13 +494,6 @@ class cplusplus implements cplusplusConstants {
    }
 
   public cplusplus(java.io.InputStream stream) {
-    if (jj_initialized_once) {
-      System.out.println("ERROR: Second call to constructor of static parser.  You must");
-      System.out.println("       either use ReInit() or set the JavaCC option STATIC to false");
-      System.out.println("       during parser generation.");
-      throw new Error();
-    }
-    jj_initialized_once = true;
     jj_input_stream = new SimpleCharStream(stream, 1, 1);
     token_source = new cplusplusTokenManager(jj_input_stream);
     token = new Token();
@@ -509,7 +502,7 @@ class cplusplus implements cplusplusConstants {
     for (int i = 0; i < 2; i++) jj_la1[i] = -1;
   }
 
-  static public void ReInit(java.io.InputStream stream) {
+  public void ReInit(java.io.InputStream stream) {
     jj_input_stream.ReInit(stream, 1, 1);
     token_source.ReInit(jj_input_stream);
     token = new Token();
@@ -519,13 +512,6 @@ class cplusplus implements cplusplusConstants {
   }
 
   public cplusplus(java.io.Reader stream) {
-    if (jj_initialized_once) {
-      System.out.println("ERROR: Second call to constructor of static parser.  You must");
-      System.out.println("       either use ReInit() or set the JavaCC option STATIC to false");
-      System.out.println("       during parser generation.");
-      throw new Error();
-    }
-    jj_initialized_once = true;
     jj_input_stream = new SimpleCharStream(stream, 1, 1);
     token_source = new cplusplusTokenManager(jj_input_stream);
     token = new Token();
@@ -534,7 +520,7 @@ class cplusplus implements cplusplusConstants {
     for (int i = 0; i < 2; i++) jj_la1[i] = -1;
   }
 
-  static public void ReInit(java.io.Reader stream) {
+  public void ReInit(java.io.Reader stream) {
     jj_input_stream.ReInit(stream, 1, 1);
     token_source.ReInit(jj_input_stream);
     token = new Token();
@@ -544,13 +530,6 @@ class cplusplus implements cplusplusConstants {
   }
 
   public cplusplus(cplusplusTokenManager tm) {
-    if (jj_initialized_once) {
-      System.out.println("ERROR: Second call to constructor of static parser.  You must");
-      System.out.println("       either use ReInit() or set the JavaCC option STATIC to false");
-      System.out.println("       during parser generation.");
-      throw new Error();
-    }
-    jj_initialized_once = true;
     token_source = tm;
     token = new Token();
     jj_ntk = -1;
@@ -566,7 +545,7 @@ class cplusplus implements cplusplusConstants {
     for (int i = 0; i < 2; i++) jj_la1[i] = -1;
   }
 
-  static final private Token jj_consume_token(int kind) throws ParseException {
+  final private Token jj_consume_token(int kind) throws ParseException {
     Token oldToken;
     if ((oldToken = token).next != null) token = token.next;
     else token = token.next = token_source.getNextToken();
@@ -580,7 +559,7 @@ class cplusplus implements cplusplusConstants {
     throw generateParseException();
   }
 
-  static final public Token getNextToken() {
+  final public Token getNextToken() {
     if (token.next != null) token = token.next;
     else token = token.next = token_source.getNextToken();
     jj_ntk = -1;
@@ -588,7 +567,7 @@ class cplusplus implements cplusplusConstants {
     return token;
   }
 
-  static final public Token getToken(int index) {
+  final public Token getToken(int index) {
     Token t = token;
     for (int i = 0; i < index; i++) {
       if (t.next != null) t = t.next;
@@ -597,18 +576,18 @@ class cplusplus implements cplusplusConstants {
     return t;
   }
 
-  static final private int jj_ntk() {
+  final private int jj_ntk() {
     if ((jj_nt=token.next) == null)
       return (jj_ntk = (token.next=token_source.getNextToken()).kind);
     else
       return (jj_ntk = jj_nt.kind);
   }
 
-  static private java.util.Vector jj_expentries = new java.util.Vector();
-  static private int[] jj_expentry;
-  static private int jj_kind = -1;
+  private java.util.Vector jj_expentries = new java.util.Vector();
+  private int[] jj_expentry;
+  private int jj_kind = -1;
 
-  static public ParseException generateParseException() {
+  public ParseException generateParseException() {
     jj_expentries.removeAllElements();
     boolean[] la1tokens = new boolean[115];
     for (int i = 0; i < 115; i++) {
@@ -650,10 +629,10 @@ class cplusplus implements cplusplusConstants {
     return new ParseException(token, exptokseq, tokenImage);
   }
 
-  static final public void enable_tracing() {
+  final public void enable_tracing() {
   }
 
-  static final public void disable_tracing() {
+  final public void disable_tracing() {
   }
 
 }
@@ -5,11 +5,16 @@ import java.util.Date;
 
 public class cplusplusTokenManager implements cplusplusConstants
 {
-  public static String my_chars = "";
-  public static boolean ispis_naziva_datoteke = false;
-  public static  java.io.PrintStream debugStream = System.out;
-  public static  void setDebugStream(java.io.PrintStream ds) { debugStream = ds; }
-private static final int jjStopStringLiteralDfa_2(int pos, long active0)
+  /**
+   * The parser this token manager is reading tokens for.
+   */
+  cplusplus parser;
+
+  public String my_chars = "";
+  public boolean ispis_naziva_datoteke = false;
+  public  java.io.PrintStream debugStream = System.out;
+  public  void setDebugStream(java.io.PrintStream ds) { debugStream = ds; }
+private final int jjStopStringLiteralDfa_2(int pos, long active0)
 {
    switch (pos)
    {
@@ -17,17 +22,17 @@ private static final int jjStopStringLiteralDfa_2(int pos, long active0)
          return -1;
    }
 }
-private static final int jjStartNfa_2(int pos, long active0)
+private final int jjStartNfa_2(int pos, long active0)
 {
    return jjMoveNfa_2(jjStopStringLiteralDfa_2(pos, active0), pos + 1);
 }
-static private final int jjStopAtPos(int pos, int kind)
+private final int jjStopAtPos(int pos, int kind)
 {
    jjmatchedKind = kind;
    jjmatchedPos = pos;
    return pos + 1;
 }
-static private final int jjStartNfaWithStates_2(int pos, int kind, int state)
+private final int jjStartNfaWithStates_2(int pos, int kind, int state)
 {
    jjmatchedKind = kind;
    jjmatchedPos = pos;
@@ -35,7 +40,7 @@ static private final int jjStartNfaWithStates_2(int pos, int kind, int state)
    catch(java.io.IOException e) { return pos + 1; }
    return jjMoveNfa_2(state, pos + 1);
 }
-static private final int jjMoveStringLiteralDfa0_2()
+private final int jjMoveStringLiteralDfa0_2()
 {
    switch(curChar)
    {
@@ -45,7 +50,7 @@ static private final int jjMoveStringLiteralDfa0_2()
          return jjMoveNfa_2(0, 0);
    }
 }
-static private final int jjMoveStringLiteralDfa1_2(long active0)
+private final int jjMoveStringLiteralDfa1_2(long active0)
 {
    try { curChar = input_stream.readChar(); my_chars += curChar; }
    catch(java.io.IOException e) {
@@ -63,7 +68,7 @@ static private final int jjMoveStringLiteralDfa1_2(long active0)
    }
    return jjStartNfa_2(0, active0);
 }
-static private final void jjCheckNAdd(int state)
+private final void jjCheckNAdd(int state)
 {
    if (jjrounds[state] != jjround)
    {
@@ -71,29 +76,29 @@ static private final void jjCheckNAdd(int state)
       jjrounds[state] = jjround;
    }
 }
-static private final void jjAddStates(int start, int end)
+private final void jjAddStates(int start, int end)
 {
    do {
       jjstateSet[jjnewStateCnt++] = jjnextStates[start];
    } while (start++ != end);
 }
-static private final void jjCheckNAddTwoStates(int state1, int state2)
+private final void jjCheckNAddTwoStates(int state1, int state2)
 {
    jjCheckNAdd(state1);
    jjCheckNAdd(state2);
 }
-static private final void jjCheckNAddStates(int start, int end)
+private final void jjCheckNAddStates(int start, int end)
 {
    do {
       jjCheckNAdd(jjnextStates[start]);
    } while (start++ != end);
 }
-static private final void jjCheckNAddStates(int start)
+private final void jjCheckNAddStates(int start)
 {
    jjCheckNAdd(jjnextStates[start]);
    jjCheckNAdd(jjnextStates[start + 1]);
 }
-static private final int jjMoveNfa_2(int startState, int curPos)
+private final int jjMoveNfa_2(int startState, int curPos)
 {
    int[] nextStates;
    int startsAt = 0;
@@ -169,7 +174,7 @@ static private final int jjMoveNfa_2(int startState, int curPos)
       catch(java.io.IOException e) { return curPos; }
    }
 }
-private static final int jjStopStringLiteralDfa_0(int pos, long active0, long active1)
+private final int jjStopStringLiteralDfa_0(int pos, long active0, long active1)
 {
    switch (pos)
    {
@@ -486,11 +491,11 @@ private static final int jjStopStringLiteralDfa_0(int pos, long active0, long ac
          return -1;
    }
 }
-private static final int jjStartNfa_0(int pos, long active0, long active1)
+private final int jjStartNfa_0(int pos, long active0, long active1)
 {
    return jjMoveNfa_0(jjStopStringLiteralDfa_0(pos, active0, active1), pos + 1);
 }
-static private final int jjStartNfaWithStates_0(int pos, int kind, int state)
+private final int jjStartNfaWithStates_0(int pos, int kind, int state)
 {
    jjmatchedKind = kind;
    jjmatchedPos = pos;
@@ -498,7 +503,7 @@ static private final int jjStartNfaWithStates_0(int pos, int kind, int state)
    catch(java.io.IOException e) { return pos + 1; }
    return jjMoveNfa_0(state, pos + 1);
 }
-static private final int jjMoveStringLiteralDfa0_0()
+private final int jjMoveStringLiteralDfa0_0()
 {
    switch(curChar)
    {
@@ -617,7 +622,7 @@ static private final int jjMoveStringLiteralDfa0_0()
          return jjMoveNfa_0(0, 0);
    }
 }
-static private final int jjMoveStringLiteralDfa1_0(long active0, long active1)
+private final int jjMoveStringLiteralDfa1_0(long active0, long active1)
 {
    try { curChar = input_stream.readChar(); my_chars += curChar; }
    catch(java.io.IOException e) {
@@ -736,7 +741,7 @@ static private final int jjMoveStringLiteralDfa1_0(long active0, long active1)
    }
    return jjStartNfa_0(0, active0, active1);
 }
-static private final int jjMoveStringLiteralDfa2_0(long old0, long active0, long old1, long active1)
+private final int jjMoveStringLiteralDfa2_0(long old0, long active0, long old1, long active1)
 {
    if (((active0 &= old0) | (active1 &= old1)) == 0L)
       return jjStartNfa_0(0, old0, old1); 
@@ -825,7 +830,7 @@ static private final int jjMoveStringLiteralDfa2_0(long old0, long active0, long
    }
    return jjStartNfa_0(1, active0, active1);
 }
-static private final int jjMoveStringLiteralDfa3_0(long old0, long active0, long old1, long active1)
+private final int jjMoveStringLiteralDfa3_0(long old0, long active0, long old1, long active1)
 {
    if (((active0 &= old0) | (active1 &= old1)) == 0L)
       return jjStartNfa_0(1, old0, old1); 
@@ -894,7 +899,7 @@ static private final int jjMoveStringLiteralDfa3_0(long old0, long active0, long
    }
    return jjStartNfa_0(2, active0, 0L);
 }
-static private final int jjMoveStringLiteralDfa4_0(long old0, long active0)
+private final int jjMoveStringLiteralDfa4_0(long old0, long active0)
 {
    if (((active0 &= old0)) == 0L)
       return jjStartNfa_0(2, old0, 0L);
@@ -982,7 +987,7 @@ static private final int jjMoveStringLiteralDfa4_0(long old0, long active0)
    }
    return jjStartNfa_0(3, active0, 0L);
 }
-static private final int jjMoveStringLiteralDfa5_0(long old0, long active0)
+private final int jjMoveStringLiteralDfa5_0(long old0, long active0)
 {
    if (((active0 &= old0)) == 0L)
       return jjStartNfa_0(3, old0, 0L);
@@ -1059,7 +1064,7 @@ static private final int jjMoveStringLiteralDfa5_0(long old0, long active0)
    }
    return jjStartNfa_0(4, active0, 0L);
 }
-static private final int jjMoveStringLiteralDfa6_0(long old0, long active0)
+private final int jjMoveStringLiteralDfa6_0(long old0, long active0)
 {
    if (((active0 &= old0)) == 0L)
       return jjStartNfa_0(4, old0, 0L);
@@ -1101,7 +1106,7 @@ static private final int jjMoveStringLiteralDfa6_0(long old0, long active0)
    }
    return jjStartNfa_0(5, active0, 0L);
 }
-static private final int jjMoveStringLiteralDfa7_0(long old0, long active0)
+private final int jjMoveStringLiteralDfa7_0(long old0, long active0)
 {
    if (((active0 &= old0)) == 0L)
       return jjStartNfa_0(5, old0, 0L);
@@ -1138,7 +1143,7 @@ static private final int jjMoveStringLiteralDfa7_0(long old0, long active0)
    }
    return jjStartNfa_0(6, active0, 0L);
 }
-static private final int jjMoveStringLiteralDfa8_0(long old0, long active0)
+private final int jjMoveStringLiteralDfa8_0(long old0, long active0)
 {
    if (((active0 &= old0)) == 0L)
       return jjStartNfa_0(6, old0, 0L);
@@ -1162,7 +1167,7 @@ static private final int jjMoveStringLiteralDfa8_0(long old0, long active0)
    }
    return jjStartNfa_0(7, active0, 0L);
 }
-static private final int jjMoveStringLiteralDfa9_0(long old0, long active0)
+private final int jjMoveStringLiteralDfa9_0(long old0, long active0)
 {
    if (((active0 &= old0)) == 0L)
       return jjStartNfa_0(7, old0, 0L);
@@ -1191,7 +1196,7 @@ static private final int jjMoveStringLiteralDfa9_0(long old0, long active0)
 static final long[] jjbitVec0 = {
    0x0L, 0x0L, 0xffffffffffffffffL, 0xffffffffffffffffL
 };
-static private final int jjMoveNfa_0(int startState, int curPos)
+private final int jjMoveNfa_0(int startState, int curPos)
 {
    int[] nextStates;
    int startsAt = 0;
@@ -2390,11 +2395,11 @@ static private final int jjMoveNfa_0(int startState, int curPos)
       catch(java.io.IOException e) { return curPos; }
    }
 }
-static private final int jjMoveStringLiteralDfa0_1()
+private final int jjMoveStringLiteralDfa0_1()
 {
    return jjMoveNfa_1(0, 0);
 }
-static private final int jjMoveNfa_1(int startState, int curPos)
+private final int jjMoveNfa_1(int startState, int curPos)
 {
    int[] nextStates;
    int startsAt = 0;
@@ -2505,17 +2510,17 @@ static final long[] jjtoToken = {
 static final long[] jjtoSkip = {
    0x1e0L, 0x2000000000000L, 
 };
-static protected SimpleCharStream input_stream;
-static private final int[] jjrounds = new int[160];
-static private final int[] jjstateSet = new int[320];
-static StringBuffer image;
-static int jjimageLen;
-static int lengthOfMatch;
-static protected char curChar;
+protected SimpleCharStream input_stream;
+private final int[] jjrounds = new int[160];
+private final int[] jjstateSet = new int[320];
+StringBuffer image;
+int jjimageLen;
+int lengthOfMatch;
+protected char curChar;
 public cplusplusTokenManager(SimpleCharStream stream)
 {
-   if (input_stream != null)
-      throw new TokenMgrError("ERROR: Second call to constructor of static lexer. You must use ReInit() to initialize the static variables.", TokenMgrError.STATIC_LEXER_ERROR);
+   if (SimpleCharStream.staticFlag)
+      throw new Error("ERROR: Cannot use a static CharStream class with a non-static lexical analyzer.");
    input_stream = stream;
 }
 public cplusplusTokenManager(SimpleCharStream stream, int lexState)
@@ -2523,26 +2528,26 @@ public cplusplusTokenManager(SimpleCharStream stream, int lexState)
    this(stream);
    SwitchTo(lexState);
 }
-static public void ReInit(SimpleCharStream stream)
+public void ReInit(SimpleCharStream stream)
 {
    jjmatchedPos = jjnewStateCnt = 0;
    curLexState = defaultLexState;
    input_stream = stream;
    ReInitRounds();
 }
-static private final void ReInitRounds()
+private final void ReInitRounds()
 {
    int i;
    jjround = 0x80000001;
    for (i = 160; i-- > 0;)
       jjrounds[i] = 0x80000000;
 }
-static public void ReInit(SimpleCharStream stream, int lexState)
+public void ReInit(SimpleCharStream stream, int lexState)
 {
    ReInit(stream);
    SwitchTo(lexState);
 }
-static public void SwitchTo(int lexState)
+public void SwitchTo(int lexState)
 {
    if (lexState >= 3 || lexState < 0)
       throw new TokenMgrError("Error: Ignoring invalid lexical state : " + lexState + ". State unchanged.", TokenMgrError.INVALID_LEXICAL_STATE);
@@ -2550,7 +2555,7 @@ static public void SwitchTo(int lexState)
       curLexState = lexState;
 }
 
-static protected Token jjFillToken()
+protected Token jjFillToken()
 {
    Token t = Token.newToken(jjmatchedKind);
    t.kind = jjmatchedKind;
@@ -2563,14 +2568,14 @@ static protected Token jjFillToken()
    return t;
 }
 
-static int curLexState = 0;
-static int defaultLexState = 0;
-static int jjnewStateCnt;
-static int jjround;
-static int jjmatchedPos;
-static int jjmatchedKind;
+int curLexState = 0;
+int defaultLexState = 0;
+int jjnewStateCnt;
+int jjround;
+int jjmatchedPos;
+int jjmatchedKind;
 
-public static Token getNextToken() 
+public Token getNextToken() 
 {
   int kind;
   Token specialToken = null;
@@ -2631,11 +2636,11 @@ public static Token getNextToken()
            if(my_chars.startsWith("DATOTEKA"))
            {
                //System.out.println("DATOTEKA JE: "+my_chars);
-               cplusplus.toPrint(my_chars);
+               parser.toPrint(my_chars);
                ispis_naziva_datoteke = true;
            }
            else if(ispis_naziva_datoteke)
-               cplusplus.toPrint(my_chars);
+               parser.toPrint(my_chars);
            
            if(my_chars.contains("."))
                    ispis_naziva_datoteke = false;
@@ -2679,7 +2684,7 @@ public static Token getNextToken()
   }
 }
 
-static void SkipLexicalActions(Token matchedToken)
+void SkipLexicalActions(Token matchedToken)
 {
    switch(jjmatchedKind)
    {
@@ -2688,21 +2693,21 @@ static void SkipLexicalActions(Token matchedToken)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.lineNo++;
-    cplusplus.seenNewLine = true;
+    parser.lineNo++;
+    parser.seenNewLine = true;
          break;
       case 6 :
          if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.lineNo++;
+    parser.lineNo++;
          break;
       default :
          break;
    }
 }
-static void TokenLexicalActions(Token matchedToken)
+void TokenLexicalActions(Token matchedToken)
 {
    switch(jjmatchedKind)
    {
@@ -2711,712 +2716,712 @@ static void TokenLexicalActions(Token matchedToken)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.lineNo++;
-    if (cplusplus.seenNewLine)
-      cplusplus.print=true;
-    cplusplus.seenNewLine=true;
+    parser.lineNo++;
+    if (parser.seenNewLine)
+      parser.print=true;
+    parser.seenNewLine=true;
          break;
       case 3 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[3]);
          else
             image.append(jjstrLiteralImages[3]);
-    cplusplus.toPrint("<IN_LINE_COMMENT>");
-    cplusplus.print = true;
+    parser.toPrint("<IN_LINE_COMMENT>");
+    parser.print = true;
          break;
       case 4 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[4]);
          else
             image.append(jjstrLiteralImages[4]);
-    cplusplus.toPrint("<MULTI_LINE_COMMENT>");
-    cplusplus.print = true;
+    parser.toPrint("<MULTI_LINE_COMMENT>");
+    parser.print = true;
          break;
       case 9 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.toPrint("<RSVD>");
+    parser.toPrint("<RSVD>");
          break;
       case 10 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.toPrint("<TYPE>");
+    parser.toPrint("<TYPE>");
          break;
       case 11 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.toPrint("<AUTO>");
+    parser.toPrint("<AUTO>");
          break;
       case 12 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.toPrint("<BREAK>");
+    parser.toPrint("<BREAK>");
          break;
       case 13 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.toPrint("<CASE>");
+    parser.toPrint("<CASE>");
          break;
       case 14 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.toPrint("<CATCH>");
+    parser.toPrint("<CATCH>");
          break;
       case 15 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.toPrint("<CLASS>");
+    parser.toPrint("<CLASS>");
          break;
       case 16 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.toPrint("<BREAK>");
+    parser.toPrint("<BREAK>");
          break;
       case 17 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.toPrint("<CASE>");
+    parser.toPrint("<CASE>");
          break;
       case 18 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.toPrint("<DELETE>");
+    parser.toPrint("<DELETE>");
          break;
       case 19 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.toPrint("<LOOP>");
+    parser.toPrint("<LOOP>");
          break;
       case 20 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.toPrint("<IF>");
+    parser.toPrint("<IF>");
          break;
       case 21 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.toPrint("<ENUM>");
+    parser.toPrint("<ENUM>");
          break;
       case 22 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.toPrint("<EXTERN>");
+    parser.toPrint("<EXTERN>");
          break;
       case 23 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.toPrint("<BOOL>");
+    parser.toPrint("<BOOL>");
          break;
       case 24 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.toPrint("<FINALLY>");
+    parser.toPrint("<FINALLY>");
          break;
       case 25 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.toPrint("<TYPE>");
+    parser.toPrint("<TYPE>");
          break;
       case 26 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.toPrint("<LOOP>");
+    parser.toPrint("<LOOP>");
          break;
       case 27 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.toPrint("<FRIEND>");
+    parser.toPrint("<FRIEND>");
          break;
       case 28 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.toPrint("<IF>");
+    parser.toPrint("<IF>");
          break;
       case 29 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.toPrint("<MODIFIER>");
+    parser.toPrint("<MODIFIER>");
          break;
       case 30 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.toPrint("<IMPORT>");
+    parser.toPrint("<IMPORT>");
          break;
       case 31 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.toPrint("<INLINE>");
+    parser.toPrint("<INLINE>");
          break;
       case 32 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.toPrint("<TYPE>");
+    parser.toPrint("<TYPE>");
          break;
       case 33 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.toPrint("<MODIFIER>");
+    parser.toPrint("<MODIFIER>");
          break;
       case 34 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.toPrint("<NATIVE>");
+    parser.toPrint("<NATIVE>");
          break;
       case 35 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.toPrint("<NEW>");
+    parser.toPrint("<NEW>");
          break;
       case 36 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.toPrint("<NULL>");
+    parser.toPrint("<NULL>");
          break;
       case 37 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.toPrint("<PACKAGE>");
+    parser.toPrint("<PACKAGE>");
          break;
       case 38 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.toPrint("<REDECLARED>");
+    parser.toPrint("<REDECLARED>");
          break;
       case 39 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.toPrint("<REGISTER>");
+    parser.toPrint("<REGISTER>");
          break;
       case 40 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.toPrint("<RETURN>");
+    parser.toPrint("<RETURN>");
          break;
       case 41 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.toPrint("<TYPE>");
+    parser.toPrint("<TYPE>");
          break;
       case 42 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.toPrint("<SIGNED>");
+    parser.toPrint("<SIGNED>");
          break;
       case 43 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.toPrint("<SIZEOF>");
+    parser.toPrint("<SIZEOF>");
          break;
       case 44 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.toPrint("<STATIC>");
+    parser.toPrint("<STATIC>");
          break;
       case 45 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.toPrint("<STRUCT>");
+    parser.toPrint("<STRUCT>");
          break;
       case 46 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.toPrint("<SUPER>");
+    parser.toPrint("<SUPER>");
          break;
       case 47 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.toPrint("<CASE>");
+    parser.toPrint("<CASE>");
          break;
       case 48 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.toPrint("");
+    parser.toPrint("");
          break;
       case 49 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.toPrint("<TRY>");
+    parser.toPrint("<TRY>");
          break;
       case 50 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.toPrint("<BOOL>");
+    parser.toPrint("<BOOL>");
          break;
       case 51 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.toPrint("<TRY>");
+    parser.toPrint("<TRY>");
          break;
       case 52 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.toPrint("<UNION>");
+    parser.toPrint("<UNION>");
          break;
       case 53 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.toPrint("<UNSIGNED>");
+    parser.toPrint("<UNSIGNED>");
          break;
       case 54 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.toPrint("<VIRTUAL>");
+    parser.toPrint("<VIRTUAL>");
          break;
       case 55 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.toPrint("<LOOP>");
+    parser.toPrint("<LOOP>");
          break;
       case 56 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.toPrint("<MODIFIER>");
+    parser.toPrint("<MODIFIER>");
          break;
       case 57 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.toPrint("<IDT>");
+    parser.toPrint("<IDT>");
          break;
       case 60 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.toPrint("<VALUE>");
+    parser.toPrint("<VALUE>");
          break;
       case 64 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.toPrint("<VALUE>");
+    parser.toPrint("<VALUE>");
          break;
       case 66 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.toPrint("<VALUE>");
+    parser.toPrint("<VALUE>");
          break;
       case 67 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.toPrint("<VALUE>");
+    parser.toPrint("<VALUE>");
          break;
       case 68 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[68]);
          else
             image.append(jjstrLiteralImages[68]);
-    cplusplus.toPrint("(");
+    parser.toPrint("(");
          break;
       case 69 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[69]);
          else
             image.append(jjstrLiteralImages[69]);
-    cplusplus.toPrint(")");
+    parser.toPrint(")");
          break;
       case 70 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[70]);
          else
             image.append(jjstrLiteralImages[70]);
-    cplusplus.toPrint("{");
+    parser.toPrint("{");
          break;
       case 71 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[71]);
          else
             image.append(jjstrLiteralImages[71]);
-    cplusplus.toPrint("}");
+    parser.toPrint("}");
          break;
       case 72 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[72]);
          else
             image.append(jjstrLiteralImages[72]);
-    cplusplus.toPrint("[");
+    parser.toPrint("[");
          break;
       case 73 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[73]);
          else
             image.append(jjstrLiteralImages[73]);
-    cplusplus.toPrint("]");
+    parser.toPrint("]");
          break;
       case 74 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[74]);
          else
             image.append(jjstrLiteralImages[74]);
-    cplusplus.toPrint("");
+    parser.toPrint("");
          break;
       case 75 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[75]);
          else
             image.append(jjstrLiteralImages[75]);
-    cplusplus.toPrint(",");
+    parser.toPrint(",");
          break;
       case 76 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[76]);
          else
             image.append(jjstrLiteralImages[76]);
-    cplusplus.toPrint(".");
+    parser.toPrint(".");
          break;
       case 77 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[77]);
          else
             image.append(jjstrLiteralImages[77]);
-    cplusplus.toPrint("?");
+    parser.toPrint("?");
          break;
       case 78 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[78]);
          else
             image.append(jjstrLiteralImages[78]);
-    cplusplus.toPrint("...");
+    parser.toPrint("...");
          break;
       case 79 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[79]);
          else
             image.append(jjstrLiteralImages[79]);
-    cplusplus.toPrint("=");
+    parser.toPrint("=");
          break;
       case 80 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[80]);
          else
             image.append(jjstrLiteralImages[80]);
-    cplusplus.toPrint("==");
+    parser.toPrint("==");
          break;
       case 81 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[81]);
          else
             image.append(jjstrLiteralImages[81]);
-    cplusplus.toPrint("==");
+    parser.toPrint("==");
          break;
       case 82 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[82]);
          else
             image.append(jjstrLiteralImages[82]);
-    cplusplus.toPrint("");
+    parser.toPrint("");
          break;
       case 83 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[83]);
          else
             image.append(jjstrLiteralImages[83]);
-    cplusplus.toPrint("~");
+    parser.toPrint("~");
          break;
       case 84 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[84]);
          else
             image.append(jjstrLiteralImages[84]);
-    cplusplus.toPrint("::");
+    parser.toPrint("::");
          break;
       case 85 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[85]);
          else
             image.append(jjstrLiteralImages[85]);
-    cplusplus.toPrint(":");
+    parser.toPrint(":");
          break;
       case 86 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[86]);
          else
             image.append(jjstrLiteralImages[86]);
-    cplusplus.toPrint("==");
+    parser.toPrint("==");
          break;
       case 87 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[87]);
          else
             image.append(jjstrLiteralImages[87]);
-    cplusplus.toPrint("==");
+    parser.toPrint("==");
          break;
       case 88 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[88]);
          else
             image.append(jjstrLiteralImages[88]);
-    cplusplus.toPrint("==");
+    parser.toPrint("==");
          break;
       case 89 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[89]);
          else
             image.append(jjstrLiteralImages[89]);
-    cplusplus.toPrint("==");
+    parser.toPrint("==");
          break;
       case 90 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[90]);
          else
             image.append(jjstrLiteralImages[90]);
-    cplusplus.toPrint("&&");
+    parser.toPrint("&&");
          break;
       case 91 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[91]);
          else
             image.append(jjstrLiteralImages[91]);
-    cplusplus.toPrint("&&");
+    parser.toPrint("&&");
          break;
       case 92 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[92]);
          else
             image.append(jjstrLiteralImages[92]);
-    cplusplus.toPrint("+=<NUM>");
+    parser.toPrint("+=<NUM>");
          break;
       case 93 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[93]);
          else
             image.append(jjstrLiteralImages[93]);
-    cplusplus.toPrint("-=<NUM>");
+    parser.toPrint("-=<NUM>");
          break;
       case 94 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[94]);
          else
             image.append(jjstrLiteralImages[94]);
-    cplusplus.toPrint("+");
+    parser.toPrint("+");
          break;
       case 95 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[95]);
          else
             image.append(jjstrLiteralImages[95]);
-    cplusplus.toPrint("-");
+    parser.toPrint("-");
          break;
       case 96 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[96]);
          else
             image.append(jjstrLiteralImages[96]);
-    cplusplus.toPrint("*");
+    parser.toPrint("*");
          break;
       case 97 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[97]);
          else
             image.append(jjstrLiteralImages[97]);
-    cplusplus.toPrint("/");
+    parser.toPrint("/");
          break;
       case 98 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[98]);
          else
             image.append(jjstrLiteralImages[98]);
-    cplusplus.toPrint("&");
+    parser.toPrint("&");
          break;
       case 99 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[99]);
          else
             image.append(jjstrLiteralImages[99]);
-    cplusplus.toPrint("&");
+    parser.toPrint("&");
          break;
       case 100 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[100]);
          else
             image.append(jjstrLiteralImages[100]);
-    cplusplus.toPrint("&");
+    parser.toPrint("&");
          break;
       case 101 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[101]);
          else
             image.append(jjstrLiteralImages[101]);
-    cplusplus.toPrint("%");
+    parser.toPrint("%");
          break;
       case 102 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.toPrint("<<");
+    parser.toPrint("<<");
          break;
       case 103 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[103]);
          else
             image.append(jjstrLiteralImages[103]);
-    cplusplus.toPrint("->");
+    parser.toPrint("->");
          break;
       case 104 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[104]);
          else
             image.append(jjstrLiteralImages[104]);
-    cplusplus.toPrint("->");
+    parser.toPrint("->");
          break;
       case 105 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[105]);
          else
             image.append(jjstrLiteralImages[105]);
-    cplusplus.toPrint("->");
+    parser.toPrint("->");
          break;
       case 106 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[106]);
          else
             image.append(jjstrLiteralImages[106]);
-    cplusplus.toPrint("+=");
+    parser.toPrint("+=");
          break;
       case 107 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[107]);
          else
             image.append(jjstrLiteralImages[107]);
-    cplusplus.toPrint("-=");
+    parser.toPrint("-=");
          break;
       case 108 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[108]);
          else
             image.append(jjstrLiteralImages[108]);
-    cplusplus.toPrint("*=");
+    parser.toPrint("*=");
          break;
       case 109 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[109]);
          else
             image.append(jjstrLiteralImages[109]);
-    cplusplus.toPrint("/=");
+    parser.toPrint("/=");
          break;
       case 110 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.toPrint("&=");
+    parser.toPrint("&=");
          break;
       case 111 :
         if (image == null)
             image = new StringBuffer(jjstrLiteralImages[111]);
          else
             image.append(jjstrLiteralImages[111]);
-    cplusplus.toPrint("%=");
+    parser.toPrint("%=");
          break;
       case 112 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
-    cplusplus.toPrint("<<=");
+    parser.toPrint("<<=");
          break;
       default : 
          break;
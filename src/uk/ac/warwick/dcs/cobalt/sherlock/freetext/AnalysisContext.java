@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 1999-2003 The University of Warwick. All Rights Reserved.
+ */
+package uk.ac.warwick.dcs.cobalt.sherlock.freetext;
+
+import java.util.*;
+
+import uk.ac.warwick.dcs.cobalt.sherlock.*;
+
+/**
+ * <p>The state shared by the documents and sentences of one free-text
+ * analysis: the dictionary giving words their IDs, the table giving the
+ * documents their IDs in sentence pairs, the words too common to be useful,
+ * and the thresholds used to decide whether two sentences are similar. Every Document and Sentence belongs to a context, so two
+ * analyses with different settings can run in the same JVM, and documents
+ * can be parsed and compared from more than one thread at once.</p>
+ * <p>Sentences can only be compared with sentences of the same context, as
+ * the IDs of their words come from its dictionary.</p>
+ * <p>Title: Sherlock 2000</p>
+ * <p>Description: Plagiarism Detection Software</p>
+ * <p>Copyright: Copyright (c) 2002</p>
+ * <p>Company: University of Warwick</p>
+ */
+public class AnalysisContext {
+
+  /**
+   * Words that are common in English, used when no other common words have
+   * been set.
+   */
+  private static final String[] DEFAULT_COMMON = {
+      "the", "a", "an", "its", "this", "that",
+      "to", "in", "his", "hers", "these", "we", "they", "do", "so", "be", "as",
+      "if", "of", "and", "for", "any", "on", "or", "is", "was", "out", "are"};
+
+  /**
+   * Gives an ID to every word that has been parsed that is not in the
+   * commonWords set.
+   */
+  private WordDictionary dictionary = new WordDictionary(2000);
+
+  /**
+   * Gives an ID to the name of every document linked to by the sentence
+   * pairs of this analysis.
+   */
+  private DocumentNames documentNames = new DocumentNames();
+
+  /**
+   * The words that are too common to be useful, as Strings. Not changed
+   * once parsing has started, so it is safe to read from any thread.
+   */
+  private HashSet commonWords = new HashSet(64);
+
+  /**
+   * Percentage similarity used to determine if sentences should be marked as
+   * similar.
+   */
+  private int simThreshold = 80;
+
+  /**
+   * If two sentences contain more than this amount of words in common then
+   * they are marked as similar regardless of the similarity threshold.
+   */
+  private int commonThreshold = 6;
+
+  /**
+   * Whether all the documents are kept in memory during the comparison,
+   * rather than being read in again for each pair.
+   */
+  private boolean memIntensive = true;
+
+  /**
+   * Groups sentences into locality-sensitive hashing bands, so that only
+   * those likely to be similar are compared. Null to compare every pair of
+   * sentences sharing a word.
+   */
+  private MinHash minHash = null;
+
+  /**
+   * Constructor, using the default settings and common words.
+   */
+  public AnalysisContext() {
+    setCommonWords(DEFAULT_COMMON);
+  }
+
+  /**
+   * Constructor, taking the settings and common words from the given
+   * profile.
+   * @param profile The settings of the sentence file type.
+   */
+  public AnalysisContext(FileTypeProfile profile) {
+    simThreshold = profile.getSimThreshold();
+    commonThreshold = profile.getCommonThreshold();
+    memIntensive = profile.getMemIntensive();
+    setLsh(profile.getLshBands(), profile.getLshRows());
+    setCommonWords(profile.getCommonWords());
+  }
+
+  /**
+   * The dictionary for all documents in this context that have been parsed
+   * or read in so far.
+   * @return A WordDictionary containing unique, non-common words.
+   */
+  public WordDictionary getDictionary() {
+    return dictionary;
+  }
+
+  /**
+   * The table of document names the sentence pairs of this context link to.
+   * @return The DocumentNames giving each document its ID.
+   */
+  public DocumentNames getDocumentNames() {
+    return documentNames;
+  }
+
+  /**
+   * Whether the given word is too common to be added to sentences.
+   * @param word The word, in lower case.
+   * @return true if the word is common.
+   */
+  public boolean isCommon(String word) {
+    return commonWords.contains(word);
+  }
+
+  /**
+   * Change the common words of this context. Should not be called once
+   * parsing has started.
+   * @param commonArray The new common words.
+   */
+  public void setCommonWords(String[] commonArray) {
+    commonWords.clear();
+    for (int i = 0; i < commonArray.length; i++) {
+      commonWords.add(commonArray[i]);
+    }
+  }
+
+  /**
+   * The percentage similarity above which sentences are marked as similar.
+   * @return The similarity threshold.
+   */
+  public int getSimThreshold() {
+    return simThreshold;
+  }
+
+  /**
+   * Change the percentage similarity above which sentences are marked as
+   * similar.
+   * @param i The new similarity threshold.
+   */
+  public void setSimThreshold(int i) {
+    simThreshold = i;
+  }
+
+  /**
+   * The number of words in common above which sentences are marked as
+   * similar.
+   * @return The common words threshold.
+   */
+  public int getCommonThreshold() {
+    return commonThreshold;
+  }
+
+  /**
+   * Change the number of words in common above which sentences are marked
+   * as similar.
+   * @param i The new common words threshold.
+   */
+  public void setCommonThreshold(int i) {
+    commonThreshold = i;
+  }
+
+  /**
+   * Whether all the documents are kept in memory during the comparison.
+   * @return true if they are kept in memory.
+   */
+  public boolean isMemIntensive() {
+    return memIntensive;
+  }
+
+  /**
+   * Change whether all the documents are kept in memory during the
+   * comparison.
+   * @param val true to keep them in memory.
+   */
+  public void setMemIntensive(boolean val) {
+    memIntensive = val;
+  }
+
+  /**
+   * The locality-sensitive hashing used to choose which sentences are
+   * compared.
+   * @return The MinHash settings, or null if every pair of sentences sharing
+   * a word is compared.
+   */
+  public MinHash getMinHash() {
+    return minHash;
+  }
+
+  /**
+   * Change the locality-sensitive hashing used to choose which sentences are
+   * compared. Should not be called once comparing has started.
+   * @param bands The number of bands, or 0 to turn the hashing off.
+   * @param rows The number of MinHash values in each band.
+   */
+  public void setLsh(int bands, int rows) {
+    if (bands > 0 && rows > 0) {
+      minHash = new MinHash(bands, rows);
+    }
+    else {
+      minHash = null;
+    }
+  }
+}
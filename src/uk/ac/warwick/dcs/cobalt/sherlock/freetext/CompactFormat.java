@@ -0,0 +1,482 @@
+/*
+ * Copyright (c) 1999-2003 The University of Warwick. All Rights Reserved.
+ */
+package uk.ac.warwick.dcs.cobalt.sherlock.freetext;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * <p>Reads and writes parsed documents and arrays of sentence pairs in a
+ * compact binary format, rather than as serialised objects. Every file
+ * starts with a magic number saying what it holds and the version of the
+ * format, followed by a table of the strings used in the file: words and
+ * file names. Everything else refers to strings by their index in the
+ * table.</p>
+ * <p>A document is its file name, then each sentence as its ID,
+ * coordinates, exclude flag, the indexes of its words and its sentence
+ * pair. A sentence pair is its name and ID, its flags, and its links held
+ * as columns of names, IDs, scores and ignored flags. A file of pairs is a
+ * count followed by the pairs.</p>
+ * <p>Files saved as serialised objects by earlier versions of Sherlock can
+ * still be read, and can be converted by running this class with the files
+ * or directories to convert.</p>
+ * <p>Title: Sherlock 2000</p>
+ * <p>Description: Plagiarism Detection Software</p>
+ * <p>Copyright: Copyright (c) 2002</p>
+ * <p>Company: University of Warwick</p>
+ */
+public class CompactFormat {
+
+  /**
+   * Starts a file holding a document, "SHKD".
+   */
+  static final int DOCUMENT_MAGIC = 0x53484B44;
+
+  /**
+   * Starts a file holding an array of sentence pairs, "SHKP".
+   */
+  static final int PAIRS_MAGIC = 0x53484B50;
+
+  /**
+   * The version of the format written.
+   */
+  static final int VERSION = 1;
+
+  /**
+   * The first two bytes of a file of serialised objects.
+   */
+  private static final int SERIALISED_MAGIC = 0xACED;
+
+  /**
+   * Only used statically.
+   */
+  private CompactFormat() {
+  }
+
+  /**
+   * Writes a document to the given stream. The stream is flushed but not
+   * closed.
+   * @param doc The document to write.
+   * @param out The stream to write to.
+   * @throws IOException If the document cannot be written.
+   */
+  public static void writeDocument(Document doc, OutputStream out) throws
+      IOException {
+    Vector sentences = doc.getSentences();
+    String[][] words = new String[sentences.size()][];
+    StringTable strings = new StringTable();
+    strings.add(doc.getFileName());
+    for (int i = 0; i < sentences.size(); i++) {
+      Sentence sentence = (Sentence) sentences.get(i);
+      words[i] = sentence.getWords();
+      for (int j = 0; j < words[i].length; j++) {
+        strings.add(words[i][j]);
+      }
+      strings.add(sentence.getFileName());
+      sentence.getSentencePairs().addStrings(strings);
+    }
+
+    DataOutputStream data = new DataOutputStream
+        (new BufferedOutputStream(out));
+    data.writeInt(DOCUMENT_MAGIC);
+    data.writeShort(VERSION);
+    strings.write(data);
+    data.writeInt(strings.indexOf(doc.getFileName()));
+    data.writeInt(sentences.size());
+    for (int i = 0; i < sentences.size(); i++) {
+      Sentence sentence = (Sentence) sentences.get(i);
+      int[] coords = sentence.getCoords();
+      data.writeInt(strings.indexOf(sentence.getFileName()));
+      data.writeInt(sentence.getId());
+      data.writeInt(sentence.getLineNo());
+      data.writeInt(coords[Sentence.START_COL]);
+      data.writeInt(coords[Sentence.END_LINE]);
+      data.writeInt(coords[Sentence.END_COL]);
+      data.writeBoolean(sentence.isInExcludeFile());
+      data.writeInt(words[i].length);
+      for (int j = 0; j < words[i].length; j++) {
+        data.writeInt(strings.indexOf(words[i][j]));
+      }
+      sentence.getSentencePairs().write(data, strings);
+    }
+    data.flush();
+  }
+
+  /**
+   * Reads a document written by writeDocument() from the given stream.
+   * @param in The stream to read from, which is not closed.
+   * @param context The analysis to read the document into.
+   * @return The document.
+   * @throws IOException If the stream does not hold a document in this
+   * format, or cannot be read.
+   */
+  public static Document readDocument(InputStream in, AnalysisContext context) throws
+      IOException {
+    DataInputStream data = new DataInputStream
+        (new BufferedInputStream(in));
+    String[] strings = readHeader(data, DOCUMENT_MAGIC);
+
+    // Each distinct word only needs looking up in the dictionary once.
+    int[] ids = new int[strings.length];
+    Arrays.fill(ids, -1);
+    // Likewise each document name in the context's name table.
+    int[] docIds = new int[strings.length];
+    Arrays.fill(docIds, -1);
+    WordDictionary dictionary = context.getDictionary();
+    DocumentNames docNames = context.getDocumentNames();
+
+    Document doc = new Document(context);
+    doc.setFileName(readString(data, strings));
+    int count = data.readInt();
+    Vector sentences = doc.getSentences();
+    sentences.ensureCapacity(count);
+    for (int i = 0; i < count; i++) {
+      String fileName = readString(data, strings);
+      int id = data.readInt();
+      int lineNo = data.readInt();
+      int startCol = data.readInt();
+      Sentence sentence = new Sentence(lineNo, startCol, id, context);
+      sentence.setEndCoords(data.readInt() + 1, data.readInt());
+      sentence.setInExcludeFile(data.readBoolean());
+      int[] wordIds = new int[data.readInt()];
+      for (int j = 0; j < wordIds.length; j++) {
+        int index = data.readInt();
+        if (ids[index] < 0) {
+          ids[index] = dictionary.getId(strings[index]);
+        }
+        wordIds[j] = ids[index];
+      }
+      sentence.setWordIds(wordIds);
+      sentence.setFileName(fileName);
+      sentence.setSentencePair(SentencePair.read(data, strings, docIds,
+                                                 docNames));
+      sentences.add(sentence);
+    }
+    return doc;
+  }
+
+  /**
+   * Writes an array of sentence pairs to the given stream. The stream is
+   * flushed but not closed.
+   * @param pairs The pairs to write.
+   * @param out The stream to write to.
+   * @throws IOException If the pairs cannot be written.
+   */
+  public static void writePairs(SentencePair[] pairs, OutputStream out) throws
+      IOException {
+    StringTable strings = new StringTable();
+    for (int i = 0; i < pairs.length; i++) {
+      pairs[i].addStrings(strings);
+    }
+
+    DataOutputStream data = new DataOutputStream
+        (new BufferedOutputStream(out));
+    data.writeInt(PAIRS_MAGIC);
+    data.writeShort(VERSION);
+    strings.write(data);
+    data.writeInt(pairs.length);
+    for (int i = 0; i < pairs.length; i++) {
+      pairs[i].write(data, strings);
+    }
+    data.flush();
+  }
+
+  /**
+   * Reads an array of sentence pairs written by writePairs() from the given
+   * stream.
+   * @param in The stream to read from, which is not closed.
+   * @param docNames The table to give the documents linked to their IDs.
+   * @return The pairs.
+   * @throws IOException If the stream does not hold pairs in this format, or
+   * cannot be read.
+   */
+  public static SentencePair[] readPairs(InputStream in,
+                                         DocumentNames docNames) throws
+      IOException {
+    DataInputStream data = new DataInputStream
+        (new BufferedInputStream(in));
+    String[] strings = readHeader(data, PAIRS_MAGIC);
+    int[] docIds = new int[strings.length];
+    Arrays.fill(docIds, -1);
+    SentencePair[] pairs = new SentencePair[data.readInt()];
+    for (int i = 0; i < pairs.length; i++) {
+      pairs[i] = SentencePair.read(data, strings, docIds, docNames);
+    }
+    return pairs;
+  }
+
+  /**
+   * Reads a document from a file, in this format or as a serialised object.
+   * @param file The file to read.
+   * @param context The analysis to read the document into.
+   * @return The document.
+   * @throws IOException If the file cannot be read.
+   * @throws ClassNotFoundException If a serialised class cannot be found.
+   */
+  public static Document readDocument(File file, AnalysisContext context) throws
+      IOException, ClassNotFoundException {
+    InputStream in = new BufferedInputStream(new FileInputStream(file));
+    try {
+      if (isSerialised(in)) {
+        Document doc = (Document) new ObjectInputStream(in).readObject();
+        doc.setContext(context);
+        return doc;
+      }
+      return readDocument(in, context);
+    }
+    finally {
+      in.close();
+    }
+  }
+
+  /**
+   * Reads an array of sentence pairs from a file, in this format or as a
+   * serialised object. The pairs have a table of document names to
+   * themselves.
+   * @param file The file to read.
+   * @return The pairs.
+   * @throws IOException If the file cannot be read.
+   * @throws ClassNotFoundException If a serialised class cannot be found.
+   */
+  public static SentencePair[] readPairs(File file) throws IOException,
+      ClassNotFoundException {
+    return readPairs(file, new DocumentNames());
+  }
+
+  /**
+   * Reads an array of sentence pairs from a file, in this format or as a
+   * serialised object, giving the documents they link to IDs from the given
+   * table, so that they can be compared with the IDs of other files read
+   * with the same table.
+   * @param file The file to read.
+   * @param docNames The table to give the documents linked to their IDs.
+   * @return The pairs.
+   * @throws IOException If the file cannot be read.
+   * @throws ClassNotFoundException If a serialised class cannot be found.
+   */
+  public static SentencePair[] readPairs(File file, DocumentNames docNames) throws
+      IOException, ClassNotFoundException {
+    InputStream in = new BufferedInputStream(new FileInputStream(file));
+    try {
+      if (isSerialised(in)) {
+        SentencePair[] pairs =
+            (SentencePair[]) new ObjectInputStream(in).readObject();
+        for (int i = 0; i < pairs.length; i++) {
+          pairs[i].setDocumentNames(docNames);
+        }
+        return pairs;
+      }
+      return readPairs(in, docNames);
+    }
+    finally {
+      in.close();
+    }
+  }
+
+  /**
+   * Writes a document to a file.
+   * @param doc The document to write.
+   * @param file The file to write to.
+   * @throws IOException If the file cannot be written.
+   */
+  public static void writeDocument(Document doc, File file) throws
+      IOException {
+    OutputStream out = new FileOutputStream(file);
+    try {
+      writeDocument(doc, out);
+    }
+    finally {
+      out.close();
+    }
+  }
+
+  /**
+   * Writes an array of sentence pairs to a file.
+   * @param pairs The pairs to write.
+   * @param file The file to write to.
+   * @throws IOException If the file cannot be written.
+   */
+  public static void writePairs(SentencePair[] pairs, File file) throws
+      IOException {
+    OutputStream out = new FileOutputStream(file);
+    try {
+      writePairs(pairs, out);
+    }
+    finally {
+      out.close();
+    }
+  }
+
+  /**
+   * Whether the given stream holds serialised objects, rather than this
+   * format. The stream is left where it was.
+   * @param in The stream, which must support mark().
+   * @return true if it holds serialised objects.
+   * @throws IOException If the stream cannot be read.
+   */
+  private static boolean isSerialised(InputStream in) throws IOException {
+    in.mark(2);
+    int magic = (in.read() << 8) | in.read();
+    in.reset();
+    return magic == SERIALISED_MAGIC;
+  }
+
+  /**
+   * Checks the magic number and version at the start of a file, and reads
+   * its string table.
+   * @param data The stream to read from.
+   * @param magic The magic number the file should start with.
+   * @return The string table.
+   * @throws IOException If the file does not start with the magic number,
+   * is of a later version, or cannot be read.
+   */
+  private static String[] readHeader(DataInputStream data, int magic) throws
+      IOException {
+    if (data.readInt() != magic) {
+      throw new IOException("Not a Sherlock sentence file");
+    }
+    int version = data.readUnsignedShort();
+    if (version > VERSION) {
+      throw new IOException("Sentence file version " + version
+                            + " is newer than this version of Sherlock");
+    }
+    String[] strings = new String[data.readInt()];
+    for (int i = 0; i < strings.length; i++) {
+      strings[i] = data.readUTF();
+    }
+    return strings;
+  }
+
+  /**
+   * Reads the index of a string, which may be null.
+   * @param data The stream to read from.
+   * @param strings The string table of the file.
+   * @return The string.
+   * @throws IOException If the index cannot be read.
+   */
+  private static String readString(DataInputStream data, String[] strings) throws
+      IOException {
+    int index = data.readInt();
+    return index < 0 ? null : strings[index];
+  }
+
+  /**
+   * Converts a file saved as a serialised document or array of sentence
+   * pairs to this format. Other files are left alone.
+   * @param file The file to convert.
+   * @return true if the file was converted.
+   * @throws IOException If the file cannot be read or written.
+   * @throws ClassNotFoundException If a serialised class cannot be found.
+   */
+  public static boolean convert(File file) throws IOException,
+      ClassNotFoundException {
+    Object obj;
+    InputStream in = new BufferedInputStream(new FileInputStream(file));
+    try {
+      if (!isSerialised(in)) {
+        return false;
+      }
+      obj = new ObjectInputStream(in).readObject();
+    }
+    finally {
+      in.close();
+    }
+
+    if (obj instanceof Document) {
+      Document doc = (Document) obj;
+      doc.setContext(new AnalysisContext());
+      writeDocument(doc, file);
+      return true;
+    }
+    if (obj instanceof SentencePair[]) {
+      writePairs( (SentencePair[]) obj, file);
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Converts the given files, and the files in the given directories, from
+   * serialised objects to this format.
+   * @param args The files and directories to convert.
+   */
+  public static void main(String[] args) {
+    if (args.length == 0) {
+      System.out.println("Usage: java " + CompactFormat.class.getName()
+                         + " file|directory...");
+      return;
+    }
+    int converted = 0;
+    for (int i = 0; i < args.length; i++) {
+      File arg = new File(args[i]);
+      File[] files = arg.isDirectory() ? arg.listFiles() : new File[] {arg};
+      for (int j = 0; j < files.length; j++) {
+        if (!files[j].isFile()) {
+          continue;
+        }
+        try {
+          if (convert(files[j])) {
+            converted++;
+          }
+        }
+        catch (Exception e) {
+          System.out.println("Could not convert " + files[j] + ": " + e);
+        }
+      }
+    }
+    System.out.println("Converted " + converted + " files.");
+  }
+
+  /**
+   * The strings used in a file, each given an index in the order they were
+   * first added.
+   */
+  static class StringTable {
+
+    /**
+     * The index of each string, as an Integer.
+     */
+    private HashMap indexes = new HashMap();
+
+    /**
+     * The strings, in order of index.
+     */
+    private ArrayList strings = new ArrayList();
+
+    /**
+     * Adds a string to the table, if it is not there already.
+     * @param s The string; null is never added.
+     */
+    void add(String s) {
+      if (s != null && !indexes.containsKey(s)) {
+        indexes.put(s, new Integer(strings.size()));
+        strings.add(s);
+      }
+    }
+
+    /**
+     * The index of a string that has been added.
+     * @param s The string.
+     * @return Its index, or -1 for null.
+     */
+    int indexOf(String s) {
+      if (s == null) {
+        return -1;
+      }
+      return ( (Integer) indexes.get(s)).intValue();
+    }
+
+    /**
+     * Writes the table.
+     * @param data The stream to write to.
+     * @throws IOException If the table cannot be written.
+     */
+    void write(DataOutputStream data) throws IOException {
+      data.writeInt(strings.size());
+      for (int i = 0; i < strings.size(); i++) {
+        data.writeUTF( (String) strings.get(i));
+      }
+    }
+  }
+}
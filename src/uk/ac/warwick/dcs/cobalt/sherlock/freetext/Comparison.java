@@ -40,7 +40,12 @@ public class Comparison {
   // while the second is the sentence within that document.
   private SentencePair sentencePairs[][];
 
-  public static boolean MEM_INTENSIVE = true;
+  // The settings and dictionary of this comparison.
+  private AnalysisContext context;
+  // The number of threads documents are compared on.
+  private int threads;
+  // The next document to compare against the rows in compareBlock().
+  private int nextColumn;
 
   /**
    * The constructor.
@@ -57,6 +62,8 @@ public class Comparison {
     this.sourceDirectory = sourceDirectory;
     this.sentProfile = sentProfile;
     this.samelines = samelines;
+    context = new AnalysisContext(sentProfile);
+    threads = Settings.getSherlockSettings().getDetectionThreads();
     excludeFile = new File(sourceDirectory + File.separator +
                            sentProfile.getDirectory(),
                            Settings.getSherlockSettings().getExcludeFile() +
@@ -100,7 +107,7 @@ public class Comparison {
       } // for(... i<filesToCompare.length; ...)
 
       docs = new Document[filesToCompare.length];
-      if (MEM_INTENSIVE) {
+      if (context.isMemIntensive()) {
         for (int i = 0; i < docs.length; i++) {
           File temp = new File(sourceDirectory + File.separator
                                + sentProfile.getDirectory(),
@@ -120,7 +127,7 @@ public class Comparison {
                                sentProfile.getDirectory(), filesToCompare[i] +
                                "." + sentProfile.getExtension());
 
-          Document doc = MEM_INTENSIVE ? docs[i] : readFileIntoDoc(temp);
+          Document doc = context.isMemIntensive() ? docs[i] : readFileIntoDoc(temp);
           if (doc != null) {
             boolean changed = removeExcluded(doc);
             if (changed) {
@@ -131,9 +138,9 @@ public class Comparison {
         }
       } // if(arrayAltered)
     } // if(excludeName.length() >0)
-    else if (MEM_INTENSIVE) {
+    else if (context.isMemIntensive()) {
       docs = new Document[filesToCompare.length];
-      if (MEM_INTENSIVE) {
+      if (context.isMemIntensive()) {
         for (int i = 0; i < docs.length; i++) {
           File temp = new File(sourceDirectory + File.separator
                                + sentProfile.getDirectory(),
@@ -146,6 +153,14 @@ public class Comparison {
     }
 
     // start comparing
+    if (!context.isMemIntensive() && sentProfile.getDocCacheSize() > 0) {
+      DocumentCache cache = new DocumentCache
+          (sentProfile.getDocCacheSize() * 1024L);
+      compareTiled(cache);
+      Settings.message(cache.statistics());
+      return;
+    }
+
     File file1, file2;
     for (int i = 0; i < filesToCompare.length; i++) {
       file1 = new File(sourceDirectory + File.separator
@@ -155,7 +170,7 @@ public class Comparison {
         continue;
       }
 
-      doc1 = MEM_INTENSIVE ? docs[i] : readFileIntoDoc(file1);
+      doc1 = context.isMemIntensive() ? docs[i] : readFileIntoDoc(file1);
       Settings.message("Comparing against " + filesToCompare[i] + "." +
                        sentProfile.getExtension());
       // doc1 being null means there was a problem reading it
@@ -169,42 +184,47 @@ public class Comparison {
         // pairs array so use that to populate the master array.
         sentencePairs[i] = doc1.getPairsArray();
       }
-      else if (!MEM_INTENSIVE) {
+      else if (!context.isMemIntensive()) {
         // use the master pairs array since that may contain links to documents
         // already compared.
         doc1.setPairsArray(sentencePairs[i]);
       }
 
-      for (int j = i + 1; j < filesToCompare.length; j++) {
-
-        file2 = new File(sourceDirectory + File.separator
-                         + sentProfile.getDirectory(), filesToCompare[j] + "."
-                         + sentProfile.getExtension());
-        if (file2.equals(excludeFile)) {
-          continue;
-        }
+      if (threads > 1) {
+        compareBlock(i, i + 1, new Document[] {doc1}, docs, null);
+      }
+      else {
+        for (int j = i + 1; j < filesToCompare.length; j++) {
+
+          file2 = new File(sourceDirectory + File.separator
+                           + sentProfile.getDirectory(), filesToCompare[j] + "."
+                           + sentProfile.getExtension());
+          if (file2.equals(excludeFile)) {
+            continue;
+          }
 
-        doc2 = MEM_INTENSIVE ? docs[j] : readFileIntoDoc(file2);
-        if (doc2 == null) {
-          checkPause();
-          continue;
-        }
+          doc2 = context.isMemIntensive() ? docs[j] : readFileIntoDoc(file2);
+          if (doc2 == null) {
+            checkPause();
+            continue;
+          }
 
-        if (i == 0) {
-          // on the first pass, no document has anything other than the empty
-          // pairs array so use that to populate the master array.
-          sentencePairs[j] = doc2.getPairsArray();
-        }
-        else if (!MEM_INTENSIVE) {
-          doc2.setPairsArray(sentencePairs[j]);
-        }
+          if (i == 0) {
+            // on the first pass, no document has anything other than the empty
+            // pairs array so use that to populate the master array.
+            sentencePairs[j] = doc2.getPairsArray();
+          }
+          else if (!context.isMemIntensive()) {
+            doc2.setPairsArray(sentencePairs[j]);
+          }
 
-        // do the actual comparison.
-        doc1.compareToDocument(doc2);
-        samelines.incStagesDone();
-        //samelines.yield();
+          // do the actual comparison.
+          doc1.compareToDocument(doc2);
+          samelines.incStagesDone();
+          //samelines.yield();
 
-      } // for j
+        } // for j
+      }
 
       // sentencePairs[i] will not be changed again so write it to the match
       // directory.
@@ -222,7 +242,7 @@ public class Comparison {
       // reclaimed. On large sets the memory used could become quite large if
       // this step were not taken.
       sentencePairs[i] = null;
-      if (MEM_INTENSIVE) {
+      if (context.isMemIntensive()) {
         docs[i] = null;
       }
     } // for i
@@ -230,13 +250,199 @@ public class Comparison {
   }
 
   /**
-   * Read the given file as if it were a serialised document object.
+   * Compares the documents a block of rows at a time, keeping the documents
+   * it can in the cache. The documents of a block of rows are pinned in the
+   * cache, and every later document is then read in once and compared with
+   * each of them, rather than once for each row. The rows take up to half
+   * of the cache, leaving the rest for the later documents, so those just
+   * after the block are often still there when they become the next block.
+   * The similarities found are recorded in the same order as when the
+   * documents are compared a row at a time, so the results are the same.
+   * @param cache Where the documents are kept.
+   */
+  private void compareTiled(DocumentCache cache) {
+    int first = 0;
+    while (first < filesToCompare.length) {
+      if (samelines.getLetDie()) {
+        return;
+      }
+
+      // Read in and pin the documents of the next block of rows.
+      Document[] rows = new Document[filesToCompare.length - first];
+      long rowsSize = 0;
+      int end = first;
+      while (end < filesToCompare.length
+             && (end == first || rowsSize < cache.getBudget() / 2)) {
+        File file = getDocFile(end);
+        if (!file.equals(excludeFile)) {
+          Settings.message("Comparing against " + filesToCompare[end] + "."
+                           + sentProfile.getExtension());
+          rows[end - first] = fetchDoc(end, cache);
+          if (rows[end - first] == null) {
+            checkPause();
+          }
+          else {
+            cache.pin(file);
+            rowsSize += rows[end - first].estimateSize();
+          }
+        }
+        end++;
+      }
+
+      if (threads > 1) {
+        compareBlock(first, end, rows, null, cache);
+      }
+      else {
+        for (int j = first + 1; j < filesToCompare.length; j++) {
+          if (getDocFile(j).equals(excludeFile)) {
+            continue;
+          }
+          Document other = j < end ? rows[j - first] : fetchDoc(j, cache);
+          if (other == null) {
+            checkPause();
+            continue;
+          }
+          for (int i = first; i < end && i < j; i++) {
+            if (rows[i - first] != null) {
+              rows[i - first].compareToDocument(other);
+              samelines.incStagesDone();
+            }
+          }
+        } // for j
+      }
+
+      // The rows of the block will not be changed again.
+      for (int i = first; i < end; i++) {
+        if (rows[i - first] == null) {
+          continue;
+        }
+        if (sentencePairs[i].length > 0) {
+          sentencePairs[i][0].setChanged(true);
+        }
+        if (!writePairsToFile(sentencePairs[i], rows[i - first].getFileName())) {
+          samelines.pauseProcessing();
+          checkPause();
+        }
+        sentencePairs[i] = null;
+        cache.unpin(getDocFile(i));
+      }
+      first = end;
+    }
+  }
+
+  /**
+   * The document at the given index, from the cache if it has been kept
+   * there, or read in, given its pairs and put in the cache if not.
+   * @param index The index of the document in filesToCompare.
+   * @param cache Where the documents are kept.
+   * @return The document, or null if there was a problem reading it.
+   */
+  private Document fetchDoc(int index, DocumentCache cache) {
+    File file = getDocFile(index);
+    Document doc = cache.get(file);
+    if (doc != null) {
+      return doc;
+    }
+    doc = readFileIntoDoc(file);
+    if (doc == null) {
+      return null;
+    }
+    if (sentencePairs[index] == null) {
+      // the first time the document has been read, so its pairs are empty.
+      sentencePairs[index] = doc.getPairsArray();
+    }
+    else {
+      doc.setPairsArray(sentencePairs[index]);
+    }
+    cache.put(file, doc);
+    return doc;
+  }
+
+  /**
+   * Compares the documents of a block of rows with every later document, on
+   * several threads. The later documents are shared out between the
+   * threads, which only find the similar sentences; these are then recorded
+   * one document at a time, in the same order as they would have been had
+   * the documents been compared in turn, so the results are the same.
+   * @param first The index in filesToCompare of the first row.
+   * @param end The index after that of the last row.
+   * @param rows The documents of the rows, from first on.
+   * @param docs The documents, if they are all kept in memory.
+   * @param cache Where the documents are kept, or null if they are not.
+   */
+  private void compareBlock(int first, int end, Document[] rows,
+                            Document[] docs, DocumentCache cache) {
+    SentenceMatches[][] matches =
+        new SentenceMatches[end - first][filesToCompare.length];
+    SentencePair[][] pairs = new SentencePair[filesToCompare.length][];
+    nextColumn = first + 1;
+
+    ComparisonWorker workers[] = new ComparisonWorker[threads];
+    for (int x = 0; x < threads; x++) {
+      workers[x] = new ComparisonWorker(first, end, rows, docs, cache,
+                                        matches, pairs);
+      workers[x].start();
+    }
+    for (int x = 0; x < threads; x++) {
+      try {
+        workers[x].join();
+      }
+      catch (InterruptedException e) {
+        samelines.letProcessDie();
+      }
+    }
+
+    for (int j = first + 1; j < filesToCompare.length; j++) {
+      if (getDocFile(j).equals(excludeFile)) {
+        continue;
+      }
+      if (cache == null && first == 0 && pairs[j] != null) {
+        sentencePairs[j] = pairs[j];
+      }
+      for (int i = first; i < end && i < j; i++) {
+        // no matches means there was a problem reading a document.
+        if (matches[i - first][j] == null) {
+          checkPause();
+          continue;
+        }
+        matches[i - first][j].record();
+      }
+    }
+  }
+
+  /**
+   * Hand out the next document to compare against the rows in
+   * compareBlock().
+   * @return The index of the document in filesToCompare, or -1 if there are
+   * none left.
+   */
+  private synchronized int getNextColumn() {
+    if (nextColumn >= filesToCompare.length) {
+      return -1;
+    }
+    return nextColumn++;
+  }
+
+  /**
+   * The serialised document file of the given document.
+   * @param index The index of the document in filesToCompare.
+   * @return The file.
+   */
+  private File getDocFile(int index) {
+    return new File(sourceDirectory + File.separator
+                    + sentProfile.getDirectory(), filesToCompare[index] + "."
+                    + sentProfile.getExtension());
+  }
+
+  /**
+   * Read the given file as if it were a saved document object, and
+   * place it in the context of this comparison.
    * @param file The serialised document file.
    * @return A Document object containing the previously serialised object.
    */
   private Document readFileIntoDoc(File file) {
     try {
-      return readFileIntoDocStatic(file);
+      return readFileIntoDocStatic(file, context);
     }
     catch (FileNotFoundException fnfe) {
       samelines.pauseProcessing();
@@ -254,8 +460,9 @@ public class Comparison {
   }
 
   /**
-   * Static method to read a serialised Document object into an object.
-   * @param file The file containing the serialised document.
+   * Static method to read a saved Document object into an object, in a
+   * context of its own.
+   * @param file The file containing the saved document.
    * @return A Document object.
    * @throws FileNotFoundException If the file is not found.
    * @throws IOException If some other IO error occured.
@@ -264,12 +471,23 @@ public class Comparison {
    */
   static Document readFileIntoDocStatic(File file) throws FileNotFoundException,
       IOException, ClassNotFoundException {
-    FileInputStream in = new FileInputStream(file);
-    ObjectInputStream docIn = new ObjectInputStream(in);
-    Document ret = (Document) docIn.readObject();
-    docIn.close();
-    in.close();
-    return ret;
+    return CompactFormat.readDocument(file, new AnalysisContext());
+  }
+
+  /**
+   * Static method to read a serialised Document object into an object, and
+   * place it in the given analysis so that it can be compared.
+   * @param file The file containing the serialised document.
+   * @param context The analysis the document belongs to.
+   * @return A Document object.
+   * @throws FileNotFoundException If the file is not found.
+   * @throws IOException If some other IO error occured.
+   * @throws ClassNotFoundException If the Document class is not found,
+   * shouldn't happen.
+   */
+  static Document readFileIntoDocStatic(File file, AnalysisContext context) throws
+      FileNotFoundException, IOException, ClassNotFoundException {
+    return CompactFormat.readDocument(file, context);
   }
 
   /**
@@ -296,7 +514,9 @@ public class Comparison {
   }
 
   /**
-   * Static method to write an object to a file in serialised form.
+   * Static method to write an object to a file. Documents and arrays of
+   * sentence pairs are written in the compact format, anything else in
+   * serialised form.
    * @param doc The object to be written.
    * @param file The file to be written to.
    * @return true if the operation were successful, false if not.
@@ -306,6 +526,14 @@ public class Comparison {
    */
   static boolean writeObjToFileStatic(Object doc, File file) throws
       FileNotFoundException, IOException {
+    if (doc instanceof Document) {
+      CompactFormat.writeDocument( (Document) doc, file);
+      return true;
+    }
+    if (doc instanceof SentencePair[]) {
+      CompactFormat.writePairs( (SentencePair[]) doc, file);
+      return true;
+    }
     FileOutputStream out = new FileOutputStream(file);
     ObjectOutputStream objOut = new ObjectOutputStream(out);
     objOut.writeObject(doc);
@@ -367,4 +595,99 @@ public class Comparison {
       }
     }
   }
-}
\ No newline at end of file
+
+  /**
+   * A comparison worker. It compares the rows of a block with the documents
+   * handed out by getNextColumn() until there are none left, keeping the
+   * similar sentences it finds for compareBlock() to record.
+   */
+  private class ComparisonWorker
+      extends Thread {
+    // The index in filesToCompare of the first row.
+    private int first;
+    // The index after that of the last row.
+    private int end;
+    // The documents of the rows, from first on.
+    private Document[] rows;
+    // The documents, if they are all kept in memory.
+    private Document[] docs;
+    // Where the documents are kept, or null if they are not.
+    private DocumentCache cache;
+    // Where the matches of each row with each document are put.
+    private SentenceMatches[][] matches;
+    // Where the pairs of each document are put on the first row.
+    private SentencePair[][] pairs;
+
+    /**
+     * Create a new comparison worker.
+     * @param first The index in filesToCompare of the first row.
+     * @param end The index after that of the last row.
+     * @param rows The documents of the rows, from first on.
+     * @param docs The documents, if they are all kept in memory.
+     * @param cache Where the documents are kept, or null if they are not.
+     * @param matches Where the matches of each row with each document are
+     * put.
+     * @param pairs Where the pairs of each document are put on the first
+     * row, when there is no cache.
+     */
+    ComparisonWorker(int first, int end, Document[] rows, Document[] docs,
+                     DocumentCache cache, SentenceMatches[][] matches,
+                     SentencePair[][] pairs) {
+      this.first = first;
+      this.end = end;
+      this.rows = rows;
+      this.docs = docs;
+      this.cache = cache;
+      this.matches = matches;
+      this.pairs = pairs;
+      setPriority(samelines.getPriority());
+    }
+
+    /**
+     * Compare documents until there are none left.
+     */
+    public void run() {
+      int j;
+      while ( (j = getNextColumn()) >= 0) {
+        if (samelines.getLetDie()) {
+          return;
+        }
+        File file2 = getDocFile(j);
+        if (file2.equals(excludeFile)) {
+          continue;
+        }
+
+        Document other;
+        if (j < end) {
+          other = rows[j - first];
+        }
+        else if (cache != null) {
+          other = fetchDoc(j, cache);
+        }
+        else {
+          other = context.isMemIntensive() ? docs[j] : readFileIntoDoc(file2);
+          if (other != null) {
+            if (first == 0) {
+              pairs[j] = other.getPairsArray();
+            }
+            else if (!context.isMemIntensive()) {
+              other.setPairsArray(sentencePairs[j]);
+            }
+          }
+        }
+        if (other == null) {
+          continue;
+        }
+
+        for (int i = first; i < end && i < j; i++) {
+          if (rows[i - first] != null) {
+            SentenceMatches found = new SentenceMatches();
+            rows[i - first].findSimilar(other, found);
+            matches[i - first][j] = found;
+            samelines.incStagesDone();
+          }
+        }
+      }
+    }
+  } // ComparisonWorker
+}
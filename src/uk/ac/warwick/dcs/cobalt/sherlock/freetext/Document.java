@@ -23,6 +23,11 @@ import java.util.*;
  */
 public class Document
     implements Serializable, Cloneable {
+  /**
+   * Fixed so that files saved as serialised objects can still be read.
+   */
+  private static final long serialVersionUID = 2250863467538260846L;
+
   /**
    * Sentences shorter than this constant value will be discarded.
    */
@@ -39,10 +44,61 @@ public class Document
   private String fileName;
 
   /**
-   * Constructor.
+   * The analysis this document belongs to. Null for a document that has been
+   * read in but not yet given a context; see setContext().
+   */
+  private transient AnalysisContext context;
+
+  /**
+   * The IDs of the words in this document's sentences, in increasing order,
+   * each given once. Along with indexStarts and indexSentences this indexes
+   * each word to the sentences that contain it, and is built the first time
+   * another document is compared against this one.
+   */
+  private transient int[] indexWords;
+
+  /**
+   * Where the sentences containing indexWords[k] start in indexSentences.
+   * They end where those of indexWords[k + 1] start; there is one extra
+   * element holding the length of indexSentences.
+   */
+  private transient int[] indexStarts;
+
+  /**
+   * The index of each sentence containing each word, grouped by word and in
+   * increasing order within each group.
+   */
+  private transient int[] indexSentences;
+
+  /**
+   * The hash of each band of each sentence's MinHash signature, when
+   * locality-sensitive hashing is in use.
+   */
+  private transient int[][] bandHashes;
+
+  /**
+   * For each band, the band hash of each sentence not in the exclude file
+   * shifted into the top half of a long, with the index of the sentence in
+   * the bottom half, in increasing order. Sentences in the same bucket of a
+   * band are next to each other.
+   */
+  private transient long[][] buckets;
+
+  /**
+   * Constructor, for a document in an analysis of its own with the default
+   * settings.
    */
   public Document() {
+    this(new AnalysisContext());
+  }
+
+  /**
+   * Constructor.
+   * @param context The analysis this document belongs to.
+   */
+  public Document(AnalysisContext context) {
     sentences = new Vector();
+    this.context = context;
   }
 
   /**
@@ -60,6 +116,7 @@ public class Document
       return null;
     }
     Document cloneDoc = (Document) temp;
+    cloneDoc.forgetIndexes();
     cloneDoc.sentences = (Vector) cloneDoc.sentences.clone();
     Vector cloneSent = cloneDoc.sentences;
     for (int i = 0; i < cloneSent.size(); i++) {
@@ -78,7 +135,7 @@ public class Document
   public Sentence startSentence(int lineNo, int col) {
     // create new sentence, add it to the sentences vector and return it to
     // the calling method.
-    Sentence temp = new Sentence(lineNo, col, sentences.size());
+    Sentence temp = new Sentence(lineNo, col, sentences.size(), context);
     sentences.add(temp);
     return temp;
   }
@@ -113,20 +170,322 @@ public class Document
    * @param other The document to be compared.
    */
   public void compareToDocument(Document other) {
+    compareToDocument(other, null);
+  }
+
+  /**
+   * Finds the similar sentences in this Document and the given Document in
+   * the same way as compareToDocument(), but adds them to the given matches
+   * rather than recording them in the sentences. Neither document is
+   * changed, so one document can be compared with several others from
+   * different threads at once.
+   * @param other The document to be compared.
+   * @param matches The list the similar sentences are added to.
+   */
+  void findSimilar(Document other, SentenceMatches matches) {
+    compareToDocument(other, matches);
+  }
+
+  /**
+   * Compares each sentence in this Document with every sentence in the given
+   * Document.
+   * @param other The document to be compared.
+   * @param matches The list to add similar sentences to, or null to record
+   * them in the sentences.
+   */
+  private void compareToDocument(Document other, SentenceMatches matches) {
     Vector otherSent = other.sentences;
+
+    // Sentences with no words in common can only be similar if one of the
+    // thresholds is below zero, in which case every pair must be tried.
+    if (context.getSimThreshold() >= 0 && context.getCommonThreshold() >= 0) {
+      if (context.getMinHash() != null) {
+        compareToDocumentHashed(other, matches);
+      }
+      else {
+        compareToDocumentIndexed(other, matches);
+      }
+      return;
+    }
+
     for (int i = 0; i < sentences.size(); i++) {
       Sentence temp = (Sentence) sentences.get(i);
       if (!temp.isInExcludeFile()) {
         for (int j = 0; j < otherSent.size(); j++) {
           Sentence temp2 = (Sentence) otherSent.get(j);
           if (!temp2.isInExcludeFile()) {
-            temp.compareToSentence(temp2);
+            compareSentences(temp, temp2, temp.wordsInCommon(temp2), matches);
           }
         }
       }
     }
   }
 
+  /**
+   * Compares two sentences once the number of words they have in common is
+   * known.
+   * @param sentence The sentence from this document.
+   * @param other The sentence from the other document.
+   * @param numInCommon The number of words the two sentences have in common.
+   * @param matches The list to add the sentences to if they are similar, or
+   * null to record the similarity in the sentences.
+   */
+  private static void compareSentences(Sentence sentence, Sentence other,
+                                       int numInCommon,
+                                       SentenceMatches matches) {
+    if (matches == null) {
+      sentence.compareToSentence(other, numInCommon);
+      return;
+    }
+    int score = sentence.similarity(other, numInCommon);
+    if (score >= 0) {
+      matches.add(sentence, other, score);
+    }
+  }
+
+  /**
+   * Compares each sentence in this document with only those sentences in the
+   * given document that share at least one word with it, found through the
+   * other document's word index. The number of words in common is counted
+   * from the index too, and the sentences are compared in the same order as
+   * compareToDocument() would, so the same similarities are recorded.
+   * @param other The document to be compared.
+   * @param matches The list to add similar sentences to, or null to record
+   * them in the sentences.
+   */
+  private void compareToDocumentIndexed(Document other,
+                                        SentenceMatches matches) {
+    Vector otherSent = other.sentences;
+    other.buildWordIndex();
+    int[] words = other.indexWords;
+    int[] starts = other.indexStarts;
+    int[] containing = other.indexSentences;
+    int[] inCommon = new int[otherSent.size()];
+    int[] candidates = new int[otherSent.size()];
+    for (int i = 0; i < sentences.size(); i++) {
+      Sentence temp = (Sentence) sentences.get(i);
+      if (temp.isInExcludeFile()) {
+        continue;
+      }
+
+      // Count the words this sentence shares with each other sentence.
+      int found = 0;
+      int[] ids = temp.getWordIds();
+      for (int w = 0; w < temp.getNumberOfWords(); w++) {
+        int k = Arrays.binarySearch(words, ids[w]);
+        if (k < 0) {
+          continue;
+        }
+        for (int c = starts[k]; c < starts[k + 1]; c++) {
+          int j = containing[c];
+          if (inCommon[j]++ == 0) {
+            candidates[found++] = j;
+          }
+        }
+      }
+
+      Arrays.sort(candidates, 0, found);
+      for (int k = 0; k < found; k++) {
+        int j = candidates[k];
+        compareSentences(temp, (Sentence) otherSent.get(j), inCommon[j],
+                         matches);
+        inCommon[j] = 0;
+      }
+    }
+  }
+
+  /**
+   * Builds the index from each word of this document's sentences to the
+   * sentences containing it, if it has not been built already. Sentences in
+   * the exclude file are left out.
+   */
+  private synchronized void buildWordIndex() {
+    if (indexWords != null) {
+      return;
+    }
+
+    // Pair every word ID with the sentence containing it, in a single long
+    // so that sorting groups the sentences by word.
+    int total = 0;
+    for (int j = 0; j < sentences.size(); j++) {
+      Sentence temp = (Sentence) sentences.get(j);
+      if (!temp.isInExcludeFile()) {
+        total += temp.getNumberOfWords();
+      }
+    }
+    long[] pairs = new long[total];
+    int n = 0;
+    for (int j = 0; j < sentences.size(); j++) {
+      Sentence temp = (Sentence) sentences.get(j);
+      if (temp.isInExcludeFile()) {
+        continue;
+      }
+      int[] ids = temp.getWordIds();
+      for (int w = 0; w < temp.getNumberOfWords(); w++) {
+        pairs[n++] = ( (long) ids[w] << 32) | j;
+      }
+    }
+    Arrays.sort(pairs);
+
+    int distinct = 0;
+    for (int k = 0; k < total; k++) {
+      if (k == 0 || (pairs[k] >>> 32) != (pairs[k - 1] >>> 32)) {
+        distinct++;
+      }
+    }
+    int[] words = new int[distinct];
+    int[] starts = new int[distinct + 1];
+    int[] containing = new int[total];
+    int w = -1;
+    for (int k = 0; k < total; k++) {
+      int id = (int) (pairs[k] >>> 32);
+      if (w < 0 || words[w] != id) {
+        words[++w] = id;
+        starts[w] = k;
+      }
+      containing[k] = (int) pairs[k];
+    }
+    starts[distinct] = total;
+
+    indexStarts = starts;
+    indexSentences = containing;
+    indexWords = words;
+  }
+
+  /**
+   * Compares each sentence in this document with only those sentences in the
+   * given document that fall into the same bucket in at least one of the
+   * locality-sensitive hashing bands. Similar sentences are likely, but not
+   * certain, to share a bucket; the ones that do are compared exactly, in the
+   * same order as compareToDocument() would.
+   * @param other The document to be compared.
+   * @param matches The list to add similar sentences to, or null to record
+   * them in the sentences.
+   */
+  private void compareToDocumentHashed(Document other,
+                                       SentenceMatches matches) {
+    Vector otherSent = other.sentences;
+    int[][] hashes = getBandHashes();
+    long[][] otherBuckets = other.getBuckets();
+    boolean[] seen = new boolean[otherSent.size()];
+    int[] candidates = new int[otherSent.size()];
+    for (int i = 0; i < sentences.size(); i++) {
+      Sentence temp = (Sentence) sentences.get(i);
+      if (temp.isInExcludeFile()) {
+        continue;
+      }
+
+      // Collect the sentences sharing a bucket with this one in any band.
+      int found = 0;
+      for (int b = 0; b < otherBuckets.length; b++) {
+        long[] bucket = otherBuckets[b];
+        long first = (long) hashes[i][b] << 32;
+        int k = Arrays.binarySearch(bucket, first);
+        if (k < 0) {
+          k = -k - 1;
+        }
+        for (; k < bucket.length && (bucket[k] >> 32) == hashes[i][b]; k++) {
+          int j = (int) bucket[k];
+          if (!seen[j]) {
+            seen[j] = true;
+            candidates[found++] = j;
+          }
+        }
+      }
+
+      Arrays.sort(candidates, 0, found);
+      for (int k = 0; k < found; k++) {
+        int j = candidates[k];
+        Sentence temp2 = (Sentence) otherSent.get(j);
+        compareSentences(temp, temp2, temp.wordsInCommon(temp2), matches);
+        seen[j] = false;
+      }
+    }
+  }
+
+  /**
+   * The hash of each band of each sentence's MinHash signature, worked out
+   * if it has not been already.
+   * @return The band hashes, indexed by sentence and then band.
+   */
+  private synchronized int[][] getBandHashes() {
+    if (bandHashes == null) {
+      MinHash minHash = context.getMinHash();
+      int[][] hashes = new int[sentences.size()][];
+      for (int j = 0; j < hashes.length; j++) {
+        hashes[j] = minHash.bandHashes(
+            ( (Sentence) sentences.get(j)).getWords());
+      }
+      bandHashes = hashes;
+    }
+    return bandHashes;
+  }
+
+  /**
+   * The buckets of each band that this document's sentences fall into, built
+   * if they have not been already. Sentences in the exclude file are left
+   * out.
+   * @return For each band, the band hash and index of each sentence, in
+   * increasing order.
+   */
+  private synchronized long[][] getBuckets() {
+    if (buckets != null) {
+      return buckets;
+    }
+    int[][] hashes = getBandHashes();
+    int total = 0;
+    for (int j = 0; j < sentences.size(); j++) {
+      if (! ( (Sentence) sentences.get(j)).isInExcludeFile()) {
+        total++;
+      }
+    }
+    long[][] bands = new long[context.getMinHash().getBands()][total];
+    for (int b = 0; b < bands.length; b++) {
+      int n = 0;
+      for (int j = 0; j < sentences.size(); j++) {
+        if (! ( (Sentence) sentences.get(j)).isInExcludeFile()) {
+          bands[b][n++] = ( (long) hashes[j][b] << 32) | j;
+        }
+      }
+      Arrays.sort(bands[b]);
+    }
+    buckets = bands;
+    return buckets;
+  }
+
+  /**
+   * Throws away the indexes built for comparing against this document, after
+   * its sentences or their words have changed.
+   */
+  private void forgetIndexes() {
+    indexWords = null;
+    indexStarts = null;
+    indexSentences = null;
+    bandHashes = null;
+    buckets = null;
+  }
+
+  /**
+   * Roughly how much memory this document takes up once other documents have
+   * been compared against it, not counting its sentence pairs, which are
+   * kept for the whole comparison anyway.
+   * @return The estimated size in bytes.
+   */
+  long estimateSize() {
+    MinHash minHash = context.getMinHash();
+    long size = 64 + 4 * sentences.size();
+    for (int i = 0; i < sentences.size(); i++) {
+      // The sentence, its coordinates and the IDs of its words, and its
+      // share of the word index or the buckets.
+      int words = ( (Sentence) sentences.get(i)).getNumberOfWords();
+      size += 96 + 12 * words;
+      if (minHash != null) {
+        size += 16 + 12 * minHash.getBands();
+      }
+    }
+    return size;
+  }
+
   /**
    * Return an array of SentencePair objects. There is exactly one for every
    * sentence in this document and the order of the returned array matches the
@@ -166,7 +525,7 @@ public class Document
     String out = this.fileName + "\n";
     for (int i = 0; i < sentences.size(); i++) {
       Sentence temp = (Sentence) sentences.get(i);
-      if (temp.getSentencePairs().scores.size() > 0) {
+      if (temp.getSentencePairs().size() > 0) {
         out += "Sentence " + temp.getId() + ": \n";
         out += temp.similarityString();
       }
@@ -184,7 +543,10 @@ public class Document
       temp += "Sentence " + i + ": " +
           ( (Sentence) sentences.get(i)).toString() + "\n";
     }
-    return temp + Sentence.getDictionary().toString();
+    if (context == null) {
+      return temp;
+    }
+    return temp + context.getDictionary().toString();
   }
 
   /**
@@ -212,9 +574,10 @@ public class Document
    *  have started.
    */
   public void finishedParsing() {
+    forgetIndexes();
     for (int i = 0; i < sentences.size(); i++) {
       Sentence temp = (Sentence) sentences.get(i);
-      if (temp.getWords().size() < MIN_SENTENCE_LENGTH) {
+      if (temp.getNumberOfWords() < MIN_SENTENCE_LENGTH) {
         // Decrement all following sentence ID's.
         for (int j = i + 1; j < sentences.size(); j++) {
           ( (Sentence) sentences.get(j)).setId(j - 1);
@@ -239,6 +602,28 @@ public class Document
     }
   }
 
+  /**
+   * The analysis this document belongs to.
+   * @return The context, or null if the document has been read in and not
+   * given one yet.
+   */
+  public AnalysisContext getContext() {
+    return context;
+  }
+
+  /**
+   * Moves this document and its sentences into the given analysis. Must be
+   * called on a document that has been read in before it is compared.
+   * @param context The analysis this document now belongs to.
+   */
+  public void setContext(AnalysisContext context) {
+    this.context = context;
+    forgetIndexes();
+    for (int i = 0; i < sentences.size(); i++) {
+      ( (Sentence) sentences.get(i)).setContext(context);
+    }
+  }
+
   /**
    * The filename this object was constructed from.
    * @return The original file's file name.
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 1999-2003 The University of Warwick. All Rights Reserved.
+ */
+package uk.ac.warwick.dcs.cobalt.sherlock.freetext;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * <p>Keeps the documents read in during a comparison that is not memory
+ * intensive, up to a limit on the memory they take up, so that they need
+ * not be read in again every time they are compared. When the limit is
+ * reached the document used least recently is dropped. Documents can be
+ * pinned, so that they are kept however long ago they were used.</p>
+ * <p>Title: Sherlock 2000</p>
+ * <p>Description: Plagiarism Detection Software</p>
+ * <p>Copyright: Copyright (c) 2002</p>
+ * <p>Company: University of Warwick</p>
+ */
+class DocumentCache {
+
+  /**
+   * The most memory the documents may take up, in bytes.
+   */
+  private long budget;
+
+  /**
+   * The memory the documents take up, in bytes.
+   */
+  private long size = 0;
+
+  /**
+   * The CachedDocument of each file, in order of use, least recent first.
+   */
+  private LinkedHashMap entries = new LinkedHashMap(16, 0.75f, true);
+
+  /**
+   * The files whose documents are never dropped.
+   */
+  private HashSet pinned = new HashSet();
+
+  /**
+   * The number of documents asked for which were kept.
+   */
+  private long hits = 0;
+
+  /**
+   * The number of documents asked for which had to be read in.
+   */
+  private long misses = 0;
+
+  /**
+   * The number of documents dropped to stay within the budget.
+   */
+  private long evictions = 0;
+
+  /**
+   * Constructor.
+   * @param budget The most memory the documents may take up, in bytes.
+   */
+  DocumentCache(long budget) {
+    this.budget = budget;
+  }
+
+  /**
+   * The most memory the documents may take up.
+   * @return The budget in bytes.
+   */
+  long getBudget() {
+    return budget;
+  }
+
+  /**
+   * The document read in from the given file, if it has been kept.
+   * @param file The sentence-parsed file.
+   * @return The document, or null if it must be read in again.
+   */
+  synchronized Document get(File file) {
+    CachedDocument entry = (CachedDocument) entries.get(file);
+    if (entry == null) {
+      misses++;
+      return null;
+    }
+    hits++;
+    return entry.doc;
+  }
+
+  /**
+   * Keeps a document that has been read in, dropping the least recently
+   * used documents that are not pinned if the budget is exceeded.
+   * @param file The sentence-parsed file the document was read from.
+   * @param doc The document.
+   */
+  synchronized void put(File file, Document doc) {
+    CachedDocument entry = new CachedDocument(doc);
+    CachedDocument old = (CachedDocument) entries.put(file, entry);
+    if (old != null) {
+      size -= old.size;
+    }
+    size += entry.size;
+
+    Iterator it = entries.entrySet().iterator();
+    while (size > budget && it.hasNext()) {
+      Map.Entry next = (Map.Entry) it.next();
+      if (!pinned.contains(next.getKey())) {
+        size -= ( (CachedDocument) next.getValue()).size;
+        it.remove();
+        evictions++;
+      }
+    }
+  }
+
+  /**
+   * Keeps the document of the given file until it is unpinned.
+   * @param file The sentence-parsed file.
+   */
+  synchronized void pin(File file) {
+    pinned.add(file);
+  }
+
+  /**
+   * Lets the document of the given file be dropped again.
+   * @param file The sentence-parsed file.
+   */
+  synchronized void unpin(File file) {
+    pinned.remove(file);
+  }
+
+  /**
+   * How well the cache has done, for the log.
+   * @return The numbers of hits, misses and evictions, and the hit rate.
+   */
+  synchronized String statistics() {
+    long requests = hits + misses;
+    double rate = requests == 0 ? 0 : hits * 100.0 / requests;
+    return "Document cache: " + hits + " hits, " + misses + " misses ("
+        + Math.round(rate * 10) / 10.0 + "% hit rate), " + evictions
+        + " evictions, " + size / 1024 + "KB of " + budget / 1024
+        + "KB in use";
+  }
+
+  /**
+   * A kept document, with its estimated size.
+   */
+  private static class CachedDocument {
+    // The document.
+    private Document doc;
+    // The memory it takes up, in bytes.
+    private long size;
+
+    /**
+     * Keep the given document.
+     * @param doc The document.
+     */
+    CachedDocument(Document doc) {
+      this.doc = doc;
+      size = doc.estimateSize();
+    }
+  } // CachedDocument
+}
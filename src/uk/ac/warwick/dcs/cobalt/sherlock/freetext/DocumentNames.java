@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 1999-2003 The University of Warwick. All Rights Reserved.
+ */
+package uk.ac.warwick.dcs.cobalt.sherlock.freetext;
+
+import java.util.*;
+
+/**
+ * <p>Gives the name of every document that sentence pairs link to a dense
+ * integer ID, starting at 0, so that each link need only hold the ID. Each
+ * analysis has its own table, and so does each set of pairs files read in
+ * for the results, so names are only kept as long as the pairs that use
+ * them; the IDs of pairs using different tables cannot be compared.</p>
+ * <p>Names are added under a lock, but getDocName() takes none, as it is
+ * called for every link looked at: the names are read through a volatile
+ * array, which is written again each time a name is added, so any thread
+ * that has been handed an ID sees its name.</p>
+ * <p>Title: Sherlock 2000</p>
+ * <p>Description: Plagiarism Detection Software</p>
+ * <p>Copyright: Copyright (c) 2002</p>
+ * <p>Company: University of Warwick</p>
+ */
+public class DocumentNames {
+
+  /**
+   * The ID of each name, as an Integer. Only used under the lock.
+   */
+  private HashMap ids = new HashMap();
+
+  /**
+   * The name with each ID. Longer than the number of names, with the rest
+   * null.
+   */
+  private volatile String[] names = new String[64];
+
+  /**
+   * The document ID of a document name, which is given the next ID if it has
+   * not been seen before.
+   * @param docName The name of the document.
+   * @return Its document ID.
+   */
+  public synchronized int getDocId(String docName) {
+    Integer docId = (Integer) ids.get(docName);
+    if (docId == null) {
+      docId = new Integer(ids.size());
+      String[] table = names;
+      if (ids.size() == table.length) {
+        String[] temp = new String[table.length * 2];
+        System.arraycopy(table, 0, temp, 0, table.length);
+        table = temp;
+      }
+      table[docId.intValue()] = docName;
+      ids.put(docName, docId);
+      // Written again even if it has not grown, so that the new name is
+      // seen by readers.
+      names = table;
+    }
+    return docId.intValue();
+  }
+
+  /**
+   * The document ID of a document name, if it has one.
+   * @param docName The name of the document.
+   * @return Its document ID, or -1 if it has not been given one.
+   */
+  public synchronized int indexOf(String docName) {
+    Integer docId = (Integer) ids.get(docName);
+    return docId == null ? -1 : docId.intValue();
+  }
+
+  /**
+   * The document name of a document ID.
+   * @param docId The document ID, as given by getDocId().
+   * @return The name of the document.
+   */
+  public String getDocName(int docId) {
+    return names[docId];
+  }
+
+  /**
+   * The number of names that have been given IDs. Every ID is less than
+   * this.
+   * @return The number of names.
+   */
+  public synchronized int size() {
+    return ids.size();
+  }
+}
@@ -51,16 +51,18 @@ public class GroupResults
   // for the project report.
   private final static boolean TESTING = false;
 
-  // stores all the pairs arrays, very important.
+  // stores all the pairs arrays, very important. A row is null if its pairs
+  // were not kept when the results were loaded; see getRow().
   private static SentencePair[][] pairs;
   private JTable results;
   private JLabel stats;
   // all the results files.
   private static File[] pairFiles;
-  // the multipliers used by the filter for each individual document.
-  private static double[] mults;
-  // Each document has a list of documents it is most similar to.
-  private static ValNamePair[][] mostSimilar;
+  // the totals of each document's results, null until they are worked out.
+  private static PairTotals[] totals;
+  // how many links, and ignored links, have each score over all documents,
+  // indexed by the score minus Byte.MIN_VALUE.
+  private static int[] scoreCounts, ignoredCounts;
   private ProgressMonitor progBar;
   private FilterTask task;
 
@@ -82,6 +84,9 @@ public class GroupResults
     // The constructor for this object loads the pairs files.
     task = new FilterTask(true);
     pairs = new SentencePair[0][0];
+    totals = new PairTotals[0];
+    scoreCounts = new int[256];
+    ignoredCounts = new int[256];
 
     if (pairFiles == null || pairFiles.length == 0) {
       JOptionPane.showMessageDialog(this,
@@ -156,6 +161,10 @@ public class GroupResults
    */
   class TimerListener
       implements ActionListener {
+    // The number of stages done when the table was last filled while the
+    // results were still being loaded.
+    private int shown = 0;
+
     /**
      * Called once every so often to update the progress bar's status
      * @param e An action event (not used).
@@ -181,6 +190,15 @@ public class GroupResults
         }
         progBar.setNote(task.message);
         progBar.setProgress(task.currentStatus);
+        if (task.streaming && task.currentStatus != shown) {
+          // show the documents loaded so far.
+          shown = task.currentStatus;
+          updateTable();
+          if (!isVisible()) {
+            pack();
+            setVisible(true);
+          }
+        }
       }
     }
   }
@@ -242,6 +260,11 @@ public class GroupResults
     boolean load;
     /** Whether the user cancelled the task */
     boolean cancelled = false;
+    /**
+     * Whether the results table is being filled as the pairs files are
+     * loaded, rather than once they have all been filtered.
+     */
+    boolean streaming = false;
 
     /**
      * Constructor.
@@ -259,7 +282,8 @@ public class GroupResults
         message = "Loading Files";
       }
       else {
-        lengthOfTask = pairs.length;
+        // any rows not kept are loaded before filtering.
+        lengthOfTask = pairs.length * 2;
       }
       // Need to set priority of the thread to normal
       // as it is created by the event-dispatching thread, which is high
@@ -276,26 +300,26 @@ public class GroupResults
       return currentStatus >= lengthOfTask;
     }
 
+    /**
+     * Records that a stage has been completed, from any thread.
+     */
+    synchronized void stageDone() {
+      currentStatus++;
+    }
+
     /**
      * Starts filtering results.
      */
     public void run() {
       currentStatus = 0;
       if (load) {
-        pairs = loadPairs(this);
+        // If this set of pairs has been saved after being looked at before,
+        // it is already filtered, so only the totals are needed.
+        streaming = loadPairs(this);
         if (cancelled) {
           return;
         }
-        // If this set of pairs has been saved after being looked at before.
-        if (pairs != null && pairs.length > 0 && pairs[0] != null &&
-            pairs[0].length > 0 && !pairs[0][0].isChanged()) {
-
-          message = "Filtering Results";
-          filterPairs(this, false);
-          if (cancelled) {
-            return;
-          }
-
+        if (streaming) {
           message = "Populating Results Table";
           prepareTable(this);
           if (cancelled) {
@@ -306,13 +330,22 @@ public class GroupResults
           return;
         }
       }
+      else {
+        // the pairs not kept when the results were loaded are needed to
+        // filter them again.
+        message = "Loading Files";
+        loadRows(this, 0, true);
+      }
+      if (cancelled) {
+        return;
+      }
       unIgnoreEverything();
       if (cancelled) {
         return;
       }
 
       message = "Filtering Results";
-      filterPairs(this, true);
+      filterPairs(this);
       if (cancelled) {
         return;
       }
@@ -326,49 +359,47 @@ public class GroupResults
    * @param task The task which called this method.
    */
   private void prepareTable(FilterTask task) {
-    // Need to remove documents which contained no sentences worth comparing.
-    int count = 0;
-    for (int i = 0; i < pairs.length; i++) {
-      if (pairs[i].length != 0) {
-        count++;
-      }
-    }
+    String[][] rowData = updateTable();
+
+    String statsTable = generateStatsTable();
+    updateStats(statsTable);
 
-    String[] colData = new String[3];
+    /**
+         * included to export results in a format that can be used elsewhere, mostly
+     * for the purposes of the project report. The code could be used in the
+     * future as the basis of a function to export the table to a HTML file.
+     */
+    if (TESTING) {
+      outputHTMLResults(rowData, COLUMNS, statsTable);
+    }
 
-    colData[0] = "Filename";
-    colData[1] = "Total Scores";
-    colData[2] = "Relative Values";
+  }
 
-    String[][] rowData = new String[count][colData.length];
-    ValNamePair[] tempArray = new ValNamePair[count];
-    // populate rowData array.
-    count = 0;
-    for (int i = 0; i < pairs.length; i++) {
-      if (pairs[i].length != 0) {
-        int score = 0;
-        for (int j = 0; j < pairs[i].length; j++) {
-          for (int k = 0; k < pairs[i][j].scores.size(); k++) {
-            SentenceScore temp =
-                (SentenceScore) pairs[i][j].scores.get(k);
-            if (!temp.isIgnored()) {
-              score += temp.score;
-            }
-          }
+  /**
+   * Fills the results table from the totals of the documents worked out so
+   * far.
+   * @return The rows of the table.
+   */
+  private String[][] updateTable() {
+    // Need to remove documents which contained no sentences worth comparing.
+    ArrayList rows = new ArrayList();
+    synchronized (GroupResults.class) {
+      for (int i = 0; i < totals.length; i++) {
+        if (totals[i] != null && totals[i].sentences != 0) {
+          // ValNamePair stores the results so they can be easily sorted.
+          rows.add(new ValNamePair(totals[i].getScore(), totals[i].name));
         }
-        // TempNameScore stores the results so they can be easily sorted.
-        tempArray[count] = new ValNamePair( (score * mults[i]),
-                                           pairs[i][0].name);
-        count++;
       }
-      //task.currentStatus++;
     }
+    ValNamePair[] tempArray = (ValNamePair[]) rows.toArray
+        (new ValNamePair[rows.size()]);
 
     // tempArray needs to be sorted
     Arrays.sort(tempArray);
 
     // Normalise Scores and convert to a format suitable for the table to
     // display.
+    String[][] rowData = new String[tempArray.length][COLUMNS.length];
     double topScore = 0;
     if (tempArray.length > 0) {
       topScore = tempArray[0].val;
@@ -384,23 +415,15 @@ public class GroupResults
     // create the table.
 
     ResultsTableModel model = (ResultsTableModel) results.getModel();
-    model.setDataVector(rowData, colData);
+    model.setDataVector(rowData, COLUMNS);
     model.fireTableChanged(null);
-
-    String statsTable = generateStatsTable();
-    updateStats(statsTable);
-
-    /**
-         * included to export results in a format that can be used elsewhere, mostly
-     * for the purposes of the project report. The code could be used in the
-     * future as the basis of a function to export the table to a HTML file.
-     */
-    if (TESTING) {
-      outputHTMLResults(rowData, colData, statsTable);
-    }
-
+    return rowData;
   }
 
+  // The column headers of the results table.
+  private static final String[] COLUMNS = {
+      "Filename", "Total Scores", "Relative Values"};
+
   /**
    * Updates the statistics table to the left of the results table.
    * @param statsTable A table in HTML format.
@@ -418,23 +441,17 @@ public class GroupResults
     /*
      * Generate some stats
      */
-    int totalDocs = pairs.length;
+    int totalDocs = totals.length;
     int totalSentences = 0, totalPairs = 0, totalScore = 0, ignoredPairs = 0;
     int ignoredScore = 0;
 
     for (int i = 0; i < totalDocs; i++) {
-      totalSentences += pairs[i].length;
-      for (int j = 0; j < pairs[i].length; j++) {
-        Vector scores = pairs[i][j].scores;
-        totalPairs += scores.size();
-        for (int k = 0; k < scores.size(); k++) {
-          SentenceScore temp = (SentenceScore) scores.get(k);
-          totalScore += temp.score;
-          if (temp.isIgnored()) {
-            ignoredPairs++;
-            ignoredScore += temp.score;
-          }
-        }
+      if (totals[i] != null) {
+        totalSentences += totals[i].sentences;
+        totalPairs += totals[i].links;
+        totalScore += totals[i].totalScore;
+        ignoredPairs += totals[i].ignoredLinks;
+        ignoredScore += totals[i].ignoredScore;
       }
     }
 
@@ -450,19 +467,16 @@ public class GroupResults
     ignoredScore /= 2;
 
     int stdIndex = 0, ignoreIndex = 0, usefulIndex = 0;
-    for (int i = 0; i < totalDocs; i++) {
-      for (int j = 0; j < pairs[i].length; j++) {
-        Vector links = pairs[i][j].scores;
-        for (int k = 0; k < links.size(); k++) {
-          SentenceScore temp = (SentenceScore) links.get(k);
-          scores[stdIndex++] = temp.score;
-          if (temp.isIgnored()) {
-            ignoredScores[ignoreIndex++] = temp.score;
-          }
-          else {
-            usefulScores[usefulIndex++] = temp.score;
-          }
-        }
+    for (int i = 0; i < scoreCounts.length; i++) {
+      byte score = (byte) (i + Byte.MIN_VALUE);
+      for (int k = 0; k < scoreCounts[i]; k++) {
+        scores[stdIndex++] = score;
+      }
+      for (int k = 0; k < ignoredCounts[i]; k++) {
+        ignoredScores[ignoreIndex++] = score;
+      }
+      for (int k = ignoredCounts[i]; k < scoreCounts[i]; k++) {
+        usefulScores[usefulIndex++] = score;
       }
     }
 
@@ -748,7 +762,38 @@ public class GroupResults
    */
   public static SentencePair[] getPairsForName(String fileName) {
     int row = getRowNumber(fileName);
-    return row == -1 ? new SentencePair[0] : pairs[row];
+    return row == -1 ? new SentencePair[0] : getRow(row);
+  }
+
+  /**
+   * The pairs of the document at the given row, read in again if they were
+   * not kept when the results were loaded. Once read in they are kept, so
+   * that any changes made to them can be saved.
+   * @param row The row number of the document.
+   * @return The document's pairs, or none if they cannot be read.
+   */
+  private static synchronized SentencePair[] getRow(int row) {
+    if (pairs[row] == null) {
+      try {
+        pairs[row] = readFileIntoPair(pairFiles[row]);
+      }
+      catch (Exception e) {
+        SentenceResults.outputToErrorFile(e);
+        return new SentencePair[0];
+      }
+    }
+    return pairs[row];
+  }
+
+  /**
+   * Records the totals of a document's results, and adds its scores to the
+   * statistics of the whole set.
+   * @param row The row number of the document.
+   * @param rowTotals The totals.
+   */
+  private static synchronized void addTotals(int row, PairTotals rowTotals) {
+    totals[row] = rowTotals;
+    rowTotals.addCountsTo(scoreCounts, ignoredCounts);
   }
 
   /**
@@ -784,15 +829,12 @@ public class GroupResults
                             Settings.getFileTypes()[Settings.SEN].getDirectory() +
                             File.separator + name + "." +
                             Settings.getFileTypes()[Settings.SEN].getExtension());
-    File origFile = new File(Settings.getSourceDirectory() + File.separator +
-                             Settings.getFileTypes()[Settings.ORI].getDirectory() +
-                             File.separator + name + "." +
-                             Settings.getFileTypes()[Settings.ORI].getExtension());
+    File origFile = Settings.getProcessedFile(Settings.ORI, name);
     Document doc = null;
     String[] origText = null;
     try {
       doc = readFileIntoDoc(docFile);
-      doc.setPairsArray(pairs[row]);
+      doc.setPairsArray(getRow(row));
       doc.setFileName(name);
       origText = SentenceResults.readOrigFile(origFile);
     }
@@ -813,10 +855,10 @@ public class GroupResults
       SentenceResults.outputToErrorFile(ioe);
       return;
     }
-    String[] similarFiles = new String[mostSimilar[row].length];
-    for (int i = 0; i < mostSimilar[row].length; i++) {
-      similarFiles[i] = mostSimilar[row][i].name + " " +
-          (int) mostSimilar[row][i].val + "%";
+    String[] similarFiles = new String[totals[row].similarNames.length];
+    for (int i = 0; i < similarFiles.length; i++) {
+      similarFiles[i] = totals[row].similarNames[i] + " " +
+          (int) totals[row].similarPercents[i] + "%";
     }
 
     SentenceResults sr = new SentenceResults(this, doc, origText,
@@ -824,40 +866,158 @@ public class GroupResults
   }
 
   /**
-   * Returns all the links between sentences for this dataset.
+   * Loads the links between sentences for this dataset, on several threads.
+   * If the results have already been filtered, as is the case when they
+   * were saved after being looked at before, the totals of each document
+   * are worked out as its file is read and the table is filled as they
+   * arrive; the pairs themselves are not kept, but read in again by
+   * getRow() when they are needed. Otherwise the pairs are all kept so that
+   * they can be filtered.
    * @param task The FilterTask which is controlling this method.
-   * @return An array of SentencePair arrays.
+   * @return true if the results were already filtered and only their totals
+   * have been worked out.
    */
-  private SentencePair[][] loadPairs(FilterTask task) {
-    if (pairFiles == null || pairFiles.length == 0) {
-      return new SentencePair[0][0];
+  private boolean loadPairs(FilterTask task) {
+    synchronized (GroupResults.class) {
+      pairs = new SentencePair[pairFiles.length][];
+      totals = new PairTotals[pairFiles.length];
+      scoreCounts = new int[256];
+      ignoredCounts = new int[256];
+    }
+    if (pairFiles.length == 0) {
+      return false;
     }
-    SentencePair[][] temp = new SentencePair[pairFiles.length][];
 
-    // load the pairs into the array.
-    for (int i = 0; !task.cancelled && i < temp.length; i++) {
+    // the first file says whether the results have been filtered.
+    SentencePair[] first = loadRow(0);
+    task.stageDone();
+    boolean filtered = first != null && first.length > 0 &&
+        !first[0].isChanged();
+    if (filtered) {
+      task.streaming = true;
+      addTotals(0, new PairTotals(first, NUM_SIMILAR, GROUP_PAIRS));
+    }
+    else {
+      pairs[0] = first == null ? new SentencePair[0] : first;
+    }
+    loadRows(task, 1, !filtered);
+    return filtered;
+  }
+
+  /**
+   * Loads the rows from the given one on that have not been loaded already,
+   * on as many threads as documents are compared on.
+   * @param task The FilterTask which is controlling this method.
+   * @param first The first row to load.
+   * @param keep true to keep the pairs of each row, false to work out its
+   * totals and throw them away.
+   */
+  private void loadRows(FilterTask task, int first, boolean keep) {
+    nextRow = first;
+    int threads = Settings.getSherlockSettings().getDetectionThreads();
+    PairLoader[] loaders = new PairLoader[threads];
+    for (int x = 0; x < threads; x++) {
+      loaders[x] = new PairLoader(task, keep);
+      loaders[x].start();
+    }
+    for (int x = 0; x < threads; x++) {
       try {
-        temp[i] = readFileIntoPair(pairFiles[i]);
-        task.currentStatus++;
-      }
-      catch (FileNotFoundException fnfe) {
-        // shouldn't happen
-        fnfe.printStackTrace();
+        loaders[x].join();
       }
-      catch (ClassNotFoundException cnfe) {
-        // shouldn't happen
-        cnfe.printStackTrace();
-      }
-      catch (IOException ioe) {
-        JOptionPane.showMessageDialog(this, "IOException while reading results",
-                                      "ERROR", JOptionPane.ERROR_MESSAGE);
-        SentenceResults.outputToErrorFile(ioe);
+      catch (InterruptedException e) {
+        task.cancelled = true;
       }
     }
+  }
+
+  // The next row to be loaded by a PairLoader.
+  private int nextRow;
+
+  /**
+   * Hand out the next row to load.
+   * @return The row number, or -1 if there are none left.
+   */
+  private synchronized int getNextRow() {
+    if (nextRow >= pairFiles.length) {
+      return -1;
+    }
+    return nextRow++;
+  }
 
-    return temp;
+  /**
+   * Reads in the pairs of the document at the given row.
+   * @param row The row number of the document.
+   * @return The pairs, or null if they could not be read.
+   */
+  private SentencePair[] loadRow(int row) {
+    try {
+      return readFileIntoPair(pairFiles[row]);
+    }
+    catch (FileNotFoundException fnfe) {
+      // shouldn't happen
+      fnfe.printStackTrace();
+    }
+    catch (ClassNotFoundException cnfe) {
+      // shouldn't happen
+      cnfe.printStackTrace();
+    }
+    catch (IOException ioe) {
+      JOptionPane.showMessageDialog(this, "IOException while reading results",
+                                    "ERROR", JOptionPane.ERROR_MESSAGE);
+      SentenceResults.outputToErrorFile(ioe);
+    }
+    return null;
   }
 
+  /**
+   * Loads rows handed out by getNextRow() until there are none left.
+   * <p>Title: Sherlock 2000</p>
+   * <p>Description: Plagiarism Detection Software</p>
+   * <p>Copyright: Copyright (c) 2002</p>
+   * <p>Company: University of Warwick</p>
+   */
+  private class PairLoader
+      extends Thread {
+    // The FilterTask which is controlling the loading.
+    private FilterTask task;
+    // Whether to keep the pairs of each row.
+    private boolean keep;
+
+    /**
+     * Create a new loader.
+     * @param task The FilterTask which is controlling the loading.
+     * @param keep true to keep the pairs of each row, false to work out its
+     * totals and throw them away.
+     */
+    PairLoader(FilterTask task, boolean keep) {
+      this.task = task;
+      this.keep = keep;
+      setPriority(task.getPriority());
+    }
+
+    /**
+     * Load rows until there are none left.
+     */
+    public void run() {
+      int row;
+      while (!task.cancelled && (row = getNextRow()) >= 0) {
+        if (pairs[row] == null) {
+          SentencePair[] loaded = loadRow(row);
+          if (loaded == null) {
+            loaded = new SentencePair[0];
+          }
+          if (keep) {
+            pairs[row] = loaded;
+          }
+          else {
+            addTotals(row, new PairTotals(loaded, NUM_SIMILAR, GROUP_PAIRS));
+          }
+        }
+        task.stageDone();
+      }
+    }
+  } // PairLoader
+
   /**
    * UnIgnores all similarities. Used to reset them before filtering begins.
    */
@@ -887,31 +1047,23 @@ public class GroupResults
    *
    * @param task The thread object that controls this method. Used to keep
    * track of progress for the ProgressMonitor.
-   * @param filter Whether a full filter should be done, or just the score
-   * multiplier.
    */
-  private void filterPairs(FilterTask task, boolean filter) {
-    // The multiplier for the individual score.
-    mults = new double[pairs.length];
-    // The most similar files to an individual file.
-    mostSimilar = new ValNamePair[pairs.length][];
+  private void filterPairs(FilterTask task) {
     int reciprocated = 0;
     int ignored = 0;
-    Hashtable[] totals = new Hashtable[pairs.length];
-    int[] runningTotal = new int[pairs.length];
 
-    for (int i = 0; !task.cancelled && filter && i < pairs.length; i++) {
+    for (int i = 0; !task.cancelled && i < pairs.length; i++) {
       for (int j = 0; !task.cancelled && j < pairs[i].length; j++) {
         /* when there are too many links from the sentence it indicates
          * that it is probably too common amongst this set of work to be
          * taken as a proper indication of plagiarism. */
-        if (pairs[i][j].scores.size() > MAX_LINKS) {
+        if (pairs[i][j].size() > MAX_LINKS) {
           // ignore all scores in this sentence; it is too common according to
           // the settings.
           // for each score, must also disable the reciprocating score in
           // the file it links to.
-          for (int k = 0; k < pairs[i][j].scores.size(); k++) {
-            SentenceScore temp = (SentenceScore) pairs[i][j].scores.get(k);
+          for (int k = 0; k < pairs[i][j].size(); k++) {
+            SentenceScore temp = pairs[i][j].getLink(k);
             if (!temp.isIgnored()) {
               SentencePair[] tempPairs = getPairsForName(temp.name);
 
@@ -938,7 +1090,7 @@ public class GroupResults
           }
           pairs[i][j].ignoreAllScores();
 
-        } //if(pairs[i][j].scores...
+        } //if(pairs[i][j].size()...
         if (DEBUG) {
           System.out.println("IGNORED:" + ignored + ", RECIPROCATED:" +
                              reciprocated);
@@ -950,64 +1102,15 @@ public class GroupResults
       return;
     }
 
-    for (int i = 0; i < pairs.length; i++) {
-      totals[i] = new Hashtable();
-      runningTotal[i] = 0;
-      for (int j = 0; j < pairs[i].length; j++) {
-        /* Now calculate some percentage for each document. The totals
-         * hashtable is filled by totalling the scores for each document linked
-         * to from this document. The highest total is then converted to a
-         * percentage of the combined total and used as a multiplier for the
-         * score */
-        for (int k = 0; k < pairs[i][j].scores.size(); k++) {
-          SentenceScore temp = (SentenceScore) pairs[i][j].scores.get(k);
-          if (!temp.isIgnored()) {
-            Integer totalScore = (Integer) totals[i].get(temp.name);
-            if (totalScore == null) {
-              totalScore = new Integer(0);
-
-            }
-            totalScore = new Integer(totalScore.intValue() + temp.score);
-            totals[i].put(temp.name, totalScore);
-            runningTotal[i] += temp.score;
-          }
-        }
-      }
-      // Can now calculate the multiplier
-      // The highest matches are kept and used to display which documents are
-      // most similar to this one.
-      Enumeration keys = totals[i].keys();
-      ValNamePair[] high = new ValNamePair[NUM_SIMILAR];
-      for (int j = 0; j < NUM_SIMILAR; j++) {
-        high[j] = new ValNamePair(0.0, "");
-
-      }
-      while (keys.hasMoreElements()) {
-        String next = (String) keys.nextElement();
-        Integer val = (Integer) totals[i].get(next);
-        if (val.intValue() > high[NUM_SIMILAR - 1].val) {
-          high[NUM_SIMILAR - 1].val = val.intValue();
-          high[NUM_SIMILAR - 1].name = next;
-          Arrays.sort(high);
-        }
-
-      }
-      double multiplier;
-      double max = high[0].val;
-      if (runningTotal[i] != 0 && max != 0) {
-        multiplier = max / (double) runningTotal[i];
-      }
-      else {
-        multiplier = 1.0;
-
+    // The multiplier for each document is worked out from the highest total
+    // of the scores linking it to any one other document.
+    synchronized (GroupResults.class) {
+      totals = new PairTotals[pairs.length];
+      scoreCounts = new int[256];
+      ignoredCounts = new int[256];
+      for (int i = 0; i < pairs.length; i++) {
+        addTotals(i, new PairTotals(pairs[i], NUM_SIMILAR, GROUP_PAIRS));
       }
-      for (int j = 0; j < NUM_SIMILAR; j++) {
-        high[j].val = (high[j].val / ( (double) runningTotal[i]) * 100);
-      }
-
-      mults[i] = multiplier + (GROUP_PAIRS ? 0.0 : 1.0);
-      mostSimilar[i] = high;
-      //task.currentStatus++;
     }
   }
 
@@ -1078,6 +1181,10 @@ public class GroupResults
    */
   private void saveChangedPairs() {
     for (int i = 0; i < pairs.length; i++) {
+      // rows that were not kept have not been changed.
+      if (pairs[i] == null) {
+        continue;
+      }
 
       boolean shouldSave = false;
       for (int j = 0; j < pairs[i].length; j++) {
@@ -1123,6 +1230,9 @@ public class GroupResults
    */
   private boolean isChanged() {
     for (int i = 0; i < pairs.length; i++) {
+      if (pairs[i] == null) {
+        continue;
+      }
       for (int j = 0; j < pairs[i].length; j++) {
         if (pairs[i][j].isChanged()) {
           return true;
@@ -1132,35 +1242,15 @@ public class GroupResults
     return false;
   }
 
-  private SentencePair[] readFileIntoPair(File file) throws
+  private static SentencePair[] readFileIntoPair(File file) throws
       FileNotFoundException,
       IOException, ClassNotFoundException {
-    return (SentencePair[]) readFileIntoObject(file);
+    return CompactFormat.readPairs(file);
   }
 
   private Document readFileIntoDoc(File file) throws FileNotFoundException,
       IOException, ClassNotFoundException {
-    return (Document) readFileIntoObject(file);
-  }
-
-  /**
-   * Given a serialised file, this will return an Object constructed from that
-   * file.
-   * @param file The file to be read.
-   * @return An Object, which can then be cast to the required class.
-   * @throws FileNotFoundException If the file is not found.
-   * @throws IOException If an IO error occurs.
-   * @throws ClassNotFoundException If the class is not found.
-   */
-  private Object readFileIntoObject(File file) throws FileNotFoundException,
-      IOException, ClassNotFoundException {
-    FileInputStream in = new FileInputStream(file);
-    ObjectInputStream docIn = new ObjectInputStream(in);
-    Object ret = docIn.readObject();
-    docIn.close();
-    in.close();
-
-    return ret;
+    return CompactFormat.readDocument(file, new AnalysisContext());
   }
 
   /**
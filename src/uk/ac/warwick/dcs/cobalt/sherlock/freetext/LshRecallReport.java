@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 1999-2003 The University of Warwick. All Rights Reserved.
+ */
+package uk.ac.warwick.dcs.cobalt.sherlock.freetext;
+
+import java.io.*;
+import java.util.*;
+
+import uk.ac.warwick.dcs.cobalt.sherlock.*;
+
+/**
+ * <p>Measures how many of the similar sentences the locality-sensitive
+ * hashing stage finds, and how much time it saves. The sentence-parsed files
+ * of a source directory are compared once comparing every pair of sentences
+ * sharing a word, and once more comparing only those sharing a bucket. As
+ * the sentences that are compared are scored exactly, every similarity
+ * found the second way is also found the first way, so the recall is the
+ * ratio of the two counts.</p>
+ * <p>Usage: java uk.ac.warwick.dcs.cobalt.sherlock.freetext.LshRecallReport
+ * directory [bands rows]...</p>
+ * <p>The directory must already have been pre-processed with sentences on.
+ * Each pair of bands and rows is measured in turn; with none, the lshBands
+ * and lshRows of the directory's settings are used.</p>
+ * <p>Title: Sherlock 2000</p>
+ * <p>Description: Plagiarism Detection Software</p>
+ * <p>Copyright: Copyright (c) 2002</p>
+ * <p>Company: University of Warwick</p>
+ */
+public class LshRecallReport {
+
+  /**
+   * The sentence-parsed files being compared.
+   */
+  private File[] files;
+
+  /**
+   * The settings of the sentence file type.
+   */
+  private FileTypeProfile profile;
+
+  /**
+   * Constructor.
+   * @param files The sentence-parsed files to compare.
+   * @param profile The settings of the sentence file type.
+   */
+  public LshRecallReport(File[] files, FileTypeProfile profile) {
+    this.files = files;
+    this.profile = profile;
+  }
+
+  /**
+   * Compares every pair of files in the given analysis.
+   * @param context The analysis to compare the files in.
+   * @return The number of pairs of similar sentences found, and the time
+   * taken in milliseconds.
+   * @throws IOException If a file cannot be read.
+   * @throws ClassNotFoundException If a file does not hold a document.
+   */
+  private long[] compareAll(AnalysisContext context) throws IOException,
+      ClassNotFoundException {
+    Document[] docs = new Document[files.length];
+    for (int i = 0; i < files.length; i++) {
+      docs[i] = Comparison.readFileIntoDocStatic(files[i], context);
+    }
+
+    long start = System.currentTimeMillis();
+    long found = 0;
+    for (int i = 0; i < docs.length; i++) {
+      for (int j = i + 1; j < docs.length; j++) {
+        SentenceMatches matches = new SentenceMatches();
+        docs[i].findSimilar(docs[j], matches);
+        found += matches.size();
+      }
+    }
+    return new long[] {
+        found, System.currentTimeMillis() - start};
+  }
+
+  /**
+   * Measures the given settings against comparing every pair of sentences
+   * sharing a word, and prints the results.
+   * @param bandsAndRows Pairs of numbers of bands and rows to measure.
+   * @param out Where to print the results.
+   * @throws IOException If a file cannot be read.
+   * @throws ClassNotFoundException If a file does not hold a document.
+   */
+  public void report(int[][] bandsAndRows, PrintStream out) throws
+      IOException, ClassNotFoundException {
+    AnalysisContext exact = new AnalysisContext(profile);
+    exact.setLsh(0, 0);
+    long[] expected = compareAll(exact);
+    out.println(files.length + " documents, simThreshold "
+                + profile.getSimThreshold() + ", commonThreshold "
+                + profile.getCommonThreshold());
+    out.println("exact: " + expected[0] + " similar pairs in "
+                + expected[1] + "ms");
+
+    for (int i = 0; i < bandsAndRows.length; i++) {
+      int bands = bandsAndRows[i][0];
+      int rows = bandsAndRows[i][1];
+      AnalysisContext hashed = new AnalysisContext(profile);
+      hashed.setLsh(bands, rows);
+      long[] result = compareAll(hashed);
+      double recall = expected[0] == 0 ? 1 :
+          result[0] / (double) expected[0];
+      // Sentences are about as likely as not to share a bucket when their
+      // Jaccard similarity is (1 / bands) ^ (1 / rows).
+      double knee = Math.pow(1.0 / bands, 1.0 / rows);
+      out.println("bands " + bands + ", rows " + rows + ": "
+                  + result[0] + " similar pairs in " + result[1]
+                  + "ms, recall " + Math.round(recall * 1000) / 10.0
+                  + "%, threshold about "
+                  + Math.round(knee * 100) / 100.0);
+    }
+  }
+
+  /**
+   * Run the report from the command line.
+   * @param args The source directory, then pairs of bands and rows.
+   */
+  public static void main(String[] args) {
+    if (args.length < 1 || args.length % 2 != 1) {
+      System.out.println("Usage: java " + LshRecallReport.class.getName()
+                         + " directory [bands rows]...");
+      return;
+    }
+    Settings.setRunningGUI(false);
+    Settings.setSourceDirectory(new File(args[0]));
+    Settings.init();
+    FileTypeProfile profile = Settings.getFileTypes()[Settings.SEN];
+
+    int[][] bandsAndRows;
+    try {
+      if (args.length == 1) {
+        bandsAndRows = new int[][] {
+            {
+            profile.getLshBands(), profile.getLshRows()}
+        };
+      }
+      else {
+        bandsAndRows = new int[args.length / 2][2];
+        for (int i = 0; i < bandsAndRows.length; i++) {
+          bandsAndRows[i][0] = Integer.parseInt(args[i * 2 + 1]);
+          bandsAndRows[i][1] = Integer.parseInt(args[i * 2 + 2]);
+        }
+      }
+    }
+    catch (NumberFormatException e) {
+      System.out.println("Numbers of bands and rows are invalid");
+      return;
+    }
+    for (int i = 0; i < bandsAndRows.length; i++) {
+      if (bandsAndRows[i][0] < 1 || bandsAndRows[i][1] < 1) {
+        System.out.println("Numbers of bands and rows must be at least 1");
+        return;
+      }
+    }
+
+    // Every sentence-parsed file, other than the exclude file.
+    File dir = new File(args[0], profile.getDirectory());
+    String exclude = Settings.getSherlockSettings().getExcludeFile() + "."
+        + profile.getExtension();
+    File[] list = dir.listFiles();
+    if (list == null) {
+      System.out.println("No sentence-parsed files in " + dir);
+      return;
+    }
+    ArrayList files = new ArrayList();
+    for (int i = 0; i < list.length; i++) {
+      String name = list[i].getName();
+      if (name.endsWith("." + profile.getExtension())
+          && !name.equals(exclude)) {
+        files.add(list[i]);
+      }
+    }
+    File[] sorted = (File[]) files.toArray(new File[files.size()]);
+    Arrays.sort(sorted);
+
+    try {
+      new LshRecallReport(sorted, profile).report(bandsAndRows, System.out);
+    }
+    catch (Exception e) {
+      System.out.println("Error comparing the files in " + dir + ": " + e);
+    }
+  }
+}
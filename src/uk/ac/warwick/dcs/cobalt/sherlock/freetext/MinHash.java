@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 1999-2003 The University of Warwick. All Rights Reserved.
+ */
+package uk.ac.warwick.dcs.cobalt.sherlock.freetext;
+
+import java.util.*;
+
+/**
+ * <p>Gives sentences MinHash signatures and groups them into
+ * locality-sensitive hashing bands. Each signature holds bands * rows
+ * values, the smallest hash of the sentence's words under each of that
+ * many hash functions, so two sentences agree on any one value with
+ * probability equal to the Jaccard similarity of their sets of words. The
+ * values are then hashed together a band at a time; sentences which agree
+ * on every value of some band land in the same bucket for it, and only
+ * those are compared exactly.</p>
+ * <p>The words are hashed, not their dictionary IDs, so the same sentences
+ * are always compared however the documents were read in.</p>
+ * <p>Title: Sherlock 2000</p>
+ * <p>Description: Plagiarism Detection Software</p>
+ * <p>Copyright: Copyright (c) 2002</p>
+ * <p>Company: University of Warwick</p>
+ */
+public class MinHash {
+
+  /**
+   * The seed of the hash functions, fixed so that every run compares the
+   * same sentences.
+   */
+  private static final long SEED = 0x5348455254L;
+
+  /**
+   * The number of bands.
+   */
+  private int bands;
+
+  /**
+   * The number of values in each band.
+   */
+  private int rows;
+
+  /**
+   * The value each word's hash is mixed with for each hash function.
+   */
+  private int[] seeds;
+
+  /**
+   * Constructor.
+   * @param bands The number of bands, at least 1.
+   * @param rows The number of MinHash values in each band, at least 1.
+   */
+  public MinHash(int bands, int rows) {
+    this.bands = bands;
+    this.rows = rows;
+    Random random = new Random(SEED);
+    seeds = new int[bands * rows];
+    for (int i = 0; i < seeds.length; i++) {
+      seeds[i] = random.nextInt();
+    }
+  }
+
+  /**
+   * The number of bands.
+   * @return The number of bands.
+   */
+  public int getBands() {
+    return bands;
+  }
+
+  /**
+   * The number of MinHash values in each band.
+   * @return The number of rows.
+   */
+  public int getRows() {
+    return rows;
+  }
+
+  /**
+   * The bucket the given words fall into in each band.
+   * @param words The words of a sentence.
+   * @return The hash of each band of the words' MinHash signature.
+   */
+  public int[] bandHashes(String[] words) {
+    int[] signature = new int[seeds.length];
+    Arrays.fill(signature, Integer.MAX_VALUE);
+    for (int w = 0; w < words.length; w++) {
+      int hash = words[w].hashCode();
+      for (int i = 0; i < seeds.length; i++) {
+        int value = mix(hash ^ seeds[i]);
+        if (value < signature[i]) {
+          signature[i] = value;
+        }
+      }
+    }
+
+    int[] hashes = new int[bands];
+    for (int b = 0; b < bands; b++) {
+      int hash = b;
+      for (int r = 0; r < rows; r++) {
+        hash = mix(hash * 31 + signature[b * rows + r]);
+      }
+      hashes[b] = hash;
+    }
+    return hashes;
+  }
+
+  /**
+   * Scrambles the bits of a hash, so that similar inputs give unrelated
+   * outputs. This is the finaliser of MurmurHash3.
+   * @param h The hash.
+   * @return The scrambled hash.
+   */
+  private static int mix(int h) {
+    h ^= h >>> 16;
+    h *= 0x85ebca6b;
+    h ^= h >>> 13;
+    h *= 0xc2b2ae35;
+    h ^= h >>> 16;
+    return h;
+  }
+}
@@ -0,0 +1,356 @@
+/*
+ * Copyright (c) 1999-2003 The University of Warwick. All Rights Reserved.
+ */
+package uk.ac.warwick.dcs.cobalt.sherlock.freetext;
+
+import java.io.*;
+import java.util.*;
+
+import uk.ac.warwick.dcs.cobalt.sherlock.*;
+
+/**
+ * <p>Totals the scores of the links from one document to each other
+ * document, and finds the documents with the highest totals. The totals are
+ * kept in an array indexed by the document ID of each name, and the highest
+ * are picked out with a heap holding no more than the number wanted, so
+ * nothing is boxed however many links or documents there are. Documents
+ * with equal totals are ordered by name, looked up in the table of document
+ * names the IDs are from.</p>
+ * <p>Run from the command line, it prints the score and most similar
+ * documents of every document in a directory's results, reading one pairs
+ * file at a time, so that they can be produced for large sets of documents
+ * without the results window.</p>
+ * <p>Usage: java uk.ac.warwick.dcs.cobalt.sherlock.freetext.MostSimilar
+ * directory [number]</p>
+ * <p>The directory must already have been compared with sentences on. The
+ * number of most similar documents, the maximum number of links and whether
+ * pairs are grouped are taken from the directory's settings.</p>
+ * <p>Title: Sherlock 2000</p>
+ * <p>Description: Plagiarism Detection Software</p>
+ * <p>Copyright: Copyright (c) 2002</p>
+ * <p>Company: University of Warwick</p>
+ */
+public class MostSimilar {
+
+  /**
+   * The table the document IDs are from.
+   */
+  private DocumentNames names;
+
+  /**
+   * The total of the scores linking to each document, by document ID.
+   */
+  private int[] totals = new int[64];
+
+  /**
+   * Whether each document has a total, by document ID.
+   */
+  private boolean[] present = new boolean[64];
+
+  /**
+   * The document IDs with a total, in the order they were first added.
+   */
+  private int[] found = new int[16];
+
+  /**
+   * The number of document IDs in found.
+   */
+  private int numFound = 0;
+
+  /**
+   * Constructor.
+   * @param names The table the document IDs added are from.
+   */
+  public MostSimilar(DocumentNames names) {
+    this.names = names;
+  }
+
+  /**
+   * Adds the score of a link to the total of the document it links to.
+   * @param docId The document ID of the document linked to.
+   * @param score The score of the link.
+   */
+  public void add(int docId, int score) {
+    if (docId >= totals.length) {
+      int length = Math.max(docId + 1, totals.length * 2);
+      int[] temp = new int[length];
+      System.arraycopy(totals, 0, temp, 0, totals.length);
+      totals = temp;
+      boolean[] flags = new boolean[length];
+      System.arraycopy(present, 0, flags, 0, present.length);
+      present = flags;
+    }
+    if (!present[docId]) {
+      present[docId] = true;
+      if (numFound == found.length) {
+        int[] temp = new int[found.length * 2];
+        System.arraycopy(found, 0, temp, 0, numFound);
+        found = temp;
+      }
+      found[numFound++] = docId;
+    }
+    totals[docId] += score;
+  }
+
+  /**
+   * The total of the scores linking to a document.
+   * @param docId The document ID.
+   * @return The total, or 0 if nothing links to it.
+   */
+  public int getTotal(int docId) {
+    return docId < totals.length ? totals[docId] : 0;
+  }
+
+  /**
+   * Forgets all the totals, so that the next document can be totalled.
+   */
+  public void clear() {
+    for (int i = 0; i < numFound; i++) {
+      totals[found[i]] = 0;
+      present[found[i]] = false;
+    }
+    numFound = 0;
+  }
+
+  /**
+   * The documents with the highest totals. Only documents with a total above
+   * zero are included.
+   * @param number The number of documents wanted.
+   * @return The document IDs, highest total first; fewer than number if
+   * there are not enough documents.
+   */
+  public int[] top(int number) {
+    // A heap of the best so far, with the worst of them at the root.
+    int[] heap = new int[Math.max(number, 0)];
+    int size = 0;
+    for (int i = 0; i < numFound && number > 0; i++) {
+      int docId = found[i];
+      if (totals[docId] <= 0) {
+        continue;
+      }
+      if (size < number) {
+        heap[size] = docId;
+        siftUp(heap, size);
+        size++;
+      }
+      else if (better(docId, heap[0])) {
+        heap[0] = docId;
+        siftDown(heap, 0, size);
+      }
+    }
+
+    // Taking the worst off the root each time leaves them best first.
+    int[] result = new int[size];
+    for (int i = size - 1; i >= 0; i--) {
+      result[i] = heap[0];
+      heap[0] = heap[i];
+      siftDown(heap, 0, i);
+    }
+    return result;
+  }
+
+  /**
+   * Whether one document comes before another in the list of the most
+   * similar: it has a higher total, or an equal total and an earlier name.
+   * @param a The document ID of one document.
+   * @param b The document ID of the other.
+   * @return True if a comes before b.
+   */
+  private boolean better(int a, int b) {
+    if (totals[a] != totals[b]) {
+      return totals[a] > totals[b];
+    }
+    return names.getDocName(a).compareTo(names.getDocName(b)) < 0;
+  }
+
+  /**
+   * Moves the entry at index up the heap until its parent is worse.
+   * @param heap The heap of document IDs.
+   * @param index The index of the entry to move.
+   */
+  private void siftUp(int[] heap, int index) {
+    int docId = heap[index];
+    while (index > 0) {
+      int parent = (index - 1) >>> 1;
+      if (!better(heap[parent], docId)) {
+        break;
+      }
+      heap[index] = heap[parent];
+      index = parent;
+    }
+    heap[index] = docId;
+  }
+
+  /**
+   * Moves the entry at index down the heap until its children are better.
+   * @param heap The heap of document IDs.
+   * @param index The index of the entry to move.
+   * @param size The number of entries in the heap.
+   */
+  private void siftDown(int[] heap, int index, int size) {
+    int docId = heap[index];
+    while (true) {
+      int child = index * 2 + 1;
+      if (child >= size) {
+        break;
+      }
+      if (child + 1 < size && better(heap[child], heap[child + 1])) {
+        child++;
+      }
+      if (!better(docId, heap[child])) {
+        break;
+      }
+      heap[index] = heap[child];
+      index = child;
+    }
+    heap[index] = docId;
+  }
+
+  /**
+   * Prints the score and most similar documents of each pairs file. If the
+   * results have not been filtered yet, as the results window would when
+   * they are first displayed, links from or to a sentence with more than
+   * maxLinks links are ignored; the files are then read through twice, the
+   * first time to find those sentences.
+   * @param pairFiles The pairs files of the documents.
+   * @param numSimilar The number of most similar documents to print.
+   * @param maxLinks The most links a sentence may have before it is ignored.
+   * @param groupPairs Whether the filter groups pairs that are very similar.
+   * @param out Where to print the results.
+   * @throws IOException If a file cannot be read.
+   * @throws ClassNotFoundException If a file does not hold sentence pairs.
+   */
+  public static void report(File[] pairFiles, int numSimilar, int maxLinks,
+                            boolean groupPairs, PrintStream out) throws
+      IOException, ClassNotFoundException {
+    if (pairFiles.length == 0) {
+      return;
+    }
+
+    // All the files share one table of document names, so that the IDs of
+    // the sentences with too many links can be looked up in any of them.
+    DocumentNames names = new DocumentNames();
+
+    // the first file says whether the results have been filtered, as it
+    // does for the results window.
+    SentencePair[] first = CompactFormat.readPairs(pairFiles[0], names);
+    boolean filtered = first.length > 0 && !first[0].isChanged();
+
+    // The sentences with too many links, by the document ID of their
+    // document.
+    BitSet[] common = new BitSet[0];
+    if (!filtered) {
+      for (int i = 0; i < pairFiles.length; i++) {
+        SentencePair[] pairs =
+            i == 0 ? first : CompactFormat.readPairs(pairFiles[i], names);
+        for (int j = 0; j < pairs.length; j++) {
+          if (pairs[j].size() > maxLinks) {
+            int docId = names.getDocId(pairs[j].name);
+            if (docId >= common.length) {
+              BitSet[] temp = new BitSet[docId + 1];
+              System.arraycopy(common, 0, temp, 0, common.length);
+              common = temp;
+            }
+            if (common[docId] == null) {
+              common[docId] = new BitSet();
+            }
+            common[docId].set(pairs[j].id);
+          }
+        }
+      }
+    }
+
+    for (int i = 0; i < pairFiles.length; i++) {
+      SentencePair[] pairs =
+          i == 0 ? first : CompactFormat.readPairs(pairFiles[i], names);
+      first = null;
+      if (!filtered) {
+        for (int j = 0; j < pairs.length; j++) {
+          if (pairs[j].size() > maxLinks) {
+            pairs[j].ignoreAllScores();
+            continue;
+          }
+          for (int k = 0; k < pairs[j].size(); k++) {
+            int docId = pairs[j].getDocId(k);
+            if (docId < common.length && common[docId] != null &&
+                common[docId].get(pairs[j].getId(k))) {
+              pairs[j].setIgnored(k, true);
+            }
+          }
+        }
+      }
+
+      PairTotals totals = new PairTotals(pairs, numSimilar, groupPairs);
+      if (totals.name == null) {
+        continue;
+      }
+      StringBuffer line = new StringBuffer(totals.name);
+      line.append('\t').append(Math.round(totals.getScore() * 100) / 100.0);
+      for (int j = 0; j < totals.similarNames.length; j++) {
+        if (totals.similarNames[j].length() > 0) {
+          line.append('\t').append(totals.similarNames[j]).append(" (")
+              .append(Math.round(totals.similarPercents[j] * 10) / 10.0)
+              .append("%)");
+        }
+      }
+      out.println(line);
+    }
+  }
+
+  /**
+   * Run the report from the command line.
+   * @param args The source directory, then optionally the number of most
+   * similar documents to print.
+   */
+  public static void main(String[] args) {
+    if (args.length < 1 || args.length > 2) {
+      System.out.println("Usage: java " + MostSimilar.class.getName()
+                         + " directory [number]");
+      return;
+    }
+    Settings.setRunningGUI(false);
+    Settings.setSourceDirectory(new File(args[0]));
+    Settings.init();
+    FileTypeProfile profile = Settings.getFileTypes()[Settings.SEN];
+
+    int numSimilar = profile.getNumSimilar();
+    if (args.length == 2) {
+      try {
+        numSimilar = Integer.parseInt(args[1]);
+      }
+      catch (NumberFormatException e) {
+        numSimilar = 0;
+      }
+      if (numSimilar < 1) {
+        System.out.println("The number of documents must be at least 1");
+        return;
+      }
+    }
+
+    // Every pairs file in the match directory.
+    File dir = new File(args[0],
+                        Settings.getSherlockSettings().getMatchDirectory());
+    File[] list = dir.listFiles();
+    if (list == null) {
+      System.out.println("No results in " + dir);
+      return;
+    }
+    String extension = "pairs." + profile.getExtension();
+    ArrayList files = new ArrayList();
+    for (int i = 0; i < list.length; i++) {
+      if (list[i].getName().endsWith(extension)) {
+        files.add(list[i]);
+      }
+    }
+    File[] sorted = (File[]) files.toArray(new File[files.size()]);
+    Arrays.sort(sorted);
+
+    try {
+      report(sorted, numSimilar, profile.getMaxLinks(),
+             profile.getGroupPairs(), System.out);
+    }
+    catch (Exception e) {
+      System.out.println("Error reading the results in " + dir + ": " + e);
+    }
+  }
+}
@@ -105,7 +105,7 @@ class MyStyledDocument
     for (int i = 0; i < sentences.size(); i++) {
       Sentence sentence = (Sentence) sentences.get(i);
       // if this sentence needs different formatting
-      if (sentence.getSentencePairs().scores.size() > 0 ||
+      if (sentence.getSentencePairs().size() > 0 ||
           sentence.getSentencePairs().isIgnored()) {
         SentenceLocation tempLoc = new SentenceLocation(sentence, this);
         locations.add(tempLoc);
@@ -275,24 +275,27 @@ class MyStyledDocument
    * @return The SentenceLocation object that spans that location.
    */
   SentenceLocation findLocater(int loc) {
-    SentenceLocation temp = null;
-    for (int i = 0; i < locations.size(); i++) {
-      temp = (SentenceLocation) locations.get(i);
-      if (temp.startLoc <= loc && temp.endLoc >= loc) {
-        break;
+    // the locations are in order and do not overlap, so the one spanning loc
+    // is the first to end at or after it, if it starts before it.
+    int low = 0, high = locations.size();
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if ( ( (SentenceLocation) locations.get(mid)).endLoc < loc) {
+        low = mid + 1;
       }
-
-      // reaching here on the last iteration means that the locater has not been
-      // created yet. Shouldn't reach here.
-      if (i == locations.size() - 1) {
-        temp = null;
+      else {
+        high = mid;
       }
     }
-    if (temp != null) {
-      return temp;
+    if (low < locations.size()) {
+      SentenceLocation temp = (SentenceLocation) locations.get(low);
+      if (temp.startLoc <= loc) {
+        return temp;
+      }
     }
 
-    temp = new SentenceLocation(loc, this);
+    // the locater has not been created yet. Shouldn't reach here.
+    SentenceLocation temp = new SentenceLocation(loc, this);
     locations.add(temp);
     return temp;
   }
@@ -304,15 +307,16 @@ class MyStyledDocument
    * @return A SentenceLocation object for that sentence.
    */
   SentenceLocation findLocater(Sentence sentence) {
-    SentenceLocation temp = null;
-    for (int i = 0; i < locations.size(); i++) {
-      temp = (SentenceLocation) locations.get(i);
-      if (temp.sentence.equals(sentence)) {
-        return temp;
+    // look for the locater at the sentence's place in the text.
+    SentenceLocation temp = new SentenceLocation(sentence, this);
+    int index = locations.search(temp);
+    if (index >= 0) {
+      SentenceLocation found = (SentenceLocation) locations.get(index);
+      if (found.sentence.equals(sentence)) {
+        return found;
       }
     }
     // shouldn't reach this point.
-    temp = new SentenceLocation(sentence, this);
     locations.add(temp);
     return temp;
   }
@@ -13,24 +13,24 @@ public class NaturalParser implements NaturalParserConstants {
   /**
    * The stream used to save the output file.
    */
-  static ObjectOutputStream save;
+  OutputStream save;
 
-  static Document currentDoc = new Document();
-  static Sentence currentSentence;
+  Document currentDoc = new Document();
+  Sentence currentSentence;
   static String[] sentEnders = {".","?","!",";",":"};
 
   /**
    * The new file containing the output of this tokeniser.
    */
-  static File outputFile = null;
+  File outputFile = null;
 
   /**
    * Keep track of the line number from the file read in. Used to print #line xxx in the outputFile.
    */
-  static int lineNo = 1;
+  int lineNo = 1;
 
-  static String docName = "";
-  static boolean justStartedSentence = false;
+  String docName = "";
+  boolean justStartedSentence = false;
 
   /**
    * Reinitialise all the variables, and get on with parsing the whatever's in the input stream.
@@ -38,28 +38,36 @@ public class NaturalParser implements NaturalParserConstants {
    * @param is - the input stream to parse.
    * @param f - the file to save the results of this tokeniser to.
    */
-  public static void ReInit(InputStream is, File f, String docName) {
-    NaturalParser.currentDoc = new Document();
-    NaturalParser.currentSentence = null;
-    NaturalParser.outputFile = f;
-    NaturalParser.lineNo = 1;
-    NaturalParser.docName = docName;
-    //NaturalParser.ReInit(is);
+  public void ReInit(InputStream is, File f, String docName) {
+    currentDoc = new Document();
+    currentSentence = null;
+    outputFile = f;
+    lineNo = 1;
+    this.docName = docName;
+    //ReInit(is);
   } // ReInit
 
-  public void setOutput(File f, String docName){
-    NaturalParser.currentDoc = new Document();
-    NaturalParser.currentSentence = null;
-    NaturalParser.outputFile = f;
-    NaturalParser.lineNo = 1;
-    NaturalParser.docName = docName;
+  /**
+   * Sets the file to save the parsed document to, and the context its
+   * sentences are parsed in.
+   *
+   * @param f - the file to save the results of this tokeniser to.
+   * @param docName - the name of the document being parsed.
+   * @param context - the free-text analysis the document belongs to.
+   */
+  public void setOutput(File f, String docName, AnalysisContext context){
+    currentDoc = new Document(context);
+    currentSentence = null;
+    outputFile = f;
+    lineNo = 1;
+    this.docName = docName;
   }
 
 
   public static void main(String args[]) throws ParseException {
     NaturalParser parser = new NaturalParser(System.in);
     parser.Input();
-    Document doc = NaturalParser.currentDoc;
+    Document doc = parser.currentDoc;
     System.out.println(doc);
   }
 
@@ -101,14 +109,13 @@ public class NaturalParser implements NaturalParserConstants {
   }
 
   final public void Input() throws ParseException {
+  token_source.parser = this;
   try {
     if (outputFile!= null)
-      save = new ObjectOutputStream(
-                             new FileOutputStream(outputFile));
+      save = new FileOutputStream(outputFile);
     else{
       File f = new File(System.getProperty("user.home"), "testing");
-      save = new ObjectOutputStream(
-                             new FileOutputStream(f));
+      save = new FileOutputStream(f);
     }
   } catch (IOException e) {
       Date day = new Date(System.currentTimeMillis());
@@ -154,20 +161,20 @@ public class NaturalParser implements NaturalParserConstants {
     }
     jj_consume_token(0);
     // Tidy the document object
-    if(NaturalParser.currentSentence != null && !NaturalParser.justStartedSentence)
-      NaturalParser.currentDoc.endSentence(token.endLine,
+    if(currentSentence != null && !justStartedSentence)
+      currentDoc.endSentence(token.endLine,
         token.endColumn);
-    NaturalParser.currentDoc.finishedParsing();
-    NaturalParser.currentDoc.setFileName(NaturalParser.docName);
+    currentDoc.finishedParsing();
+    currentDoc.setFileName(docName);
     try{
       // Write it to the output file.
-      save.writeObject(NaturalParser.currentDoc);
+      CompactFormat.writeDocument(currentDoc, save);
 
       // Finish up.
       save.flush();
       save.close();
     } catch(IOException ioe){
-      System.err.println("Error writing to file "+NaturalParser.outputFile);
+      System.err.println("Error writing to file "+outputFile);
     }
   }
 
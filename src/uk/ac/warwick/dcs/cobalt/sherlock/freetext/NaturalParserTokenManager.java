@@ -5,18 +5,22 @@ import java.util.Date;
 
 public class NaturalParserTokenManager implements NaturalParserConstants
 {
-  static int endCol, startCol;
-  static int lastIndex = -1;
+  /**
+   * The parser this token manager is reading tokens for.
+   */
+  NaturalParser parser;
+  int endCol, startCol;
+  int lastIndex = -1;
 
   void wordParsed() {
-    if(NaturalParser.justStartedSentence || NaturalParser.currentSentence == null){
-      NaturalParser.justStartedSentence = false;
+    if(parser.justStartedSentence || parser.currentSentence == null){
+      parser.justStartedSentence = false;
       startCol = input_stream.getBeginColumn();
-      NaturalParser.currentSentence =
-        NaturalParser.currentDoc.startSentence(NaturalParser.lineNo,
+      parser.currentSentence =
+        parser.currentDoc.startSentence(parser.lineNo,
           startCol + image.lastIndexOf("."));
     }
-    NaturalParser.currentSentence.addWord(image.toString());
+    parser.currentSentence.addWord(image.toString());
 }
   public  java.io.PrintStream debugStream = System.out;
   public  void setDebugStream(java.io.PrintStream ds) { debugStream = ds; }
@@ -1020,7 +1024,7 @@ void SkipLexicalActions(Token matchedToken)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1)));
-    NaturalParser.lineNo++;
+    parser.lineNo++;
          break;
       case 5 :
          if (image == null)
@@ -1041,10 +1045,10 @@ void SkipLexicalActions(Token matchedToken)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1)));
-    if(NaturalParser.currentSentence != null && !NaturalParser.justStartedSentence)
-      NaturalParser.currentDoc.endSentence(NaturalParser.lineNo,
+    if(parser.currentSentence != null && !parser.justStartedSentence)
+      parser.currentDoc.endSentence(parser.lineNo,
         input_stream.getEndColumn());
-    NaturalParser.justStartedSentence = true;
+    parser.justStartedSentence = true;
          break;
       default :
          break;
@@ -131,12 +131,11 @@ public class OneOnOneViewer
     // now have a new sentencepair array to put a subset of the original into.
     for (int i = 0; i < origPairs.length; i++) {
       displayedPairs[i] = new SentencePair( (Sentence) doc.getSentences().get(i));
-      Vector scores = origPairs[i].scores;
+      SentencePair scores = origPairs[i];
       for (int j = 0; j < scores.size(); j++) {
         // only display scores which link to the given name.
-        SentenceScore temp = (SentenceScore) scores.get(j);
-        if (temp.name.equals(compareToName)) {
-          displayedPairs[i].addSimilarity( (SentenceScore) temp.clone());
+        if (scores.getName(j).equals(compareToName)) {
+          displayedPairs[i].addSimilarity(scores.getLink(j));
         }
       } //for(int j=...
     } //for(int i=...
@@ -158,7 +157,7 @@ public class OneOnOneViewer
     int maxLinks = GroupResults.MAX_LINKS;
     for (int i = 0; i < pairs.length; i++) {
       // Display all links, unless there are a lot between the two documents.
-      /*if(pairs[i].scores.size() > maxLinks){
+      /*if(pairs[i].size() > maxLinks){
         pairs[i].ignoreAllScores();
              } else {
         pairs[i].unIgnoreAllScores();
@@ -166,7 +165,7 @@ public class OneOnOneViewer
 
       // This filter just ignores anything not picked up by the original filter.
       if (pairs[i].isIgnored()) {
-        pairs[i].scores = new Vector();
+        pairs[i].removeAllScores();
         pairs[i].unIgnoreAllScores();
       }
     }
@@ -395,7 +394,7 @@ public class OneOnOneViewer
         Sentence sentence = (Sentence) sentences.get(i);
         // if this sentence needs different formatting
         if (sentence.getSentencePairs().isIgnored() ||
-            sentence.getSentencePairs().scores.size() > 0) {
+            sentence.getSentencePairs().size() > 0) {
           // insert up to the sentence's start.
           coords[Sentence.END_LINE] =
               sentence.getCoords()[Sentence.START_LINE];
@@ -412,8 +411,7 @@ public class OneOnOneViewer
           }
           else {
             String formatted = makeSuspicous(constructString(origText, coords));
-            SentenceScore score =
-                (SentenceScore) sentence.getSentencePairs().scores.get(0);
+            SentenceScore score = sentence.getSentencePairs().getLink(0);
             String target = leftPane ? BOT_RIGHT : BOT_LEFT;
             file.append(makeAnchor(makeName(sentence.getId())));
             file.append(makeLink(score.name + ".html", makeName(score.id),
@@ -570,16 +568,14 @@ public class OneOnOneViewer
 
     void leftClick(Sentence sentence, int x, int y) {
       SentencePair pairs = sentence.getSentencePairs();
-      if (pairs.scores.size() == 1) {
-        SentenceScore score = (SentenceScore) pairs.scores.get(0);
+      if (pairs.size() == 1) {
+        SentenceScore score = pairs.getLink(0);
         scrollToSentence(score.id, left);
         return;
       }
       else {
         parent.getPopup().removeAll();
-        SentenceScore[] scoresArray =
-            new SentenceScore[pairs.scores.size()];
-        pairs.scores.toArray(scoresArray);
+        SentenceScore[] scoresArray = pairs.getLinks();
 
         // sorting causes the most suspicous sentences to be placed highest.
         Arrays.sort(scoresArray);
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 1999-2003 The University of Warwick. All Rights Reserved.
+ */
+package uk.ac.warwick.dcs.cobalt.sherlock.freetext;
+
+/**
+ * <p>The totals of one document's results: its overall score, the
+ * multiplier applied to it, the documents it is most similar to and the
+ * spread of its similarity scores. These are all the results table and its
+ * statistics need, so once they have been worked out the document's
+ * sentence pairs need not be kept.</p>
+ * <p>Title: Sherlock 2000</p>
+ * <p>Description: Plagiarism Detection Software</p>
+ * <p>Copyright: Copyright (c) 2002</p>
+ * <p>Company: University of Warwick</p>
+ */
+class PairTotals {
+
+  /**
+   * The name of the document, or null if it has no sentences worth
+   * comparing.
+   */
+  String name;
+
+  /**
+   * The number of sentences in the document.
+   */
+  int sentences;
+
+  /**
+   * The number of links from the document's sentences, and how many of them
+   * are ignored.
+   */
+  int links, ignoredLinks;
+
+  /**
+   * The total of the scores of all the links, and of the ignored links.
+   */
+  int totalScore, ignoredScore;
+
+  /**
+   * The total of the scores of the links that are not ignored.
+   */
+  int usefulScore;
+
+  /**
+   * The multiplier applied to usefulScore to give the document's score.
+   */
+  double multiplier;
+
+  /**
+   * The names of the documents this one is most similar to, most similar
+   * first, and the percentage of usefulScore each accounts for.
+   */
+  String[] similarNames;
+  double[] similarPercents;
+
+  /**
+   * How many of the links have each score, and how many of the ignored
+   * links, indexed by the score minus Byte.MIN_VALUE. Null once they have
+   * been added to the statistics of the whole set of results.
+   */
+  int[] scoreCounts, ignoredCounts;
+
+  /**
+   * Works out the totals of a document's pairs.
+   * @param pairs The pairs of each sentence of the document.
+   * @param numSimilar How many of the most similar documents to keep.
+   * @param groupPairs Whether the filter groups pairs that are very similar,
+   * in which case the multiplier is not increased by one.
+   */
+  PairTotals(SentencePair[] pairs, int numSimilar, boolean groupPairs) {
+    sentences = pairs.length;
+    if (pairs.length > 0) {
+      name = pairs[0].name;
+    }
+    scoreCounts = new int[256];
+    ignoredCounts = new int[256];
+
+    // The total of the scores linking to each other document. The pairs of
+    // one document share a table of document names.
+    DocumentNames names = pairs.length > 0 ? pairs[0].getDocumentNames() :
+        new DocumentNames();
+    MostSimilar others = new MostSimilar(names);
+    for (int j = 0; j < pairs.length; j++) {
+      SentencePair pair = pairs[j];
+      links += pair.size();
+      for (int k = 0; k < pair.size(); k++) {
+        byte score = pair.getScore(k);
+        totalScore += score;
+        scoreCounts[score - Byte.MIN_VALUE]++;
+        if (pair.isIgnored(k)) {
+          ignoredLinks++;
+          ignoredScore += score;
+          ignoredCounts[score - Byte.MIN_VALUE]++;
+        }
+        else {
+          others.add(pair.getDocId(k), score);
+          usefulScore += score;
+        }
+      }
+    }
+
+    // The highest totals give the most similar documents, and the highest
+    // as a proportion of the document's total gives the multiplier.
+    int[] high = others.top(numSimilar);
+    double max = high.length > 0 ? others.getTotal(high[0]) : 0;
+    if (usefulScore != 0 && max != 0) {
+      multiplier = max / (double) usefulScore;
+    }
+    else {
+      multiplier = 1.0;
+    }
+    multiplier += groupPairs ? 0.0 : 1.0;
+
+    // Any places left over have no name and a total of zero.
+    similarNames = new String[numSimilar];
+    similarPercents = new double[numSimilar];
+    for (int j = 0; j < numSimilar; j++) {
+      double val = 0.0;
+      similarNames[j] = "";
+      if (j < high.length) {
+        val = others.getTotal(high[j]);
+        similarNames[j] = names.getDocName(high[j]);
+      }
+      similarPercents[j] = val / ( (double) usefulScore) * 100;
+    }
+  }
+
+  /**
+   * The score of the document shown in the results table.
+   * @return The total of the scores of the links that are not ignored,
+   * times the multiplier.
+   */
+  double getScore() {
+    return usefulScore * multiplier;
+  }
+
+  /**
+   * Adds this document's score counts to those of a whole set of results,
+   * and forgets them.
+   * @param allCounts How many links have each score in the whole set.
+   * @param allIgnored How many ignored links have each score.
+   */
+  void addCountsTo(int[] allCounts, int[] allIgnored) {
+    for (int i = 0; i < scoreCounts.length; i++) {
+      allCounts[i] += scoreCounts[i];
+      allIgnored[i] += ignoredCounts[i];
+    }
+    scoreCounts = null;
+    ignoredCounts = null;
+  }
+}
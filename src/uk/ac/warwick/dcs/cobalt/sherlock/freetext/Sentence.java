@@ -22,15 +22,31 @@ public class Sentence
     implements Serializable, Cloneable {
 
   /**
-   * dictionary is a hashtable of every word that has been parsed that is not
-   * in the commonWords hashtable.
+   * Fixed so that files saved as serialised objects can still be read.
    */
-  private static MyHashtable dictionary, commonWords = new MyHashtable(37);
+  private static final long serialVersionUID = 8484765394620228031L;
 
   /**
-   * Used by the constructor to initialise static variables.
+   * The fields of a serialised Sentence, from when its words were kept in a
+   * MyHashtable keyed on their hash codes. They are still written and read
+   * this way so that saved files can be read either way round.
    */
-  private static boolean initialised = false;
+  private static final ObjectStreamField[] serialPersistentFields = {
+      new ObjectStreamField("sentenceCoords", int[].class),
+      new ObjectStreamField("inExcludeFile", Boolean.TYPE),
+      new ObjectStreamField("ignored", Boolean.TYPE),
+      new ObjectStreamField("words", MyHashtable.class),
+      new ObjectStreamField("lineNo", Integer.TYPE),
+      new ObjectStreamField("id", Integer.TYPE),
+      new ObjectStreamField("fileName", String.class),
+      new ObjectStreamField("pairs", SentencePair.class)};
+
+  /**
+   * The analysis this sentence belongs to, which gives its words their IDs
+   * and decides which sentences are similar. Null for a sentence that has
+   * been read in but not yet given a context; see setContext().
+   */
+  private transient AnalysisContext context;
 
   /**
    * The first element indicates line number, the second indicates column for
@@ -41,40 +57,30 @@ public class Sentence
   final static int START_LINE = 0, START_COL = 1, END_LINE = 2, END_COL = 3;
 
   /**
-   * Words that are common in English, used to populate the commonWords table
-   * which filters out all words that are too common to be useful.
+   * Used to determine if this sentence is part of some exclude file. False by
+   * default.
    */
-  private static String[] common = {
-      "the", "a", "an", "its", "this", "that",
-      "to", "in", "his", "hers", "these", "we", "they", "do", "so", "be", "as",
-      "if", "of", "and", "for", "any", "on", "or", "is", "was", "out", "are"};
+  private boolean inExcludeFile = false;
 
-  /**
-   * Percentage similarity used to determine if sentences should be marked as
-       * similar. Default value is 80 but this is replaced by whatever is set by the
-   * user in Sherlock.
-   */
-  public static int SIM_THRESHOLD = 80;
+  private boolean ignored = false;
 
   /**
-   * If two sentences contain more than this amount of words in common then
-   * they are marked as similar regardless of the similarity threshold. Default
-       * value is 6 but this is replaced by whatever is set by the user in Sherlock.
+   * The dictionary IDs of the words in this sentence, in increasing order.
+   * Each word should only appear once. IDs are only valid within one run,
+   * so the words themselves are saved instead; see writeObject().
    */
-  public static int COMMON_THRESHOLD = 6;
+  private transient int[] wordIds = new int[8];
 
   /**
-   * Used to determine if this sentence is part of some exclude file. False by
-   * default.
+   * The number of words in this sentence.
    */
-  private boolean inExcludeFile = false;
-
-  private boolean ignored = false;
+  private transient int numWords = 0;
 
   /**
-   * Stores the words in this sentence. Each word should only appear once.
+   * The words of a sentence that has been read in, until it is given a
+   * context and so IDs for them.
    */
-  private MyHashtable words = new MyHashtable();
+  private transient String[] savedWords;
 
   /**
    * The line number this sentence starts on in the original text.
@@ -90,29 +96,20 @@ public class Sentence
   private SentencePair pairs;
 
   /**
-   * Constructor. Initialises static variables if this is the first Sentence
-   * object to be constructed.
+   * Constructor.
    * @param lineNo The line number this sentence starts on.
    * @param col The column on the line that this sentence starts on.
    * @param id A unique id number for this sentence, used to link to other
    * sentences.
+   * @param context The analysis this sentence belongs to.
    */
-  public Sentence(int lineNo, int col, int id) {
-    if (dictionary == null) {
-      dictionary = new MyHashtable(2000);
-    }
+  public Sentence(int lineNo, int col, int id, AnalysisContext context) {
     this.lineNo = lineNo;
     sentenceCoords[START_LINE] = lineNo - 1;
     sentenceCoords[START_COL] = col;
     this.id = id;
+    this.context = context;
     pairs = new SentencePair(this);
-    if (!initialised) {
-      // place words from the common array in the commonWords hashtable.
-      for (int i = 0; i < common.length; i++) {
-        commonWords.put(hash(common[i]), common[i]);
-      }
-      initialised = true;
-    }
   }
 
   /**
@@ -122,7 +119,7 @@ public class Sentence
    * Sentence. This allows more than one different view of the document at one
    * time.
    * @return A shallow copy of this Sentence, pairs is reinitialised to an
-   * empty SentencePair, but the table of words is left.
+   * empty SentencePair, but the array of words is left.
    */
   public Object clone() {
     try {
@@ -148,50 +145,35 @@ public class Sentence
     if (word.equals("") || word.equals(" ")) {
       return;
     }
-    Integer hashVal = hash(word);
-    Integer origHashVal = hashVal;
-    String test = commonWords.get(hashVal);
+    if (context.isCommon(word)) {
+      return;
+    }
 
-    while (test != null) {
-      if (test.equals(word)) {
-        return;
+    // Keep the IDs in order, so that sentences can be compared by merging
+    // them.
+    int wordId = context.getDictionary().getId(word);
+    int low = 0;
+    int high = numWords;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (wordIds[middle] < wordId) {
+        low = middle + 1;
       }
-      hashVal = new Integer(hashVal.intValue() + 1);
-      test = commonWords.get(hashVal);
-    }
-    // saves calling the hashCode method again, should be more efficient.
-    hashVal = origHashVal;
-
-    String dictWord = dictionary.get(hashVal);
-    while (dictWord != null) {
-      if (dictWord.equals(word)) {
-        /* word is in the dictionary so try adding it to the words table.
-         * I added dictWord instead of word because this is the object already
-         * in the dictionary hashtable so it will save on memory. */
-        Integer wordHash = origHashVal;
-        String temp = words.get(wordHash);
-        while (temp != null) {
-          /* return if the word is in the dictionary and in the words table for
-           * this sentence. */
-          if (temp.equals(dictWord)) {
-            return;
-          }
-          wordHash = new Integer(wordHash.intValue() + 1);
-          temp = words.get(wordHash);
-        }
-        /* To reach this line, dictWord is not in the words table for this
-         * sentence and wordHash is a blank space in the table. */
-        words.put(wordHash, dictWord);
-        return;
+      else {
+        high = middle;
       }
-      hashVal = new Integer(hashVal.intValue() + 1);
-      dictWord = dictionary.get(hashVal);
     }
-    // word is not in the dictionary so add it.
-    dictionary.put(hashVal, word);
-    Object obj = words.put(origHashVal, word);
-    assert obj == null;
-
+    if (low < numWords && wordIds[low] == wordId) {
+      return;
+    }
+    if (numWords == wordIds.length) {
+      int[] bigger = new int[numWords * 2];
+      System.arraycopy(wordIds, 0, bigger, 0, numWords);
+      wordIds = bigger;
+    }
+    System.arraycopy(wordIds, low, wordIds, low + 1, numWords - low);
+    wordIds[low] = wordId;
+    numWords++;
   } //addWord
 
   /**
@@ -202,39 +184,76 @@ public class Sentence
    * @param other The sentence to be compared to.
    */
   public void compareToSentence(Sentence other) {
-    MyHashtable otherWords = other.words;
+    compareToSentence(other, wordsInCommon(other));
+  } //compareTo
+
+  /**
+   * The number of words this sentence has in common with the given
+   * sentence.
+   *
+   * @param other The sentence to be compared to.
+   * @return The number of words in both sentences.
+   */
+  int wordsInCommon(Sentence other) {
+    // Both arrays of IDs are in order, so the words in common are found by
+    // walking along them together.
+    int[] otherIds = other.wordIds;
     int numInCommon = 0;
-    Iterator i = words.entrySet().iterator();
-    Set j = otherWords.entrySet();
-    while (i.hasNext()) {
-      Map.Entry ie = (Map.Entry) i.next();
-      if (j.contains(ie)) {
+    int i = 0;
+    int j = 0;
+    while (i < numWords && j < other.numWords) {
+      if (wordIds[i] < otherIds[j]) {
+        i++;
+      }
+      else if (wordIds[i] > otherIds[j]) {
+        j++;
+      }
+      else {
         numInCommon++;
+        i++;
+        j++;
       }
-      /** Object iValue = ie.getValue();
-       Iterator j = otherWords.entrySet().iterator();
-       while(j.hasNext()){
-         Map.Entry je = (Map.Entry) j.next();
-         Object jValue = je.getValue();
-         if(iValue.equals(jValue)){
-           numInCommon++;
-           // Can break here because no word is repeated in the tables.
-           break;
-         }
-       }*/
     }
+    return numInCommon;
+  } //wordsInCommon
+
+  /**
+   * Records the similarity of this sentence to the given sentence, once the
+   * number of words they have in common is known. Commutative in the same
+   * way as compareToSentence(Sentence).
+   *
+   * @param other The sentence to be compared to.
+   * @param numInCommon The number of words the two sentences have in common.
+   */
+  void compareToSentence(Sentence other, int numInCommon) {
+    int score = similarity(other, numInCommon);
+    if (score >= 0) {
+      addSimilarity(other, (byte) score);
+    }
+  } //compareToSentence
 
+  /**
+   * The similarity score of this sentence and the given sentence, without
+   * recording it.
+   *
+   * @param other The sentence to be compared to.
+   * @param numInCommon The number of words the two sentences have in common.
+   * @return The score, or -1 if the sentences are not similar enough to be
+   * linked.
+   */
+  int similarity(Sentence other, int numInCommon) {
     /* similarity is the average of numInCommon as a percentage of both
        sentence sizes. */
-    double similarity = ( ( (numInCommon / (double) words.size()) +
-                           (numInCommon / (double) otherWords.size())) * 100) /
+    double similarity = ( ( (numInCommon / (double) numWords) +
+                           (numInCommon / (double) other.numWords)) * 100) /
         2;
 
-    if (similarity > SIM_THRESHOLD || numInCommon > COMMON_THRESHOLD) {
-      addSimilarity(other, (byte) similarity);
+    if (similarity > context.getSimThreshold() ||
+        numInCommon > context.getCommonThreshold()) {
+      return (int) similarity;
     }
-
-  } //compareTo
+    return -1;
+  } //similarity
 
   /**
    * Used during detection. Equivalent to calling addSimilarity(other, score,
@@ -242,7 +261,7 @@ public class Sentence
    * @param other The sentence that is similar to this one.
    * @param score The similarity score
    */
-  private void addSimilarity(Sentence other, byte score) {
+  void addSimilarity(Sentence other, byte score) {
     addSimilarity(other, score, true);
   }
 
@@ -271,12 +290,49 @@ public class Sentence
 
   /**
    * The words contained in this sentence.
-   * @return A hash table of non-common words in this sentence.
+   * @return The non-common words in this sentence, in order of ID.
    */
-  public MyHashtable getWords() {
+  public String[] getWords() {
+    if (savedWords != null) {
+      return (String[]) savedWords.clone();
+    }
+    WordDictionary dictionary = context.getDictionary();
+    String[] words = new String[numWords];
+    for (int i = 0; i < numWords; i++) {
+      words[i] = dictionary.getWord(wordIds[i]);
+    }
     return words;
   }
 
+  /**
+   * The number of words contained in this sentence.
+   * @return The number of non-common words in this sentence.
+   */
+  public int getNumberOfWords() {
+    return numWords;
+  }
+
+  /**
+   * The dictionary IDs of the words contained in this sentence. Only the
+   * first getNumberOfWords() elements are used.
+   * @return The IDs, in increasing order.
+   */
+  int[] getWordIds() {
+    return wordIds;
+  }
+
+  /**
+   * Gives this sentence its words, for a sentence read in from a file.
+   * @param ids The IDs of the words in this sentence's context, each given
+   * once. They are sorted here.
+   */
+  void setWordIds(int[] ids) {
+    Arrays.sort(ids);
+    wordIds = ids;
+    numWords = ids.length;
+    savedWords = null;
+  }
+
   /**
    * The line number this sentence starts at in the original text.
    * @return The sentence's line number.
@@ -303,21 +359,36 @@ public class Sentence
   }
 
   /**
-   * The Dictionary for all documents that have been parsed so far.
-   * @return A MyHashtable containing unique, non-common words.
+   * The analysis this sentence belongs to.
+   * @return The context, or null if the sentence has been read in and not
+   * given one yet.
    */
-  public static MyHashtable getDictionary() {
-    return dictionary;
+  public AnalysisContext getContext() {
+    return context;
   }
 
   /**
-       * Convenience method used to get an Integer object holding the given object's
-   * hashcode.
-   * @param obj The object for which you require the hash code.
-   * @return An Integer object representing the given object's hash code.
+   * Moves this sentence into the given analysis, giving its words IDs from
+   * that context's dictionary and the links of its sentence pair IDs from
+   * its document names. Must be called on a sentence that has been read in
+   * before it is compared.
+   * @param context The analysis this sentence now belongs to.
    */
-  public static Integer hash(Object obj) {
-    return new Integer(obj.hashCode());
+  public void setContext(AnalysisContext context) {
+    String[] words = getWords();
+    WordDictionary dictionary = context.getDictionary();
+    int[] ids = new int[words.length];
+    for (int i = 0; i < words.length; i++) {
+      ids[i] = dictionary.getId(words[i]);
+    }
+    Arrays.sort(ids);
+    this.context = context;
+    wordIds = ids;
+    numWords = ids.length;
+    savedWords = null;
+    if (pairs != null) {
+      pairs.setDocumentNames(context.getDocumentNames());
+    }
   }
 
   /**
@@ -379,24 +450,20 @@ public class Sentence
    */
   public String toString() {
     String temp = "Starts at line " + lineNo + " ";
-    Iterator i = words.entrySet().iterator();
-    boolean first = true;
-    while (i.hasNext()) {
-      Map.Entry e = (Map.Entry) i.next();
-      Object value = e.getValue();
-      if (first) {
-        first = false;
-        temp += value.toString();
+    String[] words = getWords();
+    for (int i = 0; i < words.length; i++) {
+      if (i == 0) {
+        temp += words[i];
       }
       else {
-        temp += ", " + value.toString();
+        temp += ", " + words[i];
       }
     }
     return temp;
   }
 
   /**
-   * Two sentences are equal iff they contain equal hashtables of words.
+   * Two sentences are equal iff they contain the same words.
    * @param o The object to be compared.
    * @return True if the above condition is met, false otherwise.
    */
@@ -408,7 +475,6 @@ public class Sentence
       return false;
     }
     Sentence tmp = (Sentence) o;
-    MyHashtable testWords = tmp.getWords();
     if (sentenceCoords.length != tmp.sentenceCoords.length) {
       return false;
     }
@@ -417,8 +483,28 @@ public class Sentence
         return false;
       }
     }
-    return tmp.id == id && tmp.fileName.equals(fileName) &&
-        testWords.equals(words);
+    if (tmp.numWords != numWords) {
+      return false;
+    }
+    if (tmp.context == context && savedWords == null &&
+        tmp.savedWords == null) {
+      for (int i = 0; i < numWords; i++) {
+        if (tmp.wordIds[i] != wordIds[i]) {
+          return false;
+        }
+      }
+    }
+    else {
+      // The IDs are from different dictionaries, so compare the words.
+      String[] words = getWords();
+      String[] otherWords = tmp.getWords();
+      Arrays.sort(words);
+      Arrays.sort(otherWords);
+      if (!Arrays.equals(words, otherWords)) {
+        return false;
+      }
+    }
+    return tmp.id == id && tmp.fileName.equals(fileName);
   }
 
   /**
@@ -440,15 +526,56 @@ public class Sentence
   }
 
   /**
-   * Change the array of common words for sentences.
-   * @param commonArray The new common words array.
+   * Saves this sentence with its words, rather than their IDs, since the
+   * IDs will not be the same when it is read back in. The words are put in
+   * a MyHashtable keyed on their hash codes, as they always have been.
+   * @param out The stream to save the sentence to.
+   * @throws IOException If the sentence cannot be written.
    */
-  public static void setCommon(String[] commonArray) {
-    common = commonArray;
-    commonWords.clear();
-    for (int i = 0; i < commonArray.length; i++) {
-      commonWords.put(hash(commonArray[i]), commonArray[i]);
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    String[] saved = getWords();
+    MyHashtable table = new MyHashtable(saved.length * 2 + 1);
+    for (int i = 0; i < saved.length; i++) {
+      table.put(new Integer(saved[i].hashCode()), saved[i]);
+    }
+    ObjectOutputStream.PutField fields = out.putFields();
+    fields.put("sentenceCoords", sentenceCoords);
+    fields.put("inExcludeFile", inExcludeFile);
+    fields.put("ignored", ignored);
+    fields.put("words", table);
+    fields.put("lineNo", lineNo);
+    fields.put("id", id);
+    fields.put("fileName", fileName);
+    fields.put("pairs", pairs);
+    out.writeFields();
+  }
+
+  /**
+   * Reads in a sentence saved by writeObject(). Its words are kept until
+   * setContext() gives them IDs.
+   * @param in The stream to read the sentence from.
+   * @throws IOException If the sentence cannot be read.
+   * @throws ClassNotFoundException If a saved class cannot be found.
+   */
+  private void readObject(ObjectInputStream in) throws IOException,
+      ClassNotFoundException {
+    ObjectInputStream.GetField fields = in.readFields();
+    sentenceCoords = (int[]) fields.get("sentenceCoords", null);
+    inExcludeFile = fields.get("inExcludeFile", false);
+    ignored = fields.get("ignored", false);
+    lineNo = fields.get("lineNo", 0);
+    id = fields.get("id", 0);
+    fileName = (String) fields.get("fileName", null);
+    pairs = (SentencePair) fields.get("pairs", null);
+
+    MyHashtable table = (MyHashtable) fields.get("words", null);
+    if (table == null) {
+      savedWords = new String[0];
+    }
+    else {
+      savedWords = (String[]) table.values().toArray(new String[table.size()]);
     }
+    numWords = savedWords.length;
   }
 
   /**
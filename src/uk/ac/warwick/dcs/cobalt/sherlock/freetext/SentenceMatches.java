@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 1999-2003 The University of Warwick. All Rights Reserved.
+ */
+package uk.ac.warwick.dcs.cobalt.sherlock.freetext;
+
+/**
+ * <p>The similar sentences found when comparing two documents, in the order
+ * they were found. Used when documents are compared on several threads, so
+ * that the similarities can be recorded afterwards on one thread, in the
+ * same order as if the documents had been compared one pair at a time.</p>
+ * <p>Title: Sherlock 2000</p>
+ * <p>Description: Plagiarism Detection Software</p>
+ * <p>Copyright: Copyright (c) 2002</p>
+ * <p>Company: University of Warwick</p>
+ */
+class SentenceMatches {
+
+  /**
+   * The sentence of each match from the document compared against.
+   */
+  private Sentence[] firsts = new Sentence[16];
+
+  /**
+   * The sentence of each match from the other document.
+   */
+  private Sentence[] seconds = new Sentence[16];
+
+  /**
+   * The similarity score of each match.
+   */
+  private byte[] scores = new byte[16];
+
+  /**
+   * The number of matches.
+   */
+  private int size = 0;
+
+  /**
+   * Adds a pair of similar sentences.
+   * @param first The sentence from the document compared against.
+   * @param second The sentence from the other document.
+   * @param score The similarity score of the two sentences.
+   */
+  void add(Sentence first, Sentence second, int score) {
+    if (size == firsts.length) {
+      Sentence[] biggerFirsts = new Sentence[size * 2];
+      Sentence[] biggerSeconds = new Sentence[size * 2];
+      byte[] biggerScores = new byte[size * 2];
+      System.arraycopy(firsts, 0, biggerFirsts, 0, size);
+      System.arraycopy(seconds, 0, biggerSeconds, 0, size);
+      System.arraycopy(scores, 0, biggerScores, 0, size);
+      firsts = biggerFirsts;
+      seconds = biggerSeconds;
+      scores = biggerScores;
+    }
+    firsts[size] = first;
+    seconds[size] = second;
+    scores[size] = (byte) score;
+    size++;
+  }
+
+  /**
+   * The number of pairs of similar sentences.
+   * @return The number of matches.
+   */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Records every match in both of its sentences, in the order they were
+   * added.
+   */
+  void record() {
+    for (int i = 0; i < size; i++) {
+      firsts[i].addSimilarity(seconds[i], scores[i]);
+    }
+  }
+}
@@ -19,24 +19,170 @@ import java.util.*;
 
 public class SentencePair
     implements Serializable {
-  /** The list of links to another sentence */
-  Vector scores;
+  /**
+   * Fixed so that files saved as serialised objects can still be read.
+   */
+  private static final long serialVersionUID = 2473099716461088902L;
+
+  /**
+   * The fields of a serialised SentencePair, from when its links were kept
+   * as a Vector of SentenceScore objects. They are still written and read
+   * this way so that saved files can be read either way round.
+   */
+  private static final ObjectStreamField[] serialPersistentFields = {
+      new ObjectStreamField("scores", Vector.class),
+      new ObjectStreamField("name", String.class),
+      new ObjectStreamField("id", Integer.TYPE),
+      new ObjectStreamField("ignored", Boolean.TYPE),
+      new ObjectStreamField("changed", Boolean.TYPE),
+      new ObjectStreamField("numNotIgnored", Integer.TYPE)};
+
+  /**
+   * Shared by all the pairs with no links, which are most of them.
+   */
+  private static final int[] NO_INTS = new int[0];
+  private static final byte[] NO_BYTES = new byte[0];
+
+  /**
+   * The table giving the document IDs of the links, shared with the other
+   * pairs of the same analysis or set of files read in.
+   */
+  private DocumentNames docNames;
   /** The name of the document this SentencePair belongs in. */
   String name;
   /** The ID of the sentence this pair belongs to */
   int id;
+  /** The number of links to another sentence. */
+  private int size = 0;
+  /** The document ID of the document each link is to. */
+  private int[] linkDocs;
+  /** The ID of the sentence each link is to within its document. */
+  private int[] linkIds;
+  /** The similarity score of each link. */
+  private byte[] linkScores;
+  /** Which of the links are ignored, or null if none have been. */
+  private BitSet linkIgnored;
   private boolean ignored = false;
   private boolean changed = false;
   private int numNotIgnored = 0;
 
   /**
-   * Constructor.
+   * Constructor. The links use the document names of the sentence's
+   * analysis, or a table of their own if it has not been given one yet.
    * @param parent The sentence which owns this SentencePair
    */
   public SentencePair(Sentence parent) {
-    this.name = parent.getFileName();
-    this.id = parent.getId();
-    scores = new Vector();
+    this(parent.getFileName(), parent.getId(), 0,
+         parent.getContext() == null ? new DocumentNames() :
+         parent.getContext().getDocumentNames());
+  }
+
+  /**
+   * Constructor, with room for the given number of links.
+   * @param name The name of the document the owning sentence belongs in.
+   * @param id The ID of the owning sentence.
+   * @param capacity The number of links to make room for.
+   * @param docNames The table giving the document IDs of the links.
+   */
+  private SentencePair(String name, int id, int capacity,
+                       DocumentNames docNames) {
+    this.name = name;
+    this.id = id;
+    this.docNames = docNames;
+    makeColumns(capacity);
+  }
+
+  /**
+   * Makes empty columns with room for the given number of links.
+   * @param capacity The number of links to make room for.
+   */
+  private void makeColumns(int capacity) {
+    if (capacity == 0) {
+      linkDocs = NO_INTS;
+      linkIds = NO_INTS;
+      linkScores = NO_BYTES;
+    }
+    else {
+      linkDocs = new int[capacity];
+      linkIds = new int[capacity];
+      linkScores = new byte[capacity];
+    }
+  }
+
+  /**
+   * The table giving the document IDs of the links.
+   * @return The DocumentNames the IDs returned by getDocId(int) are from.
+   */
+  DocumentNames getDocumentNames() {
+    return docNames;
+  }
+
+  /**
+   * Moves the links to a different table of document names, giving them
+   * their IDs from that table. Used to put pairs that were read in with
+   * tables of their own into the same table.
+   * @param names The new table.
+   */
+  void setDocumentNames(DocumentNames names) {
+    if (names == docNames) {
+      return;
+    }
+    for (int i = 0; i < size; i++) {
+      linkDocs[i] = names.getDocId(docNames.getDocName(linkDocs[i]));
+    }
+    docNames = names;
+  }
+
+  /**
+   * Adds a link to the end of the columns, making room for it if need be.
+   * @param docId The document ID of the document linked to.
+   * @param sentId The ID of the sentence linked to.
+   * @param score The similarity score.
+   * @param ignore Whether the link is ignored.
+   */
+  private void addLink(int docId, int sentId, byte score, boolean ignore) {
+    if (size == linkDocs.length) {
+      int capacity = Math.max(size * 2, 4);
+      int[] docs = new int[capacity];
+      int[] ids = new int[capacity];
+      byte[] scores = new byte[capacity];
+      System.arraycopy(linkDocs, 0, docs, 0, size);
+      System.arraycopy(linkIds, 0, ids, 0, size);
+      System.arraycopy(linkScores, 0, scores, 0, size);
+      linkDocs = docs;
+      linkIds = ids;
+      linkScores = scores;
+    }
+    linkDocs[size] = docId;
+    linkIds[size] = sentId;
+    linkScores[size] = score;
+    if (ignore) {
+      setLinkIgnored(size, true);
+    }
+    size++;
+  }
+
+  /**
+   * Sets the ignored flag of a link, making the set of flags if need be.
+   * @param index The index of the link.
+   * @param val The new value of its ignored flag.
+   */
+  private void setLinkIgnored(int index, boolean val) {
+    if (linkIgnored == null) {
+      if (!val) {
+        return;
+      }
+      linkIgnored = new BitSet();
+    }
+    linkIgnored.set(index, val);
+  }
+
+  /**
+   * The number of links which are ignored.
+   * @return The number of ignored flags set.
+   */
+  private int numIgnored() {
+    return linkIgnored == null ? 0 : linkIgnored.cardinality();
   }
 
   /**
@@ -57,32 +203,22 @@ public class SentencePair
    * @param ignore Whether the link should be ignored or not.
    */
   public void addSimilarity(Sentence similar, byte score, boolean ignore) {
-    String addedName = similar.getFileName();
-    SentenceScore sentScore =
-        new SentenceScore(addedName, similar.getId(), score);
-    // a false value of ignore does not need to be set since that is the
-    // default value for new sentence scores.
-    if (ignore) {
-      sentScore.setIgnored(ignore);
-    }
-    else {
+    addLink(docNames.getDocId(similar.getFileName()), similar.getId(), score,
+            ignore);
+    if (!ignore) {
       numNotIgnored++;
-
     }
-    scores.add(sentScore);
   }
 
   /**
    * Used by the GUI to add scores which relate only to some specific document.
-   * By adding scores from some master record it means that all changes are
-   * added to the master record automatically, meaning they get saved
-   * automatically too, should the user choose to do this. If the user
-   * does not choose to save changes then the original record is still kept
-   * on disk and can be reloaded.
+   * The link is copied, so changes to whether it is ignored must be made
+   * through the SentencePair it was taken from to reach the master record.
    * @param sentScore The score to add to this object.
    */
   void addSimilarity(SentenceScore sentScore) {
-    scores.add(sentScore);
+    addLink(docNames.getDocId(sentScore.name), sentScore.id, sentScore.score,
+            sentScore.isIgnored());
     if (sentScore.isIgnored() != ignored) {
       ignored = allIgnored();
     }
@@ -91,23 +227,110 @@ public class SentencePair
     }
   }
 
+  /**
+   * Removes all the links from this pair.
+   */
+  void removeAllScores() {
+    size = 0;
+    linkIgnored = null;
+    numNotIgnored = 0;
+    ignored = false;
+  }
+
+  /**
+   * The number of links to another sentence.
+   * @return The number of links in this pair.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * The name of the document a link is to.
+   * @param index The index of the link.
+   * @return The name of the document.
+   */
+  String getName(int index) {
+    return docNames.getDocName(getDocId(index));
+  }
+
+  /**
+   * The document ID of the document a link is to.
+   * @param index The index of the link.
+   * @return The document ID, as given by getDocumentNames().
+   */
+  int getDocId(int index) {
+    if (index >= size) {
+      throw new ArrayIndexOutOfBoundsException(index);
+    }
+    return linkDocs[index];
+  }
+
+  /**
+   * The ID of the sentence a link is to within its document.
+   * @param index The index of the link.
+   * @return The sentence ID.
+   */
+  int getId(int index) {
+    if (index >= size) {
+      throw new ArrayIndexOutOfBoundsException(index);
+    }
+    return linkIds[index];
+  }
+
+  /**
+   * The similarity score of a link.
+   * @param index The index of the link.
+   * @return The score.
+   */
+  byte getScore(int index) {
+    if (index >= size) {
+      throw new ArrayIndexOutOfBoundsException(index);
+    }
+    return linkScores[index];
+  }
+
+  /**
+   * A link as a SentenceScore. This is a copy, so setting whether it is
+   * ignored does not change this pair; use setIgnored() for that.
+   * @param index The index of the link.
+   * @return The link.
+   */
+  SentenceScore getLink(int index) {
+    SentenceScore link =
+        new SentenceScore(getName(index), getId(index), getScore(index));
+    link.setIgnored(isIgnored(index));
+    return link;
+  }
+
+  /**
+   * All the links as SentenceScore objects, in the order they were added.
+   * @return Copies of the links.
+   */
+  SentenceScore[] getLinks() {
+    SentenceScore[] links = new SentenceScore[size];
+    for (int i = 0; i < size; i++) {
+      links[i] = getLink(i);
+    }
+    return links;
+  }
+
   /**
    * Useful for debugging.
    * @return The string representation of this object.
    */
   public String toString() {
     StringBuffer out = new StringBuffer();
-    for (int i = 0; i < scores.size(); i++) {
-      SentenceScore temp = (SentenceScore) scores.get(i);
-      out.append("\t" + temp.name + ", sentence: " + temp.id + ", with score: " +
-                 temp.score + "\n");
+    for (int i = 0; i < size; i++) {
+      out.append("\t" + getName(i) + ", sentence: " + linkIds[i] +
+                 ", with score: " + linkScores[i] + "\n");
     }
     return out.toString();
   }
 
   /**
-   * Two SentencePair objects are equal iff they have equal id, name and scores
-   * vectors.
+   * Two SentencePair objects are equal iff they have equal id, name and
+   * links.
    * @param o The object to compare.
    * @return True if they are equal, false otherwise.
    */
@@ -119,8 +342,21 @@ public class SentencePair
       return false;
     }
     SentencePair temp = (SentencePair) o;
-    return temp.id == id && temp.name.equals(name) &&
-        temp.scores.equals(scores);
+    if (temp.id != id || !temp.name.equals(name) || temp.size != size) {
+      return false;
+    }
+    for (int i = 0; i < size; i++) {
+      if (temp.linkDocs[i] != linkDocs[i] || temp.linkIds[i] != linkIds[i] ||
+          temp.linkScores[i] != linkScores[i]) {
+        return false;
+      }
+    }
+    for (int i = 0; i < size; i++) {
+      if (temp.isIgnored(i) != isIgnored(i)) {
+        return false;
+      }
+    }
+    return true;
   }
 
   /**
@@ -129,8 +365,12 @@ public class SentencePair
    */
   public void ignoreAllScores() {
     ignored = true;
-    for (int i = 0; i < scores.size(); i++) {
-      setIgnored(i, true);
+    if (numIgnored() < size) {
+      if (linkIgnored == null) {
+        linkIgnored = new BitSet(size);
+      }
+      linkIgnored.set(0, size);
+      changed = true;
     }
     numNotIgnored = 0;
   }
@@ -140,10 +380,11 @@ public class SentencePair
    */
   public void unIgnoreAllScores() {
     ignored = false;
-    for (int i = 0; i < scores.size(); i++) {
-      setIgnored(i, false);
+    if (numIgnored() > 0) {
+      linkIgnored = null;
+      changed = true;
     }
-    numNotIgnored = scores.size();
+    numNotIgnored = size;
   }
 
   /**
@@ -151,16 +392,15 @@ public class SentencePair
    * sentence should now be ignored as a result of the change. This method
    * should be used in preference to the version when an object is passed
    * instead of the index as it is much quicker.
-   * @param index The index of the score in the scores vector.
+   * @param index The index of the link.
    * @param val The new value of its ignored flag.
    */
   public void setIgnored(int index, boolean val) {
-    SentenceScore temp = (SentenceScore) scores.get(index);
-    if (temp.isIgnored() == val) {
+    if (isIgnored(index) == val) {
       return;
     }
 
-    temp.setIgnored(val);
+    setLinkIgnored(index, val);
     changed = true;
     if (!val) {
       ignored = false;
@@ -171,7 +411,7 @@ public class SentencePair
       numNotIgnored--;
 
     }
-    assert numNotIgnored > -1 && numNotIgnored <= scores.size();
+    assert numNotIgnored > -1 && numNotIgnored <= size;
 
     if (ignored != val) {
       ignored = allIgnored();
@@ -181,13 +421,15 @@ public class SentencePair
   /**
    * Sets a specific score to be ignored. Also determines whether the whole
    * sentence should now be ignored as a result of the change.
-   * @param obj A reference to the object you want to change the ignored value
+   * @param obj A link equal to the one you want to change the ignored value
    * for.
    * @param val The new value of its ignored flag.
    */
   public void setIgnored(SentenceScore obj, boolean val) {
-    for (int i = 0; i < scores.size(); i++) {
-      if (scores.get(i).equals(obj)) {
+    int docId = docNames.indexOf(obj.name);
+    for (int i = 0; i < size; i++) {
+      if (linkDocs[i] == docId && linkIds[i] == obj.id &&
+          linkScores[i] == obj.score && isIgnored(i) == obj.isIgnored()) {
         setIgnored(i, val);
         break;
       }
@@ -203,9 +445,9 @@ public class SentencePair
    * @param val The value of its new ignored flag.
    */
   public void setIgnored(String name, int id, boolean val) {
-    for (int i = 0; i < scores.size(); i++) {
-      SentenceScore temp = (SentenceScore) scores.get(i);
-      if (temp.name.equals(name) && temp.id == id) {
+    int docId = docNames.indexOf(name);
+    for (int i = 0; i < size; i++) {
+      if (linkDocs[i] == docId && linkIds[i] == id) {
         setIgnored(i, val);
       }
     }
@@ -225,7 +467,10 @@ public class SentencePair
    * @return True if that score is to be ignored. False otherwise.
    */
   public boolean isIgnored(int index) {
-    return ( (SentenceScore) scores.get(index)).isIgnored();
+    if (index >= size) {
+      throw new ArrayIndexOutOfBoundsException(index);
+    }
+    return linkIgnored != null && linkIgnored.get(index);
   }
 
   /**
@@ -233,12 +478,7 @@ public class SentencePair
    * @return True iff all scores are being ignored.
    */
   private boolean allIgnored() {
-    for (int i = 0; i < scores.size(); i++) {
-      if (! ( (SentenceScore) scores.get(i)).isIgnored()) {
-        return false;
-      }
-    }
-    return true;
+    return numIgnored() == size;
   }
 
   /**
@@ -247,12 +487,133 @@ public class SentencePair
    * links are enabled.
    */
   public boolean someSentenceIgnored() {
-    for (int i = 0; i < scores.size(); i++) {
-      if ( ( (SentenceScore) scores.get(i)).isIgnored()) {
-        return true;
+    return numIgnored() > 0;
+  }
+
+  /**
+   * Adds the strings this pair refers to to the given string table, so that
+   * it can be written with write().
+   * @param strings The string table of the file being written.
+   */
+  void addStrings(CompactFormat.StringTable strings) {
+    strings.add(name);
+    for (int i = 0; i < size; i++) {
+      strings.add(getName(i));
+    }
+  }
+
+  /**
+   * Writes this pair in the compact format: its name and ID, its flags, and
+   * then the names, IDs, scores and ignored flags of its links, each as a
+   * column.
+   * @param out The stream to write to.
+   * @param strings The string table of the file, holding every name.
+   * @throws IOException If the pair cannot be written.
+   */
+  void write(DataOutputStream out, CompactFormat.StringTable strings) throws
+      IOException {
+    out.writeInt(strings.indexOf(name));
+    out.writeInt(id);
+    out.writeByte( (ignored ? 1 : 0) | (changed ? 2 : 0));
+    out.writeInt(numNotIgnored);
+    out.writeInt(size);
+    for (int i = 0; i < size; i++) {
+      out.writeInt(strings.indexOf(getName(i)));
+    }
+    for (int i = 0; i < size; i++) {
+      out.writeInt(linkIds[i]);
+    }
+    out.write(linkScores, 0, size);
+    for (int i = 0; i < size; i++) {
+      out.writeBoolean(isIgnored(i));
+    }
+  }
+
+  /**
+   * Reads a pair written by write().
+   * @param in The stream to read from.
+   * @param strings The string table of the file.
+   * @param docIds The document ID of each string in the table that has been
+   * used as a name so far, or -1, filled in as they are used.
+   * @param docNames The table the document IDs are from.
+   * @return The pair.
+   * @throws IOException If the pair cannot be read.
+   */
+  static SentencePair read(DataInputStream in, String[] strings,
+                           int[] docIds, DocumentNames docNames) throws
+      IOException {
+    String name = strings[in.readInt()];
+    int id = in.readInt();
+    int flags = in.readByte();
+    int numNotIgnored = in.readInt();
+    int size = in.readInt();
+    SentencePair pair = new SentencePair(name, id, size, docNames);
+    pair.ignored = (flags & 1) != 0;
+    pair.changed = (flags & 2) != 0;
+    pair.numNotIgnored = numNotIgnored;
+    pair.size = size;
+    for (int i = 0; i < size; i++) {
+      int index = in.readInt();
+      if (docIds[index] < 0) {
+        docIds[index] = docNames.getDocId(strings[index]);
+      }
+      pair.linkDocs[i] = docIds[index];
+    }
+    for (int i = 0; i < size; i++) {
+      pair.linkIds[i] = in.readInt();
+    }
+    in.readFully(pair.linkScores, 0, size);
+    for (int i = 0; i < size; i++) {
+      if (in.readBoolean()) {
+        pair.setLinkIgnored(i, true);
       }
     }
-    return false;
+    return pair;
+  }
+
+  /**
+   * Writes this pair as a serialised object, with its links as a Vector of
+   * SentenceScore objects as it always has been.
+   * @param out The stream to write to.
+   * @throws IOException If the pair cannot be written.
+   */
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    ObjectOutputStream.PutField fields = out.putFields();
+    fields.put("scores", new Vector(Arrays.asList(getLinks())));
+    fields.put("name", name);
+    fields.put("id", id);
+    fields.put("ignored", ignored);
+    fields.put("changed", changed);
+    fields.put("numNotIgnored", numNotIgnored);
+    out.writeFields();
+  }
+
+  /**
+   * Reads a pair written as a serialised object by writeObject(). Its links
+   * are given IDs from a table of document names of its own; whoever reads
+   * it should then move it to a shared one with setDocumentNames().
+   * @param in The stream to read from.
+   * @throws IOException If the pair cannot be read.
+   * @throws ClassNotFoundException If the stream holds an unknown class.
+   */
+  private void readObject(ObjectInputStream in) throws IOException,
+      ClassNotFoundException {
+    ObjectInputStream.GetField fields = in.readFields();
+    Vector scores = (Vector) fields.get("scores", null);
+    name = (String) fields.get("name", null);
+    id = fields.get("id", 0);
+    ignored = fields.get("ignored", false);
+    changed = fields.get("changed", false);
+    numNotIgnored = fields.get("numNotIgnored", 0);
+
+    int capacity = scores == null ? 0 : scores.size();
+    docNames = new DocumentNames();
+    makeColumns(capacity);
+    for (int i = 0; i < capacity; i++) {
+      SentenceScore link = (SentenceScore) scores.get(i);
+      addLink(docNames.getDocId(link.name), link.id, link.score,
+              link.isIgnored());
+    }
   }
 
   /**
@@ -294,6 +655,11 @@ public class SentencePair
  */
 class SentenceScore
     implements Serializable, Comparable, Cloneable {
+  /**
+   * Fixed so that files saved as serialised objects can still be read.
+   */
+  private static final long serialVersionUID = 8059226281278253300L;
+
   /** The name of the document this object links to */
   String name;
   /** The ID of the sentence this object links to */
@@ -13,24 +13,24 @@ public class SentenceParser implements SentenceParserConstants {
   /**
    * The stream used to save the output file.
    */
-  static ObjectOutputStream save;
+  OutputStream save;
 
-  static Document currentDoc = new Document();
-  static Sentence currentSentence;
+  Document currentDoc = new Document();
+  Sentence currentSentence;
   static String[] sentEnders = {".","?","!",";",":"};
 
   /**
    * The new file containing the output of this tokeniser.
    */
-  static File outputFile = null;
-  static boolean justStartedSentence = false;
+  File outputFile = null;
+  boolean justStartedSentence = false;
 
   /**
    * Keep track of the line number from the file read in. Used to print #line xxx in the outputFile.
    */
-  static int lineNo = 1;
+  int lineNo = 1;
 
-  static String docName = "";
+  String docName = "";
 
   /**
    * Reinitialise all the variables, and get on with parsing the whatever's in the input stream.
@@ -38,28 +38,36 @@ public class SentenceParser implements SentenceParserConstants {
    * @param is - the input stream to parse.
    * @param f - the file to save the results of this tokeniser to.
    */
-  public static void ReInit(InputStream is, File f, String docName) {
-    SentenceParser.currentDoc = new Document();
-    SentenceParser.currentSentence = null;
-    SentenceParser.outputFile = f;
-    SentenceParser.lineNo = 1;
-    SentenceParser.docName = docName;
-  //  SentenceParser.ReInit(is);
+  public void ReInit(InputStream is, File f, String docName) {
+    currentDoc = new Document();
+    currentSentence = null;
+    outputFile = f;
+    lineNo = 1;
+    this.docName = docName;
+  //  ReInit(is);
   } // ReInit
 
-  public void setOutput(File f, String docName){
-    SentenceParser.currentDoc = new Document();
-    SentenceParser.currentSentence = null;
-    SentenceParser.outputFile = f;
-    SentenceParser.lineNo = 1;
-    SentenceParser.docName = docName;
+  /**
+   * Sets the file to save the parsed document to, and the context its
+   * sentences are parsed in.
+   *
+   * @param f - the file to save the results of this tokeniser to.
+   * @param docName - the name of the document being parsed.
+   * @param context - the free-text analysis the document belongs to.
+   */
+  public void setOutput(File f, String docName, AnalysisContext context){
+    currentDoc = new Document(context);
+    currentSentence = null;
+    outputFile = f;
+    lineNo = 1;
+    this.docName = docName;
   }
 
 
   public static void main(String args[]) throws ParseException {
     SentenceParser parser = new SentenceParser(System.in);
     parser.Input();
-    Document doc = SentenceParser.currentDoc;
+    Document doc = parser.currentDoc;
     System.out.println(doc);
   }
 
@@ -121,14 +129,13 @@ public class SentenceParser implements SentenceParserConstants {
   }
 
   final public void Input() throws ParseException {
+  token_source.parser = this;
   try {
     if (outputFile!= null)
-      save = new ObjectOutputStream(
-                             new FileOutputStream(outputFile));
+      save = new FileOutputStream(outputFile);
     else{
       File f = new File(System.getProperty("user.home"), "testing");
-      save = new ObjectOutputStream(
-                             new FileOutputStream(f));
+      save = new FileOutputStream(f);
     }
   } catch (IOException e) {
       Date day = new Date(System.currentTimeMillis());
@@ -179,17 +186,17 @@ public class SentenceParser implements SentenceParserConstants {
     }
     jj_consume_token(0);
     // Tidy the document object
-    SentenceParser.currentDoc.finishedParsing();
-    SentenceParser.currentDoc.setFileName(SentenceParser.docName);
+    currentDoc.finishedParsing();
+    currentDoc.setFileName(docName);
     try{
       // Write it to the output file.
-      save.writeObject(SentenceParser.currentDoc);
+      CompactFormat.writeDocument(currentDoc, save);
 
       // Finish up.
       save.flush();
       save.close();
     } catch(IOException ioe){
-      System.err.println("Error writing to file "+SentenceParser.outputFile);
+      System.err.println("Error writing to file "+outputFile);
     }
   }
 
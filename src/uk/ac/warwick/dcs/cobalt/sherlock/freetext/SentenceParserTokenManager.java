@@ -5,18 +5,22 @@ import java.util.Date;
 
 public class SentenceParserTokenManager implements SentenceParserConstants
 {
-  static int endCol, startCol;
-  static int lastIndex = -1;
+  /**
+   * The parser this token manager is reading tokens for.
+   */
+  SentenceParser parser;
+  int endCol, startCol;
+  int lastIndex = -1;
 
   void wordParsed() {
-    if(SentenceParser.justStartedSentence){
-      SentenceParser.justStartedSentence = false;
+    if(parser.justStartedSentence){
+      parser.justStartedSentence = false;
       startCol = input_stream.getBeginColumn();
-      SentenceParser.currentSentence =
-        SentenceParser.currentDoc.startSentence(SentenceParser.lineNo,
+      parser.currentSentence =
+        parser.currentDoc.startSentence(parser.lineNo,
           startCol + image.lastIndexOf("."));
     }
-    SentenceParser.currentSentence.addWord(image.toString());
+    parser.currentSentence.addWord(image.toString());
 }
   public  java.io.PrintStream debugStream = System.out;
   public  void setDebugStream(java.io.PrintStream ds) { debugStream = ds; }
@@ -1537,12 +1541,12 @@ void SkipLexicalActions(Token matchedToken)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1)));
-    SentenceParser.lineNo++;
+    parser.lineNo++;
     endCol = input_stream.getEndColumn();
-    if(SentenceParser.currentSentence != null && SentenceParser.justStartedSentence != true)
-        SentenceParser.currentDoc.endSentence(SentenceParser.lineNo-1, endCol);
+    if(parser.currentSentence != null && parser.justStartedSentence != true)
+        parser.currentDoc.endSentence(parser.lineNo-1, endCol);
 
-    SentenceParser.justStartedSentence = true;
+    parser.justStartedSentence = true;
          break;
       case 6 :
          if (image == null)
@@ -1563,10 +1567,10 @@ void SkipLexicalActions(Token matchedToken)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1)));
-    if(SentenceParser.currentSentence != null && !SentenceParser.justStartedSentence)
-      SentenceParser.currentDoc.endSentence(SentenceParser.lineNo,
+    if(parser.currentSentence != null && !parser.justStartedSentence)
+      parser.currentDoc.endSentence(parser.lineNo,
         input_stream.getEndColumn());
-    SentenceParser.justStartedSentence = true;
+    parser.justStartedSentence = true;
          break;
       case 12 :
          if (image == null)
@@ -1574,17 +1578,17 @@ void SkipLexicalActions(Token matchedToken)
          else
             image.append(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1)));
     endCol = input_stream.getBeginColumn();
-    if(SentenceParser.currentSentence != null && SentenceParser.justStartedSentence != true)
-      SentenceParser.currentDoc.endSentence(SentenceParser.lineNo, endCol);
+    if(parser.currentSentence != null && parser.justStartedSentence != true)
+      parser.currentDoc.endSentence(parser.lineNo, endCol);
 
-    SentenceParser.justStartedSentence = true;
+    parser.justStartedSentence = true;
          break;
       case 13 :
          if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1)));
-    SentenceParser.lineNo++;
+    parser.lineNo++;
          break;
       case 14 :
          if (image == null)
@@ -1605,10 +1609,10 @@ void SkipLexicalActions(Token matchedToken)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1)));
-    if(SentenceParser.currentSentence != null && !SentenceParser.justStartedSentence)
-      SentenceParser.currentDoc.endSentence(SentenceParser.lineNo,
+    if(parser.currentSentence != null && !parser.justStartedSentence)
+      parser.currentDoc.endSentence(parser.lineNo,
         input_stream.getEndColumn());
-    SentenceParser.justStartedSentence = true;
+    parser.justStartedSentence = true;
          break;
       default :
          break;
@@ -1623,14 +1627,14 @@ void TokenLexicalActions(Token matchedToken)
             image = new StringBuffer(jjstrLiteralImages[1]);
          else
             image.append(jjstrLiteralImages[1]);
-    SentenceParser.justStartedSentence = true;
+    parser.justStartedSentence = true;
          break;
       case 10 :
         if (image == null)
             image = new StringBuffer(new String(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1))));
          else
             image.append(input_stream.GetSuffix(jjimageLen + (lengthOfMatch = jjmatchedPos + 1)));
-    SentenceParser.justStartedSentence = true;
+    parser.justStartedSentence = true;
     input_stream.backup(1);
          break;
       case 11 :
@@ -1638,7 +1642,7 @@ void TokenLexicalActions(Token matchedToken)
             image = new StringBuffer(jjstrLiteralImages[11]);
          else
             image.append(jjstrLiteralImages[11]);
-    SentenceParser.justStartedSentence = true;
+    parser.justStartedSentence = true;
          break;
       default : 
          break;
@@ -180,12 +180,8 @@ public class SentenceResults
 
   static String[] readOriginal(String name) throws FileNotFoundException,
       IOException {
-    FileTypeProfile profile = (Settings.getFileTypes())[Settings.ORI];
-    String origExt = profile.getExtension();
-    String origSubDir = profile.getDirectory();
-    File sourceDir = Settings.getSourceDirectory();
-    String[] retText = readOrigFile(new File(sourceDir + File.separator +
-                                             origSubDir, name + "." + origExt));
+    String[] retText = readOrigFile(Settings.getProcessedFile(Settings.ORI,
+                                                              name));
     return retText;
   }
 
@@ -306,9 +302,7 @@ public class SentenceResults
       popup.removeAll();
       SentencePair pairs = sentence.getSentencePairs();
 
-      SentenceScore[] scoresArray =
-          new SentenceScore[pairs.scores.size()];
-      pairs.scores.toArray(scoresArray);
+      SentenceScore[] scoresArray = pairs.getLinks();
 
       // sorting causes the most suspicous sentences to be placed highest.
       Arrays.sort(scoresArray);
@@ -330,9 +324,7 @@ public class SentenceResults
       popup.removeAll();
       SentencePair pairs = sentence.getSentencePairs();
 
-      final SentenceScore[] scoresArray =
-          new SentenceScore[pairs.scores.size()];
-      pairs.scores.toArray(scoresArray);
+      final SentenceScore[] scoresArray = pairs.getLinks();
 
       // sorting causes the most suspicous sentences to be placed highest.
       Arrays.sort(scoresArray);
@@ -710,12 +702,11 @@ public class SentenceResults
       // for each stored SentencePair
       for (int i = 0; i < storedPairs.length; i++) {
         // for each of the stored scores in that pair
-        for (int j = 0; j < storedPairs[i].scores.size(); j++) {
-          SentenceScore temp = (SentenceScore) storedPairs[i].scores.get(j);
+        for (int j = 0; j < storedPairs[i].size(); j++) {
           // if that score links to the main document
-          if (temp.name.equals(origName)) {
+          if (storedPairs[i].getName(j).equals(origName)) {
             // add it to the pairs array for the displayed object.
-            retPairs[i].addSimilarity(temp);
+            retPairs[i].addSimilarity(storedPairs[i].getLink(j));
           }
         }
       }
@@ -6,9 +6,12 @@ package uk.ac.warwick.dcs.cobalt.sherlock.freetext;
 import java.util.*;
 
 /**
- * A Vector which attempts to sort its elements whenever a Comparable object
- * is added. Behaviour is not defined should there be objects in the Vector
- * which either do not implement Comparable or are not mutually-comparable.
+ * A Vector which keeps its elements sorted as Comparable objects are added.
+ * Each object is inserted in its place by a binary search, after any equal
+ * objects, so adding objects that are already in order costs no more than
+ * adding them to the end. Behaviour is not defined should there be objects
+ * in the Vector which either do not implement Comparable or are not
+ * mutually-comparable.
  * <p>Title: Sherlock 2000</p>
  * <p>Description: Plagiarism Detection Software</p>
  * <p>Copyright: Copyright (c) 2002</p>
@@ -28,24 +31,48 @@ public class SortVector
   }
 
   /**
-   * Adds the <code>Comparable</code> object in the normal way and then sorts
-   * all elements in the Vector according to their natural ordering. Non-
+   * Adds the <code>Comparable</code> object in its place according to the
+   * natural ordering of the elements, after any elements equal to it. Non-
    * mutually-comparable objects should not be added as they will cause this
    * method to fail.
    * @param c The Comparable object to be added.
    */
-  public void add(Comparable c) {
-    super.add(c);
-    sortElements();
+  public synchronized void add(Comparable c) {
+    // find the first element greater than c.
+    int low = 0, high = elementCount;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (c.compareTo(elementData[mid]) < 0) {
+        high = mid;
+      }
+      else {
+        low = mid + 1;
+      }
+    }
+    insertElementAt(c, low);
   }
 
   /**
-   * Sorts all elements contained within the Vector. If any objects within
-   * the Vector either do not implement <code>Comparable</code> or are not
-   * mutually comparable then this method will fail, throwing a
-   * <code>ClassCastException</code>.
+   * Finds an element equal to the given object by a binary search.
+   * @param key The object to search for.
+   * @return The index of an element equal to key, or (-(insertion point) - 1)
+   * if there is none, as for Arrays.binarySearch().
    */
-  public void sortElements() {
-    Arrays.sort(elementData, 0, elementCount - 1);
+  public synchronized int search(Comparable key) {
+    int low = 0, high = elementCount - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int cmp = ( (Comparable) elementData[mid]).compareTo(key);
+      if (cmp < 0) {
+        low = mid + 1;
+      }
+      else if (cmp > 0) {
+        high = mid - 1;
+      }
+      else {
+        return mid;
+      }
+    }
+    return - (low + 1);
   }
 }
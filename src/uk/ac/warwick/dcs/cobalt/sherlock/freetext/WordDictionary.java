@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 1999-2003 The University of Warwick. All Rights Reserved.
+ */
+package uk.ac.warwick.dcs.cobalt.sherlock.freetext;
+
+import java.util.*;
+
+/**
+ * <p>Gives every word that has been parsed a dense integer ID, starting at
+ * 0, so that sentences can hold their words as sorted arrays of IDs and be
+ * compared without looking at the words themselves. IDs are only valid
+ * within one run of Sherlock; documents are saved with their words, and are
+ * given IDs again when they are read back in.</p>
+ * <p>Title: Sherlock 2000</p>
+ * <p>Description: Plagiarism Detection Software</p>
+ * <p>Copyright: Copyright (c) 2002</p>
+ * <p>Company: University of Warwick</p>
+ */
+public class WordDictionary {
+
+  /**
+   * The ID of each word, as an Integer.
+   */
+  private HashMap ids;
+
+  /**
+   * The word with each ID.
+   */
+  private ArrayList words;
+
+  /**
+   * Constructor.
+   * @param initialCapacity The number of words to make room for.
+   */
+  public WordDictionary(int initialCapacity) {
+    ids = new HashMap(initialCapacity * 2);
+    words = new ArrayList(initialCapacity);
+  }
+
+  /**
+   * The ID of the given word, giving it the next ID if it does not have one
+   * yet.
+   * @param word The word.
+   * @return The word's ID.
+   */
+  public synchronized int getId(String word) {
+    Integer id = (Integer) ids.get(word);
+    if (id == null) {
+      id = new Integer(words.size());
+      ids.put(word, id);
+      words.add(word);
+    }
+    return id.intValue();
+  }
+
+  /**
+   * The word with the given ID.
+   * @param id The ID, which must have been given to a word.
+   * @return The word.
+   */
+  public synchronized String getWord(int id) {
+    return (String) words.get(id);
+  }
+
+  /**
+   * The number of words that have been given IDs. Every ID is less than
+   * this.
+   * @return The number of words.
+   */
+  public synchronized int size() {
+    return words.size();
+  }
+
+  /**
+   * Used for debugging.
+   * @return The words, in order of ID.
+   */
+  public synchronized String toString() {
+    return words.toString();
+  }
+}